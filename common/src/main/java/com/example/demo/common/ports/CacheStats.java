@@ -0,0 +1,17 @@
+package com.example.demo.common.ports;
+
+/**
+ * Snapshot of one of the runner's caches of compiled expressions or templates.
+ *
+ * @param hits lookups served by an already compiled entry
+ * @param misses lookups that had to compile
+ * @param size entries currently cached
+ * @param maxSize most entries the cache keeps
+ */
+public record CacheStats(
+    long hits,
+    long misses,
+    int size,
+    int maxSize
+) {
+}
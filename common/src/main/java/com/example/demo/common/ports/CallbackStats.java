@@ -0,0 +1,43 @@
+package com.example.demo.common.ports;
+
+/**
+ * Snapshot of the runner's delivery of results to callbacks.
+ *
+ * @param backlog callbacks waiting to be invoked or running
+ * @param capacity maximum backlog; past it, the runner waits before reporting more results
+ * @param highWatermark largest backlog reached since the runner started
+ * @param delivered callbacks invoked
+ * @param failed callbacks that threw
+ * @param blocked reports that had to wait for room in the backlog
+ * @param totalDelayMillis time from a result being reported to its callback starting, summed
+ * @param maxDelayMillis longest such delay
+ * @param totalDurationMillis time spent in callbacks, summed
+ * @param maxDurationMillis longest callback
+ */
+public record CallbackStats(
+    int backlog,
+    int capacity,
+    int highWatermark,
+    long delivered,
+    long failed,
+    long blocked,
+    long totalDelayMillis,
+    long maxDelayMillis,
+    long totalDurationMillis,
+    long maxDurationMillis
+) {
+
+    /**
+     * Mean time from a result being reported to its callback starting, 0 if none was delivered.
+     */
+    public double meanDelayMillis() {
+        return delivered == 0 ? 0 : (double) totalDelayMillis / delivered;
+    }
+
+    /**
+     * Mean time spent in a callback, 0 if none was delivered.
+     */
+    public double meanDurationMillis() {
+        return delivered == 0 ? 0 : (double) totalDurationMillis / delivered;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.common.ports;
+
+/**
+ * Snapshot of the runner's limiter of the requests sent to one target host.
+ *
+ * @param maxConcurrency concurrency cap in effect (the adapted limit, if adaptive); 0 for none
+ * @param requestsPerSecond rate limit; 0 for none
+ * @param adaptive whether the concurrency cap adapts to the host's response times and overload signals
+ * @param inFlight requests holding a permit
+ * @param waiting requests waiting for a permit
+ */
+public record HostLimitStats(
+    int maxConcurrency,
+    double requestsPerSecond,
+    boolean adaptive,
+    int inFlight,
+    int waiting
+) {
+}
@@ -0,0 +1,61 @@
+package com.example.demo.common.ports;
+
+import com.example.demo.shared.request.RunPriority;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Snapshot of the runner's queue of pending runs.
+ *
+ * @param size runs currently waiting
+ * @param capacity maximum number of waiting runs
+ * @param highWatermark largest size reached since the runner started
+ * @param rejected runs refused because the queue was full
+ * @param shed queued runs dropped to make room for higher-priority runs
+ * @param classes per priority class: waiting runs and the time taken runs spent waiting
+ */
+public record RunQueueStats(
+    int size,
+    int capacity,
+    int highWatermark,
+    long rejected,
+    long shed,
+    Map<RunPriority, ClassStats> classes
+) {
+
+    /**
+     * Queue statistics of one priority class.
+     *
+     * @param size runs of the class currently waiting
+     * @param taken runs of the class handed to a worker since the runner started
+     * @param totalWaitMillis time those runs spent in the queue, summed
+     * @param maxWaitMillis longest time one of them spent in the queue
+     */
+    public record ClassStats(
+        int size,
+        long taken,
+        long totalWaitMillis,
+        long maxWaitMillis
+    ) {
+
+        /**
+         * Mean time a taken run of the class spent in the queue, 0 if none was taken.
+         */
+        public double meanWaitMillis() {
+            return taken == 0 ? 0 : (double) totalWaitMillis / taken;
+        }
+    }
+
+    public RunQueueStats {
+        classes = Collections.unmodifiableMap(new EnumMap<>(classes));
+    }
+
+    /**
+     * Number of runs the queue can still accept right away.
+     */
+    public int remainingCapacity() {
+        return Math.max(0, capacity - size);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.demo.common.ports;
+
+/**
+ * Thrown by {@link TestExecutionPort#submit} when the runner's queue has no room for a run.
+ * Callers may retry later; nothing about the run was executed.
+ */
+public class RunRejectedException extends RuntimeException {
+
+    private final String runId;
+
+    public RunRejectedException(String runId, String message) {
+        super(message);
+        this.runId = runId;
+    }
+
+    /**
+     * ID of the rejected run.
+     */
+    public String getRunId() {
+        return runId;
+    }
+}
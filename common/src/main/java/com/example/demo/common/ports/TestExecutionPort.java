@@ -3,6 +3,11 @@ package com.example.demo.common.ports;
 import com.example.demo.shared.request.RunRequest;
 import com.example.demo.shared.result.RunResult;
 import com.example.demo.shared.result.RunResultCallback;
+import com.example.demo.shared.result.StepResult;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Port for test execution service.
@@ -16,6 +21,10 @@ import com.example.demo.shared.result.RunResultCallback;
  * testExecutionPort.submit(runRequest, result -> {
  *     System.out.println("Test completed: " + result.status());
  * });
+ *
+ * // or, composable:
+ * testExecutionPort.submitAsync(runRequest)
+ *     .thenAccept(result -> System.out.println("Test completed: " + result.status()));
  * </pre>
  */
 public interface TestExecutionPort {
@@ -24,10 +33,85 @@ public interface TestExecutionPort {
      * Submit a test run request for asynchronous execution.
      *
      * @param request the run request (REST, SOAP, or E2E)
-     * @param callback invoked when execution completes
+     * @param callback invoked when execution completes, on a runner callback thread
+     * @throws IllegalArgumentException if the request is invalid (e.g. a malformed assertion expression)
+     * @throws RunRejectedException if the queue is full and the run cannot be accepted
      */
     void submit(RunRequest request, RunResultCallback callback);
 
+    /**
+     * Submit a test run request for asynchronous execution.
+     * The returned future completes when the run completes, so callers can
+     * fan out many runs and join them without blocking a thread per run.
+     *
+     * @param request the run request (REST, SOAP, or E2E)
+     * @return future completed with the run result, or exceptionally if the request could not be submitted
+     *         (e.g. with {@link RunRejectedException})
+     */
+    default CompletableFuture<RunResult> submitAsync(RunRequest request) {
+        return submitAsync(request, stepResult -> { });
+    }
+
+    /**
+     * Submit a test run request for asynchronous execution, observing E2E steps as they complete.
+     *
+     * @param request the run request (REST, SOAP, or E2E)
+     * @param onStepComplete invoked for each completed E2E step, before the future completes
+     * @return future completed with the run result, or exceptionally if the request could not be submitted
+     *         (e.g. with {@link RunRejectedException})
+     */
+    default CompletableFuture<RunResult> submitAsync(RunRequest request, Consumer<StepResult> onStepComplete) {
+        return submitAsync(request, onStepComplete, () -> { });
+    }
+
+    /**
+     * Submit a test run request for asynchronous execution, observing E2E steps as they complete
+     * and the run leaving the queue. The run's timeout counts from its start, so a caller bounding
+     * its wait for the result can start that wait from {@code onStart}.
+     *
+     * @param request the run request (REST, SOAP, or E2E)
+     * @param onStepComplete invoked for each completed E2E step, before the future completes
+     * @param onStart invoked when a worker takes the run from the queue; not invoked for a run
+     *                cancelled or shed while queued
+     * @return future completed with the run result, or exceptionally if the request could not be submitted
+     *         (e.g. with {@link RunRejectedException})
+     */
+    default CompletableFuture<RunResult> submitAsync(RunRequest request, Consumer<StepResult> onStepComplete,
+                                                     Runnable onStart) {
+        CompletableFuture<RunResult> future = new CompletableFuture<>();
+        try {
+            submit(request, new RunResultCallback() {
+                @Override
+                public void onComplete(RunResult result) {
+                    future.complete(result);
+                }
+
+                @Override
+                public void onStart() {
+                    onStart.run();
+                }
+
+                @Override
+                public void onStepComplete(StepResult stepResult) {
+                    onStepComplete.accept(stepResult);
+                }
+            });
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Cancel a submitted run.
+     * A queued run is dropped without executing; a running run has its in-flight HTTP call aborted
+     * and no further steps started. Either way its callback receives a result with status CANCELLED.
+     *
+     * @param runId the run ID
+     * @return true if the run was active and is now cancelled, false if it is unknown or already finished
+     */
+    boolean cancel(String runId);
+
     /**
      * Get the current number of pending runs in the queue.
      *
@@ -35,6 +119,46 @@ public interface TestExecutionPort {
      */
     int getQueueSize();
 
+    /**
+     * Get the size, capacity and high-watermark of the pending run queue.
+     * Callers can check {@link RunQueueStats#remainingCapacity()} before submitting a batch of runs.
+     *
+     * @return queue statistics
+     */
+    RunQueueStats getQueueStats();
+
+    /**
+     * Get the backlog of results waiting for their callbacks, and how long delivery and callbacks take.
+     * A growing backlog or delay means consumers are slower than test execution.
+     *
+     * @return callback statistics
+     */
+    CallbackStats getCallbackStats();
+
+    /**
+     * Get the limits each target host's requests are currently held to, with their in-flight and
+     * waiting requests. Adaptive limits show the concurrency they settled on.
+     *
+     * @return statistics by host, for every host a limited request was sent to
+     */
+    Map<String, HostLimitStats> getHostLimitStats();
+
+    /**
+     * Get the hit and miss counts of the runner's caches of compiled request templates and
+     * assertion/extraction expressions. A low hit count means the caches are too small for
+     * the variety of tests being run.
+     *
+     * @return statistics by cache: "requestTemplate", "jsonPath" and "xpath"
+     */
+    Map<String, CacheStats> getCacheStats();
+
+    /**
+     * Get the current number of runs being executed (taken from the queue, not yet completed).
+     *
+     * @return number of in-flight runs
+     */
+    int getInFlightCount();
+
     /**
      * Shutdown the test execution service gracefully.
      * Waits for current run to complete but clears pending queue.
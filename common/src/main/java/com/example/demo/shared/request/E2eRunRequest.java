@@ -9,6 +9,18 @@ import java.util.Map;
 public record E2eRunRequest(
     String runId,
     List<E2eStepRequest> steps,
-    Map<String, String> variables
+    Map<String, String> variables,
+    RunOptions options
 ) implements RunRequest {
+
+    public E2eRunRequest {
+        options = options != null ? options : RunOptions.DEFAULT;
+    }
+
+    /**
+     * Request with default options (no run deadline).
+     */
+    public E2eRunRequest(String runId, List<E2eStepRequest> steps, Map<String, String> variables) {
+        this(runId, steps, variables, RunOptions.DEFAULT);
+    }
 }
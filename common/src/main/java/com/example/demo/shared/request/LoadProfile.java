@@ -0,0 +1,60 @@
+package com.example.demo.shared.request;
+
+import java.time.Duration;
+
+/**
+ * Shape of the load applied by a load run.
+ *
+ * <p>With a request rate, requests are started on a fixed schedule (open model) whether or not
+ * earlier ones completed, and each latency is measured from the request's scheduled start, so a
+ * slow system cannot hide latency by slowing the schedule down (coordinated omission). The
+ * concurrency then caps the requests in flight; a request waiting for a free slot is late, and
+ * the wait counts in its latency.
+ *
+ * <p>Without a rate, the concurrency is the number of requests kept in flight (closed model):
+ * each completion starts the next request.
+ *
+ * @param requestsPerSecond target request rate; 0 for a closed model at the given concurrency
+ * @param concurrency maximum requests in flight; 0 for the runner's default with a rate
+ * @param duration how long requests are started for
+ */
+public record LoadProfile(
+    double requestsPerSecond,
+    int concurrency,
+    Duration duration
+) {
+
+    public LoadProfile {
+        if (requestsPerSecond < 0 || Double.isNaN(requestsPerSecond) || Double.isInfinite(requestsPerSecond)) {
+            throw new IllegalArgumentException("Requests per second must be a non-negative number: "
+                + requestsPerSecond);
+        }
+        if (concurrency < 0) {
+            throw new IllegalArgumentException("Concurrency must not be negative: " + concurrency);
+        }
+        if (requestsPerSecond == 0 && concurrency == 0) {
+            throw new IllegalArgumentException("Load profile needs a request rate or a concurrency");
+        }
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Load duration must be positive: " + duration);
+        }
+    }
+
+    /**
+     * Open model: start requests at a fixed rate.
+     */
+    public static LoadProfile atRate(double requestsPerSecond, Duration duration) {
+        return new LoadProfile(requestsPerSecond, 0, duration);
+    }
+
+    /**
+     * Closed model: keep a number of requests in flight.
+     */
+    public static LoadProfile atConcurrency(int concurrency, Duration duration) {
+        return new LoadProfile(0, concurrency, duration);
+    }
+
+    public boolean isOpenModel() {
+        return requestsPerSecond > 0;
+    }
+}
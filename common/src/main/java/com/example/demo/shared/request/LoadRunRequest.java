@@ -0,0 +1,35 @@
+package com.example.demo.shared.request;
+
+/**
+ * Request to replay a REST or SOAP test under load.
+ * Every request is built, limited and validated like the target run; its assertions decide
+ * which requests pass.
+ *
+ * @param target the API test to replay; its run ID and options are not used
+ * @param profile rate or concurrency, and duration
+ * @param options options of the load run itself
+ */
+public record LoadRunRequest(
+    String runId,
+    ApiRunRequest target,
+    LoadProfile profile,
+    RunOptions options
+) implements RunRequest {
+
+    public LoadRunRequest {
+        if (target == null) {
+            throw new IllegalArgumentException("Load run needs a target request");
+        }
+        if (profile == null) {
+            throw new IllegalArgumentException("Load run needs a load profile");
+        }
+        options = options != null ? options : RunOptions.DEFAULT;
+    }
+
+    /**
+     * Request with default options (no run deadline).
+     */
+    public LoadRunRequest(String runId, ApiRunRequest target, LoadProfile profile) {
+        this(runId, target, profile, RunOptions.DEFAULT);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.shared.request;
+
+import java.time.Duration;
+
+/**
+ * Execution options of a run request.
+ *
+ * @param timeout deadline for the whole run, measured from the start of its execution (queue time
+ *                excluded); null for no deadline
+ * @param requestTimeout timeout of each HTTP request (each E2E step), null for the runner's default
+ * @param priority priority class: the runner's queue serves higher classes first and sheds lower ones
+ *                 when full; null for CI
+ * @param project key of the project the run belongs to, used to share the runner fairly between
+ *                projects of the same priority class; null for the shared default project
+ */
+public record RunOptions(
+    Duration timeout,
+    Duration requestTimeout,
+    RunPriority priority,
+    String project
+) {
+
+    /**
+     * No run deadline, runner's default request timeout, CI priority, default project.
+     */
+    public static final RunOptions DEFAULT = new RunOptions(null, null, RunPriority.CI, null);
+
+    public RunOptions {
+        priority = priority != null ? priority : RunPriority.CI;
+        if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+            throw new IllegalArgumentException("Run timeout must be positive: " + timeout);
+        }
+        if (requestTimeout != null && (requestTimeout.isNegative() || requestTimeout.isZero())) {
+            throw new IllegalArgumentException("Request timeout must be positive: " + requestTimeout);
+        }
+    }
+
+    /**
+     * Options with CI priority, in the default project.
+     */
+    public RunOptions(Duration timeout, Duration requestTimeout) {
+        this(timeout, requestTimeout, RunPriority.CI, null);
+    }
+
+    /**
+     * Options in the default project.
+     */
+    public RunOptions(Duration timeout, Duration requestTimeout, RunPriority priority) {
+        this(timeout, requestTimeout, priority, null);
+    }
+
+    /**
+     * Options with a deadline for the whole run.
+     */
+    public static RunOptions withTimeout(Duration timeout) {
+        return new RunOptions(timeout, null);
+    }
+
+    /**
+     * Copy of these options with another priority class.
+     */
+    public RunOptions withPriority(RunPriority priority) {
+        return new RunOptions(timeout, requestTimeout, priority, project);
+    }
+
+    /**
+     * Copy of these options for another project.
+     */
+    public RunOptions withProject(String project) {
+        return new RunOptions(timeout, requestTimeout, priority, project);
+    }
+}
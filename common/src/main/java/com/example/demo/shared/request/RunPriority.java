@@ -0,0 +1,22 @@
+package com.example.demo.shared.request;
+
+/**
+ * Priority class of a run, highest first.
+ */
+public enum RunPriority {
+    /** Started by a user waiting for the result */
+    INTERACTIVE,
+
+    /** Triggered by a pipeline */
+    CI,
+
+    /** Bulk or scheduled runs */
+    SCHEDULED;
+
+    /**
+     * Whether this class ranks above another.
+     */
+    public boolean isHigherThan(RunPriority other) {
+        return ordinal() < other.ordinal();
+    }
+}
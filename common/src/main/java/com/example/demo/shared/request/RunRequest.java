@@ -3,6 +3,11 @@ package com.example.demo.shared.request;
 /**
  * Base interface for all run requests.
  */
-public sealed interface RunRequest permits ApiRunRequest, E2eRunRequest {
+public sealed interface RunRequest permits ApiRunRequest, E2eRunRequest, LoadRunRequest {
     String runId();
+
+    /**
+     * Execution options (deadlines).
+     */
+    RunOptions options();
 }
@@ -13,6 +13,19 @@ public record SoapRunRequest(
     String runId,
     HttpRequestData httpRequest,
     List<AssertionSpec> assertions,
-    Map<String, String> variables
+    Map<String, String> variables,
+    RunOptions options
 ) implements ApiRunRequest {
+
+    public SoapRunRequest {
+        options = options != null ? options : RunOptions.DEFAULT;
+    }
+
+    /**
+     * Request with default options (no run deadline).
+     */
+    public SoapRunRequest(String runId, HttpRequestData httpRequest, List<AssertionSpec> assertions,
+                          Map<String, String> variables) {
+        this(runId, httpRequest, assertions, variables, RunOptions.DEFAULT);
+    }
 }
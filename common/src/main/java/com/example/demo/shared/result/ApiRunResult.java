@@ -2,11 +2,15 @@ package com.example.demo.shared.result;
 
 import com.example.demo.shared.valueobject.AssertionResult;
 import com.example.demo.shared.valueobject.HttpResponseData;
+import com.example.demo.shared.valueobject.PhaseTimings;
 
 import java.util.List;
 
 /**
  * Result of executing an API test (REST or SOAP).
+ *
+ * @param duration milliseconds from the start of the run to its result, queue wait excluded
+ * @param timings time spent in each phase of the run
  */
 public record ApiRunResult(
     String runId,
@@ -14,6 +18,16 @@ public record ApiRunResult(
     long duration,
     HttpResponseData response,
     List<AssertionResult> assertionResults,
-    String errorMessage
+    String errorMessage,
+    PhaseTimings timings
 ) implements RunResult {
+
+    public ApiRunResult {
+        timings = timings != null ? timings : PhaseTimings.NONE;
+    }
+
+    public ApiRunResult(String runId, String status, long duration, HttpResponseData response,
+                        List<AssertionResult> assertionResults, String errorMessage) {
+        this(runId, status, duration, response, assertionResults, errorMessage, PhaseTimings.NONE);
+    }
 }
@@ -0,0 +1,66 @@
+package com.example.demo.shared.result;
+
+import java.util.List;
+
+/**
+ * Latency distribution in log-linear buckets (as in HdrHistogram): exact below 128µs,
+ * then each power-of-two range split into 64 buckets, so any recorded value is known
+ * within 1.6%.
+ *
+ * @param buckets non-empty buckets, in increasing order
+ * @param minMicros lowest recorded latency, exact
+ * @param maxMicros highest recorded latency, exact
+ * @param meanMicros mean of the recorded latencies, exact
+ */
+public record LatencyHistogram(
+    List<Bucket> buckets,
+    long minMicros,
+    long maxMicros,
+    double meanMicros
+) {
+
+    public static final LatencyHistogram EMPTY = new LatencyHistogram(List.of(), 0, 0, 0);
+
+    /**
+     * Latencies from {@code fromMicros} (inclusive) to {@code toMicros} (exclusive).
+     */
+    public record Bucket(long fromMicros, long toMicros, long count) {}
+
+    public LatencyHistogram {
+        buckets = List.copyOf(buckets);
+    }
+
+    public long count() {
+        long count = 0;
+        for (Bucket bucket : buckets) {
+            count += bucket.count();
+        }
+        return count;
+    }
+
+    /**
+     * Latency at or below which the given percentage of values fall, as the highest value of
+     * the bucket holding it (capped by the maximum).
+     *
+     * @param percentile from 0 to 100, e.g. 99.9
+     * @return the latency in microseconds, or 0 if nothing was recorded
+     */
+    public long percentileMicros(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        long count = count();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (Bucket bucket : buckets) {
+            seen += bucket.count();
+            if (seen >= rank) {
+                return Math.max(minMicros, Math.min(maxMicros, bucket.toMicros() - 1));
+            }
+        }
+        return maxMicros;
+    }
+}
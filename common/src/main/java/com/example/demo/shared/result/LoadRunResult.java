@@ -0,0 +1,38 @@
+package com.example.demo.shared.result;
+
+import java.util.Map;
+
+/**
+ * Result of a load run.
+ * The run passes if every request it completed passed its assertions.
+ *
+ * @param duration wall time of the run, in milliseconds
+ * @param requests requests completed (passed, failed or in error)
+ * @param passed requests whose assertions all passed
+ * @param failed requests with a failing assertion
+ * @param errors requests that got no response (e.g. timeout, connection refused)
+ * @param throughput completed requests per second
+ * @param latency latency of the requests that got a response, measured from their scheduled start
+ * @param statusCodes number of responses per HTTP status
+ */
+public record LoadRunResult(
+    String runId,
+    String status,
+    long duration,
+    long requests,
+    long passed,
+    long failed,
+    long errors,
+    double throughput,
+    LatencyHistogram latency,
+    Map<Integer, Long> statusCodes,
+    String errorMessage
+) implements RunResult {
+
+    /**
+     * Share of completed requests that passed, from 0 to 1; 0 if none completed.
+     */
+    public double passRate() {
+        return requests == 0 ? 0 : (double) passed / requests;
+    }
+}
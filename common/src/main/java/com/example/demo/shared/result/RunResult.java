@@ -3,7 +3,7 @@ package com.example.demo.shared.result;
 /**
  * Base interface for all run results.
  */
-public sealed interface RunResult permits ApiRunResult, E2eRunResult {
+public sealed interface RunResult permits ApiRunResult, E2eRunResult, LoadRunResult {
     String runId();
     String status();
     long duration();
@@ -6,4 +6,20 @@ package com.example.demo.shared.result;
 @FunctionalInterface
 public interface RunResultCallback {
     void onComplete(RunResult result);
+
+    /**
+     * Called when the run leaves the queue and starts executing, before any step result.
+     * Its deadline counts from here. Not called for runs cancelled while queued. Default: ignored.
+     */
+    default void onStart() {
+    }
+
+    /**
+     * Called when a single E2E step completes, before the run itself completes.
+     * Steps are reported in execution order. Default: ignored.
+     *
+     * @param stepResult the completed step
+     */
+    default void onStepComplete(StepResult stepResult) {
+    }
 }
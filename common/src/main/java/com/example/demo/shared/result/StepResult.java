@@ -2,12 +2,16 @@ package com.example.demo.shared.result;
 
 import com.example.demo.shared.valueobject.AssertionResult;
 import com.example.demo.shared.valueobject.HttpResponseData;
+import com.example.demo.shared.valueobject.PhaseTimings;
 
 import java.util.List;
 import java.util.Map;
 
 /**
  * Result of executing a single E2E step.
+ *
+ * @param duration milliseconds from the start of the step to its result
+ * @param timings time spent in each phase of the step
  */
 public record StepResult(
     String stepId,
@@ -18,6 +22,18 @@ public record StepResult(
     List<AssertionResult> assertionResults,
     Map<String, String> extractedVariables,
     long duration,
-    String errorMessage
+    String errorMessage,
+    PhaseTimings timings
 ) {
+
+    public StepResult {
+        timings = timings != null ? timings : PhaseTimings.NONE;
+    }
+
+    public StepResult(String stepId, String stepName, int stepOrder, String status, HttpResponseData response,
+                      List<AssertionResult> assertionResults, Map<String, String> extractedVariables,
+                      long duration, String errorMessage) {
+        this(stepId, stepName, stepOrder, status, response, assertionResults, extractedVariables, duration,
+            errorMessage, PhaseTimings.NONE);
+    }
 }
@@ -0,0 +1,65 @@
+package com.example.demo.shared.valueobject;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Request body kept out of the request data and streamed when the request is sent.
+ *
+ * <p>A queued run then only holds a reference to its body, however large, and the runner reads
+ * the body in small chunks on every send instead of copying it into memory. Streamed bodies are
+ * sent as-is: template variables in them are not resolved, and they are not compressed.
+ */
+public sealed interface BodySource {
+
+    /**
+     * Body read from a file on the runner's host; its Content-Length is the file size.
+     */
+    record FileSource(Path path) implements BodySource {
+        public FileSource {
+            Objects.requireNonNull(path, "Body file path cannot be null");
+        }
+    }
+
+    /**
+     * Body stored in the runner's blob directory, under the hex SHA-256 of its content.
+     */
+    record BlobSource(String sha256) implements BodySource {
+        public BlobSource {
+            if (sha256 == null || !sha256.matches("[0-9a-fA-F]{64}")) {
+                throw new IllegalArgumentException("Blob digest must be a hex SHA-256: " + sha256);
+            }
+            sha256 = sha256.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Body produced anew by a generator every time the request is sent (retries, reruns, load runs).
+     *
+     * @param generator opens a stream of the body; the runner closes it
+     * @param length size of the body in bytes, or -1 if unknown (sent chunked)
+     */
+    record GeneratedSource(Supplier<? extends InputStream> generator, long length) implements BodySource {
+        public GeneratedSource {
+            Objects.requireNonNull(generator, "Body generator cannot be null");
+            if (length < -1) {
+                throw new IllegalArgumentException("Body length must be -1 (unknown) or more: " + length);
+            }
+        }
+    }
+
+    static BodySource ofFile(Path path) {
+        return new FileSource(path);
+    }
+
+    static BodySource ofBlob(String sha256) {
+        return new BlobSource(sha256);
+    }
+
+    static BodySource ofGenerator(Supplier<? extends InputStream> generator, long length) {
+        return new GeneratedSource(generator, length);
+    }
+}
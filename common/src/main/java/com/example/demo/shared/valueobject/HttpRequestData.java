@@ -1,21 +1,68 @@
 package com.example.demo.shared.valueobject;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 /**
  * HTTP request data for test execution.
+ *
+ * <p>The body is held as a read-only buffer and handed out as a fresh view of it, so the request
+ * can be shared by runs and threads without copying the bytes. The byte array constructors wrap
+ * the array as-is: it must not be modified afterwards. Requests compare equal by body content.
+ *
+ * @param body the request body, read-only and positioned at its start; empty when there is none
+ *             or it comes from the body source
+ * @param bodySource where to stream the body from when the request is sent, or null for the inline body
  */
 public record HttpRequestData(
     String method,
     String url,
     Map<String, String> headers,
-    byte[] body
+    ByteBuffer body,
+    BodySource bodySource
 ) {
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0).asReadOnlyBuffer();
+
+    public HttpRequestData {
+        body = body == null ? EMPTY : body.slice().asReadOnlyBuffer();
+    }
+
+    public HttpRequestData(String method, String url, Map<String, String> headers, byte[] body) {
+        this(method, url, headers, body != null ? ByteBuffer.wrap(body) : null, null);
+    }
+
     public HttpRequestData(String method, String url, Map<String, String> headers, String bodyText) {
-        this(method, url, headers, bodyText != null ? bodyText.getBytes() : new byte[0]);
+        this(method, url, headers, bodyText != null ? bodyText.getBytes(StandardCharsets.UTF_8) : null);
+    }
+
+    public HttpRequestData(String method, String url, Map<String, String> headers, BodySource bodySource) {
+        this(method, url, headers, null, bodySource);
     }
 
     public HttpRequestData(String method, String url) {
-        this(method, url, Map.of(), new byte[0]);
+        this(method, url, Map.of(), (byte[]) null);
+    }
+
+    /**
+     * A view of the body, with its own position; reading it leaves the request unchanged.
+     */
+    @Override
+    public ByteBuffer body() {
+        return body.duplicate();
+    }
+
+    /**
+     * Size of the inline body in bytes.
+     */
+    public int bodyLength() {
+        return body.remaining();
+    }
+
+    /**
+     * Whether the request has a body, inline or streamed.
+     */
+    public boolean hasBody() {
+        return bodySource != null || body.hasRemaining();
     }
 }
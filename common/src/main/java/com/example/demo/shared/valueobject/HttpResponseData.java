@@ -1,14 +1,62 @@
 package com.example.demo.shared.valueobject;
 
+import java.util.List;
 import java.util.Map;
 
 /**
  * HTTP response data from test execution.
+ *
+ * @param headers the response headers, each with all its values in received order; the runner passes
+ *                the client's own read-only map, whose names compare case-insensitively
+ * @param body the response body as text, truncated to the runner's preview size for large bodies
+ * @param responseTime milliseconds from sending the request to the end of the response body
+ *                     (monotonic clock; request building and validation are not included)
+ * @param limiterWaitTime milliseconds the request waited for the target host's concurrency
+ *                        and rate limits before it was sent (not part of the response time)
+ * @param bodySize size of the whole response body in bytes, or -1 if unknown
+ * @param bodyDigest hex SHA-256 of the whole response body, or null if unknown
+ * @param encodedBodySize size of the response body as received in bytes, compressed if the server
+ *                        compressed it (otherwise equal to bodySize); -1 if unknown
  */
 public record HttpResponseData(
     int statusCode,
-    Map<String, String> headers,
+    Map<String, List<String>> headers,
     String body,
-    long responseTime
+    long responseTime,
+    long limiterWaitTime,
+    long bodySize,
+    String bodyDigest,
+    long encodedBodySize
 ) {
+
+    public HttpResponseData(int statusCode, Map<String, List<String>> headers, String body, long responseTime) {
+        this(statusCode, headers, body, responseTime, 0);
+    }
+
+    public HttpResponseData(int statusCode, Map<String, List<String>> headers, String body, long responseTime,
+                            long limiterWaitTime) {
+        this(statusCode, headers, body, responseTime, limiterWaitTime, -1, null);
+    }
+
+    public HttpResponseData(int statusCode, Map<String, List<String>> headers, String body, long responseTime,
+                            long limiterWaitTime, long bodySize, String bodyDigest) {
+        this(statusCode, headers, body, responseTime, limiterWaitTime, bodySize, bodyDigest, bodySize);
+    }
+
+    /**
+     * First value of a header, or null if the response has none.
+     * Names compare case-insensitively, whatever map the headers are in.
+     */
+    public String firstHeader(String name) {
+        List<String> values = headers.get(name);
+        if (values == null) {
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                if (header.getKey().equalsIgnoreCase(name)) {
+                    values = header.getValue();
+                    break;
+                }
+            }
+        }
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
 }
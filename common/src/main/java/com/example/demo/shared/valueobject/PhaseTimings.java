@@ -0,0 +1,44 @@
+package com.example.demo.shared.valueobject;
+
+/**
+ * Where the time of one API run or E2E step went, in microseconds on the monotonic clock.
+ * The network phases ({@code timeToFirstByte}, {@code bodyRead}) tell a slow API from a slow runner
+ * (building, waiting, validating).
+ *
+ * @param buildMicros building the HTTP request from its template and variables
+ * @param queueWaitMicros waiting in the runner's queue, from submission to start (API runs; 0 for E2E steps)
+ * @param hostWaitMicros waiting for the target host's concurrency and rate limits
+ * @param timeToFirstByteMicros from sending the request to the response headers, connecting included
+ * @param bodyReadMicros from the response headers to the end of the body
+ * @param validationMicros evaluating the assertions
+ * @param extractionMicros extracting variables (E2E steps; 0 for API runs)
+ */
+public record PhaseTimings(
+    long buildMicros,
+    long queueWaitMicros,
+    long hostWaitMicros,
+    long timeToFirstByteMicros,
+    long bodyReadMicros,
+    long validationMicros,
+    long extractionMicros
+) {
+
+    /**
+     * No phase measured.
+     */
+    public static final PhaseTimings NONE = new PhaseTimings(0, 0, 0, 0, 0, 0, 0);
+
+    /**
+     * Time spent on the network: sending the request and receiving the response.
+     */
+    public long networkMicros() {
+        return timeToFirstByteMicros + bodyReadMicros;
+    }
+
+    /**
+     * Time spent in the runner itself: building, validating and extracting.
+     */
+    public long runnerMicros() {
+        return buildMicros + validationMicros + extractionMicros;
+    }
+}
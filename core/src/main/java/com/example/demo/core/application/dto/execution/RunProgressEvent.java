@@ -0,0 +1,72 @@
+package com.example.demo.core.application.dto.execution;
+
+import com.example.demo.core.domain.run.E2eStepRun;
+import com.example.demo.core.domain.run.TestCaseRun;
+import com.example.demo.core.domain.run.TestSuiteRun;
+import com.example.demo.core.domain.test.e2e.E2eTest;
+
+import java.time.Instant;
+
+/**
+ * Progress event of a test suite run, pushed to clients watching the run live.
+ * Every event carries the suite's progress counts at the time it was emitted,
+ * so a client never needs to reload the suite run to render progress.
+ */
+public record RunProgressEvent(
+        Long suiteRunId,
+        Type type,
+        String testCaseName,
+        String stepName,
+        String result,
+        String suiteStatus,
+        long passedTests,
+        long failedTests,
+        long pendingTests,
+        Instant timestamp
+) {
+
+    public enum Type {
+        /** Current state of the suite run, sent when a client connects to a finished run. */
+        SNAPSHOT,
+        TEST_CASE_COMPLETED,
+        E2E_STEP_COMPLETED,
+        SUITE_COMPLETED
+    }
+
+    public static RunProgressEvent snapshot(TestSuiteRun suiteRun) {
+        return of(suiteRun, Type.SNAPSHOT, null, null, resultOf(suiteRun));
+    }
+
+    public static RunProgressEvent testCaseCompleted(TestSuiteRun suiteRun, TestCaseRun caseRun) {
+        return of(suiteRun, Type.TEST_CASE_COMPLETED, caseRun.getTestCase().getName(), null, resultOf(caseRun));
+    }
+
+    public static RunProgressEvent e2eStepCompleted(TestSuiteRun suiteRun, E2eTest testCase, E2eStepRun stepRun) {
+        return of(suiteRun, Type.E2E_STEP_COMPLETED, testCase.getName(), stepRun.getE2eStep().getName(),
+                resultOf(stepRun));
+    }
+
+    public static RunProgressEvent suiteCompleted(TestSuiteRun suiteRun) {
+        return of(suiteRun, Type.SUITE_COMPLETED, null, null, resultOf(suiteRun));
+    }
+
+    private static RunProgressEvent of(TestSuiteRun suiteRun, Type type,
+                                       String testCaseName, String stepName, String result) {
+        return new RunProgressEvent(
+                suiteRun.getId(),
+                type,
+                testCaseName,
+                stepName,
+                result,
+                suiteRun.getStatus().name(),
+                suiteRun.getPassedTestCasesCount(),
+                suiteRun.getFailedTestCasesCount(),
+                suiteRun.getPendingTestCasesCount(),
+                Instant.now()
+        );
+    }
+
+    private static String resultOf(com.example.demo.core.domain.run.Run run) {
+        return run.getResult() != null ? run.getResult().name() : null;
+    }
+}
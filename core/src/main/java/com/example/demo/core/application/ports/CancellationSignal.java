@@ -0,0 +1,53 @@
+package com.example.demo.core.application.ports;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Signals that an execution should stop.
+ *
+ * The executing side registers what to abort with {@link #onCancel(Runnable)};
+ * the controlling side calls {@link #cancel()}. Hooks run once, on the cancelling thread,
+ * or immediately when registered after cancellation.
+ */
+public class CancellationSignal {
+
+    private final List<Runnable> hooks = new CopyOnWriteArrayList<>();
+    private volatile boolean cancelled;
+
+    /**
+     * Cancel the execution, running the registered hooks.
+     *
+     * @return true if this call cancelled it, false if it was already cancelled
+     */
+    public boolean cancel() {
+        synchronized (this) {
+            if (cancelled) {
+                return false;
+            }
+            cancelled = true;
+        }
+        hooks.forEach(Runnable::run);
+        hooks.clear();
+        return true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Register a hook to run on cancellation.
+     *
+     * @param hook aborts part of the execution
+     */
+    public void onCancel(Runnable hook) {
+        synchronized (this) {
+            if (!cancelled) {
+                hooks.add(hook);
+                return;
+            }
+        }
+        hook.run();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.demo.core.application.ports;
+
+import com.example.demo.core.application.dto.execution.RunProgressEvent;
+import reactor.core.publisher.Flux;
+
+import java.util.Optional;
+
+/**
+ * Port for pushing live progress of suite runs to subscribed clients.
+ *
+ * A stream is opened when a suite run is created and completed when it finishes;
+ * only runs currently executing on this instance have a live stream.
+ */
+public interface RunProgressStream {
+
+    /**
+     * Open the live stream of a suite run.
+     *
+     * @param suiteRunId the suite run ID
+     */
+    void open(Long suiteRunId);
+
+    /**
+     * Publish a progress event to the subscribers of its suite run.
+     * Ignored if the run has no open stream.
+     *
+     * @param event the progress event
+     */
+    void publish(RunProgressEvent event);
+
+    /**
+     * Complete the live stream of a suite run.
+     *
+     * @param suiteRunId the suite run ID
+     */
+    void complete(Long suiteRunId);
+
+    /**
+     * Subscribe to the live stream of a suite run.
+     * New subscribers first receive the latest event already published.
+     *
+     * @param suiteRunId the suite run ID
+     * @return the live events, or empty if the run has no open stream
+     */
+    Optional<Flux<RunProgressEvent>> subscribe(Long suiteRunId);
+}
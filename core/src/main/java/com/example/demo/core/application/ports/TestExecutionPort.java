@@ -22,16 +22,69 @@ public interface TestExecutionPort {
      * @param variables Resolved variables (project + suite + environment)
      * @return Test case run result with status, response, assertions
      */
-    TestCaseRun executeTestCase(TestCase testCase, Map<String, String> variables);
+    default TestCaseRun executeTestCase(TestCase testCase, Map<String, String> variables) {
+        return executeTestCase(testCase, variables, null);
+    }
+
+    /**
+     * Execute a single test case for a user waiting on the result.
+     * It is queued ahead of suite runs, and shares the runner fairly with other projects' single runs.
+     *
+     * @param testCase The test case to execute
+     * @param variables Resolved variables (project + suite + environment)
+     * @param projectId Project the test case belongs to, or null if unknown
+     * @return Test case run result with status, response, assertions
+     */
+    TestCaseRun executeTestCase(TestCase testCase, Map<String, String> variables, Long projectId);
 
     /**
      * Execute a test suite (multiple test cases).
+     * Its test cases share the runner fairly with other projects' suites.
      *
      * @param testSuite The test suite to execute
      * @param variables Resolved variables (project + suite + environment)
      * @return Test suite run result with all test case runs
      */
-    TestSuiteRun executeTestSuite(TestSuite testSuite, Map<String, String> variables);
+    default TestSuiteRun executeTestSuite(TestSuite testSuite, Map<String, String> variables) {
+        return executeTestSuite(testSuite, variables, testCaseRun -> { });
+    }
+
+    /**
+     * Execute a test suite, reporting each test case run and E2E step as soon as it completes.
+     * Test cases may complete in any order; the returned suite run lists them in suite order.
+     *
+     * @param testSuite The test suite to execute
+     * @param variables Resolved variables (project + suite + environment)
+     * @param listener Notified of progress (possibly from runner threads)
+     * @return Test suite run result with all test case runs
+     */
+    default TestSuiteRun executeTestSuite(TestSuite testSuite, Map<String, String> variables,
+                                          TestSuiteRunListener listener) {
+        return executeTestSuite(testSuite, variables, listener, new CancellationSignal());
+    }
+
+    /**
+     * Execute a test suite that can be stopped while it runs.
+     * On cancellation, queued test cases are dropped and running ones aborted; they complete
+     * as cancelled runs, and so does the returned suite run.
+     *
+     * @param testSuite The test suite to execute
+     * @param variables Resolved variables (project + suite + environment)
+     * @param listener Notified of progress (possibly from runner threads)
+     * @param cancellation Stops the execution when cancelled
+     * @return Test suite run result with all test case runs
+     */
+    TestSuiteRun executeTestSuite(TestSuite testSuite, Map<String, String> variables,
+                                  TestSuiteRunListener listener, CancellationSignal cancellation);
+
+    /**
+     * Check whether the runner can accept a number of runs right now without queueing beyond its limits.
+     * Used to refuse new suite runs while the runner is saturated.
+     *
+     * @param runs number of test cases about to be executed
+     * @return true if the runner has room for them
+     */
+    boolean hasCapacityFor(int runs);
 
     /**
      * Check if the runner service is healthy and ready to execute tests.
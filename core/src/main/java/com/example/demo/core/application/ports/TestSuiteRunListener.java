@@ -0,0 +1,31 @@
+package com.example.demo.core.application.ports;
+
+import com.example.demo.core.domain.run.E2eStepRun;
+import com.example.demo.core.domain.run.TestCaseRun;
+import com.example.demo.core.domain.test.e2e.E2eTest;
+
+/**
+ * Receives progress of a test suite execution as it happens.
+ *
+ * Callbacks may be invoked concurrently from runner threads,
+ * since test cases of a suite execute in parallel.
+ */
+@FunctionalInterface
+public interface TestSuiteRunListener {
+
+    /**
+     * Invoked once per completed test case run.
+     *
+     * @param testCaseRun the completed test case run
+     */
+    void onTestCaseCompleted(TestCaseRun testCaseRun);
+
+    /**
+     * Invoked once per completed E2E step, before its test case completes.
+     *
+     * @param testCase the E2E test the step belongs to
+     * @param stepRun the completed step run
+     */
+    default void onE2eStepCompleted(E2eTest testCase, E2eStepRun stepRun) {
+    }
+}
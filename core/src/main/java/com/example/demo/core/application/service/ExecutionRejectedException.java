@@ -0,0 +1,12 @@
+package com.example.demo.core.application.service;
+
+/**
+ * Thrown when an execution is not accepted because the test runner is saturated.
+ * Nothing was started; the caller may retry later.
+ */
+public class ExecutionRejectedException extends RuntimeException {
+
+    public ExecutionRejectedException(String message) {
+        super(message);
+    }
+}
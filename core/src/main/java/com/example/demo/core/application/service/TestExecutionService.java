@@ -2,21 +2,40 @@ package com.example.demo.core.application.service;
 
 import com.example.demo.core.application.dto.execution.ExecuteTestCaseRequest;
 import com.example.demo.core.application.dto.execution.ExecuteTestSuiteRequest;
+import com.example.demo.core.application.dto.execution.RunProgressEvent;
+import com.example.demo.core.application.ports.CancellationSignal;
+import com.example.demo.core.application.ports.RunProgressStream;
+import com.example.demo.core.application.ports.TestSuiteRunListener;
 import com.example.demo.core.domain.project.Project;
 import com.example.demo.core.domain.project.ProjectRepository;
+import com.example.demo.core.domain.run.E2eStepRun;
 import com.example.demo.core.domain.run.TestCaseRun;
 import com.example.demo.core.domain.run.TestCaseRunRepository;
 import com.example.demo.core.domain.run.TestSuiteRun;
 import com.example.demo.core.domain.run.TestSuiteRunRepository;
 import com.example.demo.core.domain.test.TestCase;
+import com.example.demo.core.domain.test.e2e.E2eTest;
 import com.example.demo.core.domain.test.test_suite.TestSuite;
 import com.example.demo.core.domain.test.test_suite.TestSuiteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Application service for executing tests and managing test runs.
@@ -27,39 +46,62 @@ import java.util.Map;
  * - Track test run history
  * - Provide test run results for analysis
  *
+ * Suite runs are executed on a bounded background executor; progress is persisted
+ * by {@link TestSuiteRunProgressRecorder} as each test case result arrives, and pushed
+ * to live subscribers through the {@link RunProgressStream}. Suite runs executing on this
+ * instance can be stopped with {@link #stopTestSuiteRun(Long)}.
+ *
  * Uses domain repository interfaces (ports) - infrastructure provides implementations.
  */
 @Service
 @Transactional
 public class TestExecutionService {
 
+    private static final Logger log = LoggerFactory.getLogger(TestExecutionService.class);
+
     private final TestSuiteRepository testSuiteRepository;
     private final TestSuiteRunRepository testSuiteRunRepository;
     private final TestCaseRunRepository testCaseRunRepository;
     private final ProjectRepository projectRepository;
     private final com.example.demo.core.application.ports.TestExecutionPort testExecutionPort;
+    private final TestSuiteRunProgressRecorder progressRecorder;
+    private final TaskExecutor suiteRunExecutor;
+    private final TaskExecutor suiteProgressExecutor;
+    private final RunProgressStream runProgressStream;
+    private final Map<Long, CancellationSignal> activeSuiteRuns = new ConcurrentHashMap<>();
 
     public TestExecutionService(
             TestSuiteRepository testSuiteRepository,
             TestSuiteRunRepository testSuiteRunRepository,
             TestCaseRunRepository testCaseRunRepository,
             ProjectRepository projectRepository,
-            com.example.demo.core.application.ports.TestExecutionPort testExecutionPort) {
+            com.example.demo.core.application.ports.TestExecutionPort testExecutionPort,
+            TestSuiteRunProgressRecorder progressRecorder,
+            @Qualifier("suiteRunExecutor") TaskExecutor suiteRunExecutor,
+            @Qualifier("suiteProgressExecutor") TaskExecutor suiteProgressExecutor,
+            RunProgressStream runProgressStream) {
         this.testSuiteRepository = testSuiteRepository;
         this.testSuiteRunRepository = testSuiteRunRepository;
         this.testCaseRunRepository = testCaseRunRepository;
         this.projectRepository = projectRepository;
         this.testExecutionPort = testExecutionPort;
+        this.progressRecorder = progressRecorder;
+        this.suiteRunExecutor = suiteRunExecutor;
+        this.suiteProgressExecutor = suiteProgressExecutor;
+        this.runProgressStream = runProgressStream;
     }
 
     /**
      * Execute an entire test suite asynchronously.
      * Resolves variables: project vars + suite vars + environment vars.
      * Returns the run ID immediately, execution happens in background.
+     * Poll {@link #getTestSuiteRun(Long)} for IN_PROGRESS passed/failed/pending counts,
+     * or subscribe to {@link #streamTestSuiteRun(Long)} for live progress events.
      *
      * @param request execution request with suite ID and environment variables
      * @return run ID for tracking execution status
      * @throws IllegalArgumentException if test suite not found
+     * @throws ExecutionRejectedException if the test runner has no room for the suite's test cases
      */
     public Long executeTestSuite(ExecuteTestSuiteRequest request) {
         // Load test suite with test cases
@@ -67,6 +109,13 @@ public class TestExecutionService {
                 .orElseThrow(() -> new IllegalArgumentException(
                         "Test suite not found: " + request.testSuiteId()));
 
+        // Refuse up front rather than flooding a saturated runner
+        int testCaseCount = testSuite.getTestCases().size();
+        if (!testExecutionPort.hasCapacityFor(testCaseCount)) {
+            throw new ExecutionRejectedException(
+                    "Test runner is saturated, cannot accept " + testCaseCount + " test cases now");
+        }
+
         // Find the project to get project variables
         Project project = projectRepository.findByTestSuiteId(request.testSuiteId())
                 .orElseThrow(() -> new IllegalArgumentException(
@@ -82,24 +131,149 @@ public class TestExecutionService {
         // Create test suite run
         TestSuiteRun suiteRun = new TestSuiteRun();
         suiteRun.setTestSuite(testSuite);
+        suiteRun.setExpectedTestCasesCount(testSuite.getTestCases().size());
         suiteRun.start();
 
         // Save run to get ID
-        suiteRun = testSuiteRunRepository.save(suiteRun);
+        TestSuiteRun savedRun = testSuiteRunRepository.save(suiteRun);
+        CancellationSignal cancellation = new CancellationSignal();
+        activeSuiteRuns.put(savedRun.getId(), cancellation);
+
+        // Open its progress stream and hand off to the background executor once the run is committed,
+        // so a rolled back run leaves no stream behind
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runProgressStream.open(savedRun.getId());
+                startSuiteRun(savedRun, testSuite, resolvedVariables, cancellation);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    activeSuiteRuns.remove(savedRun.getId());
+                }
+            }
+        });
+
+        return savedRun.getId();
+    }
+
+    /**
+     * Submit a saved suite run to the background executor.
+     * If the executor is saturated, the run is completed with failure.
+     */
+    private void startSuiteRun(TestSuiteRun suiteRun, TestSuite testSuite, Map<String, String> variables,
+                               CancellationSignal cancellation) {
+        try {
+            suiteRunExecutor.execute(() -> runSuite(suiteRun, testSuite, variables, cancellation));
+        } catch (RejectedExecutionException e) {
+            log.error("Suite run {} rejected: background executor is saturated", suiteRun.getId(), e);
+            activeSuiteRuns.remove(suiteRun.getId());
+            progressRecorder.fail(suiteRun);
+            finishStream(suiteRun);
+        }
+    }
+
+    /**
+     * Execute a suite run in the background, persisting progress as results arrive.
+     * Runs outside any transaction; each progress update commits on its own.
+     * Results are persisted on the progress executor rather than the runner's callback
+     * threads, and the run is completed once they all are.
+     */
+    private void runSuite(TestSuiteRun suiteRun, TestSuite testSuite, Map<String, String> variables,
+                          CancellationSignal cancellation) {
+        Queue<CompletableFuture<Void>> progressWrites = new ConcurrentLinkedQueue<>();
+        TestSuiteRunListener listener = new TestSuiteRunListener() {
+            @Override
+            public void onTestCaseCompleted(TestCaseRun caseRun) {
+                synchronized (suiteRun) {
+                    suiteRun.addTestCaseRun(caseRun);
+                    runProgressStream.publish(RunProgressEvent.testCaseCompleted(suiteRun, caseRun));
+                }
+                progressWrites.add(CompletableFuture.runAsync(
+                        () -> progressRecorder.recordTestCaseRun(suiteRun.getId(), caseRun),
+                        suiteProgressExecutor));
+            }
 
-        // Execute tests asynchronously using TestExecutionPort
-        Long finalSuiteRunId = suiteRun.getId();
-        // TODO: Use ExecutorService for true async execution
-        // For now, execute synchronously
-        TestSuiteRun executedSuiteRun = testExecutionPort.executeTestSuite(testSuite, resolvedVariables);
+            @Override
+            public void onE2eStepCompleted(E2eTest testCase, E2eStepRun stepRun) {
+                synchronized (suiteRun) {
+                    runProgressStream.publish(RunProgressEvent.e2eStepCompleted(suiteRun, testCase, stepRun));
+                }
+            }
+        };
 
-        // Save updated run results
-        for (TestCaseRun caseRun : executedSuiteRun.getTestCaseRuns()) {
-            testCaseRunRepository.save(caseRun);
+        try {
+            testExecutionPort.executeTestSuite(testSuite, variables, listener, cancellation);
+            awaitProgressWrites(suiteRun, progressWrites);
+            synchronized (suiteRun) {
+                if (cancellation.isCancelled()) {
+                    progressRecorder.cancel(suiteRun);
+                } else {
+                    progressRecorder.complete(suiteRun);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Suite run {} failed", suiteRun.getId(), e);
+            awaitProgressWrites(suiteRun, progressWrites);
+            synchronized (suiteRun) {
+                if (cancellation.isCancelled()) {
+                    progressRecorder.cancel(suiteRun);
+                } else {
+                    progressRecorder.fail(suiteRun);
+                }
+            }
+        } finally {
+            activeSuiteRuns.remove(suiteRun.getId());
+            finishStream(suiteRun);
         }
-        testSuiteRunRepository.save(executedSuiteRun);
+    }
 
-        return suiteRun.getId();
+    /**
+     * Wait until the test case results of a suite run are persisted.
+     * A result that could not be persisted is logged; the run still completes.
+     */
+    private void awaitProgressWrites(TestSuiteRun suiteRun, Queue<CompletableFuture<Void>> progressWrites) {
+        for (CompletableFuture<Void> write : progressWrites) {
+            try {
+                write.join();
+            } catch (CompletionException e) {
+                log.error("Failed to persist a test case result of suite run {}", suiteRun.getId(), e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Publish the final state of a suite run and close its live stream.
+     */
+    private void finishStream(TestSuiteRun suiteRun) {
+        synchronized (suiteRun) {
+            runProgressStream.publish(RunProgressEvent.suiteCompleted(suiteRun));
+        }
+        runProgressStream.complete(suiteRun.getId());
+    }
+
+    /**
+     * Stop a test suite run executing on this instance.
+     * Test cases still queued in the runner are dropped and running ones aborted;
+     * the run completes with result CANCELLED once they have been reported.
+     *
+     * @param runId run ID
+     * @return true if the run is stopping, false if it is not executing here (e.g. already finished)
+     * @throws IllegalArgumentException if run not found
+     */
+    @Transactional(readOnly = true)
+    public boolean stopTestSuiteRun(Long runId) {
+        CancellationSignal cancellation = activeSuiteRuns.get(runId);
+        if (cancellation == null) {
+            getTestSuiteRun(runId);
+            return false;
+        }
+        if (cancellation.cancel()) {
+            log.info("Stopping suite run {}", runId);
+        }
+        return true;
     }
 
     /**
@@ -132,7 +306,7 @@ public class TestExecutionService {
         );
 
         // Execute test using TestExecutionPort
-        TestCaseRun caseRun = testExecutionPort.executeTestCase(testCase, resolvedVariables);
+        TestCaseRun caseRun = testExecutionPort.executeTestCase(testCase, resolvedVariables, project.getId());
         caseRun = testCaseRunRepository.save(caseRun);
         return caseRun.getId();
     }
@@ -150,6 +324,20 @@ public class TestExecutionService {
                 .orElseThrow(() -> new IllegalArgumentException("Test suite run not found: " + runId));
     }
 
+    /**
+     * Stream live progress of a test suite run.
+     * Runs without a live stream (finished, or executing elsewhere) yield a single snapshot of their current state.
+     *
+     * @param runId run ID
+     * @return progress events, completing when the run finishes
+     * @throws IllegalArgumentException if run not found
+     */
+    @Transactional(readOnly = true)
+    public Flux<RunProgressEvent> streamTestSuiteRun(Long runId) {
+        return runProgressStream.subscribe(runId)
+                .orElseGet(() -> Flux.just(RunProgressEvent.snapshot(getTestSuiteRun(runId))));
+    }
+
     /**
      * Get a test case run with full details (request, response, assertions).
      * CRUCIAL for failure analysis - needs all the details.
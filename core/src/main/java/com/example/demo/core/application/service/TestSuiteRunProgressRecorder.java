@@ -0,0 +1,81 @@
+package com.example.demo.core.application.service;
+
+import com.example.demo.core.domain.run.TestCaseRun;
+import com.example.demo.core.domain.run.TestCaseRunRepository;
+import com.example.demo.core.domain.run.TestSuiteRun;
+import com.example.demo.core.domain.run.TestSuiteRunRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Persists the progress of a background suite run as test case results arrive.
+ *
+ * Each method runs in its own short transaction, so a long suite never holds
+ * a database transaction open while it executes. Test case results are recorded
+ * with targeted counter updates and may be recorded concurrently, in any order;
+ * callers must serialize the other calls for the same suite run, and make them
+ * once its recorded results are persisted.
+ */
+@Component
+@Transactional
+public class TestSuiteRunProgressRecorder {
+
+    private final TestSuiteRunRepository testSuiteRunRepository;
+    private final TestCaseRunRepository testCaseRunRepository;
+
+    public TestSuiteRunProgressRecorder(
+            TestSuiteRunRepository testSuiteRunRepository,
+            TestCaseRunRepository testCaseRunRepository) {
+        this.testSuiteRunRepository = testSuiteRunRepository;
+        this.testCaseRunRepository = testCaseRunRepository;
+    }
+
+    /**
+     * Persist a completed test case run and count it in its suite run's progress.
+     *
+     * @param suiteRunId the in-progress suite run's ID
+     * @param caseRun the completed test case run
+     */
+    public void recordTestCaseRun(Long suiteRunId, TestCaseRun caseRun) {
+        TestCaseRun savedCaseRun = testCaseRunRepository.save(caseRun);
+        testSuiteRunRepository.addTestCaseRun(suiteRunId, savedCaseRun);
+    }
+
+    /**
+     * Complete the suite run from its recorded test case runs.
+     *
+     * @param suiteRun the in-progress suite run
+     */
+    public void complete(TestSuiteRun suiteRun) {
+        if (suiteRun.allTestCasesPassed()) {
+            suiteRun.completeWithSuccess();
+        } else {
+            suiteRun.completeWithFailure();
+        }
+        testSuiteRunRepository.save(suiteRun);
+    }
+
+    /**
+     * Complete the suite run as cancelled (execution was stopped).
+     *
+     * @param suiteRun the in-progress suite run
+     */
+    public void cancel(TestSuiteRun suiteRun) {
+        if (suiteRun.isInProgress()) {
+            suiteRun.cancel();
+            testSuiteRunRepository.save(suiteRun);
+        }
+    }
+
+    /**
+     * Complete the suite run with failure (execution could not finish).
+     *
+     * @param suiteRun the in-progress suite run
+     */
+    public void fail(TestSuiteRun suiteRun) {
+        if (suiteRun.isInProgress()) {
+            suiteRun.completeWithFailure();
+            testSuiteRunRepository.save(suiteRun);
+        }
+    }
+}
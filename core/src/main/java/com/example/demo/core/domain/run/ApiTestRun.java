@@ -8,6 +8,8 @@ import java.util.Objects;
 public class ApiTestRun extends TestCaseRun {
 
     private final List<AssertionResult> assertionResults = new ArrayList<>();
+    private RequestTimings timings;
+    private ResponseSummary response;
 
     public ApiTestRun() {
         super();
@@ -59,4 +61,26 @@ public class ApiTestRun extends TestCaseRun {
     public long getFailedAssertionsCount() {
         return assertionResults.stream().filter(result -> !result.ok()).count();
     }
+
+    /**
+     * Phase timings reported by the runner, or null if none were reported.
+     */
+    public RequestTimings getTimings() {
+        return timings;
+    }
+
+    public void setTimings(RequestTimings timings) {
+        this.timings = timings;
+    }
+
+    /**
+     * The response received, or null if the request got none.
+     */
+    public ResponseSummary getResponse() {
+        return response;
+    }
+
+    public void setResponse(ResponseSummary response) {
+        this.response = response;
+    }
 }
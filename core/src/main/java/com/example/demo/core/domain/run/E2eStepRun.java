@@ -13,6 +13,8 @@ public class E2eStepRun extends Run {
     private E2eStep e2eStep;
     private final List<AssertionResult> assertionResults = new ArrayList<>();
     private Map<String, String> extractedVariables = new HashMap<>();
+    private RequestTimings timings;
+    private ResponseSummary response;
 
     public E2eStepRun() {
         super();
@@ -95,4 +97,26 @@ public class E2eStepRun extends Run {
         Objects.requireNonNull(value, "Variable value cannot be null");
         this.extractedVariables.put(name, value);
     }
+
+    /**
+     * Phase timings reported by the runner, or null if none were reported.
+     */
+    public RequestTimings getTimings() {
+        return timings;
+    }
+
+    public void setTimings(RequestTimings timings) {
+        this.timings = timings;
+    }
+
+    /**
+     * The response received, or null if the request got none.
+     */
+    public ResponseSummary getResponse() {
+        return response;
+    }
+
+    public void setResponse(ResponseSummary response) {
+        this.response = response;
+    }
 }
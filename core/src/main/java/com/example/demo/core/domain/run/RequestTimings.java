@@ -0,0 +1,26 @@
+package com.example.demo.core.domain.run;
+
+/**
+ * Where the time of an API test run or E2E step went, as measured by the runner.
+ * The network phases (time to first byte, body read) tell a slow API from a slow runner.
+ *
+ * @param responseTimeMs milliseconds from sending the request to the end of the response; null without a response
+ * @param buildMicros building the HTTP request
+ * @param queueWaitMicros waiting in the runner's queue before the run started
+ * @param hostWaitMicros waiting for the target host's concurrency and rate limits
+ * @param timeToFirstByteMicros from sending the request to the response headers
+ * @param bodyReadMicros from the response headers to the end of the body
+ * @param validationMicros evaluating the assertions
+ * @param extractionMicros extracting variables (E2E steps)
+ */
+public record RequestTimings(
+    Long responseTimeMs,
+    long buildMicros,
+    long queueWaitMicros,
+    long hostWaitMicros,
+    long timeToFirstByteMicros,
+    long bodyReadMicros,
+    long validationMicros,
+    long extractionMicros
+) {
+}
@@ -0,0 +1,21 @@
+package com.example.demo.core.domain.run;
+
+/**
+ * The response an API test run or E2E step received, as kept with the run.
+ * Large bodies are kept as a preview; the size and digest identify the whole body.
+ *
+ * @param statusCode HTTP status code
+ * @param bodyPreview the response body as text, truncated to the runner's preview size
+ * @param bodySize size of the whole (decoded) response body in bytes; null if unknown
+ * @param bodySha256 hex SHA-256 of the whole response body; null if unknown
+ * @param encodedBodySize size of the response body as received in bytes, compressed if the server
+ *                        compressed it; null if unknown
+ */
+public record ResponseSummary(
+    Integer statusCode,
+    String bodyPreview,
+    Long bodySize,
+    String bodySha256,
+    Long encodedBodySize
+) {
+}
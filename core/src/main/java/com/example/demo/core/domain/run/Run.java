@@ -61,6 +61,18 @@ public abstract class Run {
         this.updatedAt = this.completedAt;
     }
 
+    /**
+     * Complete the run as cancelled (stopped before it could finish).
+     * @throws InvalidRunStateException if run is not in IN_PROGRESS state
+     */
+    public void cancel() {
+        validateCanTransition(RunStatus.IN_PROGRESS, "cancel");
+        this.status = RunStatus.COMPLETED;
+        this.result = RunResult.CANCELLED;
+        this.completedAt = Instant.now();
+        this.updatedAt = this.completedAt;
+    }
+
     /**
      * Check if the run has completed successfully.
      */
@@ -75,6 +87,13 @@ public abstract class Run {
         return status == RunStatus.COMPLETED && result == RunResult.FAILURE;
     }
 
+    /**
+     * Check if the run was cancelled.
+     */
+    public boolean isCancelled() {
+        return status == RunStatus.COMPLETED && result == RunResult.CANCELLED;
+    }
+
     /**
      * Check if the run is currently in progress.
      */
@@ -11,6 +11,7 @@ public class TestSuiteRun extends Run {
     
     private TestSuite testSuite;
     private final List<TestCaseRun> testCaseRuns = new ArrayList<>();
+    private int expectedTestCasesCount;
 
     public TestSuiteRun() {
         super();
@@ -24,6 +25,24 @@ public class TestSuiteRun extends Run {
         this.testSuite = Objects.requireNonNull(testSuite, "Test suite cannot be null");
     }
 
+    /**
+     * Get the number of test cases this run is expected to execute.
+     */
+    public int getExpectedTestCasesCount() {
+        return expectedTestCasesCount;
+    }
+
+    /**
+     * Set the number of test cases this run is expected to execute.
+     * Used to report pending test cases while the run is in progress.
+     */
+    public void setExpectedTestCasesCount(int expectedTestCasesCount) {
+        if (expectedTestCasesCount < 0) {
+            throw new IllegalArgumentException("Expected test cases count cannot be negative");
+        }
+        this.expectedTestCasesCount = expectedTestCasesCount;
+    }
+
     /**
      * Add a test case run to this suite run.
      */
@@ -60,4 +79,11 @@ public class TestSuiteRun extends Run {
     public long getFailedTestCasesCount() {
         return testCaseRuns.stream().filter(Run::isFailed).count();
     }
+
+    /**
+     * Get the number of test cases not yet completed.
+     */
+    public long getPendingTestCasesCount() {
+        return Math.max(0, expectedTestCasesCount - testCaseRuns.size());
+    }
 }
@@ -19,6 +19,17 @@ public interface TestSuiteRunRepository {
      */
     TestSuiteRun save(TestSuiteRun run);
 
+    /**
+     * Add a saved test case run to a suite run and count it in the run's progress.
+     * Only the counters and the test case run's link are updated; the suite run is not loaded,
+     * so concurrent results of the same suite run can be recorded in any order.
+     *
+     * @param runId the suite run ID
+     * @param testCaseRun the saved test case run
+     * @throws IllegalArgumentException if the suite run does not exist
+     */
+    void addTestCaseRun(Long runId, TestCaseRun testCaseRun);
+
     /**
      * Find a test suite run by its ID.
      *
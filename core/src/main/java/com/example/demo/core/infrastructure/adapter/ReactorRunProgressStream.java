@@ -0,0 +1,52 @@
+package com.example.demo.core.infrastructure.adapter;
+
+import com.example.demo.core.application.dto.execution.RunProgressEvent;
+import com.example.demo.core.application.ports.RunProgressStream;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory RunProgressStream backed by one Reactor sink per live suite run.
+ *
+ * <p>Each sink replays its latest event, so a client connecting mid-run
+ * immediately gets the current progress counts. Events are published concurrently
+ * from runner threads; contended emissions are retried briefly instead of dropped.
+ */
+public class ReactorRunProgressStream implements RunProgressStream {
+
+    private static final Sinks.EmitFailureHandler RETRY_ON_CONTENTION =
+        Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100));
+
+    private final Map<Long, Sinks.Many<RunProgressEvent>> sinks = new ConcurrentHashMap<>();
+
+    @Override
+    public void open(Long suiteRunId) {
+        sinks.computeIfAbsent(suiteRunId, id -> Sinks.many().replay().latest());
+    }
+
+    @Override
+    public void publish(RunProgressEvent event) {
+        Sinks.Many<RunProgressEvent> sink = sinks.get(event.suiteRunId());
+        if (sink != null) {
+            sink.emitNext(event, RETRY_ON_CONTENTION);
+        }
+    }
+
+    @Override
+    public void complete(Long suiteRunId) {
+        Sinks.Many<RunProgressEvent> sink = sinks.remove(suiteRunId);
+        if (sink != null) {
+            sink.emitComplete(RETRY_ON_CONTENTION);
+        }
+    }
+
+    @Override
+    public Optional<Flux<RunProgressEvent>> subscribe(Long suiteRunId) {
+        return Optional.ofNullable(sinks.get(suiteRunId)).map(Sinks.Many::asFlux);
+    }
+}
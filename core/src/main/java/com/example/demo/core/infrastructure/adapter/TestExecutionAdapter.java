@@ -1,6 +1,8 @@
 package com.example.demo.core.infrastructure.adapter;
 
+import com.example.demo.core.application.ports.CancellationSignal;
 import com.example.demo.core.application.ports.TestExecutionPort;
+import com.example.demo.core.application.ports.TestSuiteRunListener;
 import com.example.demo.core.domain.run.*;
 import com.example.demo.core.domain.test.TestCase;
 import com.example.demo.core.domain.test.api.RestApiTest;
@@ -19,13 +21,18 @@ import com.example.demo.shared.valueobject.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 /**
  * Infrastructure adapter that implements core's TestExecutionPort
@@ -35,11 +42,27 @@ import java.util.concurrent.TimeUnit;
  * - Translate core domain objects to test-execution-service contracts
  * - Execute tests via test-execution-service
  * - Translate results back to core domain objects
+ *
+ * Each run is submitted with a deadline, so the runner aborts it (and frees its capacity)
+ * when it takes too long, rather than executing it on after this adapter stopped waiting.
  */
 public class TestExecutionAdapter implements TestExecutionPort {
 
     private static final Logger log = LoggerFactory.getLogger(TestExecutionAdapter.class);
 
+    private static final Duration API_TEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration E2E_TEST_TIMEOUT = Duration.ofSeconds(60);
+
+    /**
+     * Extra wait beyond a run's deadline, for the runner to report the aborted run.
+     */
+    private static final Duration TIMEOUT_GRACE = Duration.ofSeconds(5);
+
+    /**
+     * Longest an interactive run may wait in the queue: a user (and a request thread) waits for it.
+     */
+    private static final Duration INTERACTIVE_QUEUE_WAIT = Duration.ofSeconds(30);
+
     private final com.example.demo.common.ports.TestExecutionPort testExecutionService;
 
     public TestExecutionAdapter(com.example.demo.common.ports.TestExecutionPort testExecutionService) {
@@ -47,37 +70,39 @@ public class TestExecutionAdapter implements TestExecutionPort {
     }
 
     @Override
-    public TestCaseRun executeTestCase(TestCase testCase, Map<String, String> variables) {
+    public TestCaseRun executeTestCase(TestCase testCase, Map<String, String> variables, Long projectId) {
         log.info("Executing test case: {}", testCase.getName());
-
-        // Dispatch based on test case type
-        if (testCase instanceof RestApiTest restTest) {
-            return executeRestApiTest(restTest, variables);
-        } else if (testCase instanceof SoapApiTest soapTest) {
-            return executeSoapApiTest(soapTest, variables);
-        } else if (testCase instanceof E2eTest e2eTest) {
-            return executeE2eTest(e2eTest, variables);
-        } else {
-            throw new IllegalArgumentException("Unknown test case type: " + testCase.getClass().getName());
-        }
+        RunOptions scheduling = scheduling(RunPriority.INTERACTIVE, projectId);
+        return await(executeTestCaseAsync(testCase, variables, scheduling, testCaseRun -> { },
+            new CancellationSignal()));
     }
 
     @Override
-    public TestSuiteRun executeTestSuite(TestSuite testSuite, Map<String, String> variables) {
+    public TestSuiteRun executeTestSuite(TestSuite testSuite, Map<String, String> variables,
+                                         TestSuiteRunListener listener, CancellationSignal cancellation) {
         log.info("Executing test suite: {}", testSuite.getName());
 
         TestSuiteRun suiteRun = new TestSuiteRun();
         suiteRun.setTestSuite(testSuite);
         suiteRun.start();
 
-        // Execute each test case sequentially
+        // Fan out all test cases, then join them: wall time approaches the slowest test
+        RunOptions scheduling = scheduling(RunPriority.CI, testSuite.getProjectId());
+        List<CompletableFuture<TestCaseRun>> futures = new ArrayList<>();
         for (TestCase testCase : testSuite.getTestCases()) {
-            TestCaseRun caseRun = executeTestCase(testCase, variables);
-            suiteRun.addTestCaseRun(caseRun);
+            futures.add(executeSuiteTestCase(testCase, variables, scheduling, listener, cancellation)
+                .whenComplete((caseRun, error) -> notifyTestCaseCompleted(listener, caseRun)));
+        }
+
+        // Collect in suite order; a test case that could not run does not abort the others
+        for (CompletableFuture<TestCaseRun> future : futures) {
+            suiteRun.addTestCaseRun(future.join());
         }
 
         // Complete the suite run
-        if (suiteRun.allTestCasesPassed()) {
+        if (cancellation.isCancelled()) {
+            suiteRun.cancel();
+        } else if (suiteRun.allTestCasesPassed()) {
             suiteRun.completeWithSuccess();
         } else {
             suiteRun.completeWithFailure();
@@ -87,6 +112,11 @@ public class TestExecutionAdapter implements TestExecutionPort {
         return suiteRun;
     }
 
+    @Override
+    public boolean hasCapacityFor(int runs) {
+        return testExecutionService.getQueueStats().remainingCapacity() >= runs;
+    }
+
     @Override
     public boolean isHealthy() {
         try {
@@ -98,9 +128,108 @@ public class TestExecutionAdapter implements TestExecutionPort {
         }
     }
 
+    /**
+     * Queue scheduling of runs: their priority class and the project they are shared fairly under.
+     */
+    private RunOptions scheduling(RunPriority priority, Long projectId) {
+        return new RunOptions(null, null, priority, projectId != null ? projectId.toString() : null);
+    }
+
+    /**
+     * Dispatch a test case to the matching execution method based on its type.
+     */
+    private CompletableFuture<TestCaseRun> executeTestCaseAsync(TestCase testCase, Map<String, String> variables,
+                                                                RunOptions scheduling,
+                                                                TestSuiteRunListener listener,
+                                                                CancellationSignal cancellation) {
+        if (testCase instanceof RestApiTest restTest) {
+            return executeRestApiTest(restTest, variables, scheduling, cancellation)
+                .thenApply(TestCaseRun.class::cast);
+        } else if (testCase instanceof SoapApiTest soapTest) {
+            return executeSoapApiTest(soapTest, variables, scheduling, cancellation)
+                .thenApply(TestCaseRun.class::cast);
+        } else if (testCase instanceof E2eTest e2eTest) {
+            return executeE2eTest(e2eTest, variables, scheduling, listener, cancellation)
+                .thenApply(TestCaseRun.class::cast);
+        } else {
+            throw new IllegalArgumentException("Unknown test case type: " + testCase.getClass().getName());
+        }
+    }
+
+    /**
+     * Execute a test case of a suite. A test case that cannot be submitted or executed
+     * completes as a failed run (cancelled once the suite is), so the suite waits for
+     * every run it submitted and none is left running without an owner.
+     */
+    private CompletableFuture<TestCaseRun> executeSuiteTestCase(TestCase testCase, Map<String, String> variables,
+                                                                RunOptions scheduling,
+                                                                TestSuiteRunListener listener,
+                                                                CancellationSignal cancellation) {
+        CompletableFuture<TestCaseRun> future;
+        try {
+            future = executeTestCaseAsync(testCase, variables, scheduling, listener, cancellation);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.exceptionally(error -> {
+            log.error("Test case {} could not be executed", testCase.getName(), error);
+            return unexecutedRun(testCase, cancellation);
+        });
+    }
+
+    private TestCaseRun unexecutedRun(TestCase testCase, CancellationSignal cancellation) {
+        TestCaseRun testRun = testCase instanceof E2eTest ? new E2eTestRun() : new ApiTestRun();
+        testRun.setTestCase(testCase);
+        testRun.start();
+        if (cancellation.isCancelled()) {
+            testRun.cancel();
+        } else {
+            testRun.completeWithFailure();
+        }
+        return testRun;
+    }
+
+    /**
+     * Report a completed test case run; a failing listener must not fail the suite.
+     */
+    private void notifyTestCaseCompleted(TestSuiteRunListener listener, TestCaseRun caseRun) {
+        try {
+            listener.onTestCaseCompleted(caseRun);
+        } catch (Exception e) {
+            log.error("Test case completion listener failed", e);
+        }
+    }
+
+    /**
+     * Report a completed E2E step; a failing listener must not fail the test case.
+     */
+    private void notifyE2eStepCompleted(TestSuiteRunListener listener, E2eTest e2eTest, StepResult stepResult) {
+        try {
+            listener.onE2eStepCompleted(e2eTest, translateStepResult(e2eTest, stepResult));
+        } catch (Exception e) {
+            log.error("E2E step completion listener failed", e);
+        }
+    }
+
+    /**
+     * Wait for a test case run, unwrapping execution failures.
+     */
+    private TestCaseRun await(CompletableFuture<TestCaseRun> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(cause.getMessage(), cause);
+        }
+    }
+
     // ========== REST API Test Execution ==========
 
-    private ApiTestRun executeRestApiTest(RestApiTest restTest, Map<String, String> variables) {
+    private CompletableFuture<ApiTestRun> executeRestApiTest(RestApiTest restTest, Map<String, String> variables,
+                                                             RunOptions scheduling, CancellationSignal cancellation) {
         RestRequest request = restTest.getRequest();
         if (request == null) {
             throw new IllegalArgumentException("REST test has no request defined");
@@ -111,43 +240,28 @@ public class TestExecutionAdapter implements TestExecutionPort {
         List<AssertionSpec> assertionSpecs = translateAssertions(restTest.getAssertions());
 
         RestRunRequest runRequest = new RestRunRequest(
-            "rest-" + System.currentTimeMillis(),
+            newRunId("rest"),
             httpRequestData,
             assertionSpecs,
-            variables
+            variables,
+            new RunOptions(API_TEST_TIMEOUT, null, scheduling.priority(), scheduling.project())
         );
 
-        // Execute and wait for result
-        CompletableFuture<ApiRunResult> futureResult = new CompletableFuture<>();
-        CountDownLatch latch = new CountDownLatch(1);
-
-        testExecutionService.submit(runRequest, result -> {
-            if (result instanceof ApiRunResult apiResult) {
-                futureResult.complete(apiResult);
-            } else {
-                futureResult.completeExceptionally(
-                    new IllegalStateException("Expected ApiRunResult but got: " + result.getClass().getName())
-                );
-            }
-            latch.countDown();
-        });
-
-        // Wait for result (with timeout)
-        try {
-            if (!latch.await(30, TimeUnit.SECONDS)) {
-                throw new RuntimeException("Test execution timeout after 30 seconds");
-            }
-            ApiRunResult result = futureResult.get();
-            return translateApiRunResult(restTest, result);
-        } catch (Exception e) {
-            log.error("Error executing REST test", e);
-            throw new RuntimeException("Failed to execute REST test: " + e.getMessage(), e);
-        }
+        // Execute and translate result (with timeout)
+        return submit(runRequest, stepResult -> { }, cancellation)
+            .handle((result, error) -> {
+                if (error != null) {
+                    log.error("Error executing REST test", error);
+                    throw new RuntimeException("Failed to execute REST test: " + describe(error, runRequest), error);
+                }
+                return translateApiRunResult(restTest, expectApiRunResult(result), cancellation);
+            });
     }
 
     // ========== SOAP API Test Execution ==========
 
-    private ApiTestRun executeSoapApiTest(SoapApiTest soapTest, Map<String, String> variables) {
+    private CompletableFuture<ApiTestRun> executeSoapApiTest(SoapApiTest soapTest, Map<String, String> variables,
+                                                             RunOptions scheduling, CancellationSignal cancellation) {
         SoapRequest request = soapTest.getRequest();
         if (request == null) {
             throw new IllegalArgumentException("SOAP test has no request defined");
@@ -158,43 +272,29 @@ public class TestExecutionAdapter implements TestExecutionPort {
         List<AssertionSpec> assertionSpecs = translateAssertions(soapTest.getAssertions());
 
         SoapRunRequest runRequest = new SoapRunRequest(
-            "soap-" + System.currentTimeMillis(),
+            newRunId("soap"),
             httpRequestData,
             assertionSpecs,
-            variables
+            variables,
+            new RunOptions(API_TEST_TIMEOUT, null, scheduling.priority(), scheduling.project())
         );
 
-        // Execute and wait for result
-        CompletableFuture<ApiRunResult> futureResult = new CompletableFuture<>();
-        CountDownLatch latch = new CountDownLatch(1);
-
-        testExecutionService.submit(runRequest, result -> {
-            if (result instanceof ApiRunResult apiResult) {
-                futureResult.complete(apiResult);
-            } else {
-                futureResult.completeExceptionally(
-                    new IllegalStateException("Expected ApiRunResult but got: " + result.getClass().getName())
-                );
-            }
-            latch.countDown();
-        });
-
-        // Wait for result (with timeout)
-        try {
-            if (!latch.await(30, TimeUnit.SECONDS)) {
-                throw new RuntimeException("Test execution timeout after 30 seconds");
-            }
-            ApiRunResult result = futureResult.get();
-            return translateApiRunResult(soapTest, result);
-        } catch (Exception e) {
-            log.error("Error executing SOAP test", e);
-            throw new RuntimeException("Failed to execute SOAP test: " + e.getMessage(), e);
-        }
+        // Execute and translate result (with timeout)
+        return submit(runRequest, stepResult -> { }, cancellation)
+            .handle((result, error) -> {
+                if (error != null) {
+                    log.error("Error executing SOAP test", error);
+                    throw new RuntimeException("Failed to execute SOAP test: " + describe(error, runRequest), error);
+                }
+                return translateApiRunResult(soapTest, expectApiRunResult(result), cancellation);
+            });
     }
 
     // ========== E2E Test Execution ==========
 
-    private E2eTestRun executeE2eTest(E2eTest e2eTest, Map<String, String> variables) {
+    private CompletableFuture<E2eTestRun> executeE2eTest(E2eTest e2eTest, Map<String, String> variables,
+                                                         RunOptions scheduling, TestSuiteRunListener listener,
+                                                         CancellationSignal cancellation) {
         List<E2eStep> steps = e2eTest.getSteps();
         if (steps.isEmpty()) {
             throw new IllegalArgumentException("E2E test has no steps defined");
@@ -209,37 +309,89 @@ public class TestExecutionAdapter implements TestExecutionPort {
         }
 
         E2eRunRequest runRequest = new E2eRunRequest(
-            "e2e-" + System.currentTimeMillis(),
+            newRunId("e2e"),
             stepRequests,
-            variables
+            variables,
+            new RunOptions(E2E_TEST_TIMEOUT, null, scheduling.priority(), scheduling.project())
         );
 
-        // Execute and wait for result
-        CompletableFuture<E2eRunResult> futureResult = new CompletableFuture<>();
-        CountDownLatch latch = new CountDownLatch(1);
-
-        testExecutionService.submit(runRequest, result -> {
-            if (result instanceof E2eRunResult e2eResult) {
-                futureResult.complete(e2eResult);
-            } else {
-                futureResult.completeExceptionally(
-                    new IllegalStateException("Expected E2eRunResult but got: " + result.getClass().getName())
-                );
-            }
-            latch.countDown();
-        });
+        // Execute and translate result (with timeout)
+        return submit(runRequest, stepResult -> notifyE2eStepCompleted(listener, e2eTest, stepResult), cancellation)
+            .handle((result, error) -> {
+                if (error != null) {
+                    log.error("Error executing E2E test", error);
+                    throw new RuntimeException("Failed to execute E2E test: " + describe(error, runRequest), error);
+                }
+                if (result instanceof E2eRunResult e2eResult) {
+                    return translateE2eRunResult(e2eTest, e2eResult, cancellation);
+                }
+                throw new IllegalStateException("Expected E2eRunResult but got: " + result.getClass().getName());
+            });
+    }
 
-        // Wait for result (with timeout)
-        try {
-            if (!latch.await(60, TimeUnit.SECONDS)) {
-                throw new RuntimeException("E2E test execution timeout after 60 seconds");
-            }
-            E2eRunResult result = futureResult.get();
-            return translateE2eRunResult(e2eTest, result);
-        } catch (Exception e) {
-            log.error("Error executing E2E test", e);
-            throw new RuntimeException("Failed to execute E2E test: " + e.getMessage(), e);
+    /**
+     * Submit a run, cancelling it in the runner when the execution is cancelled
+     * or the runner does not report it within its deadline (plus grace).
+     * Like the runner's deadline, the wait starts when the run leaves the queue,
+     * so runs queued behind a large suite do not time out before they execute.
+     * An interactive run is given up (and cancelled) if it does not leave the queue
+     * within {@link #INTERACTIVE_QUEUE_WAIT}, so its caller never waits unbounded.
+     */
+    private CompletableFuture<com.example.demo.shared.result.RunResult> submit(
+            RunRequest runRequest, Consumer<StepResult> onStepComplete, CancellationSignal cancellation) {
+        long waitMillis = runRequest.options().timeout().plus(TIMEOUT_GRACE).toMillis();
+        CompletableFuture<Void> started = new CompletableFuture<>();
+        CompletableFuture<com.example.demo.shared.result.RunResult> future =
+            testExecutionService.submitAsync(runRequest, onStepComplete, () -> started.complete(null));
+        if (future.isCompletedExceptionally()) {
+            return future;
+        }
+        started.thenRun(() -> future.orTimeout(waitMillis, TimeUnit.MILLISECONDS));
+        if (runRequest.options().priority() == RunPriority.INTERACTIVE) {
+            CompletableFuture.delayedExecutor(INTERACTIVE_QUEUE_WAIT.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+                if (!started.isDone()) {
+                    future.completeExceptionally(new TimeoutException("Test was not started within "
+                        + INTERACTIVE_QUEUE_WAIT.toSeconds() + " seconds: the runner is busy"));
+                }
+            });
+        }
+        cancellation.onCancel(() -> testExecutionService.cancel(runRequest.runId()));
+
+        return future
+            .whenComplete((result, error) -> {
+                if (error instanceof TimeoutException) {
+                    testExecutionService.cancel(runRequest.runId());
+                }
+            });
+    }
+
+    /**
+     * Generate a unique run ID. Runs of a suite are submitted concurrently,
+     * so a timestamp alone is not unique enough.
+     */
+    private String newRunId(String prefix) {
+        return prefix + "-" + UUID.randomUUID();
+    }
+
+    private ApiRunResult expectApiRunResult(com.example.demo.shared.result.RunResult result) {
+        if (result instanceof ApiRunResult apiResult) {
+            return apiResult;
+        }
+        throw new IllegalStateException("Expected ApiRunResult but got: " + result.getClass().getName());
+    }
+
+    /**
+     * Describe an execution failure, turning timeouts into a readable message.
+     */
+    private String describe(Throwable error, RunRequest runRequest) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException && cause.getMessage() != null) {
+            return cause.getMessage();
         }
+        if (cause instanceof TimeoutException) {
+            return "Test execution timeout after " + runRequest.options().timeout().toSeconds() + " seconds";
+        }
+        return cause.getMessage();
     }
 
     // ========== Translation Methods ==========
@@ -266,19 +418,22 @@ public class TestExecutionAdapter implements TestExecutionPort {
         );
     }
 
+    /**
+     * Body bytes of a request; text bodies are encoded as UTF-8, whatever the platform charset.
+     */
     private byte[] translateBody(Body body) {
         if (body == null || body instanceof NoBody) {
             return null;
         } else if (body instanceof JsonBody jsonBody) {
-            return jsonBody.getRawJson().getBytes();
+            return jsonBody.getRawJson().getBytes(StandardCharsets.UTF_8);
         } else if (body instanceof XmlBody xmlBody) {
-            return xmlBody.getRawXml().getBytes();
+            return xmlBody.getRawXml().getBytes(StandardCharsets.UTF_8);
         } else if (body instanceof TextBody textBody) {
-            return textBody.getText().getBytes();
+            return textBody.getText().getBytes(StandardCharsets.UTF_8);
         } else if (body instanceof BinaryBody binaryBody) {
             return binaryBody.getData();
         } else if (body instanceof FormUrlEncodedBody formBody) {
-            return formBody.getRawFormData().getBytes();
+            return formBody.getRawFormData().getBytes(StandardCharsets.UTF_8);
         } else {
             throw new IllegalArgumentException("Unknown body type: " + body.getClass().getName());
         }
@@ -358,10 +513,12 @@ public class TestExecutionAdapter implements TestExecutionPort {
         return "REST";
     }
 
-    private ApiTestRun translateApiRunResult(TestCase testCase, ApiRunResult result) {
+    private ApiTestRun translateApiRunResult(TestCase testCase, ApiRunResult result, CancellationSignal cancellation) {
         ApiTestRun testRun = new ApiTestRun();
         testRun.setTestCase(testCase);
         testRun.start();
+        testRun.setTimings(translateTimings(result.response(), result.timings()));
+        testRun.setResponse(translateResponse(result.response()));
 
         // Add assertion results
         for (com.example.demo.shared.valueobject.AssertionResult assertionResult : result.assertionResults()) {
@@ -376,7 +533,9 @@ public class TestExecutionAdapter implements TestExecutionPort {
         }
 
         // Complete the test run
-        if (result.status().equals("SUCCESS")) {
+        if (isCancelled(result.status(), cancellation)) {
+            testRun.cancel();
+        } else if (result.status().equals("SUCCESS")) {
             testRun.completeWithSuccess();
         } else {
             testRun.completeWithFailure();
@@ -385,46 +544,20 @@ public class TestExecutionAdapter implements TestExecutionPort {
         return testRun;
     }
 
-    private E2eTestRun translateE2eRunResult(E2eTest testCase, E2eRunResult result) {
+    private E2eTestRun translateE2eRunResult(E2eTest testCase, E2eRunResult result, CancellationSignal cancellation) {
         E2eTestRun testRun = new E2eTestRun();
         testRun.setTestCase(testCase);
         testRun.start();
 
         // Add step runs
         for (StepResult stepResult : result.stepResults()) {
-            E2eStepRun stepRun = new E2eStepRun();
-            E2eStep step = testCase.getSteps().get(stepResult.stepOrder() - 1);
-            stepRun.setE2eStep(step);
-            stepRun.start();
-
-            // Add assertion results for this step
-            for (com.example.demo.shared.valueobject.AssertionResult assertionResult : stepResult.assertionResults()) {
-                Assertion assertion = findMatchingAssertionInStep(step, assertionResult);
-                AssertionResult domainResult = new AssertionResult(
-                    assertion,
-                    assertionResult.ok(),
-                    assertionResult.message()
-                );
-                stepRun.addAssertionResult(domainResult);
-            }
-
-            // Add extracted variables
-            if (stepResult.extractedVariables() != null) {
-                stepRun.setExtractedVariables(new HashMap<>(stepResult.extractedVariables()));
-            }
-
-            // Complete step run
-            if (stepResult.status().equals("SUCCESS")) {
-                stepRun.completeWithSuccess();
-            } else {
-                stepRun.completeWithFailure();
-            }
-
-            testRun.addStepRun(stepRun);
+            testRun.addStepRun(translateStepResult(testCase, stepResult));
         }
 
         // Complete the E2E test run
-        if (result.status().equals("SUCCESS")) {
+        if (isCancelled(result.status(), cancellation)) {
+            testRun.cancel();
+        } else if (result.status().equals("SUCCESS")) {
             testRun.completeWithSuccess();
         } else {
             testRun.completeWithFailure();
@@ -433,6 +566,76 @@ public class TestExecutionAdapter implements TestExecutionPort {
         return testRun;
     }
 
+    /**
+     * A run reported CANCELLED counts as cancelled only when the execution was stopped;
+     * otherwise the runner aborted it at its deadline, which is a failure.
+     */
+    private boolean isCancelled(String status, CancellationSignal cancellation) {
+        return status.equals("CANCELLED") && cancellation.isCancelled();
+    }
+
+    private E2eStepRun translateStepResult(E2eTest testCase, StepResult stepResult) {
+        E2eStepRun stepRun = new E2eStepRun();
+        E2eStep step = testCase.getSteps().get(stepResult.stepOrder() - 1);
+        stepRun.setE2eStep(step);
+        stepRun.start();
+        stepRun.setTimings(translateTimings(stepResult.response(), stepResult.timings()));
+        stepRun.setResponse(translateResponse(stepResult.response()));
+
+        // Add assertion results for this step
+        for (com.example.demo.shared.valueobject.AssertionResult assertionResult : stepResult.assertionResults()) {
+            Assertion assertion = findMatchingAssertionInStep(step, assertionResult);
+            AssertionResult domainResult = new AssertionResult(
+                assertion,
+                assertionResult.ok(),
+                assertionResult.message()
+            );
+            stepRun.addAssertionResult(domainResult);
+        }
+
+        // Add extracted variables
+        if (stepResult.extractedVariables() != null) {
+            stepRun.setExtractedVariables(new HashMap<>(stepResult.extractedVariables()));
+        }
+
+        // Complete step run
+        if (stepResult.status().equals("CANCELLED")) {
+            stepRun.cancel();
+        } else if (stepResult.status().equals("SUCCESS")) {
+            stepRun.completeWithSuccess();
+        } else {
+            stepRun.completeWithFailure();
+        }
+
+        return stepRun;
+    }
+
+    private RequestTimings translateTimings(HttpResponseData response, PhaseTimings timings) {
+        return new RequestTimings(
+            response != null ? response.responseTime() : null,
+            timings.buildMicros(),
+            timings.queueWaitMicros(),
+            timings.hostWaitMicros(),
+            timings.timeToFirstByteMicros(),
+            timings.bodyReadMicros(),
+            timings.validationMicros(),
+            timings.extractionMicros()
+        );
+    }
+
+    private ResponseSummary translateResponse(HttpResponseData response) {
+        if (response == null) {
+            return null;
+        }
+        return new ResponseSummary(
+            response.statusCode(),
+            response.body(),
+            response.bodySize() >= 0 ? response.bodySize() : null,
+            response.bodyDigest(),
+            response.encodedBodySize() >= 0 ? response.encodedBodySize() : null
+        );
+    }
+
     /**
      * Find matching assertion in test case by type and path.
      * This is a best-effort match since we don't have a direct link.
@@ -0,0 +1,70 @@
+package com.example.demo.core.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for test suite execution in core.
+ * Prefix: execution
+ */
+@ConfigurationProperties(prefix = "execution")
+public class ExecutionProperties {
+
+    /**
+     * Maximum number of suite runs executing in the background at once.
+     * Default: 4
+     */
+    private int maxConcurrentSuiteRuns = 4;
+
+    /**
+     * Maximum number of accepted suite runs waiting for a background slot.
+     * Default: 100
+     */
+    private int suiteRunQueueCapacity = 100;
+
+    /**
+     * Threads persisting test case results and suite run progress.
+     * Default: 2
+     */
+    private int progressWriterThreads = 2;
+
+    /**
+     * Maximum number of test case results waiting to be persisted; past it, results
+     * are persisted on the runner thread that reports them.
+     * Default: 1000
+     */
+    private int progressQueueCapacity = 1000;
+
+    // Getters and Setters
+
+    public int getMaxConcurrentSuiteRuns() {
+        return maxConcurrentSuiteRuns;
+    }
+
+    public void setMaxConcurrentSuiteRuns(int maxConcurrentSuiteRuns) {
+        this.maxConcurrentSuiteRuns = maxConcurrentSuiteRuns;
+    }
+
+    public int getSuiteRunQueueCapacity() {
+        return suiteRunQueueCapacity;
+    }
+
+    public void setSuiteRunQueueCapacity(int suiteRunQueueCapacity) {
+        this.suiteRunQueueCapacity = suiteRunQueueCapacity;
+    }
+
+    public int getProgressWriterThreads() {
+        return progressWriterThreads;
+    }
+
+    public void setProgressWriterThreads(int progressWriterThreads) {
+        this.progressWriterThreads = progressWriterThreads;
+    }
+
+    public int getProgressQueueCapacity() {
+        return progressQueueCapacity;
+    }
+
+    public void setProgressQueueCapacity(int progressQueueCapacity) {
+        this.progressQueueCapacity = progressQueueCapacity;
+    }
+}
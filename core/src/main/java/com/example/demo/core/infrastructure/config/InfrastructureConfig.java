@@ -1,15 +1,22 @@
 package com.example.demo.core.infrastructure.config;
 
+import com.example.demo.core.application.ports.RunProgressStream;
 import com.example.demo.core.application.ports.TestExecutionPort;
+import com.example.demo.core.infrastructure.adapter.ReactorRunProgressStream;
 import com.example.demo.core.infrastructure.adapter.TestExecutionAdapter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Infrastructure layer configuration.
  * Wires up adapters to external services.
  */
 @Configuration
+@EnableConfigurationProperties(ExecutionProperties.class)
 public class InfrastructureConfig {
 
     /**
@@ -24,4 +31,55 @@ public class InfrastructureConfig {
     ) {
         return new TestExecutionAdapter(testExecutionService);
     }
+
+    /**
+     * In-memory stream of live suite run progress, consumed by SSE clients.
+     *
+     * @return run progress stream implementation for core
+     */
+    @Bean
+    public RunProgressStream runProgressStream() {
+        return new ReactorRunProgressStream();
+    }
+
+    /**
+     * Bounded background executor for suite runs.
+     * Suite runs are handed off here so they don't pin web threads;
+     * submissions beyond the queue capacity are rejected.
+     *
+     * @param properties execution properties (pool size, queue capacity)
+     * @return executor for background suite runs
+     */
+    @Bean
+    public ThreadPoolTaskExecutor suiteRunExecutor(ExecutionProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getMaxConcurrentSuiteRuns());
+        executor.setMaxPoolSize(properties.getMaxConcurrentSuiteRuns());
+        executor.setQueueCapacity(properties.getSuiteRunQueueCapacity());
+        executor.setThreadNamePrefix("suite-run-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Executor persisting suite run progress as test case results arrive.
+     * Keeps database writes off the runner's callback threads; when its queue
+     * is full, the reporting thread writes the result itself.
+     *
+     * @param properties execution properties (writer threads, queue capacity)
+     * @return executor for suite run progress writes
+     */
+    @Bean
+    public ThreadPoolTaskExecutor suiteProgressExecutor(ExecutionProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getProgressWriterThreads());
+        executor.setMaxPoolSize(properties.getProgressWriterThreads());
+        executor.setQueueCapacity(properties.getProgressQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("suite-progress-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
 }
@@ -86,6 +86,24 @@ public class E2eStepRunEntity extends BaseEntity {
     @Column(columnDefinition = "TEXT", name = "actual_response_body")
     private String actualResponseBody;
 
+    /**
+     * Size of the whole response body in bytes (the stored body may be a truncated preview)
+     */
+    @Column(name = "actual_response_body_size")
+    private Long actualResponseBodySize;
+
+    /**
+     * Hex SHA-256 of the whole response body
+     */
+    @Column(length = 64, name = "actual_response_body_sha256")
+    private String actualResponseBodySha256;
+
+    /**
+     * Size of the response body as received in bytes, compressed if the server compressed it
+     */
+    @Column(name = "actual_response_encoded_size")
+    private Long actualResponseEncodedSize;
+
     /**
      * Actual response headers received, stored as JSON
      */
@@ -93,11 +111,47 @@ public class E2eStepRunEntity extends BaseEntity {
     private String actualResponseHeadersJson;
 
     /**
-     * Response time in milliseconds
+     * Response time in milliseconds: from sending the request to the end of the response body
      */
     @Column(name = "response_time_ms")
     private Long responseTimeMs;
 
+    /**
+     * Request build time in microseconds
+     */
+    @Column(name = "build_time_us")
+    private Long buildTimeUs;
+
+    /**
+     * Time waiting for the target host's limits, in microseconds
+     */
+    @Column(name = "host_wait_us")
+    private Long hostWaitUs;
+
+    /**
+     * Time from sending the request to the response headers, in microseconds
+     */
+    @Column(name = "time_to_first_byte_us")
+    private Long timeToFirstByteUs;
+
+    /**
+     * Time reading the response body, in microseconds
+     */
+    @Column(name = "body_read_us")
+    private Long bodyReadUs;
+
+    /**
+     * Assertion validation time in microseconds
+     */
+    @Column(name = "validation_time_us")
+    private Long validationTimeUs;
+
+    /**
+     * Variable extraction time in microseconds
+     */
+    @Column(name = "extraction_time_us")
+    private Long extractionTimeUs;
+
     /**
      * Values extracted from the response, stored as JSON.
      * Format: Map<String, String> (variable name -> extracted value)
@@ -204,6 +258,30 @@ public class E2eStepRunEntity extends BaseEntity {
         this.actualResponseBody = actualResponseBody;
     }
 
+    public Long getActualResponseBodySize() {
+        return actualResponseBodySize;
+    }
+
+    public void setActualResponseBodySize(Long actualResponseBodySize) {
+        this.actualResponseBodySize = actualResponseBodySize;
+    }
+
+    public String getActualResponseBodySha256() {
+        return actualResponseBodySha256;
+    }
+
+    public void setActualResponseBodySha256(String actualResponseBodySha256) {
+        this.actualResponseBodySha256 = actualResponseBodySha256;
+    }
+
+    public Long getActualResponseEncodedSize() {
+        return actualResponseEncodedSize;
+    }
+
+    public void setActualResponseEncodedSize(Long actualResponseEncodedSize) {
+        this.actualResponseEncodedSize = actualResponseEncodedSize;
+    }
+
     public String getActualResponseHeadersJson() {
         return actualResponseHeadersJson;
     }
@@ -220,6 +298,54 @@ public class E2eStepRunEntity extends BaseEntity {
         this.responseTimeMs = responseTimeMs;
     }
 
+    public Long getBuildTimeUs() {
+        return buildTimeUs;
+    }
+
+    public void setBuildTimeUs(Long buildTimeUs) {
+        this.buildTimeUs = buildTimeUs;
+    }
+
+    public Long getHostWaitUs() {
+        return hostWaitUs;
+    }
+
+    public void setHostWaitUs(Long hostWaitUs) {
+        this.hostWaitUs = hostWaitUs;
+    }
+
+    public Long getTimeToFirstByteUs() {
+        return timeToFirstByteUs;
+    }
+
+    public void setTimeToFirstByteUs(Long timeToFirstByteUs) {
+        this.timeToFirstByteUs = timeToFirstByteUs;
+    }
+
+    public Long getBodyReadUs() {
+        return bodyReadUs;
+    }
+
+    public void setBodyReadUs(Long bodyReadUs) {
+        this.bodyReadUs = bodyReadUs;
+    }
+
+    public Long getValidationTimeUs() {
+        return validationTimeUs;
+    }
+
+    public void setValidationTimeUs(Long validationTimeUs) {
+        this.validationTimeUs = validationTimeUs;
+    }
+
+    public Long getExtractionTimeUs() {
+        return extractionTimeUs;
+    }
+
+    public void setExtractionTimeUs(Long extractionTimeUs) {
+        this.extractionTimeUs = extractionTimeUs;
+    }
+
     public String getExtractedValuesJson() {
         return extractedValuesJson;
     }
@@ -71,6 +71,24 @@ public class TestSuiteRunEntity extends BaseEntity {
     @Column(columnDefinition = "TEXT", name = "error_message")
     private String errorMessage;
 
+    /**
+     * Number of test cases the run is expected to execute
+     */
+    @Column(name = "expected_test_cases")
+    private Integer expectedTestCasesCount;
+
+    /**
+     * Progress counters, updated as test case results arrive
+     */
+    @Column(name = "passed_test_cases")
+    private Long passedTestCasesCount;
+
+    @Column(name = "failed_test_cases")
+    private Long failedTestCasesCount;
+
+    @Column(name = "pending_test_cases")
+    private Long pendingTestCasesCount;
+
     /**
      * Individual test case run results.
      * Cascade all operations - test case runs belong to suite run.
@@ -139,6 +157,38 @@ public class TestSuiteRunEntity extends BaseEntity {
         this.errorMessage = errorMessage;
     }
 
+    public Integer getExpectedTestCasesCount() {
+        return expectedTestCasesCount;
+    }
+
+    public void setExpectedTestCasesCount(Integer expectedTestCasesCount) {
+        this.expectedTestCasesCount = expectedTestCasesCount;
+    }
+
+    public Long getPassedTestCasesCount() {
+        return passedTestCasesCount;
+    }
+
+    public void setPassedTestCasesCount(Long passedTestCasesCount) {
+        this.passedTestCasesCount = passedTestCasesCount;
+    }
+
+    public Long getFailedTestCasesCount() {
+        return failedTestCasesCount;
+    }
+
+    public void setFailedTestCasesCount(Long failedTestCasesCount) {
+        this.failedTestCasesCount = failedTestCasesCount;
+    }
+
+    public Long getPendingTestCasesCount() {
+        return pendingTestCasesCount;
+    }
+
+    public void setPendingTestCasesCount(Long pendingTestCasesCount) {
+        this.pendingTestCasesCount = pendingTestCasesCount;
+    }
+
     public List<TestCaseRunEntity> getTestCaseRuns() {
         return testCaseRuns;
     }
@@ -5,6 +5,7 @@ import com.example.demo.core.domain.run.RunStatus;
 import com.example.demo.core.infrastructure.persistence.entity.run.TestSuiteRunEntity;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -170,4 +171,35 @@ public interface TestSuiteRunRepository extends JpaRepository<TestSuiteRunEntity
     List<TestSuiteRunEntity> findStuckRuns(
             @Param("status") RunStatus status,
             @Param("threshold") Instant threshold);
+
+    /**
+     * Counts one more completed test case in a run's progress, without loading the run.
+     * The pending count never drops below zero.
+     *
+     * @param id the run ID
+     * @param passed 1 if the test case passed, else 0
+     * @param failed 1 if the test case failed, else 0
+     * @return number of updated runs (0 if the run does not exist)
+     */
+    @Modifying
+    @Query("UPDATE TestSuiteRunEntity r SET " +
+           "r.passedTestCasesCount = COALESCE(r.passedTestCasesCount, 0) + :passed, " +
+           "r.failedTestCasesCount = COALESCE(r.failedTestCasesCount, 0) + :failed, " +
+           "r.pendingTestCasesCount = CASE WHEN r.pendingTestCasesCount > 0 " +
+           "THEN r.pendingTestCasesCount - 1 ELSE 0 END " +
+           "WHERE r.id = :id")
+    int incrementProgress(@Param("id") Long id, @Param("passed") long passed, @Param("failed") long failed);
+
+    /**
+     * Links a saved test case run to its suite run.
+     * The link is owned by the suite run's test case runs, which are not loaded for it.
+     *
+     * @param id the suite run ID
+     * @param testCaseRunId the test case run ID
+     * @return number of updated test case runs
+     */
+    @Modifying
+    @Query(value = "UPDATE test_case_runs SET test_suite_run_id = :id WHERE id = :testCaseRunId",
+           nativeQuery = true)
+    int attachTestCaseRun(@Param("id") Long id, @Param("testCaseRunId") Long testCaseRunId);
 }
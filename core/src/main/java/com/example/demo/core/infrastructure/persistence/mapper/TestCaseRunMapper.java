@@ -2,6 +2,8 @@ package com.example.demo.core.infrastructure.persistence.mapper;
 
 import com.example.demo.core.domain.run.ApiTestRun;
 import com.example.demo.core.domain.run.E2eTestRun;
+import com.example.demo.core.domain.run.RequestTimings;
+import com.example.demo.core.domain.run.ResponseSummary;
 import com.example.demo.core.domain.run.TestCaseRun;
 import com.example.demo.core.infrastructure.persistence.entity.run.ApiTestRunEntity;
 import com.example.demo.core.infrastructure.persistence.entity.run.E2eTestRunEntity;
@@ -35,6 +37,8 @@ public interface TestCaseRunMapper {
 
     @Mapping(target = "testCase", ignore = true)  // Not loaded in run entities
     @Mapping(target = "assertionResults", ignore = true)  // Loaded separately
+    @Mapping(target = "timings", expression = "java(timingsOf(entity))")
+    @Mapping(target = "response", expression = "java(responseOf(entity))")
     ApiTestRun toDomain(ApiTestRunEntity entity);
 
     @Mapping(target = "testCase", ignore = true)  // Not loaded in run entities
@@ -60,10 +64,19 @@ public interface TestCaseRunMapper {
     @Mapping(target = "testCaseId", ignore = true)  // Set by repository
     @Mapping(target = "testCaseName", ignore = true)  // Set by repository
     @Mapping(target = "errorMessage", ignore = true)  // Set during execution
-    @Mapping(target = "actualStatusCode", ignore = true)  // Set during execution
-    @Mapping(target = "actualResponseBody", ignore = true)  // Set during execution
+    @Mapping(target = "actualStatusCode", source = "response.statusCode")
+    @Mapping(target = "actualResponseBody", source = "response.bodyPreview")
+    @Mapping(target = "actualResponseBodySize", source = "response.bodySize")
+    @Mapping(target = "actualResponseBodySha256", source = "response.bodySha256")
+    @Mapping(target = "actualResponseEncodedSize", source = "response.encodedBodySize")
     @Mapping(target = "actualResponseHeadersJson", ignore = true)  // Set during execution
-    @Mapping(target = "responseTimeMs", ignore = true)  // Set during execution
+    @Mapping(target = "responseTimeMs", source = "timings.responseTimeMs")
+    @Mapping(target = "buildTimeUs", source = "timings.buildMicros")
+    @Mapping(target = "queueWaitUs", source = "timings.queueWaitMicros")
+    @Mapping(target = "hostWaitUs", source = "timings.hostWaitMicros")
+    @Mapping(target = "timeToFirstByteUs", source = "timings.timeToFirstByteMicros")
+    @Mapping(target = "bodyReadUs", source = "timings.bodyReadMicros")
+    @Mapping(target = "validationTimeUs", source = "timings.validationMicros")
     @Mapping(target = "assertionResults", ignore = true)  // Set during execution
     ApiTestRunEntity toEntity(ApiTestRun domain);
 
@@ -74,6 +87,45 @@ public interface TestCaseRunMapper {
     @Mapping(target = "stepRuns", ignore = true)  // Set during execution
     E2eTestRunEntity toEntity(E2eTestRun domain);
 
+    /**
+     * Phase timings of an API test run entity, or null if none were recorded.
+     */
+    default RequestTimings timingsOf(ApiTestRunEntity entity) {
+        if (entity.getResponseTimeMs() == null && entity.getBuildTimeUs() == null) {
+            return null;
+        }
+        return new RequestTimings(
+            entity.getResponseTimeMs(),
+            valueOf(entity.getBuildTimeUs()),
+            valueOf(entity.getQueueWaitUs()),
+            valueOf(entity.getHostWaitUs()),
+            valueOf(entity.getTimeToFirstByteUs()),
+            valueOf(entity.getBodyReadUs()),
+            valueOf(entity.getValidationTimeUs()),
+            0
+        );
+    }
+
+    /**
+     * Response of an API test run entity, or null if none was recorded.
+     */
+    default ResponseSummary responseOf(ApiTestRunEntity entity) {
+        if (entity.getActualStatusCode() == null) {
+            return null;
+        }
+        return new ResponseSummary(
+            entity.getActualStatusCode(),
+            entity.getActualResponseBody(),
+            entity.getActualResponseBodySize(),
+            entity.getActualResponseBodySha256(),
+            entity.getActualResponseEncodedSize()
+        );
+    }
+
+    private static long valueOf(Long micros) {
+        return micros != null ? micros : 0;
+    }
+
     /**
      * Update entity from domain.
      */
@@ -96,10 +148,19 @@ public interface TestCaseRunMapper {
     @Mapping(target = "testCaseId", ignore = true)
     @Mapping(target = "testCaseName", ignore = true)
     @Mapping(target = "errorMessage", ignore = true)
-    @Mapping(target = "actualStatusCode", ignore = true)
-    @Mapping(target = "actualResponseBody", ignore = true)
+    @Mapping(target = "actualStatusCode", source = "response.statusCode")
+    @Mapping(target = "actualResponseBody", source = "response.bodyPreview")
+    @Mapping(target = "actualResponseBodySize", source = "response.bodySize")
+    @Mapping(target = "actualResponseBodySha256", source = "response.bodySha256")
+    @Mapping(target = "actualResponseEncodedSize", source = "response.encodedBodySize")
     @Mapping(target = "actualResponseHeadersJson", ignore = true)
-    @Mapping(target = "responseTimeMs", ignore = true)
+    @Mapping(target = "responseTimeMs", source = "timings.responseTimeMs")
+    @Mapping(target = "buildTimeUs", source = "timings.buildMicros")
+    @Mapping(target = "queueWaitUs", source = "timings.queueWaitMicros")
+    @Mapping(target = "hostWaitUs", source = "timings.hostWaitMicros")
+    @Mapping(target = "timeToFirstByteUs", source = "timings.timeToFirstByteMicros")
+    @Mapping(target = "bodyReadUs", source = "timings.bodyReadMicros")
+    @Mapping(target = "validationTimeUs", source = "timings.validationMicros")
     @Mapping(target = "assertionResults", ignore = true)
     void updateEntityFromDomain(@MappingTarget ApiTestRunEntity entity, ApiTestRun domain);
 
@@ -53,6 +53,11 @@ public abstract class TestSuiteRunMapper {
             });
         }
 
+        // Map progress
+        if (entity.getExpectedTestCasesCount() != null) {
+            run.setExpectedTestCasesCount(entity.getExpectedTestCasesCount());
+        }
+
         // Copy state fields via reflection
         copyRunStateFromEntity(run, entity);
 
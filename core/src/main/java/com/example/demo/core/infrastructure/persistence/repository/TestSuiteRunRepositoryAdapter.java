@@ -1,5 +1,6 @@
 package com.example.demo.core.infrastructure.persistence.repository;
 
+import com.example.demo.core.domain.run.TestCaseRun;
 import com.example.demo.core.domain.run.TestSuiteRun;
 import com.example.demo.core.domain.run.TestSuiteRunRepository;
 import com.example.demo.core.infrastructure.persistence.entity.run.TestSuiteRunEntity;
@@ -47,6 +48,16 @@ public class TestSuiteRunRepositoryAdapter implements TestSuiteRunRepository {
         return mapper.toDomain(saved);
     }
 
+    @Override
+    public void addTestCaseRun(Long runId, TestCaseRun testCaseRun) {
+        int updated = jpaRepository.incrementProgress(runId,
+                testCaseRun.isSuccessful() ? 1 : 0, testCaseRun.isFailed() ? 1 : 0);
+        if (updated == 0) {
+            throw new IllegalArgumentException("TestSuiteRun not found: " + runId);
+        }
+        jpaRepository.attachTestCaseRun(runId, testCaseRun.getId());
+    }
+
     @Override
     public Optional<TestSuiteRun> findById(Long id) {
         return jpaRepository.findById(id)
@@ -6,15 +6,22 @@ import com.example.demo.core.presentation.rest.mapper.TestCaseRunResponseMapper;
 import com.example.demo.core.presentation.rest.mapper.TestSuiteRunResponseMapper;
 import com.example.demo.core.application.dto.execution.ExecuteTestCaseRequest;
 import com.example.demo.core.application.dto.execution.ExecuteTestSuiteRequest;
+import com.example.demo.core.application.dto.execution.RunProgressEvent;
+import com.example.demo.core.application.service.ExecutionRejectedException;
 import com.example.demo.core.application.service.TestExecutionService;
 import com.example.demo.core.domain.run.TestCaseRun;
 import com.example.demo.core.domain.run.TestSuiteRun;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST API for Test Execution.
@@ -40,6 +47,7 @@ public class TestExecutionController {
 
     /**
      * Execute test suite.
+     * Responds 503 Service Unavailable when the test runner is saturated.
      *
      * POST /api/executions/suites
      */
@@ -51,6 +59,16 @@ public class TestExecutionController {
                 .body(new ExecutionStartedResponse(runId, "Test suite execution started"));
     }
 
+    /**
+     * The test runner is saturated: 503 Service Unavailable, retry later.
+     */
+    @ExceptionHandler(ExecutionRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleExecutionRejected(ExecutionRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(Map.of("error", e.getMessage()));
+    }
+
     /**
      * Execute single test case.
      *
@@ -75,6 +93,37 @@ public class TestExecutionController {
         return ResponseEntity.ok(suiteRunMapper.toResponse(run));
     }
 
+    /**
+     * Stop a running test suite run.
+     * Queued test cases are dropped and running ones aborted; the run then completes as CANCELLED.
+     * Responds 409 Conflict if the run is not executing.
+     *
+     * POST /api/executions/suites/{runId}/stop
+     */
+    @PostMapping("/suites/{runId}/stop")
+    public ResponseEntity<ExecutionStartedResponse> stopTestSuiteRun(@PathVariable Long runId) {
+        if (!testExecutionService.stopTestSuiteRun(runId)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ExecutionStartedResponse(runId, "Test suite run is not executing"));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(new ExecutionStartedResponse(runId, "Test suite run stopping"));
+    }
+
+    /**
+     * Stream live progress of a test suite run as server-sent events.
+     * Emits one event per completed test case and E2E step; the stream ends when the run finishes.
+     *
+     * GET /api/executions/suites/{runId}/events
+     */
+    @GetMapping(value = "/suites/{runId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<RunProgressEvent>> streamTestSuiteRun(@PathVariable Long runId) {
+        return testExecutionService.streamTestSuiteRun(runId)
+                .map(event -> ServerSentEvent.builder(event)
+                        .event(event.type().name())
+                        .build());
+    }
+
     /**
      * Get test case run results (with full details for failure analysis).
      *
@@ -19,6 +19,7 @@ public record TestSuiteRunResponse(
         Integer totalTests,
         Integer passedTests,
         Integer failedTests,
+        Integer pendingTests,
         List<TestCaseRunSummary> testCaseRuns
 ) {
 }
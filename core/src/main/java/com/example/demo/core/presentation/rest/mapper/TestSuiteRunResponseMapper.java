@@ -50,9 +50,10 @@ public interface TestSuiteRunResponseMapper {
                 domain.getStartedAt(),
                 domain.getCompletedAt(),
                 durationMs,
-                (int) domain.getTestCaseRuns().size(),
+                Math.max(domain.getExpectedTestCasesCount(), domain.getTestCaseRuns().size()),
                 (int) domain.getPassedTestCasesCount(),
                 (int) domain.getFailedTestCasesCount(),
+                (int) domain.getPendingTestCasesCount(),
                 summaries
         );
     }
@@ -0,0 +1,11 @@
+-- =============================================================================
+-- Migration V3.1: Add Suite Run Progress Counts
+-- =============================================================================
+-- Expected, passed, failed and pending test case counts of a suite run,
+-- updated as test case results arrive while the run executes in the background
+-- =============================================================================
+
+ALTER TABLE test_suite_runs ADD COLUMN IF NOT EXISTS expected_test_cases INTEGER;
+ALTER TABLE test_suite_runs ADD COLUMN IF NOT EXISTS passed_test_cases BIGINT;
+ALTER TABLE test_suite_runs ADD COLUMN IF NOT EXISTS failed_test_cases BIGINT;
+ALTER TABLE test_suite_runs ADD COLUMN IF NOT EXISTS pending_test_cases BIGINT;
@@ -0,0 +1,22 @@
+-- =============================================================================
+-- Migration V4: Add Run Phase Timings
+-- =============================================================================
+-- Records where the time of each API test run and E2E step went, as measured
+-- by the runner (microseconds), next to the existing response_time_ms
+-- =============================================================================
+
+-- API test runs (single-table inheritance: test_case_runs)
+ALTER TABLE test_case_runs ADD COLUMN IF NOT EXISTS build_time_us BIGINT;
+ALTER TABLE test_case_runs ADD COLUMN IF NOT EXISTS queue_wait_us BIGINT;
+ALTER TABLE test_case_runs ADD COLUMN IF NOT EXISTS host_wait_us BIGINT;
+ALTER TABLE test_case_runs ADD COLUMN IF NOT EXISTS time_to_first_byte_us BIGINT;
+ALTER TABLE test_case_runs ADD COLUMN IF NOT EXISTS body_read_us BIGINT;
+ALTER TABLE test_case_runs ADD COLUMN IF NOT EXISTS validation_time_us BIGINT;
+
+-- E2E step runs
+ALTER TABLE e2e_step_runs ADD COLUMN IF NOT EXISTS build_time_us BIGINT;
+ALTER TABLE e2e_step_runs ADD COLUMN IF NOT EXISTS host_wait_us BIGINT;
+ALTER TABLE e2e_step_runs ADD COLUMN IF NOT EXISTS time_to_first_byte_us BIGINT;
+ALTER TABLE e2e_step_runs ADD COLUMN IF NOT EXISTS body_read_us BIGINT;
+ALTER TABLE e2e_step_runs ADD COLUMN IF NOT EXISTS validation_time_us BIGINT;
+ALTER TABLE e2e_step_runs ADD COLUMN IF NOT EXISTS extraction_time_us BIGINT;
@@ -0,0 +1,14 @@
+-- =============================================================================
+-- Migration V5: Add Response Body Size and Digest
+-- =============================================================================
+-- actual_response_body now holds a preview of large bodies (truncated by the
+-- runner); the size and SHA-256 of the whole body are kept next to it
+-- =============================================================================
+
+-- API test runs (single-table inheritance: test_case_runs)
+ALTER TABLE test_case_runs ADD COLUMN IF NOT EXISTS actual_response_body_size BIGINT;
+ALTER TABLE test_case_runs ADD COLUMN IF NOT EXISTS actual_response_body_sha256 VARCHAR(64);
+
+-- E2E step runs
+ALTER TABLE e2e_step_runs ADD COLUMN IF NOT EXISTS actual_response_body_size BIGINT;
+ALTER TABLE e2e_step_runs ADD COLUMN IF NOT EXISTS actual_response_body_sha256 VARCHAR(64);
@@ -0,0 +1,12 @@
+-- =============================================================================
+-- Migration V6: Add Response Encoded Size
+-- =============================================================================
+-- Size of the response body as received (compressed when the server sent it
+-- gzip/deflate encoded), next to the decoded actual_response_body_size
+-- =============================================================================
+
+-- API test runs (single-table inheritance: test_case_runs)
+ALTER TABLE test_case_runs ADD COLUMN IF NOT EXISTS actual_response_encoded_size BIGINT;
+
+-- E2E step runs
+ALTER TABLE e2e_step_runs ADD COLUMN IF NOT EXISTS actual_response_encoded_size BIGINT;
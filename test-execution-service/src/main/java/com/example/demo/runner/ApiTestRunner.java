@@ -1,7 +1,13 @@
 package com.example.demo.runner;
 
+import com.example.demo.runner.body.BodyRetention;
+import com.example.demo.runner.body.BodyRetentionPolicy;
+import com.example.demo.runner.body.ResponseBody;
 import com.example.demo.runner.builder.HttpRequestBuilder;
+import com.example.demo.runner.executor.ExchangeTimer;
 import com.example.demo.runner.executor.HttpRequestExecutor;
+import com.example.demo.runner.limit.HostLimiter;
+import com.example.demo.runner.limit.HostLimiters;
 import com.example.demo.runner.validator.AssertionValidator;
 import com.example.demo.shared.request.*;
 import com.example.demo.shared.result.ApiRunResult;
@@ -11,42 +17,146 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Executes single API tests (REST or SOAP).
  * Flow: Build → Execute → Validate → Return Result
+ *
+ * <p>Both a blocking ({@code run}) and a non-blocking ({@code runAsync}) variant are provided.
+ * The async variant composes the same stages on the HTTP client's completion,
+ * so no thread is parked while the request is in flight.
+ *
+ * <p>Runs execute under a {@link RunControl}: the request is sent with the control's timeout,
+ * and a cancelled run reports status CANCELLED instead of the error of its aborted request.
+ *
+ * <p>Before it is sent, a request waits for the {@link HostLimiters limits} of its target host.
+ * That wait is reported apart from the response time.
+ *
+ * <p>Each phase (build, queue and host waits, time to first byte, body read, validation) is timed
+ * on the monotonic clock and reported in the result's {@link PhaseTimings}; the response time
+ * covers the network exchange only.
+ *
+ * <p>A response body no assertion reads is retained only as far as the {@link BodyRetentionPolicy}
+ * of the run's project asks (a prefix for the preview, or nothing).
  */
 public class ApiTestRunner {
 
     private final Map<String, HttpRequestBuilder> builders;
-    private final HttpRequestExecutor executor;
+    private final LimitedExchanges exchanges;
     private final AssertionValidator validator;
+    private final HostLimiters hostLimiters;
+    private final BodyRetentionPolicy retentionPolicy;
 
     public ApiTestRunner(
         Map<String, HttpRequestBuilder> builders,
         HttpRequestExecutor executor,
         AssertionValidator validator
+    ) {
+        this(builders, executor, validator, new HostLimiters());
+    }
+
+    public ApiTestRunner(
+        Map<String, HttpRequestBuilder> builders,
+        HttpRequestExecutor executor,
+        AssertionValidator validator,
+        HostLimiters hostLimiters
+    ) {
+        this(builders, executor, validator, hostLimiters, BodyRetentionPolicy.DEFAULT);
+    }
+
+    /**
+     * @param retentionPolicy how much of the response bodies no assertion reads to retain
+     */
+    public ApiTestRunner(
+        Map<String, HttpRequestBuilder> builders,
+        HttpRequestExecutor executor,
+        AssertionValidator validator,
+        HostLimiters hostLimiters,
+        BodyRetentionPolicy retentionPolicy
     ) {
         this.builders = builders;
-        this.executor = executor;
+        this.exchanges = new LimitedExchanges(executor);
         this.validator = validator;
+        this.hostLimiters = hostLimiters;
+        this.retentionPolicy = retentionPolicy;
+    }
+
+    /**
+     * Limiters of the requests this runner sends to each host.
+     */
+    public HostLimiters hostLimiters() {
+        return hostLimiters;
     }
 
     /**
      * Execute a REST API test.
      */
     public ApiRunResult run(RestRunRequest request) {
-        return executeApiTest(request, "REST", request.httpRequest(),
-            request.assertions(), request.variables());
+        return run(request, RunControl.of(request.options(), null));
     }
 
     /**
      * Execute a SOAP API test.
      */
     public ApiRunResult run(SoapRunRequest request) {
-        return executeApiTest(request, "SOAP", request.httpRequest(),
-            request.assertions(), request.variables());
+        return run(request, RunControl.of(request.options(), null));
+    }
+
+    /**
+     * Execute a REST API test without blocking the calling thread.
+     */
+    public CompletableFuture<ApiRunResult> runAsync(RestRunRequest request) {
+        return runAsync(request, RunControl.of(request.options(), null));
+    }
+
+    /**
+     * Execute a SOAP API test without blocking the calling thread.
+     */
+    public CompletableFuture<ApiRunResult> runAsync(SoapRunRequest request) {
+        return runAsync(request, RunControl.of(request.options(), null));
+    }
+
+    /**
+     * Execute a REST or SOAP API test under a run control.
+     * A cancelled run yields a CANCELLED result; if it is cancelled before it starts, no request is sent.
+     */
+    public ApiRunResult run(ApiRunRequest request, RunControl control) {
+        return switch (request) {
+            case RestRunRequest r -> executeApiTest(r, "REST", r.httpRequest(), r.assertions(), r.variables(), control);
+            case SoapRunRequest s -> executeApiTest(s, "SOAP", s.httpRequest(), s.assertions(), s.variables(), control);
+        };
+    }
+
+    /**
+     * Execute a REST or SOAP API test under a run control without blocking the calling thread.
+     * Cancelling the control aborts the in-flight HTTP request.
+     */
+    public CompletableFuture<ApiRunResult> runAsync(ApiRunRequest request, RunControl control) {
+        return switch (request) {
+            case RestRunRequest r ->
+                executeApiTestAsync(r, "REST", r.httpRequest(), r.assertions(), r.variables(), control);
+            case SoapRunRequest s ->
+                executeApiTestAsync(s, "SOAP", s.httpRequest(), s.assertions(), s.variables(), control);
+        };
+    }
+
+    /**
+     * Check the assertion expressions of a REST request before it is queued.
+     *
+     * @throws IllegalArgumentException if an expression is invalid
+     */
+    public void precompile(RestRunRequest request) {
+        validator.precompile(request.assertions());
+    }
+
+    /**
+     * Check the assertion expressions of a SOAP request before it is queued.
+     *
+     * @throws IllegalArgumentException if an expression is invalid
+     */
+    public void precompile(SoapRunRequest request) {
+        validator.precompile(request.assertions());
     }
 
     private ApiRunResult executeApiTest(
@@ -54,66 +164,137 @@ public class ApiTestRunner {
         String protocol,
         HttpRequestData requestData,
         List<AssertionSpec> assertions,
-        Map<String, String> variables
+        Map<String, String> variables,
+        RunControl control
     ) {
-        long startTime = System.currentTimeMillis();
+        PhaseClock clock = new PhaseClock(control.started());
+        if (control.isCancelled()) {
+            return cancelledResult(request, control, clock);
+        }
 
         try {
             // 1. Build HTTP request with variable substitution
             HttpRequestBuilder builder = builders.get(protocol);
-            HttpRequest httpRequest = builder.build(requestData, variables);
+            HttpRequest httpRequest = builder.build(requestData, variables, control.requestTimeout());
+            clock.built();
 
-            // 2. Execute HTTP request
-            HttpResponse<String> response = executor.execute(httpRequest);
+            // 2. Wait for the target host's limits, then execute HTTP request
+            HostLimiter.Permit permit = HostLimiters.await(
+                control.track(hostLimiters.acquire(httpRequest.uri(), variables)));
+            clock.permitted();
+            ExchangeTimer exchange = new ExchangeTimer();
+            HttpResponse<ResponseBody> response = exchanges.send(httpRequest, exchange, retentionOf(request, assertions), permit);
+            clock.exchanged(exchange);
 
-            // 3. Validate assertions
-            List<AssertionResult> assertionResults = validator.validate(assertions, response);
+            // 3. Validate and convert
+            return toRunResult(request, response, assertions, clock, exchange, permit);
 
-            // 4. Convert response to shared contract
-            HttpResponseData responseData = toResponseData(response, startTime);
+        } catch (Exception e) {
+            return control.isCancelled() ? cancelledResult(request, control, clock) : errorResult(request, e, clock);
+        }
+    }
 
-            // 5. Determine status
-            boolean allPassed = assertionResults.stream().allMatch(AssertionResult::ok);
-            String status = allPassed ? "PASS" : "FAIL";
+    private CompletableFuture<ApiRunResult> executeApiTestAsync(
+        ApiRunRequest request,
+        String protocol,
+        HttpRequestData requestData,
+        List<AssertionSpec> assertions,
+        Map<String, String> variables,
+        RunControl control
+    ) {
+        PhaseClock clock = new PhaseClock(control.started());
+        if (control.isCancelled()) {
+            return CompletableFuture.completedFuture(cancelledResult(request, control, clock));
+        }
 
-            long duration = System.currentTimeMillis() - startTime;
+        try {
+            // 1. Build HTTP request with variable substitution
+            HttpRequestBuilder builder = builders.get(protocol);
+            HttpRequest httpRequest = builder.build(requestData, variables, control.requestTimeout());
+            clock.built();
 
-            return new ApiRunResult(
-                request.runId(),
-                status,
-                duration,
-                responseData,
-                assertionResults,
-                null
-            );
+            // 2. Wait for the target host's limits, then execute HTTP request,
+            // 3. Validate and convert on completion
+            return control.track(hostLimiters.acquire(httpRequest.uri(), variables))
+                .thenCompose(permit -> {
+                    clock.permitted();
+                    ExchangeTimer exchange = new ExchangeTimer();
+                    return exchanges.sendAsync(httpRequest, exchange, retentionOf(request, assertions), permit, control)
+                        .thenApply(response -> {
+                            clock.exchanged(exchange);
+                            return toRunResult(request, response, assertions, clock, exchange, permit);
+                        });
+                })
+                .exceptionally(e -> control.isCancelled()
+                    ? cancelledResult(request, control, clock)
+                    : errorResult(request, LimitedExchanges.unwrap(e), clock));
 
         } catch (Exception e) {
-            long duration = System.currentTimeMillis() - startTime;
-            return new ApiRunResult(
-                request.runId(),
-                "ERROR",
-                duration,
-                null,
-                List.of(),
-                e.getMessage()
-            );
+            return CompletableFuture.completedFuture(errorResult(request, e, clock));
         }
     }
 
-    private HttpResponseData toResponseData(HttpResponse<String> response, long startTime) {
-        Map<String, String> headers = response.headers().map().entrySet().stream()
-            .collect(Collectors.toMap(
-                Map.Entry::getKey,
-                e -> String.join(",", e.getValue())
-            ));
+    private BodyRetention retentionOf(ApiRunRequest request, List<AssertionSpec> assertions) {
+        return retentionPolicy.retentionFor(request.options().project(), validator.readsBody(assertions));
+    }
 
-        long responseTime = System.currentTimeMillis() - startTime;
+    private ApiRunResult toRunResult(
+        ApiRunRequest request,
+        HttpResponse<ResponseBody> response,
+        List<AssertionSpec> assertions,
+        PhaseClock clock,
+        ExchangeTimer exchange,
+        HostLimiter.Permit permit
+    ) {
+        // Convert response to shared contract, then validate assertions;
+        // the body's buffers (or temporary file) are released once validated
+        HttpResponseData responseData;
+        List<AssertionResult> assertionResults;
+        ResponseBody body = response.body();
+        try {
+            responseData = LimitedExchanges.toResponseData(response, exchange, permit);
+            assertionResults = validator.validate(assertions, response);
+        } finally {
+            body.close();
+        }
+        clock.validated();
+
+        // Determine status
+        boolean allPassed = assertionResults.stream().allMatch(AssertionResult::ok);
+        String status = allPassed ? "PASS" : "FAIL";
+
+        return new ApiRunResult(
+            request.runId(),
+            status,
+            clock.elapsedMillis(),
+            responseData,
+            assertionResults,
+            null,
+            clock.timings()
+        );
+    }
+
+    private ApiRunResult errorResult(ApiRunRequest request, Throwable e, PhaseClock clock) {
+        return new ApiRunResult(
+            request.runId(),
+            "ERROR",
+            clock.elapsedMillis(),
+            null,
+            List.of(),
+            e.getMessage(),
+            clock.timings()
+        );
+    }
 
-        return new HttpResponseData(
-            response.statusCode(),
-            headers,
-            response.body(),
-            responseTime
+    private ApiRunResult cancelledResult(ApiRunRequest request, RunControl control, PhaseClock clock) {
+        return new ApiRunResult(
+            request.runId(),
+            "CANCELLED",
+            clock.elapsedMillis(),
+            null,
+            List.of(),
+            control.cancelReason(),
+            clock.timings()
         );
     }
 }
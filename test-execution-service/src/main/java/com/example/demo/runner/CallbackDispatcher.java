@@ -0,0 +1,179 @@
+package com.example.demo.runner;
+
+import com.example.demo.common.ports.CallbackStats;
+import com.example.demo.shared.result.RunResult;
+import com.example.demo.shared.result.RunResultCallback;
+import com.example.demo.shared.result.StepResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers run results to callbacks on dedicated threads, so a slow consumer does not hold
+ * the worker (or HTTP client thread) that produced the result.
+ *
+ * <p>Each run has a lane: its start, step results and final result are delivered one at a time,
+ * in the order they were reported. Lanes of different runs are delivered concurrently by a
+ * fixed pool. The backlog is bounded; once full, reporting a result waits for room, so
+ * consumers that keep falling behind eventually slow the runner down instead of piling up
+ * results in memory.
+ */
+class CallbackDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(CallbackDispatcher.class);
+
+    private record Delivery(Runnable callback, long reportedAt) {}
+
+    private final int capacity;
+    private final Semaphore room;
+    private final ExecutorService executor;
+    private final Map<String, ArrayDeque<Delivery>> lanes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger backlog = new AtomicInteger();
+    private final LongAccumulator highWatermark = new LongAccumulator(Math::max, 0);
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private final LongAdder totalDelayNanos = new LongAdder();
+    private final LongAccumulator maxDelayNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder totalDurationNanos = new LongAdder();
+    private final LongAccumulator maxDurationNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param threads threads invoking callbacks
+     * @param capacity maximum number of callbacks waiting or running
+     */
+    CallbackDispatcher(int threads, int capacity) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Callback thread count must be at least 1: " + threads);
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Callback backlog must be at least 1: " + capacity);
+        }
+        this.capacity = capacity;
+        this.room = new Semaphore(capacity);
+        this.executor = Executors.newFixedThreadPool(threads,
+            Thread.ofPlatform().name("runner-callback-", 0).daemon().factory());
+    }
+
+    /**
+     * Wrap a run's callback so its invocations go through the run's lane.
+     */
+    RunResultCallback forRun(String runId, RunResultCallback callback) {
+        return new RunResultCallback() {
+            @Override
+            public void onComplete(RunResult result) {
+                dispatch(runId, () -> callback.onComplete(result));
+            }
+
+            @Override
+            public void onStart() {
+                dispatch(runId, callback::onStart);
+            }
+
+            @Override
+            public void onStepComplete(StepResult stepResult) {
+                dispatch(runId, () -> callback.onStepComplete(stepResult));
+            }
+        };
+    }
+
+    private void dispatch(String runId, Runnable callback) {
+        if (!room.tryAcquire()) {
+            blocked.increment();
+            // A result must not be lost, so wait even if the reporting thread is interrupted
+            room.acquireUninterruptibly();
+        }
+        highWatermark.accumulate(backlog.incrementAndGet());
+
+        Delivery delivery = new Delivery(callback, System.nanoTime());
+        boolean[] newLane = new boolean[1];
+        lanes.compute(runId, (id, lane) -> {
+            if (lane == null) {
+                lane = new ArrayDeque<>();
+                newLane[0] = true;
+            }
+            lane.addLast(delivery);
+            return lane;
+        });
+        if (newLane[0]) {
+            try {
+                executor.execute(() -> drain(runId));
+            } catch (RejectedExecutionException e) {
+                // Shut down: deliver on the reporting thread
+                drain(runId);
+            }
+        }
+    }
+
+    /**
+     * Deliver a lane until it is empty. An empty lane is removed in the same step,
+     * so the next result of the run starts a new one.
+     */
+    private void drain(String runId) {
+        Delivery[] next = new Delivery[1];
+        while (true) {
+            lanes.compute(runId, (id, lane) -> {
+                next[0] = lane.pollFirst();
+                return next[0] != null ? lane : null;
+            });
+            if (next[0] == null) {
+                return;
+            }
+            deliver(runId, next[0]);
+        }
+    }
+
+    private void deliver(String runId, Delivery delivery) {
+        long startedAt = System.nanoTime();
+        long delay = startedAt - delivery.reportedAt();
+        totalDelayNanos.add(delay);
+        maxDelayNanos.accumulate(delay);
+        try {
+            delivery.callback().run();
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.error("Callback of run {} failed", runId, e);
+        } finally {
+            long duration = System.nanoTime() - startedAt;
+            totalDurationNanos.add(duration);
+            maxDurationNanos.accumulate(duration);
+            delivered.increment();
+            backlog.decrementAndGet();
+            room.release();
+        }
+    }
+
+    CallbackStats stats() {
+        return new CallbackStats(
+            backlog.get(),
+            capacity,
+            (int) highWatermark.get(),
+            delivered.sum(),
+            failed.sum(),
+            blocked.sum(),
+            TimeUnit.NANOSECONDS.toMillis(totalDelayNanos.sum()),
+            TimeUnit.NANOSECONDS.toMillis(maxDelayNanos.get()),
+            TimeUnit.NANOSECONDS.toMillis(totalDurationNanos.sum()),
+            TimeUnit.NANOSECONDS.toMillis(maxDurationNanos.get())
+        );
+    }
+
+    /**
+     * Stop accepting new lanes; callbacks already reported are still delivered.
+     */
+    void shutdown() {
+        executor.shutdown();
+    }
+}
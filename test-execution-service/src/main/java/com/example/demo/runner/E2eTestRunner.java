@@ -1,9 +1,17 @@
 package com.example.demo.runner;
 
+import com.example.demo.runner.body.BodyRetention;
+import com.example.demo.runner.body.BodyRetentionPolicy;
+import com.example.demo.runner.body.ResponseBody;
 import com.example.demo.runner.builder.HttpRequestBuilder;
+import com.example.demo.runner.context.StepDependencyGraph;
 import com.example.demo.runner.context.VariableContext;
+import com.example.demo.runner.executor.ExchangeTimer;
 import com.example.demo.runner.executor.HttpRequestExecutor;
 import com.example.demo.runner.extractor.VariableExtractor;
+import com.example.demo.runner.limit.HostLimiter;
+import com.example.demo.runner.limit.HostLimiters;
+import com.example.demo.runner.response.ResponseView;
 import com.example.demo.runner.validator.AssertionValidator;
 import com.example.demo.shared.request.*;
 import com.example.demo.shared.result.*;
@@ -12,36 +20,159 @@ import com.example.demo.shared.valueobject.*;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
 
 /**
  * Executes E2E test workflows with sequential steps and variable passing.
  * Flow: Initialize Context → For Each Step (Build → Execute → Validate → Extract) → Return Result
+ *
+ * <p>The async variant ({@code runAsync}) chains steps through futures:
+ * each step is started from the completion of the previous one, so no thread
+ * is parked between or during steps.
+ *
+ * <p>With parallel steps enabled, steps are scheduled along a {@link StepDependencyGraph}
+ * instead: a step starts as soon as the steps producing the variables it references have
+ * passed, so independent steps run concurrently and the workflow takes critical-path time.
+ * A step sees the variables of the steps it depends on only, whichever others completed first.
+ * Results are still reported in step order and stop at the first failing step; steps after
+ * a failure are not started, but steps already running concurrently complete. Parallel
+ * steps are opt-in because workflows may rely on side effects of earlier steps that no
+ * variable expresses (e.g. create, then list).
+ *
+ * <p>Each step's request waits for the {@link HostLimiters limits} of its target host,
+ * read from the run's variables, before it is sent.
+ *
+ * <p>The phases of each step (build, host wait, time to first byte, body read, validation,
+ * extraction) are timed on the monotonic clock and reported in its {@link PhaseTimings}.
+ *
+ * <p>A step's response body is retained in full only if one of its assertions or extractors
+ * reads it; otherwise the {@link BodyRetentionPolicy} of the run's project applies.
  */
 public class E2eTestRunner {
 
     private final Map<String, HttpRequestBuilder> builders;
-    private final HttpRequestExecutor executor;
+    private final LimitedExchanges exchanges;
     private final AssertionValidator validator;
     private final VariableExtractor extractor;
+    private final boolean parallelSteps;
+    private final HostLimiters hostLimiters;
+    private final BodyRetentionPolicy retentionPolicy;
 
     public E2eTestRunner(
         Map<String, HttpRequestBuilder> builders,
         HttpRequestExecutor executor,
         AssertionValidator validator,
         VariableExtractor extractor
+    ) {
+        this(builders, executor, validator, extractor, false);
+    }
+
+    /**
+     * @param parallelSteps run steps that do not depend on each other concurrently
+     */
+    public E2eTestRunner(
+        Map<String, HttpRequestBuilder> builders,
+        HttpRequestExecutor executor,
+        AssertionValidator validator,
+        VariableExtractor extractor,
+        boolean parallelSteps
+    ) {
+        this(builders, executor, validator, extractor, parallelSteps, new HostLimiters());
+    }
+
+    /**
+     * @param parallelSteps run steps that do not depend on each other concurrently
+     * @param hostLimiters limits of the requests sent to each host
+     */
+    public E2eTestRunner(
+        Map<String, HttpRequestBuilder> builders,
+        HttpRequestExecutor executor,
+        AssertionValidator validator,
+        VariableExtractor extractor,
+        boolean parallelSteps,
+        HostLimiters hostLimiters
+    ) {
+        this(builders, executor, validator, extractor, parallelSteps, hostLimiters, BodyRetentionPolicy.DEFAULT);
+    }
+
+    /**
+     * @param parallelSteps run steps that do not depend on each other concurrently
+     * @param hostLimiters limits of the requests sent to each host
+     * @param retentionPolicy how much of the response bodies no assertion or extractor reads to retain
+     */
+    public E2eTestRunner(
+        Map<String, HttpRequestBuilder> builders,
+        HttpRequestExecutor executor,
+        AssertionValidator validator,
+        VariableExtractor extractor,
+        boolean parallelSteps,
+        HostLimiters hostLimiters,
+        BodyRetentionPolicy retentionPolicy
     ) {
         this.builders = builders;
-        this.executor = executor;
+        this.exchanges = new LimitedExchanges(executor);
         this.validator = validator;
         this.extractor = extractor;
+        this.parallelSteps = parallelSteps;
+        this.hostLimiters = hostLimiters;
+        this.retentionPolicy = retentionPolicy;
+    }
+
+    /**
+     * Check the assertion and extraction expressions of every step before the request is queued.
+     *
+     * @throws IllegalArgumentException if an expression is invalid
+     */
+    public void precompile(E2eRunRequest request) {
+        for (E2eStepRequest step : request.steps()) {
+            try {
+                validator.precompile(step.assertions());
+                extractor.precompile(step.extractors());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Step " + step.stepOrder() + " (" + step.stepName() + "): "
+                    + e.getMessage(), e);
+            }
+        }
     }
 
     /**
      * Execute an E2E test workflow.
      */
     public E2eRunResult run(E2eRunRequest request) {
-        long startTime = System.currentTimeMillis();
+        return run(request, stepResult -> { });
+    }
+
+    /**
+     * Execute an E2E test workflow, reporting each step as soon as it completes.
+     *
+     * @param request the E2E run request
+     * @param onStepCompleted invoked with each step result as soon as it and the steps before it
+     *                        completed, in step order (also when parallel steps are enabled)
+     */
+    public E2eRunResult run(E2eRunRequest request, Consumer<StepResult> onStepCompleted) {
+        return run(request, onStepCompleted, RunControl.of(request.options(), null));
+    }
+
+    /**
+     * Execute an E2E test workflow under a run control, reporting each step as soon as it completes.
+     * Once the control is cancelled no further step is started, and the run reports status CANCELLED.
+     *
+     * @param request the E2E run request
+     * @param onStepCompleted invoked with each step result, in step order
+     * @param control cancellation and deadlines of the run
+     */
+    public E2eRunResult run(E2eRunRequest request, Consumer<StepResult> onStepCompleted, RunControl control) {
+        control.started();
+        Optional<StepDependencyGraph> graph = parallelGraph(request);
+        if (graph.isPresent()) {
+            return runParallel(request, graph.get(), onStepCompleted, control).join();
+        }
+
+        long startTime = System.nanoTime();
 
         // 1. Initialize variable context with initial variables
         VariableContext context = new VariableContext(request.variables());
@@ -49,8 +180,12 @@ public class E2eTestRunner {
 
         // 2. Execute each step sequentially
         for (E2eStepRequest step : request.steps()) {
-            StepResult stepResult = executeStep(step, context);
+            if (control.isCancelled()) {
+                break;
+            }
+            StepResult stepResult = executeStep(step, request.options().project(), context, control);
             stepResults.add(stepResult);
+            onStepCompleted.accept(stepResult);
 
             // 3. Stop on first failure/error
             if (!"PASS".equals(stepResult.status())) {
@@ -62,11 +197,211 @@ public class E2eTestRunner {
         }
 
         // 5. Determine overall status
+        return toRunResult(request, stepResults, context, startTime, control);
+    }
+
+    /**
+     * Execute an E2E test workflow without blocking the calling thread.
+     * Same semantics as {@link #run(E2eRunRequest)}: sequential steps, stop on first failure.
+     */
+    public CompletableFuture<E2eRunResult> runAsync(E2eRunRequest request) {
+        return runAsync(request, stepResult -> { });
+    }
+
+    /**
+     * Execute an E2E test workflow without blocking, reporting each step as soon as it completes.
+     *
+     * @param request the E2E run request
+     * @param onStepCompleted invoked with each step result as soon as it and the steps before it
+     *                        completed, in step order (also when parallel steps are enabled)
+     */
+    public CompletableFuture<E2eRunResult> runAsync(E2eRunRequest request, Consumer<StepResult> onStepCompleted) {
+        return runAsync(request, onStepCompleted, RunControl.of(request.options(), null));
+    }
+
+    /**
+     * Execute an E2E test workflow under a run control without blocking.
+     * Cancelling the control aborts the in-flight HTTP requests and starts no further step.
+     *
+     * @param request the E2E run request
+     * @param onStepCompleted invoked with each step result, in step order
+     * @param control cancellation and deadlines of the run
+     */
+    public CompletableFuture<E2eRunResult> runAsync(E2eRunRequest request, Consumer<StepResult> onStepCompleted,
+                                                    RunControl control) {
+        control.started();
+        Optional<StepDependencyGraph> graph = parallelGraph(request);
+        if (graph.isPresent()) {
+            return runParallel(request, graph.get(), onStepCompleted, control);
+        }
+
+        long startTime = System.nanoTime();
+
+        VariableContext context = new VariableContext(request.variables());
+        List<StepResult> stepResults = new ArrayList<>();
+
+        return runStepsAsync(request.steps(), request.options().project(), 0, context, stepResults,
+            onStepCompleted, control)
+            .thenApply(finalContext -> toRunResult(request, stepResults, finalContext, startTime, control));
+    }
+
+    /**
+     * Execute steps from the given index onwards, each one chained on the completion of the previous.
+     *
+     * @return future completed with the final variable context
+     */
+    private CompletableFuture<VariableContext> runStepsAsync(
+        List<E2eStepRequest> steps,
+        String project,
+        int index,
+        VariableContext context,
+        List<StepResult> stepResults,
+        Consumer<StepResult> onStepCompleted,
+        RunControl control
+    ) {
+        if (index >= steps.size() || control.isCancelled()) {
+            return CompletableFuture.completedFuture(context);
+        }
+
+        return executeStepAsync(steps.get(index), project, context, control).thenCompose(stepResult -> {
+            stepResults.add(stepResult);
+            onStepCompleted.accept(stepResult);
+
+            // Stop on first failure/error
+            if (!"PASS".equals(stepResult.status())) {
+                return CompletableFuture.completedFuture(context);
+            }
+
+            // Merge extracted variables into context for next steps
+            return runStepsAsync(steps, project, index + 1, context.merge(stepResult.extractedVariables()),
+                stepResults, onStepCompleted, control);
+        });
+    }
+
+    /**
+     * Dependency graph of the request's steps, if parallel steps are enabled
+     * and at least two steps are independent of each other.
+     */
+    private Optional<StepDependencyGraph> parallelGraph(E2eRunRequest request) {
+        if (!parallelSteps || request.steps().size() < 2) {
+            return Optional.empty();
+        }
+        StepDependencyGraph graph = StepDependencyGraph.of(request.steps(), step -> {
+            HttpRequestBuilder builder = builders.get(step.protocol());
+            return builder != null ? builder.referencedVariables(step.httpRequest()) : Optional.empty();
+        });
+        return graph.isSequential() ? Optional.empty() : Optional.of(graph);
+    }
+
+    /**
+     * Execute steps along their dependency graph: each step starts once all steps it depends on
+     * completed, with the variables extracted by those steps. Steps are reported in step order,
+     * each once the steps before it are reported, up to the first failing step.
+     */
+    private CompletableFuture<E2eRunResult> runParallel(
+        E2eRunRequest request,
+        StepDependencyGraph graph,
+        Consumer<StepResult> onStepCompleted,
+        RunControl control
+    ) {
+        long startTime = System.nanoTime();
+
+        List<E2eStepRequest> steps = request.steps();
+        VariableContext initial = new VariableContext(request.variables());
+        AtomicReferenceArray<StepResult> results = new AtomicReferenceArray<>(steps.size());
+        AtomicInteger firstFailure = new AtomicInteger(Integer.MAX_VALUE);
+        AtomicInteger nextToReport = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(steps.size());
+
+        for (int i = 0; i < steps.size(); i++) {
+            int index = i;
+            CompletableFuture<?>[] dependencies = graph.dependenciesOf(index).stream()
+                .map(futures::get)
+                .toArray(CompletableFuture[]::new);
+
+            futures.add(CompletableFuture.allOf(dependencies).thenCompose(ignored -> {
+                // Stop on first failure or cancellation: steps after a failed step are not started
+                if (firstFailure.get() < index || control.isCancelled()) {
+                    return CompletableFuture.completedFuture(null);
+                }
+                return executeStepAsync(steps.get(index), request.options().project(),
+                        contextOf(initial, results, graph.dependenciesOf(index)), control)
+                    .thenAccept(stepResult -> {
+                        results.set(index, stepResult);
+                        if (!"PASS".equals(stepResult.status())) {
+                            firstFailure.accumulateAndGet(index, Math::min);
+                        }
+                        reportInOrder(results, firstFailure, nextToReport, onStepCompleted);
+                    });
+            }));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            // Report in step order, up to and including the first failing step (or the first not started)
+            List<StepResult> stepResults = new ArrayList<>();
+            VariableContext context = initial;
+            for (int i = 0; i < steps.size() && i <= firstFailure.get(); i++) {
+                StepResult stepResult = results.get(i);
+                if (stepResult == null) {
+                    break;
+                }
+                stepResults.add(stepResult);
+                if ("PASS".equals(stepResult.status())) {
+                    context = context.merge(stepResult.extractedVariables());
+                }
+            }
+            return toRunResult(request, stepResults, context, startTime, control);
+        });
+    }
+
+    /**
+     * Variable context for a step: initial variables merged with the variables extracted
+     * by the passed steps it depends on, in step order. Steps it does not depend on are left out
+     * even if they already completed, so the context does not depend on timing.
+     * Forks the shared initial context.
+     */
+    private VariableContext contextOf(VariableContext initial, AtomicReferenceArray<StepResult> results,
+                                      Set<Integer> dependencies) {
+        VariableContext context = initial;
+        for (int dependency : dependencies) {
+            StepResult stepResult = results.get(dependency);
+            if (stepResult != null && "PASS".equals(stepResult.status())) {
+                context = context.merge(stepResult.extractedVariables());
+            }
+        }
+        return context;
+    }
+
+    /**
+     * Report the completed steps that follow the last reported one without a gap,
+     * up to the first failing step. Reports are serialized and made in step order.
+     */
+    private static void reportInOrder(AtomicReferenceArray<StepResult> results, AtomicInteger firstFailure,
+                                      AtomicInteger nextToReport, Consumer<StepResult> onStepCompleted) {
+        synchronized (nextToReport) {
+            int next = nextToReport.get();
+            while (next < results.length() && next <= firstFailure.get() && results.get(next) != null) {
+                onStepCompleted.accept(results.get(next));
+                next++;
+            }
+            nextToReport.set(next);
+        }
+    }
+
+    private E2eRunResult toRunResult(
+        E2eRunRequest request,
+        List<StepResult> stepResults,
+        VariableContext context,
+        long startTime,
+        RunControl control
+    ) {
         boolean allPassed = stepResults.stream().allMatch(s -> "PASS".equals(s.status()));
         boolean hasError = stepResults.stream().anyMatch(s -> "ERROR".equals(s.status()));
-        String status = hasError ? "ERROR" : (allPassed ? "PASS" : "FAIL");
+        boolean cancelled = stepResults.stream().anyMatch(s -> "CANCELLED".equals(s.status()))
+            || (control.isCancelled() && stepResults.size() < request.steps().size());
+        String status = cancelled ? "CANCELLED" : hasError ? "ERROR" : (allPassed ? "PASS" : "FAIL");
 
-        long duration = System.currentTimeMillis() - startTime;
+        long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
 
         return new E2eRunResult(
             request.runId(),
@@ -74,83 +409,147 @@ public class E2eTestRunner {
             duration,
             stepResults,
             context.getVariables(),
-            null
+            cancelled ? control.cancelReason() : null
         );
     }
 
     /**
      * Execute a single E2E step.
      */
-    private StepResult executeStep(E2eStepRequest step, VariableContext context) {
-        long stepStartTime = System.currentTimeMillis();
+    private StepResult executeStep(E2eStepRequest step, String project, VariableContext context, RunControl control) {
+        PhaseClock clock = new PhaseClock(0);
 
         try {
             // 1. Get appropriate builder
             HttpRequestBuilder builder = builders.get(step.protocol());
 
             // 2. Build HTTP request with current variable context
-            HttpRequest httpRequest = builder.build(step.httpRequest(), context.getVariables());
+            HttpRequest httpRequest = builder.build(step.httpRequest(), context.getVariables(), control.requestTimeout());
+            clock.built();
 
-            // 3. Execute HTTP request
-            HttpResponse<String> response = executor.execute(httpRequest);
+            // 3. Wait for the target host's limits, then execute HTTP request
+            HostLimiter.Permit permit = HostLimiters.await(
+                control.track(hostLimiters.acquire(httpRequest.uri(), context.getVariables())));
+            clock.permitted();
+            ExchangeTimer exchange = new ExchangeTimer();
+            HttpResponse<ResponseBody> response = exchanges.send(httpRequest, exchange, retentionOf(step, project), permit);
+            clock.exchanged(exchange);
 
-            // 4. Validate assertions
-            List<AssertionResult> assertionResults = validator.validate(step.assertions(), response);
+            // 4. Validate, extract and convert
+            return toStepResult(step, response, clock, exchange, permit);
 
-            // 5. Extract variables from response
-            Map<String, String> extractedVariables = extractor.extract(step.extractors(), response);
+        } catch (Exception e) {
+            return control.isCancelled()
+                ? cancelledStepResult(step, control, clock)
+                : errorStepResult(step, e, clock);
+        }
+    }
 
-            // 6. Convert response to shared contract
-            HttpResponseData responseData = toResponseData(response, stepStartTime);
+    /**
+     * Execute a single E2E step without blocking the calling thread.
+     */
+    private CompletableFuture<StepResult> executeStepAsync(E2eStepRequest step, String project,
+                                                           VariableContext context, RunControl control) {
+        PhaseClock clock = new PhaseClock(0);
 
-            // 7. Determine step status
-            boolean allPassed = assertionResults.stream().allMatch(AssertionResult::ok);
-            String status = allPassed ? "PASS" : "FAIL";
+        try {
+            // 1. Get appropriate builder
+            HttpRequestBuilder builder = builders.get(step.protocol());
 
-            long stepDuration = System.currentTimeMillis() - stepStartTime;
+            // 2. Build HTTP request with current variable context
+            HttpRequest httpRequest = builder.build(step.httpRequest(), context.getVariables(), control.requestTimeout());
+            clock.built();
 
-            return new StepResult(
-                step.stepId(),
-                step.stepName(),
-                step.stepOrder(),
-                status,
-                responseData,
-                assertionResults,
-                extractedVariables,
-                stepDuration,
-                null
-            );
+            // 3. Wait for the target host's limits, then execute HTTP request,
+            // 4. Validate, extract and convert on completion
+            return control.track(hostLimiters.acquire(httpRequest.uri(), context.getVariables()))
+                .thenCompose(permit -> {
+                    clock.permitted();
+                    ExchangeTimer exchange = new ExchangeTimer();
+                    return exchanges.sendAsync(httpRequest, exchange, retentionOf(step, project), permit, control)
+                        .thenApply(response -> {
+                            clock.exchanged(exchange);
+                            return toStepResult(step, response, clock, exchange, permit);
+                        });
+                })
+                .exceptionally(e -> control.isCancelled()
+                    ? cancelledStepResult(step, control, clock)
+                    : errorStepResult(step, LimitedExchanges.unwrap(e), clock));
 
         } catch (Exception e) {
-            long stepDuration = System.currentTimeMillis() - stepStartTime;
-            return new StepResult(
-                step.stepId(),
-                step.stepName(),
-                step.stepOrder(),
-                "ERROR",
-                null,
-                List.of(),
-                Map.of(),
-                stepDuration,
-                e.getMessage()
-            );
+            return CompletableFuture.completedFuture(errorStepResult(step, e, clock));
         }
     }
 
-    private HttpResponseData toResponseData(HttpResponse<String> response, long startTime) {
-        Map<String, String> headers = response.headers().map().entrySet().stream()
-            .collect(Collectors.toMap(
-                Map.Entry::getKey,
-                e -> String.join(",", e.getValue())
-            ));
+    private BodyRetention retentionOf(E2eStepRequest step, String project) {
+        boolean bodyRead = validator.readsBody(step.assertions()) || extractor.readsBody(step.extractors());
+        return retentionPolicy.retentionFor(project, bodyRead);
+    }
+
+    private StepResult toStepResult(E2eStepRequest step, HttpResponse<ResponseBody> response, PhaseClock clock,
+                                    ExchangeTimer exchange, HostLimiter.Permit permit) {
+        HttpResponseData responseData;
+        List<AssertionResult> assertionResults;
+        Map<String, String> extractedVariables;
+        // The body's buffers (or temporary file) are released once assertions and extractors ran
+        ResponseBody body = response.body();
+        try {
+            // Convert response to shared contract
+            responseData = LimitedExchanges.toResponseData(response, exchange, permit);
+
+            // One view for assertions and extractors, so the body is parsed once
+            ResponseView view = ResponseView.of(response);
+
+            // Validate assertions
+            assertionResults = validator.validate(step.assertions(), view);
+            clock.validated();
+
+            // Extract variables from response
+            extractedVariables = extractor.extract(step.extractors(), view);
+            clock.extracted();
+        } finally {
+            body.close();
+        }
+
+        // Determine step status
+        boolean allPassed = assertionResults.stream().allMatch(AssertionResult::ok);
+        String status = allPassed ? "PASS" : "FAIL";
 
-        long responseTime = System.currentTimeMillis() - startTime;
+        return new StepResult(
+            step.stepId(),
+            step.stepName(),
+            step.stepOrder(),
+            status,
+            responseData,
+            assertionResults,
+            extractedVariables,
+            clock.elapsedMillis(),
+            null,
+            clock.timings()
+        );
+    }
+
+    private StepResult errorStepResult(E2eStepRequest step, Throwable e, PhaseClock clock) {
+        return stepResultWithoutResponse(step, "ERROR", e.getMessage(), clock);
+    }
+
+    private StepResult cancelledStepResult(E2eStepRequest step, RunControl control, PhaseClock clock) {
+        return stepResultWithoutResponse(step, "CANCELLED", control.cancelReason(), clock);
+    }
 
-        return new HttpResponseData(
-            response.statusCode(),
-            headers,
-            response.body(),
-            responseTime
+    private StepResult stepResultWithoutResponse(E2eStepRequest step, String status, String message,
+                                                 PhaseClock clock) {
+        return new StepResult(
+            step.stepId(),
+            step.stepName(),
+            step.stepOrder(),
+            status,
+            null,
+            List.of(),
+            Map.of(),
+            clock.elapsedMillis(),
+            message,
+            clock.timings()
         );
     }
 }
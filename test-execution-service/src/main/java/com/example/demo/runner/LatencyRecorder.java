@@ -0,0 +1,76 @@
+package com.example.demo.runner;
+
+import com.example.demo.shared.result.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets, safe to record from many threads.
+ *
+ * <p>Values below 128µs have a bucket each; above, every power-of-two range is split into 64
+ * buckets, so a bucket is never wider than 1/64 of its values. Values past about 38 hours
+ * share the last bucket.
+ */
+class LatencyRecorder {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    private static final long MAX_MICROS = (1L << 37) - 1;
+    private static final int BUCKETS = indexOf(MAX_MICROS) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    static int indexOf(long micros) {
+        if (micros < LINEAR_LIMIT) {
+            return (int) micros;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (int) ((micros >> shift) - SUB_BUCKETS);
+    }
+
+    static long lowerBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int offset = index - LINEAR_LIMIT;
+        int shift = offset / SUB_BUCKETS + 1;
+        return (long) (offset % SUB_BUCKETS + SUB_BUCKETS) << shift;
+    }
+
+    void record(long micros) {
+        long value = Math.max(0, Math.min(micros, MAX_MICROS));
+        counts.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        min.accumulateAndGet(value, Math::min);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Histogram of the values recorded so far.
+     */
+    LatencyHistogram snapshot() {
+        long total = count.sum();
+        if (total == 0) {
+            return LatencyHistogram.EMPTY;
+        }
+        List<LatencyHistogram.Bucket> buckets = new ArrayList<>();
+        for (int i = 0; i < BUCKETS; i++) {
+            long bucketCount = counts.get(i);
+            if (bucketCount > 0) {
+                long to = i + 1 < BUCKETS ? lowerBound(i + 1) : MAX_MICROS + 1;
+                buckets.add(new LatencyHistogram.Bucket(lowerBound(i), to, bucketCount));
+            }
+        }
+        return new LatencyHistogram(buckets, min.get(), max.get(), (double) sum.sum() / total);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.runner;
+
+import com.example.demo.runner.body.BodyRetention;
+import com.example.demo.runner.body.ResponseBody;
+import com.example.demo.runner.executor.ExchangeTimer;
+import com.example.demo.runner.executor.HttpRequestExecutor;
+import com.example.demo.runner.limit.HostLimiter;
+import com.example.demo.shared.valueobject.HttpResponseData;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP exchanges of the runners, sent while holding a host permit.
+ *
+ * <p>The permit is released as soon as the exchange completes; a failed exchange is reported to
+ * the host's limiter first, and a response (status and response time) when it is converted to
+ * the shared contract, so adaptive concurrency limits see every request the runners send.
+ */
+final class LimitedExchanges {
+
+    private final HttpRequestExecutor executor;
+
+    LimitedExchanges(HttpRequestExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Send a request holding a host permit, blocking until the response arrived.
+     */
+    HttpResponse<ResponseBody> send(HttpRequest httpRequest, ExchangeTimer exchange, BodyRetention retention,
+                                    HostLimiter.Permit permit) {
+        try {
+            return executor.execute(httpRequest, exchange, retention);
+        } catch (RuntimeException e) {
+            permit.onFailure(e);
+            throw e;
+        } finally {
+            permit.release();
+        }
+    }
+
+    /**
+     * Send a request holding a host permit without blocking, tracked by the run so cancelling
+     * the run aborts the exchange.
+     */
+    CompletableFuture<HttpResponse<ResponseBody>> sendAsync(HttpRequest httpRequest, ExchangeTimer exchange,
+                                                            BodyRetention retention,
+                                                            HostLimiter.Permit permit, RunControl control) {
+        try {
+            return control.track(executor.executeAsync(httpRequest, exchange, retention))
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        permit.onFailure(error);
+                    }
+                    permit.release();
+                });
+        } catch (RuntimeException e) {
+            permit.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Convert a response to the shared contract, reporting it to the host's limiter.
+     * Does not close the body.
+     */
+    static HttpResponseData toResponseData(HttpResponse<ResponseBody> response, ExchangeTimer exchange,
+                                           HostLimiter.Permit permit) {
+        long responseTime = TimeUnit.NANOSECONDS.toMillis(exchange.totalNanos());
+        // Feeds the host's adaptive concurrency limit, if any
+        permit.onResponse(response.statusCode(), responseTime);
+
+        ResponseBody body = response.body();
+        return new HttpResponseData(
+            response.statusCode(),
+            response.headers().map(),  // already immutable, shared as-is
+            body.preview(),
+            responseTime,
+            permit.waitMillis(),
+            body.size(),
+            body.sha256(),
+            body.encodedSize()
+        );
+    }
+
+    /**
+     * The failure behind an asynchronous stage's exception.
+     */
+    static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.demo.runner;
+
+import com.example.demo.shared.request.ApiRunRequest;
+import com.example.demo.shared.request.LoadProfile;
+import com.example.demo.shared.request.LoadRunRequest;
+import com.example.demo.shared.request.RestRunRequest;
+import com.example.demo.shared.request.SoapRunRequest;
+import com.example.demo.shared.result.ApiRunResult;
+import com.example.demo.shared.result.LoadRunResult;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Executes load runs: replays an API test for a duration, at a target rate or concurrency.
+ *
+ * <p>Requests are sent through {@link ApiTestRunner#runAsync}, so each one is built, limited by
+ * its host's limits and validated like a single run, without a thread per request in flight.
+ * One thread paces the run: with a rate (open model) it starts request {@code i} at
+ * {@code start + i / rate}, late or not, and measures its latency from that scheduled time; with
+ * only a concurrency (closed model) it starts a request whenever one completes.
+ *
+ * <p>Latencies of the requests that got a response (PASS or FAIL) go into a {@link LatencyRecorder}.
+ * Once the duration is over the runner waits for the requests in flight, so the run takes its
+ * duration plus at most one request timeout. Cancelling the control stops the schedule and
+ * aborts the requests in flight; the result then reports the requests completed so far.
+ */
+public class LoadTestRunner {
+
+    /**
+     * Requests in flight of an open-model run whose profile sets no concurrency.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 1000;
+
+    private final ApiTestRunner apiRunner;
+    private final int defaultMaxInFlight;
+
+    public LoadTestRunner(ApiTestRunner apiRunner) {
+        this(apiRunner, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * @param defaultMaxInFlight requests in flight of an open-model run whose profile sets no concurrency
+     */
+    public LoadTestRunner(ApiTestRunner apiRunner, int defaultMaxInFlight) {
+        if (defaultMaxInFlight < 1) {
+            throw new IllegalArgumentException("Load max in-flight must be at least 1: " + defaultMaxInFlight);
+        }
+        this.apiRunner = apiRunner;
+        this.defaultMaxInFlight = defaultMaxInFlight;
+    }
+
+    /**
+     * Counts of a load run, updated from the threads completing its requests.
+     */
+    private static final class Tally {
+        final LatencyRecorder latency = new LatencyRecorder();
+        final LongAdder passed = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+        final AtomicReference<String> firstError = new AtomicReference<>();
+
+        void record(ApiRunResult result, Throwable error, long latencyNanos) {
+            String status = result != null ? result.status() : "ERROR";
+            switch (status) {
+                case "PASS", "FAIL" -> {
+                    (status.equals("PASS") ? passed : failed).increment();
+                    latency.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+                    if (result.response() != null) {
+                        statusCodes.computeIfAbsent(result.response().statusCode(), code -> new LongAdder())
+                            .increment();
+                    }
+                }
+                case "CANCELLED" -> { }
+                default -> {
+                    errors.increment();
+                    firstError.compareAndSet(null, result != null ? result.errorMessage() : error.toString());
+                }
+            }
+        }
+
+        long requests() {
+            return passed.sum() + failed.sum() + errors.sum();
+        }
+
+        Map<Integer, Long> statusCodes() {
+            Map<Integer, Long> codes = new TreeMap<>();
+            statusCodes.forEach((code, count) -> codes.put(code, count.sum()));
+            return Collections.unmodifiableMap(codes);
+        }
+    }
+
+    /**
+     * Execute a load run, blocking the calling thread for its duration.
+     * The control's request timeout applies to each request; cancelling the control
+     * (or interrupting the thread) ends the run early.
+     */
+    public LoadRunResult run(LoadRunRequest request, RunControl control) {
+        LoadProfile profile = request.profile();
+        int maxInFlight = profile.concurrency() > 0 ? profile.concurrency() : defaultMaxInFlight;
+        Semaphore slots = new Semaphore(maxInFlight);
+        Tally tally = new Tally();
+
+        long start = System.nanoTime();
+        long end = start + profile.duration().toNanos();
+        double interval = profile.isOpenModel() ? TimeUnit.SECONDS.toNanos(1) / profile.requestsPerSecond() : 0;
+        try {
+            for (long i = 0; !control.isCancelled(); i++) {
+                long intended;
+                if (profile.isOpenModel()) {
+                    intended = start + (long) (i * interval);
+                    if (intended - end >= 0) {
+                        break;
+                    }
+                    parkUntil(intended);
+                    slots.acquire();
+                } else {
+                    slots.acquire();
+                    intended = System.nanoTime();
+                    if (intended - end >= 0) {
+                        slots.release();
+                        break;
+                    }
+                }
+                send(request.target(), control, intended, slots, tally);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Wait for the requests in flight (aborted already if the run was cancelled)
+        slots.acquireUninterruptibly(maxInFlight);
+        long elapsed = System.nanoTime() - start;
+        return toRunResult(request, control, tally, elapsed);
+    }
+
+    /**
+     * Execute a load run on a thread of its own.
+     * Cancelling the control interrupts that thread and aborts the requests in flight.
+     */
+    public CompletableFuture<LoadRunResult> runAsync(LoadRunRequest request, RunControl control) {
+        CompletableFuture<LoadRunResult> future = new CompletableFuture<>();
+        Thread.ofVirtual().name("runner-load-" + request.runId()).start(() -> {
+            control.bind(Thread.currentThread());
+            try {
+                future.complete(run(request, control));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            } finally {
+                control.unbind();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Check the assertion expressions of the target request before the run is queued.
+     *
+     * @throws IllegalArgumentException if an expression is invalid
+     */
+    public void precompile(LoadRunRequest request) {
+        switch (request.target()) {
+            case RestRunRequest r -> apiRunner.precompile(r);
+            case SoapRunRequest s -> apiRunner.precompile(s);
+        }
+    }
+
+    private void send(ApiRunRequest target, RunControl control, long intended, Semaphore slots, Tally tally) {
+        CompletableFuture<ApiRunResult> call;
+        try {
+            call = apiRunner.runAsync(target, control);
+        } catch (RuntimeException e) {
+            tally.record(null, e, 0);
+            slots.release();
+            return;
+        }
+        call.whenComplete((result, error) -> {
+            tally.record(result, error, System.nanoTime() - intended);
+            slots.release();
+        });
+    }
+
+    private static void parkUntil(long nanoTime) throws InterruptedException {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    private LoadRunResult toRunResult(LoadRunRequest request, RunControl control, Tally tally, long elapsedNanos) {
+        long requests = tally.requests();
+        long failed = tally.failed.sum();
+        long errors = tally.errors.sum();
+
+        String status;
+        String errorMessage = null;
+        if (control.isCancelled()) {
+            status = "CANCELLED";
+            errorMessage = control.cancelReason();
+        } else if (requests == 0) {
+            status = "ERROR";
+            errorMessage = "No request completed";
+        } else {
+            status = failed == 0 && errors == 0 ? "PASS" : "FAIL";
+            if (errors > 0) {
+                errorMessage = errors + " request(s) in error, first: " + tally.firstError.get();
+            }
+        }
+
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        return new LoadRunResult(
+            request.runId(),
+            status,
+            TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+            requests,
+            tally.passed.sum(),
+            failed,
+            errors,
+            seconds > 0 ? requests / seconds : 0,
+            tally.latency.snapshot(),
+            tally.statusCodes(),
+            errorMessage
+        );
+    }
+}
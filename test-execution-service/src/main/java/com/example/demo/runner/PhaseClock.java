@@ -0,0 +1,84 @@
+package com.example.demo.runner;
+
+import com.example.demo.runner.executor.ExchangeTimer;
+import com.example.demo.shared.valueobject.PhaseTimings;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the phases of one API run or E2E step on the monotonic clock.
+ * Each mark closes the phase running since the previous mark. Marks are made in sequence,
+ * possibly from different threads along a future chain, which orders them.
+ */
+final class PhaseClock {
+
+    private final long queueWaitNanos;
+    private final long startedAt = System.nanoTime();
+    private long lastMark = startedAt;
+
+    private long buildNanos;
+    private long hostWaitNanos;
+    private long timeToFirstByteNanos;
+    private long bodyReadNanos;
+    private long validationNanos;
+    private long extractionNanos;
+
+    /**
+     * @param queueWaitNanos time the run waited before it started (0 for an E2E step)
+     */
+    PhaseClock(long queueWaitNanos) {
+        this.queueWaitNanos = queueWaitNanos;
+    }
+
+    private long lap() {
+        long now = System.nanoTime();
+        long phase = now - lastMark;
+        lastMark = now;
+        return phase;
+    }
+
+    void built() {
+        buildNanos = lap();
+    }
+
+    void permitted() {
+        hostWaitNanos = lap();
+    }
+
+    void exchanged(ExchangeTimer exchange) {
+        timeToFirstByteNanos = exchange.timeToFirstByteNanos();
+        bodyReadNanos = exchange.bodyReadNanos();
+        lap();
+    }
+
+    void validated() {
+        validationNanos = lap();
+    }
+
+    void extracted() {
+        extractionNanos = lap();
+    }
+
+    /**
+     * Milliseconds since the clock started.
+     */
+    long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+
+    PhaseTimings timings() {
+        return new PhaseTimings(
+            micros(buildNanos),
+            micros(queueWaitNanos),
+            micros(hostWaitNanos),
+            micros(timeToFirstByteNanos),
+            micros(bodyReadNanos),
+            micros(validationNanos),
+            micros(extractionNanos)
+        );
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
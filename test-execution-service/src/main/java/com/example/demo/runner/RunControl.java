@@ -0,0 +1,211 @@
+package com.example.demo.runner;
+
+import com.example.demo.shared.request.RunOptions;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cancellation and deadline state of a single run.
+ *
+ * <p>The run deadline counts from the start of execution ({@link #started}), so time spent waiting
+ * in the queue does not use it up. Runners ask the control for the timeout of each HTTP request,
+ * which never exceeds the time left until the run deadline, and register in-flight calls with {@link #track}. Cancelling the
+ * control (explicitly or when the deadline passes) aborts the tracked calls and interrupts the
+ * thread bound to the run, if any; runners then stop starting new requests.
+ */
+public class RunControl {
+
+    private final Duration timeout;
+    private final long createdAt = System.nanoTime();
+    private final Duration requestTimeout;
+    private final Set<CompletableFuture<?>> calls = ConcurrentHashMap.newKeySet();
+
+    private volatile String cancelReason;
+    private volatile long queueWaitNanos = -1;
+    private volatile long deadline = Long.MAX_VALUE;  // Set when execution starts
+
+    // Guarded by this
+    private Thread boundThread;
+    private boolean interruptedBound;
+    private ScheduledFuture<?> deadlineTask;
+
+    /**
+     * @param timeout deadline for the whole run, from the start of its execution; null for none
+     * @param requestTimeout timeout of each HTTP request; null for none
+     */
+    public RunControl(Duration timeout, Duration requestTimeout) {
+        this.timeout = timeout;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Control for a request's options, with a default request timeout when the request sets none.
+     */
+    public static RunControl of(RunOptions options, Duration defaultRequestTimeout) {
+        return new RunControl(options.timeout(),
+            options.requestTimeout() != null ? options.requestTimeout() : defaultRequestTimeout);
+    }
+
+    /**
+     * Cancel the run.
+     *
+     * @return true if this call cancelled the run, false if it was already cancelled
+     */
+    public boolean cancel() {
+        return cancel("Run cancelled");
+    }
+
+    /**
+     * Cancel the run because its deadline passed.
+     *
+     * @return true if this call cancelled the run, false if it was already cancelled
+     */
+    public boolean expire() {
+        return cancel("Run timeout after " + timeout.toMillis() + "ms");
+    }
+
+    /**
+     * Cancel the run because it was dropped from a full queue.
+     */
+    boolean shed() {
+        return cancel("Run shed from the full queue for a higher-priority run");
+    }
+
+    /**
+     * Cancel the run because the runner is shutting down.
+     */
+    boolean shutDown() {
+        return cancel("Runner shutting down");
+    }
+
+    private synchronized boolean cancel(String reason) {
+        if (cancelReason != null) {
+            return false;
+        }
+        cancelReason = reason;
+        calls.forEach(call -> call.cancel(true));
+        if (boundThread != null) {
+            interruptedBound = true;
+            boundThread.interrupt();
+        }
+        if (deadlineTask != null) {
+            deadlineTask.cancel(false);
+        }
+        return true;
+    }
+
+    public boolean isCancelled() {
+        return cancelReason != null;
+    }
+
+    /**
+     * Why the run was cancelled, or null while it is not.
+     */
+    public String cancelReason() {
+        return cancelReason;
+    }
+
+    /**
+     * Note that the run started executing, if it had not yet, starting its deadline.
+     *
+     * @return nanoseconds from the creation of the control (submission) to the first call
+     */
+    public long started() {
+        long wait = queueWaitNanos;
+        if (wait < 0) {
+            synchronized (this) {
+                if (queueWaitNanos < 0) {
+                    long now = System.nanoTime();
+                    if (timeout != null) {
+                        deadline = now + timeout.toNanos();
+                    }
+                    queueWaitNanos = now - createdAt;
+                }
+                wait = queueWaitNanos;
+            }
+        }
+        return wait;
+    }
+
+    /**
+     * Timeout for the next HTTP request: the request timeout, capped by the time left until the deadline.
+     *
+     * @return the timeout, or null for none
+     */
+    public Duration requestTimeout() {
+        if (deadline == Long.MAX_VALUE) {
+            return requestTimeout;
+        }
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            expire();
+            remaining = 1;
+        }
+        Duration untilDeadline = Duration.ofNanos(remaining);
+        return requestTimeout != null && requestTimeout.compareTo(untilDeadline) < 0 ? requestTimeout : untilDeadline;
+    }
+
+    /**
+     * Register an in-flight call, so cancelling the run cancels it.
+     * A call registered after cancellation is cancelled immediately.
+     *
+     * @return the same call
+     */
+    public <T> CompletableFuture<T> track(CompletableFuture<T> call) {
+        calls.add(call);
+        call.whenComplete((result, error) -> calls.remove(call));
+        if (isCancelled()) {
+            call.cancel(true);
+        }
+        return call;
+    }
+
+    /**
+     * Schedule {@code onExpired} at the run deadline, if there is one; call once execution {@link #started}.
+     * The task is dropped when the run is cancelled or {@link #close closed} first.
+     */
+    synchronized void scheduleDeadline(ScheduledExecutorService scheduler, Runnable onExpired) {
+        if (deadline != Long.MAX_VALUE && cancelReason == null) {
+            deadlineTask = scheduler.schedule(onExpired, deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Bind the run to the thread executing it, so cancellation interrupts blocking calls.
+     */
+    synchronized void bind(Thread thread) {
+        boundThread = thread;
+        if (cancelReason != null) {
+            interruptedBound = true;
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Unbind the executing thread, clearing an interrupt raised by cancellation
+     * so it does not leak into the thread's next run.
+     */
+    synchronized void unbind() {
+        if (interruptedBound && boundThread == Thread.currentThread()) {
+            Thread.interrupted();
+        }
+        boundThread = null;
+        interruptedBound = false;
+    }
+
+    /**
+     * Release the deadline task once the run finished.
+     */
+    synchronized void close() {
+        if (deadlineTask != null) {
+            deadlineTask.cancel(false);
+            deadlineTask = null;
+        }
+    }
+}
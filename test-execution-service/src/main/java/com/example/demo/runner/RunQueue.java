@@ -0,0 +1,365 @@
+package com.example.demo.runner;
+
+import com.example.demo.common.ports.RunQueueStats;
+import com.example.demo.common.ports.RunRejectedException;
+import com.example.demo.runner.RunnerService.QueuedRun;
+import com.example.demo.runner.config.RunnerProperties.QueuePolicy;
+import com.example.demo.shared.request.RunOptions;
+import com.example.demo.shared.request.RunPriority;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded queue of runs waiting for a worker.
+ *
+ * <p>Runs are served by priority class: a run is taken from a lower class only while the higher
+ * ones are empty. Within a class, runs are kept per project and served by weighted round robin
+ * (deficit round robin with a unit cost per run): each project with waiting runs takes up to its
+ * weight in runs per turn, FIFO within the project. A project's bulk run therefore delays another
+ * project's runs of the same class by at most one turn, however many runs it queued.
+ *
+ * <p>Runs are tagged with their arrival sequence, so the SHED policy can find the newest run of
+ * the lowest class. When the queue is full, {@link #put} applies the configured {@link QueuePolicy}.
+ * The time runs spend waiting is recorded per class.
+ */
+class RunQueue {
+
+    /**
+     * Project of runs that do not name one.
+     */
+    static final String DEFAULT_PROJECT = "";
+
+    private record Entry(long sequence, long enqueuedAt, QueuedRun run) {}
+
+    /**
+     * Waiting runs of one project within a class.
+     */
+    private static final class ProjectQueue {
+        final String project;
+        final int weight;
+        final ArrayDeque<Entry> runs = new ArrayDeque<>();
+        int deficit;
+
+        ProjectQueue(String project, int weight) {
+            this.project = project;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Waiting runs of one priority class, with the projects that have any in service order.
+     */
+    private final class ClassQueue {
+        final Map<String, ProjectQueue> projects = new HashMap<>();
+        final ArrayDeque<ProjectQueue> rotation = new ArrayDeque<>();
+        int size;
+        long taken;
+        long totalWaitNanos;
+        long maxWaitNanos;
+
+        void add(String project, Entry entry) {
+            ProjectQueue queue = projects.get(project);
+            if (queue == null) {
+                queue = new ProjectQueue(project, weightOf(project));
+                projects.put(project, queue);
+                rotation.addLast(queue);
+            }
+            queue.runs.addLast(entry);
+            size++;
+        }
+
+        /**
+         * Take the next run of the project whose turn it is, passing the turn on
+         * once the project used up its weight or has no runs left.
+         */
+        Entry poll() {
+            ProjectQueue queue = rotation.peekFirst();
+            if (queue == null) {
+                return null;
+            }
+            if (queue.deficit == 0) {
+                queue.deficit = queue.weight;
+            }
+            Entry entry = queue.runs.pollFirst();
+            queue.deficit--;
+            size--;
+            if (queue.runs.isEmpty()) {
+                // An idle project keeps no credit: it rejoins at the back of the rotation
+                rotation.pollFirst();
+                projects.remove(queue.project);
+            } else if (queue.deficit == 0) {
+                rotation.addLast(rotation.pollFirst());
+            }
+            return entry;
+        }
+
+        Entry pollNewest() {
+            ProjectQueue newest = null;
+            for (ProjectQueue queue : rotation) {
+                if (newest == null || queue.runs.peekLast().sequence() > newest.runs.peekLast().sequence()) {
+                    newest = queue;
+                }
+            }
+            if (newest == null) {
+                return null;
+            }
+            Entry entry = newest.runs.pollLast();
+            removed(newest);
+            return entry;
+        }
+
+        boolean remove(String project, QueuedRun run) {
+            ProjectQueue queue = projects.get(project);
+            if (queue == null) {
+                return false;
+            }
+            Iterator<Entry> iterator = queue.runs.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().run() == run) {
+                    iterator.remove();
+                    removed(queue);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void removed(ProjectQueue queue) {
+            size--;
+            if (queue.runs.isEmpty()) {
+                rotation.remove(queue);
+                projects.remove(queue.project);
+            }
+        }
+
+        void recordWait(long waitNanos) {
+            taken++;
+            totalWaitNanos += waitNanos;
+            maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+        }
+
+        RunQueueStats.ClassStats stats() {
+            return new RunQueueStats.ClassStats(size, taken,
+                TimeUnit.NANOSECONDS.toMillis(totalWaitNanos), TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+        }
+    }
+
+    private final int capacity;
+    private final QueuePolicy policy;
+    private final long blockTimeoutNanos;
+    private final Map<String, Integer> projectWeights;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    // Guarded by lock
+    private final Map<RunPriority, ClassQueue> classes = new EnumMap<>(RunPriority.class);
+    private long nextSequence;
+    private int size;
+    private int highWatermark;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    /**
+     * @param projectWeights runs a project takes per turn within its class (default 1)
+     */
+    RunQueue(int capacity, QueuePolicy policy, Duration blockTimeout, Map<String, Integer> projectWeights) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be at least 1: " + capacity);
+        }
+        projectWeights.forEach((project, weight) -> {
+            if (weight == null || weight < 1) {
+                throw new IllegalArgumentException("Weight of project " + project + " must be at least 1: " + weight);
+            }
+        });
+        this.capacity = capacity;
+        this.policy = policy;
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+        this.projectWeights = Map.copyOf(projectWeights);
+        for (RunPriority priority : RunPriority.values()) {
+            classes.put(priority, new ClassQueue());
+        }
+    }
+
+    private int weightOf(String project) {
+        return projectWeights.getOrDefault(project, 1);
+    }
+
+    private static String projectOf(QueuedRun run) {
+        return Objects.requireNonNullElse(run.request().options().project(), DEFAULT_PROJECT);
+    }
+
+    /**
+     * Add a run, applying the queue policy if the queue is full.
+     *
+     * @return the run shed to make room (SHED policy), or null
+     * @throws RunRejectedException if the run cannot be accepted
+     */
+    QueuedRun put(QueuedRun run) {
+        try {
+            lock.lockInterruptibly();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject(run, "Interrupted while waiting for room in the run queue");
+        }
+        try {
+            RunOptions options = run.request().options();
+            QueuedRun victim = null;
+            if (size >= capacity) {
+                switch (policy) {
+                    case REJECT -> throw reject(run, "Run queue is full (capacity " + capacity + ")");
+                    case BLOCK -> awaitRoom(run);
+                    case SHED -> {
+                        victim = pollNewestBelow(options.priority());
+                        if (victim == null) {
+                            throw reject(run, "Run queue is full (capacity " + capacity
+                                + ") with no run of lower priority to shed");
+                        }
+                        shed.increment();
+                    }
+                }
+            }
+            classes.get(options.priority()).add(projectOf(run), new Entry(nextSequence++, System.nanoTime(), run));
+            size++;
+            highWatermark = Math.max(highWatermark, size);
+            notEmpty.signal();
+            return victim;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitRoom(QueuedRun run) {
+        long nanos = blockTimeoutNanos;
+        try {
+            while (size >= capacity) {
+                if (nanos <= 0) {
+                    throw reject(run, "Run queue is full (capacity " + capacity + "), no room after "
+                        + TimeUnit.NANOSECONDS.toMillis(blockTimeoutNanos) + "ms");
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject(run, "Interrupted while waiting for room in the run queue");
+        }
+    }
+
+    private RunRejectedException reject(QueuedRun run, String message) {
+        rejected.increment();
+        return new RunRejectedException(run.request().runId(), message);
+    }
+
+    /**
+     * Remove the newest run of the lowest class ranking below the given priority.
+     */
+    private QueuedRun pollNewestBelow(RunPriority priority) {
+        RunPriority[] priorities = RunPriority.values();
+        for (int i = priorities.length - 1; i >= 0 && priority.isHigherThan(priorities[i]); i--) {
+            Entry entry = classes.get(priorities[i]).pollNewest();
+            if (entry != null) {
+                size--;
+                return entry.run();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Take the next run of the highest non-empty class, waiting until one is available.
+     */
+    QueuedRun take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                notEmpty.await();
+            }
+            for (ClassQueue queue : classes.values()) {
+                Entry entry = queue.poll();
+                if (entry != null) {
+                    queue.recordWait(System.nanoTime() - entry.enqueuedAt());
+                    size--;
+                    notFull.signal();
+                    return entry.run();
+                }
+            }
+            throw new IllegalStateException("Run queue size is " + size + " but every class is empty");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove a run that has not been taken yet.
+     *
+     * @return true if the run was still queued
+     */
+    boolean remove(QueuedRun run) {
+        lock.lock();
+        try {
+            if (classes.get(run.request().options().priority()).remove(projectOf(run), run)) {
+                size--;
+                notFull.signal();
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove and return every queued run, highest class first.
+     */
+    List<QueuedRun> drain() {
+        lock.lock();
+        try {
+            List<QueuedRun> drained = new ArrayList<>(size);
+            for (ClassQueue queue : classes.values()) {
+                Entry entry;
+                while ((entry = queue.poll()) != null) {
+                    drained.add(entry.run());
+                }
+            }
+            size = 0;
+            notFull.signalAll();
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    RunQueueStats stats() {
+        lock.lock();
+        try {
+            Map<RunPriority, RunQueueStats.ClassStats> classStats = new EnumMap<>(RunPriority.class);
+            classes.forEach((priority, queue) -> classStats.put(priority, queue.stats()));
+            return new RunQueueStats(size, capacity, highWatermark, rejected.sum(), shed.sum(), classStats);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,21 +1,67 @@
 package com.example.demo.runner;
 
+import com.example.demo.common.ports.CacheStats;
+import com.example.demo.common.ports.CallbackStats;
+import com.example.demo.common.ports.HostLimitStats;
+import com.example.demo.common.ports.RunQueueStats;
+import com.example.demo.common.ports.RunRejectedException;
 import com.example.demo.common.ports.TestExecutionPort;
+import com.example.demo.runner.config.RunnerProperties;
+import com.example.demo.shared.request.ApiRunRequest;
 import com.example.demo.shared.request.E2eRunRequest;
+import com.example.demo.shared.request.LoadRunRequest;
 import com.example.demo.shared.request.RestRunRequest;
 import com.example.demo.shared.request.RunRequest;
 import com.example.demo.shared.request.SoapRunRequest;
+import com.example.demo.shared.result.ApiRunResult;
+import com.example.demo.shared.result.E2eRunResult;
+import com.example.demo.shared.result.LatencyHistogram;
+import com.example.demo.shared.result.LoadRunResult;
 import com.example.demo.shared.result.RunResult;
 import com.example.demo.shared.result.RunResultCallback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
- * Simple queue-based runner that processes test requests sequentially.
- * Uses a blocking queue and dedicated worker thread for FIFO execution.
+ * Queue-based runner that processes test requests with one of two engines.
+ *
+ * <p>BLOCKING engine: a pool of N workers (virtual threads by default) shares the queue,
+ * each executing one run at a time.
+ *
+ * <p>ASYNC engine: a single dispatcher takes runs from the queue and starts them as
+ * composed futures on top of {@code HttpClient.sendAsync}, bounded by a maximum number
+ * of runs in flight. Outstanding requests do not hold a thread each.
+ *
+ * <p>In both engines a run's callback fires exactly once, after its execution finished; a runner
+ * failing with an exception completes the run as ERROR with the exception's message.
+ * Callbacks are invoked by a {@link CallbackDispatcher} rather than by the thread that produced the
+ * result, in report order per run, so slow consumers do not hold up test execution.
+ *
+ * <p>The queue is bounded ({@link RunQueue}); when it is full, {@code submit} blocks, rejects the run
+ * with {@link RunRejectedException}, or sheds a lower-priority queued run, as configured. Runs are
+ * taken by priority class, then shared fairly between the projects of a class.
+ *
+ * <p>Every run executes under a {@link RunControl} carrying its deadline (from the start of execution,
+ * so queue wait does not count) and HTTP request timeout. The callback's {@code onStart} is invoked
+ * when the run leaves the queue. {@link #cancel(String)} and expired deadlines drop a queued run without
+ * executing it, and abort a running one: its in-flight request is cancelled (blocking workers are
+ * interrupted) and no further step is started. Such runs complete with status CANCELLED.
+ *
+ * <p>A load run ({@link LoadTestRunner}) holds its worker, or one in-flight slot of the async engine,
+ * for its whole duration; its requests are sent asynchronously.
  *
  * <p>This is the primary implementation of the TestExecutionPort interface.
  */
@@ -23,34 +69,222 @@ public class RunnerService implements TestExecutionPort {
 
     private static final Logger log = LoggerFactory.getLogger(RunnerService.class);
 
-    private final BlockingQueue<QueuedRun> queue = new LinkedBlockingQueue<>();
+    private final RunQueue queue;
+    private final Map<String, QueuedRun> activeRuns = new ConcurrentHashMap<>();
     private final ApiTestRunner apiRunner;
     private final E2eTestRunner e2eRunner;
-    private final Thread workerThread;
+    private final LoadTestRunner loadRunner;
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Semaphore asyncPermits;
+    private final Duration requestTimeout;
+    private final ScheduledThreadPoolExecutor deadlines;
+    private final CallbackDispatcher callbacks;
+    private final Supplier<Map<String, CacheStats>> cacheStats;
+    private volatile boolean running = true;
 
     /**
-     * Internal representation of a queued run with its callback.
+     * Internal representation of a queued run with its callback and control.
      */
-    record QueuedRun(RunRequest request, RunResultCallback callback) {}
+    record QueuedRun(RunRequest request, RunResultCallback callback, RunControl control) {}
 
+    /**
+     * Create a runner with a single platform worker thread (sequential FIFO execution).
+     */
     public RunnerService(ApiTestRunner apiRunner, E2eTestRunner e2eRunner) {
+        this(apiRunner, e2eRunner, singleWorker());
+    }
+
+    /**
+     * Create a runner configured from runner properties (engine, worker pool, in-flight limit).
+     */
+    public RunnerService(ApiTestRunner apiRunner, E2eTestRunner e2eRunner, RunnerProperties properties) {
+        this(apiRunner, e2eRunner, new LoadTestRunner(apiRunner, properties.getLoadMaxInFlight()), properties);
+    }
+
+    /**
+     * Create a runner configured from runner properties, executing load runs with the given runner.
+     */
+    public RunnerService(ApiTestRunner apiRunner, E2eTestRunner e2eRunner, LoadTestRunner loadRunner,
+                         RunnerProperties properties) {
+        this(apiRunner, e2eRunner, loadRunner, properties, Map::of);
+    }
+
+    /**
+     * Create a runner configured from runner properties, executing load runs with the given runner
+     * and reporting the statistics of the caches its runners share.
+     *
+     * @param cacheStats statistics of the runners' caches, by cache name
+     */
+    public RunnerService(ApiTestRunner apiRunner, E2eTestRunner e2eRunner, LoadTestRunner loadRunner,
+                         RunnerProperties properties, Supplier<Map<String, CacheStats>> cacheStats) {
+        if (properties.getWorkers() < 1) {
+            throw new IllegalArgumentException("Worker count must be at least 1: " + properties.getWorkers());
+        }
+        if (properties.getMaxInFlight() < 1) {
+            throw new IllegalArgumentException("Max in-flight must be at least 1: " + properties.getMaxInFlight());
+        }
         this.apiRunner = apiRunner;
         this.e2eRunner = e2eRunner;
-        this.workerThread = new Thread(this::processQueue, "runner-worker");
-        this.workerThread.start();
-        log.info("RunnerService started");
+        this.loadRunner = loadRunner;
+        this.cacheStats = cacheStats;
+        this.queue = new RunQueue(properties.getQueueCapacity(), properties.getQueuePolicy(),
+            properties.getQueueBlockTimeout(), properties.getProjectWeights());
+        this.asyncPermits = new Semaphore(properties.getMaxInFlight());
+        this.requestTimeout = properties.getRequestTimeout();
+        this.deadlines = new ScheduledThreadPoolExecutor(1,
+            Thread.ofPlatform().name("runner-deadlines").daemon().factory());
+        this.deadlines.setRemoveOnCancelPolicy(true);
+        this.callbacks = new CallbackDispatcher(properties.getCallbackThreads(), properties.getCallbackBacklog());
+
+        if (properties.getEngine() == RunnerProperties.Engine.ASYNC) {
+            Thread dispatcher = newThreadFactory("runner-dispatcher", properties.isVirtualThreads())
+                .newThread(this::dispatchQueue);
+            workers.add(dispatcher);
+            dispatcher.start();
+            log.info("RunnerService started with async engine (max in-flight: {})", properties.getMaxInFlight());
+        } else {
+            ThreadFactory threadFactory = newThreadFactory("runner-worker-", properties.isVirtualThreads());
+            for (int i = 0; i < properties.getWorkers(); i++) {
+                Thread worker = threadFactory.newThread(this::processQueue);
+                workers.add(worker);
+                worker.start();
+            }
+            log.info("RunnerService started with {} {} worker(s)",
+                properties.getWorkers(), properties.isVirtualThreads() ? "virtual" : "platform");
+        }
+    }
+
+    private static RunnerProperties singleWorker() {
+        RunnerProperties properties = new RunnerProperties();
+        properties.setWorkers(1);
+        properties.setVirtualThreads(false);
+        return properties;
+    }
+
+    private static ThreadFactory newThreadFactory(String name, boolean virtualThreads) {
+        return virtualThreads
+            ? Thread.ofVirtual().name(name, 0).factory()
+            : Thread.ofPlatform().name(name, 0).factory();
     }
 
     /**
      * Submit a run request to the queue.
+     * Assertion and extraction expressions are compiled first, so an invalid one is rejected here.
+     * The run deadline, if any, starts when a worker takes the run. If the queue is full, the queue policy applies.
      *
-     * @param request the run request (REST, SOAP, or E2E)
+     * @param request the run request (REST, SOAP, E2E, or load)
      * @param callback invoked when execution completes
+     * @throws IllegalArgumentException if the request contains an invalid expression,
+     *                                  or a run with the same ID is still active
+     * @throws RunRejectedException if the queue is full and the run cannot be accepted
      */
     @Override
     public void submit(RunRequest request, RunResultCallback callback) {
-        queue.offer(new QueuedRun(request, callback));
+        switch (request) {
+            case RestRunRequest r -> apiRunner.precompile(r);
+            case SoapRunRequest s -> apiRunner.precompile(s);
+            case E2eRunRequest e -> e2eRunner.precompile(e);
+            case LoadRunRequest l -> loadRunner.precompile(l);
+        }
+        QueuedRun item = new QueuedRun(request, callbacks.forRun(request.runId(), callback),
+            RunControl.of(request.options(), requestTimeout));
+        if (activeRuns.putIfAbsent(request.runId(), item) != null) {
+            throw new IllegalArgumentException("Run is already active: " + request.runId());
+        }
+
+        QueuedRun shed;
+        try {
+            shed = queue.put(item);
+        } catch (RunRejectedException e) {
+            release(item);
+            log.warn("Rejected run: {} ({})", request.runId(), e.getMessage());
+            throw e;
+        }
         log.info("Queued run: {} (queue size: {})", request.runId(), queue.size());
+
+        if (shed != null) {
+            // Removed from the queue, so no worker or canceller completes it
+            shed.control().shed();
+            log.warn("Shed run: {} to make room for {}", shed.request().runId(), request.runId());
+            completeCancelled(shed);
+        }
+    }
+
+    /**
+     * Cancel a queued or running run.
+     *
+     * @param runId the run ID
+     * @return true if the run was active and is now cancelled
+     */
+    @Override
+    public boolean cancel(String runId) {
+        QueuedRun item = activeRuns.get(runId);
+        if (item == null || !item.control().cancel()) {
+            return false;
+        }
+        log.info("Cancelled run: {}", runId);
+        dropIfQueued(item);
+        return true;
+    }
+
+    /**
+     * Start a run taken from the queue: its deadline starts now, and its callback learns it left the queue.
+     */
+    private void start(QueuedRun item) {
+        RunControl control = item.control();
+        control.started();
+        control.scheduleDeadline(deadlines, () -> {
+            if (control.expire()) {
+                log.info("Run {} exceeded its deadline", item.request().runId());
+            }
+        });
+        item.callback().onStart();
+    }
+
+    /**
+     * Complete a cancelled run right away if no worker has taken it yet.
+     */
+    private void dropIfQueued(QueuedRun item) {
+        if (queue.remove(item)) {
+            completeCancelled(item);
+        }
+    }
+
+    /**
+     * Complete a cancelled run that was removed from the queue, without executing it.
+     */
+    private void completeCancelled(QueuedRun item) {
+        complete(item, unexecutedResult(item.request(), "CANCELLED", item.control().cancelReason()));
+    }
+
+    /**
+     * Result of a run that did no work: cancelled before it started, or failed in the runner.
+     */
+    static RunResult unexecutedResult(RunRequest request, String status, String message) {
+        return switch (request) {
+            case ApiRunRequest a -> new ApiRunResult(a.runId(), status, 0, null, List.of(), message);
+            case E2eRunRequest e -> new E2eRunResult(e.runId(), status, 0, List.of(), Map.of(), message);
+            case LoadRunRequest l -> new LoadRunResult(l.runId(), status, 0, 0, 0, 0, 0, 0,
+                LatencyHistogram.EMPTY, Map.of(), message);
+        };
+    }
+
+    private static String messageOf(Throwable e) {
+        return e.getMessage() != null ? e.getMessage() : e.toString();
+    }
+
+    /**
+     * Release a finished run and deliver its result to the callback.
+     */
+    private void complete(QueuedRun item, RunResult result) {
+        release(item);
+        item.callback().onComplete(result);
+    }
+
+    private void release(QueuedRun item) {
+        activeRuns.remove(item.request().runId(), item);
+        item.control().close();
     }
 
     /**
@@ -64,55 +298,211 @@ public class RunnerService implements TestExecutionPort {
     }
 
     /**
-     * Worker thread - continuously processes queued runs.
+     * Get queue size, capacity, high-watermark and rejected/shed counts.
+     *
+     * @return queue statistics
+     */
+    @Override
+    public RunQueueStats getQueueStats() {
+        return queue.stats();
+    }
+
+    /**
+     * Get callback backlog, delivery delay and duration.
+     *
+     * @return callback statistics
+     */
+    @Override
+    public CallbackStats getCallbackStats() {
+        return callbacks.stats();
+    }
+
+    /**
+     * Get the limits, in-flight and waiting requests of each host limiter.
+     *
+     * @return statistics by host, in host order
+     */
+    @Override
+    public Map<String, HostLimitStats> getHostLimitStats() {
+        return apiRunner.hostLimiters().stats();
+    }
+
+    /**
+     * Get hit and miss counts of the caches shared by the runners.
+     *
+     * @return statistics by cache name
+     */
+    @Override
+    public Map<String, CacheStats> getCacheStats() {
+        return cacheStats.get();
+    }
+
+    /**
+     * Get number of runs currently being executed.
+     *
+     * @return number of in-flight runs
+     */
+    @Override
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    /**
+     * Worker loop (BLOCKING engine) - continuously processes queued runs.
+     * Runs on every worker of the pool.
      */
     private void processQueue() {
-        while (!Thread.interrupted()) {
+        while (running && !Thread.interrupted()) {
             try {
                 // Block until next item available
                 QueuedRun item = queue.take();
+                start(item);
+                inFlight.incrementAndGet();
+                try {
+                    execute(item);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
 
-                log.info("Executing run: {}", item.request().runId());
-                long startTime = System.currentTimeMillis();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.info("Worker {} interrupted, shutting down", Thread.currentThread().getName());
+                break;
+            } catch (Exception e) {
+                log.error("Error processing run", e);
+                // Continue processing - don't let one error crash the worker
+            }
+        }
 
-                // Dispatch to appropriate runner based on request type
-                RunResult result = switch (item.request()) {
-                    case RestRunRequest r -> apiRunner.run(r);
-                    case SoapRunRequest s -> apiRunner.run(s);
-                    case E2eRunRequest e -> e2eRunner.run(e);
-                };
+        log.info("Worker {} stopped", Thread.currentThread().getName());
+    }
 
-                long duration = System.currentTimeMillis() - startTime;
-                log.info("Run {} completed: {} in {}ms", result.runId(), result.status(), duration);
+    /**
+     * Execute a single queued run and deliver its result to the callback.
+     */
+    private void execute(QueuedRun item) {
+        log.info("Executing run: {}", item.request().runId());
+        long startTime = System.currentTimeMillis();
 
-                // Invoke callback with result
-                item.callback().onComplete(result);
+        // Dispatch to appropriate runner based on request type; cancellation interrupts this thread
+        RunControl control = item.control();
+        RunResult result;
+        control.bind(Thread.currentThread());
+        try {
+            result = switch (item.request()) {
+                case ApiRunRequest a -> apiRunner.run(a, control);
+                case E2eRunRequest e -> e2eRunner.run(e, item.callback()::onStepComplete, control);
+                case LoadRunRequest l -> loadRunner.run(l, control);
+            };
+        } catch (RuntimeException e) {
+            log.error("Error executing run {}", item.request().runId(), e);
+            result = unexecutedResult(item.request(), "ERROR", messageOf(e));
+        } finally {
+            control.unbind();
+        }
+
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("Run {} completed: {} in {}ms", result.runId(), result.status(), duration);
+
+        // Invoke callback with result
+        complete(item, result);
+    }
+
+    /**
+     * Dispatcher loop (ASYNC engine) - starts queued runs without waiting for them to complete.
+     * Blocks only while the maximum number of runs is already in flight.
+     */
+    private void dispatchQueue() {
+        while (running && !Thread.interrupted()) {
+            try {
+                // Wait for a free in-flight slot, then for the next item
+                asyncPermits.acquire();
+                QueuedRun item;
+                try {
+                    item = queue.take();
+                } catch (InterruptedException e) {
+                    asyncPermits.release();
+                    throw e;
+                }
+
+                start(item);
+                inFlight.incrementAndGet();
+                executeAsync(item).whenComplete((result, error) -> {
+                    inFlight.decrementAndGet();
+                    asyncPermits.release();
+                });
 
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
-                log.info("Worker thread interrupted, shutting down");
+                log.info("Dispatcher interrupted, shutting down");
                 break;
             } catch (Exception e) {
-                log.error("Error processing run", e);
-                // Continue processing - don't let one error crash the worker
+                log.error("Error dispatching run", e);
+                // Continue dispatching - don't let one error crash the dispatcher
             }
         }
 
-        log.info("Worker thread stopped");
+        log.info("Dispatcher stopped");
+    }
+
+    /**
+     * Start a single queued run asynchronously and deliver its result to the callback on completion.
+     */
+    private CompletableFuture<RunResult> executeAsync(QueuedRun item) {
+        log.info("Executing run: {}", item.request().runId());
+        long startTime = System.currentTimeMillis();
+
+        // Dispatch to appropriate runner based on request type
+        CompletableFuture<? extends RunResult> future;
+        try {
+            future = switch (item.request()) {
+                case ApiRunRequest a -> apiRunner.runAsync(a, item.control());
+                case E2eRunRequest e -> e2eRunner.runAsync(e, item.callback()::onStepComplete, item.control());
+                case LoadRunRequest l -> loadRunner.runAsync(l, item.control());
+            };
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        return future.<RunResult>handle((completed, error) -> {
+            RunResult result = completed;
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+                log.error("Error executing run {}", item.request().runId(), cause);
+                result = unexecutedResult(item.request(), "ERROR", messageOf(cause));
+            }
+            long duration = System.currentTimeMillis() - startTime;
+            log.info("Run {} completed: {} in {}ms", result.runId(), result.status(), duration);
+
+            // Invoke callback with result
+            complete(item, result);
+            return result;
+        });
     }
 
     /**
      * Shutdown the runner service.
-     * Waits for current run to complete but clears pending queue.
+     * Waits for current run to complete but clears pending queue: queued runs complete as CANCELLED.
      */
     @Override
     public void shutdown() {
         log.info("Shutting down RunnerService");
-        workerThread.interrupt();
+        running = false;
+        deadlines.shutdownNow();
+        workers.forEach(Thread::interrupt);
+        for (QueuedRun item : queue.drain()) {
+            item.control().shutDown();
+            completeCancelled(item);
+        }
+        long deadline = System.currentTimeMillis() + 5000;  // Wait up to 5 seconds overall
         try {
-            workerThread.join(5000);  // Wait up to 5 seconds
+            for (Thread worker : workers) {
+                worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+            }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
+        callbacks.shutdown();
     }
 }
@@ -0,0 +1,25 @@
+package com.example.demo.runner.body;
+
+/**
+ * How much of a response body the runner reads into memory (or a temporary file).
+ * Every body is still received in full, so the connection can be reused; what is not retained
+ * is dropped as it arrives.
+ */
+public enum BodyRetention {
+
+    /**
+     * Count the body's bytes and drop them; results get no body.
+     */
+    DISCARD,
+
+    /**
+     * Keep the beginning of the body, enough for the result's preview; no digest is computed.
+     */
+    PREFIX,
+
+    /**
+     * Keep the whole body (spilled to a file if large) and compute its digest.
+     * Required whenever an assertion or extractor reads the body.
+     */
+    FULL
+}
@@ -0,0 +1,44 @@
+package com.example.demo.runner.body;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Chooses the {@link BodyRetention} of each request.
+ *
+ * <p>A request whose assertions or extractors read the body always retains it in full. Otherwise
+ * the retention configured for the run's project applies (the default retention for projects
+ * without one), so status-only probes keep no more than the results need.
+ */
+public class BodyRetentionPolicy {
+
+    /**
+     * Keep a prefix for the preview, for every project.
+     */
+    public static final BodyRetentionPolicy DEFAULT = new BodyRetentionPolicy(BodyRetention.PREFIX, Map.of());
+
+    private final BodyRetention defaultRetention;
+    private final Map<String, BodyRetention> projectRetention;
+
+    /**
+     * @param defaultRetention retention of bodies no assertion or extractor reads
+     * @param projectRetention the same, per project key, overriding the default
+     */
+    public BodyRetentionPolicy(BodyRetention defaultRetention, Map<String, BodyRetention> projectRetention) {
+        this.defaultRetention = Objects.requireNonNull(defaultRetention, "Default body retention cannot be null");
+        this.projectRetention = Map.copyOf(projectRetention);
+    }
+
+    /**
+     * Retention of a request of the given project.
+     *
+     * @param project key of the run's project, or null for the default project
+     * @param bodyRead whether an assertion or extractor of the request reads the body
+     */
+    public BodyRetention retentionFor(String project, boolean bodyRead) {
+        if (bodyRead) {
+            return BodyRetention.FULL;
+        }
+        return project != null ? projectRetention.getOrDefault(project, defaultRetention) : defaultRetention;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.runner.body;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of fixed-size byte buffers holding response bodies in memory.
+ *
+ * <p>Buffers are handed out from the idle queue, or allocated when it is empty, and returned when
+ * their body is closed. At most {@code maxIdle} buffers are kept; extra ones are left to the GC,
+ * so the pool never holds more than {@code maxIdle * bufferSize} bytes by itself.
+ */
+public class BufferPool {
+
+    public static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+    public static final int DEFAULT_MAX_IDLE = 256;
+
+    private final int bufferSize;
+    private final int maxIdle;
+    private final ConcurrentLinkedQueue<byte[]> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    public BufferPool() {
+        this(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_IDLE);
+    }
+
+    /**
+     * @param bufferSize size of each buffer, in bytes
+     * @param maxIdle maximum number of idle buffers kept for reuse
+     */
+    public BufferPool(int bufferSize, int maxIdle) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be at least 1: " + bufferSize);
+        }
+        if (maxIdle < 0) {
+            throw new IllegalArgumentException("Max idle buffers cannot be negative: " + maxIdle);
+        }
+        this.bufferSize = bufferSize;
+        this.maxIdle = maxIdle;
+    }
+
+    public int bufferSize() {
+        return bufferSize;
+    }
+
+    byte[] acquire() {
+        byte[] buffer = idle.poll();
+        if (buffer == null) {
+            return new byte[bufferSize];
+        }
+        idleCount.decrementAndGet();
+        return buffer;
+    }
+
+    void release(byte[] buffer) {
+        if (buffer.length != bufferSize) {
+            return;
+        }
+        if (idleCount.incrementAndGet() <= maxIdle) {
+            idle.offer(buffer);
+        } else {
+            idleCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Number of idle buffers currently pooled.
+     */
+    public int idleCount() {
+        return idleCount.get();
+    }
+}
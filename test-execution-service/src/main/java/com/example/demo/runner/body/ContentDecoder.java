@@ -0,0 +1,241 @@
+package com.example.demo.runner.body;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Incremental decoder of a gzip or deflate Content-Encoding, fed the body buffers as they arrive.
+ *
+ * <p>Decoded bytes are handed to a sink through one reused buffer, which the sink must consume
+ * before returning. Gzip members are checked against their CRC-32 and size trailers, and
+ * concatenated members are decoded one after the other. Deflate accepts both the zlib format
+ * (as RFC 9110 specifies) and the raw format some servers send instead.
+ *
+ * <p>Not thread-safe; {@link #end} releases the inflater's native memory.
+ */
+final class ContentDecoder {
+
+    /**
+     * Receives decoded bytes.
+     */
+    interface Sink {
+        void accept(ByteBuffer decoded) throws IOException;
+    }
+
+    private enum State { HEADER, BODY, TRAILER, DONE }
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    private final boolean gzip;
+    private final CRC32 crc = new CRC32();
+    private final ByteBuffer output = ByteBuffer.allocate(16 * 1024);
+    private Inflater inflater;
+    private State state = State.HEADER;
+    private byte[] pending = new byte[0];
+    private long memberSize;
+
+    private ContentDecoder(boolean gzip) {
+        this.gzip = gzip;
+    }
+
+    /**
+     * Decoder for a Content-Encoding header value.
+     *
+     * @return the decoder, or null if the body is not encoded or the encoding is not supported
+     */
+    static ContentDecoder forEncoding(String contentEncoding) {
+        if (contentEncoding == null) {
+            return null;
+        }
+        return switch (contentEncoding.trim().toLowerCase(Locale.ROOT)) {
+            case "gzip", "x-gzip" -> new ContentDecoder(true);
+            case "deflate" -> new ContentDecoder(false);
+            default -> null;
+        };
+    }
+
+    /**
+     * Decode the next buffer of the encoded body, consuming it.
+     *
+     * @throws IOException if the body is not validly encoded
+     */
+    void decode(ByteBuffer encoded, Sink sink) throws IOException {
+        while (encoded.hasRemaining()) {
+            switch (state) {
+                case HEADER -> readHeader(encoded, sink);
+                case BODY -> inflate(encoded, sink);
+                case TRAILER -> readTrailer(encoded);
+                case DONE -> {
+                    // Bytes after the end of a deflate stream are ignored
+                    encoded.position(encoded.limit());
+                }
+            }
+        }
+    }
+
+    /**
+     * Check that the encoded body ended at the end of a stream (or was empty).
+     *
+     * @throws IOException if it was truncated
+     */
+    void finish() throws IOException {
+        // An empty body, or one ending after a complete gzip member
+        boolean betweenMembers = state == State.HEADER && pending.length == 0;
+        if (state != State.DONE && !betweenMembers) {
+            throw new IOException("Truncated " + (gzip ? "gzip" : "deflate") + " response body");
+        }
+    }
+
+    /**
+     * Release the inflater. Idempotent.
+     */
+    void end() {
+        if (inflater != null) {
+            inflater.end();
+            inflater = null;
+        }
+    }
+
+    /**
+     * Buffer the encoded bytes until the header is complete, then decode the bytes following it.
+     */
+    private void readHeader(ByteBuffer encoded, Sink sink) throws IOException {
+        append(encoded);
+        int length = gzip ? gzipHeaderLength(pending) : deflateHeaderLength(pending);
+        if (length < 0) {
+            return;
+        }
+        if (inflater == null) {
+            // Raw deflate for gzip; deflate is raw unless it starts with a zlib header
+            inflater = new Inflater(gzip || !isZlibHeader(pending));
+        } else {
+            inflater.reset();
+        }
+        crc.reset();
+        memberSize = 0;
+        state = State.BODY;
+        ByteBuffer rest = ByteBuffer.wrap(pending, length, pending.length - length);
+        pending = new byte[0];
+        decode(rest, sink);
+    }
+
+    private void inflate(ByteBuffer encoded, Sink sink) throws IOException {
+        inflater.setInput(encoded);
+        try {
+            while (!inflater.finished()) {
+                output.clear();
+                int count = inflater.inflate(output);
+                if (count == 0) {
+                    if (inflater.needsInput()) {
+                        break;
+                    }
+                    if (inflater.needsDictionary()) {
+                        throw new IOException("Deflate response body needs a preset dictionary");
+                    }
+                    continue;
+                }
+                output.flip();
+                crc.update(output.duplicate());
+                memberSize += count;
+                sink.accept(output);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Invalid " + (gzip ? "gzip" : "deflate") + " response body: " + e.getMessage(), e);
+        }
+        if (inflater.finished()) {
+            // Input past the end of the stream is left in the buffer, for the trailer
+            state = gzip ? State.TRAILER : State.DONE;
+        }
+    }
+
+    private void readTrailer(ByteBuffer encoded) throws IOException {
+        int needed = 8 - pending.length;
+        int count = Math.min(needed, encoded.remaining());
+        byte[] bytes = Arrays.copyOf(pending, pending.length + count);
+        encoded.get(bytes, pending.length, count);
+        pending = bytes;
+        if (pending.length < 8) {
+            return;
+        }
+        long expectedCrc = readInt(pending, 0);
+        long expectedSize = readInt(pending, 4);
+        if (expectedCrc != crc.getValue()) {
+            throw new IOException("Corrupt gzip response body: CRC mismatch");
+        }
+        if (expectedSize != (memberSize & 0xffffffffL)) {
+            throw new IOException("Corrupt gzip response body: size mismatch");
+        }
+        pending = new byte[0];
+        state = State.HEADER;
+    }
+
+    private void append(ByteBuffer encoded) {
+        byte[] bytes = Arrays.copyOf(pending, pending.length + encoded.remaining());
+        encoded.get(bytes, pending.length, encoded.remaining());
+        pending = bytes;
+    }
+
+    /**
+     * Length of the gzip member header at the start of the bytes, or -1 if they do not hold all of it yet.
+     */
+    private static int gzipHeaderLength(byte[] bytes) throws IOException {
+        if (bytes.length < 10) {
+            return -1;
+        }
+        if ((bytes[0] & 0xff | (bytes[1] & 0xff) << 8) != GZIP_MAGIC || bytes[2] != 8) {
+            throw new IOException("Response body is not in gzip format");
+        }
+        int flags = bytes[3] & 0xff;
+        int position = 10;
+        if ((flags & FEXTRA) != 0) {
+            if (bytes.length < position + 2) {
+                return -1;
+            }
+            position += 2 + (bytes[position] & 0xff | (bytes[position + 1] & 0xff) << 8);
+        }
+        for (int field : new int[] {FNAME, FCOMMENT}) {
+            if ((flags & field) != 0) {
+                while (position < bytes.length && bytes[position] != 0) {
+                    position++;
+                }
+                if (position >= bytes.length) {
+                    return -1;
+                }
+                position++;
+            }
+        }
+        if ((flags & FHCRC) != 0) {
+            position += 2;
+        }
+        return position <= bytes.length ? position : -1;
+    }
+
+    /**
+     * A deflate stream has no header of its own; two bytes are needed to tell zlib from raw deflate.
+     */
+    private static int deflateHeaderLength(byte[] bytes) {
+        return bytes.length >= 2 ? 0 : -1;
+    }
+
+    private static boolean isZlibHeader(byte[] bytes) {
+        int cmf = bytes[0] & 0xff;
+        int flg = bytes[1] & 0xff;
+        return (cmf & 0x0f) == 8 && (cmf << 8 | flg) % 31 == 0;
+    }
+
+    private static long readInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xffL)
+            | (bytes[offset + 1] & 0xffL) << 8
+            | (bytes[offset + 2] & 0xffL) << 16
+            | (bytes[offset + 3] & 0xffL) << 24;
+    }
+}
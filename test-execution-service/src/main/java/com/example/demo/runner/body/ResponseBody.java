@@ -0,0 +1,319 @@
+package com.example.demo.runner.body;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Lazy, read-only view of a response body, held in pooled buffers or spilled to a temporary file.
+ *
+ * <p>Consumers read the body as a stream or reader (each call opens an independent one), so a
+ * parser can work on a large body without a {@code String} copy of it. {@link #text()} decodes the
+ * whole body once and keeps the text for the other consumers of the same response.
+ *
+ * <p>The body's size and SHA-256 digest are computed while it is received. Closing the body returns
+ * its buffers to the pool and deletes its file; it must not be read afterwards.
+ *
+ * <p>A body received with a {@link BodyRetention} other than FULL is incomplete: it keeps only a
+ * prefix (or nothing) and has no digest. Only its size and preview are available.
+ *
+ * <p>Not thread-safe: a body belongs to the single run evaluating it.
+ */
+public final class ResponseBody implements AutoCloseable {
+
+    private final BufferPool pool;
+    private final List<byte[]> chunks;
+    private final int chunkSize;
+    private final FileChannel file;
+    private final long size;
+    private final long retained;
+    private final long encodedSize;
+    private final String sha256;
+    private final Charset charset;
+    private final int previewChars;
+
+    private String text;
+    private boolean closed;
+
+    ResponseBody(BufferPool pool, List<byte[]> chunks, int chunkSize, FileChannel file, long size, long retained,
+                 long encodedSize, String sha256, Charset charset, int previewChars) {
+        this.pool = pool;
+        this.chunks = chunks;
+        this.chunkSize = chunkSize;
+        this.file = file;
+        this.size = size;
+        this.retained = retained;
+        this.encodedSize = encodedSize;
+        this.sha256 = sha256;
+        this.charset = charset;
+        this.previewChars = previewChars;
+    }
+
+    /**
+     * Body holding the given text, encoded as UTF-8.
+     */
+    public static ResponseBody of(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        ResponseBody body = new ResponseBody(null, List.of(bytes), Math.max(1, bytes.length), null, bytes.length,
+            bytes.length, bytes.length, digest(bytes), StandardCharsets.UTF_8, Integer.MAX_VALUE);
+        body.text = text;
+        return body;
+    }
+
+    private static String digest(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Size of the body, in bytes (decoded, if it was received with a gzip or deflate Content-Encoding).
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Size of the body as received, in bytes: compressed if it was received with a gzip
+     * or deflate Content-Encoding, otherwise the same as {@link #size()}.
+     */
+    public long encodedSize() {
+        return encodedSize;
+    }
+
+    /**
+     * Hex SHA-256 digest of the body bytes, or null if the body is incomplete.
+     */
+    public String sha256() {
+        return sha256;
+    }
+
+    /**
+     * Charset of the body, from the response's Content-Type (UTF-8 if it names none).
+     */
+    public Charset charset() {
+        return charset;
+    }
+
+    /**
+     * Whether the body was written to a temporary file instead of being kept in memory.
+     */
+    public boolean isSpilled() {
+        return file != null;
+    }
+
+    /**
+     * Whether the whole body was retained, so it can be read.
+     */
+    public boolean isComplete() {
+        return retained == size;
+    }
+
+    /**
+     * Whether the body is already decoded, so reading its text costs nothing.
+     */
+    public boolean isTextLoaded() {
+        return text != null;
+    }
+
+    /**
+     * Open a stream over the body bytes.
+     *
+     * @throws IllegalStateException if the body is incomplete
+     */
+    public InputStream openStream() {
+        if (!isComplete()) {
+            throw new IllegalStateException("Response body was not retained: " + retained + " of " + size
+                + " bytes kept");
+        }
+        return openRetained();
+    }
+
+    private InputStream openRetained() {
+        checkOpen();
+        if (file != null) {
+            return new FileRegionStream(file, retained);
+        }
+        return new ChunkStream(chunks, chunkSize, retained);
+    }
+
+    /**
+     * Open a reader over the body, decoded with its charset.
+     *
+     * @throws IllegalStateException if the body is incomplete
+     */
+    public Reader openReader() {
+        if (text != null) {
+            return new StringReader(text);
+        }
+        return new InputStreamReader(openStream(), charset);
+    }
+
+    /**
+     * The whole body decoded with its charset, decoded on first access.
+     *
+     * @throws IllegalStateException if the body is incomplete
+     */
+    public String text() {
+        if (text == null) {
+            try (InputStream in = openStream()) {
+                text = new String(in.readAllBytes(), charset);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read response body: " + e.getMessage(), e);
+            }
+        }
+        return text;
+    }
+
+    /**
+     * The beginning of the body text, up to the configured preview size; the whole text if it is shorter.
+     *
+     * @return the preview, or null if the body was discarded
+     */
+    public String preview() {
+        if (text != null) {
+            return text.length() <= previewChars ? text : text.substring(0, previewChars);
+        }
+        if (retained == 0 && size > 0) {
+            return null;
+        }
+        try (Reader reader = new InputStreamReader(openRetained(), charset)) {
+            StringBuilder preview = new StringBuilder((int) Math.min(previewChars, Math.max(16, size)));
+            char[] buffer = new char[8192];
+            int read;
+            while (preview.length() < previewChars
+                && (read = reader.read(buffer, 0, Math.min(buffer.length, previewChars - preview.length()))) != -1) {
+                preview.append(buffer, 0, read);
+            }
+            return preview.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read response body: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Return the body's buffers to the pool and delete its file. Idempotent.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (pool != null) {
+            chunks.forEach(pool::release);
+        }
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                // The file is deleted on close; nothing else to release
+            }
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Response body is closed");
+        }
+    }
+
+    /**
+     * Stream over in-memory chunks; all chunks are full except possibly the last.
+     */
+    private static final class ChunkStream extends InputStream {
+        private final List<byte[]> chunks;
+        private final int chunkSize;
+        private final long size;
+        private long position;
+
+        ChunkStream(List<byte[]> chunks, int chunkSize, long size) {
+            this.chunks = chunks;
+            this.chunkSize = chunkSize;
+            this.size = size;
+        }
+
+        @Override
+        public int read() {
+            if (position >= size) {
+                return -1;
+            }
+            int value = chunks.get((int) (position / chunkSize))[(int) (position % chunkSize)] & 0xff;
+            position++;
+            return value;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= size) {
+                return -1;
+            }
+            int offset = (int) (position % chunkSize);
+            int count = (int) Math.min(Math.min(len, chunkSize - offset), size - position);
+            System.arraycopy(chunks.get((int) (position / chunkSize)), offset, b, off, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, size - position);
+        }
+    }
+
+    /**
+     * Stream over a spilled body, with positional reads so several streams can share the channel.
+     */
+    private static final class FileRegionStream extends InputStream {
+        private final FileChannel file;
+        private final long size;
+        private long position;
+
+        FileRegionStream(FileChannel file, long size) {
+            this.file = file;
+            this.size = size;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= size) {
+                return -1;
+            }
+            int count = file.read(ByteBuffer.wrap(b, off, (int) Math.min(len, size - position)), position);
+            if (count > 0) {
+                position += count;
+            }
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, size - position);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.demo.runner.body;
+
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Body handler keeping response bodies within a memory bound.
+ *
+ * <p>A body up to the spill threshold is held in buffers from a shared {@link BufferPool}; a larger
+ * one is moved to a temporary file as soon as it crosses the threshold, so a run holds at most
+ * the threshold in memory however large the response. Either way it is exposed as a lazy
+ * {@link ResponseBody}, with its size, SHA-256 digest and a text preview of bounded size.
+ *
+ * <p>{@link #withRetention} gives a handler for bodies nobody reads, which keeps only the prefix
+ * needed for the preview, or nothing.
+ *
+ * <p>Bodies with a gzip or deflate Content-Encoding are decompressed as they arrive, whether or
+ * not the request asked for compression; other encodings are kept as received.
+ */
+public class ResponseBodyHandler implements HttpResponse.BodyHandler<ResponseBody> {
+
+    public static final long DEFAULT_SPILL_THRESHOLD = 1024 * 1024;
+    public static final int DEFAULT_PREVIEW_CHARS = 64 * 1024;
+
+    private final BufferPool bufferPool;
+    private final long spillThreshold;
+    private final Path spillDirectory;
+    private final int previewChars;
+
+    public ResponseBodyHandler() {
+        this(new BufferPool(), DEFAULT_SPILL_THRESHOLD, defaultSpillDirectory(), DEFAULT_PREVIEW_CHARS);
+    }
+
+    /**
+     * @param bufferPool buffers holding bodies in memory
+     * @param spillThreshold size in bytes above which a body is moved to a temporary file
+     * @param spillDirectory directory of the temporary files
+     * @param previewChars maximum length of a body's text preview
+     */
+    public ResponseBodyHandler(BufferPool bufferPool, long spillThreshold, Path spillDirectory, int previewChars) {
+        if (spillThreshold < 0) {
+            throw new IllegalArgumentException("Spill threshold cannot be negative: " + spillThreshold);
+        }
+        if (previewChars < 0) {
+            throw new IllegalArgumentException("Preview size cannot be negative: " + previewChars);
+        }
+        this.bufferPool = bufferPool;
+        this.spillThreshold = spillThreshold;
+        this.spillDirectory = spillDirectory;
+        this.previewChars = previewChars;
+    }
+
+    public static Path defaultSpillDirectory() {
+        return Path.of(System.getProperty("java.io.tmpdir"));
+    }
+
+    /**
+     * Receive the whole body.
+     */
+    @Override
+    public HttpResponse.BodySubscriber<ResponseBody> apply(HttpResponse.ResponseInfo responseInfo) {
+        return apply(responseInfo, BodyRetention.FULL);
+    }
+
+    /**
+     * Handler retaining only as much of the body as given.
+     */
+    public HttpResponse.BodyHandler<ResponseBody> withRetention(BodyRetention retention) {
+        return retention == BodyRetention.FULL ? this : responseInfo -> apply(responseInfo, retention);
+    }
+
+    private HttpResponse.BodySubscriber<ResponseBody> apply(HttpResponse.ResponseInfo responseInfo,
+                                                            BodyRetention retention) {
+        HttpHeaders headers = responseInfo.headers();
+        return new ResponseBodySubscriber(this, charsetOf(headers), retention,
+            ContentDecoder.forEncoding(headers.firstValue("Content-Encoding").orElse(null)));
+    }
+
+    BufferPool bufferPool() {
+        return bufferPool;
+    }
+
+    long spillThreshold() {
+        return spillThreshold;
+    }
+
+    Path spillDirectory() {
+        return spillDirectory;
+    }
+
+    int previewChars() {
+        return previewChars;
+    }
+
+    /**
+     * Bytes kept of a body retained as a prefix: enough for the preview in any charset
+     * (at most 4 bytes per char).
+     */
+    long prefixBytes() {
+        return previewChars * 4L;
+    }
+
+    /**
+     * Charset named by the Content-Type header, UTF-8 if it names none or an unsupported one
+     * (as {@link HttpResponse.BodyHandlers#ofString()} does).
+     */
+    static Charset charsetOf(HttpHeaders headers) {
+        String contentType = headers.firstValue("Content-Type").orElse("");
+        for (String parameter : contentType.split(";")) {
+            String trimmed = parameter.trim();
+            if (trimmed.toLowerCase(Locale.ROOT).startsWith("charset=")) {
+                String name = trimmed.substring("charset=".length()).replace("\"", "").trim();
+                try {
+                    return Charset.forName(name);
+                } catch (IllegalArgumentException e) {
+                    return StandardCharsets.UTF_8;
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+}
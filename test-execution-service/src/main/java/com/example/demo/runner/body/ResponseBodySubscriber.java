@@ -0,0 +1,210 @@
+package com.example.demo.runner.body;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * Collects a response body into pooled buffers, moving it to a temporary file once it
+ * grows past the spill threshold. Digests the bytes as they arrive.
+ *
+ * <p>A gzip or deflate encoded body is decoded as it arrives, by a {@link ContentDecoder};
+ * everything else (size, digest, retention) applies to the decoded bytes.
+ *
+ * <p>Unless the whole body is retained, only its first bytes are kept (none when it is
+ * discarded) and the rest is counted and dropped; such a body is never spilled or digested.
+ */
+final class ResponseBodySubscriber implements HttpResponse.BodySubscriber<ResponseBody> {
+
+    private final ResponseBodyHandler config;
+    private final Charset charset;
+    private final long retainLimit;
+    private final ContentDecoder decoder;
+    private final CompletableFuture<ResponseBody> result = new CompletableFuture<>();
+    private final MessageDigest digest;
+    private final List<byte[]> chunks = new ArrayList<>();
+
+    private Flow.Subscription subscription;
+    private byte[] current;
+    private int used;
+    private long size;
+    private long retained;
+    private long encodedSize;
+    private FileChannel file;
+
+    /**
+     * @param decoder decoder of the body's Content-Encoding, or null if it is not encoded
+     */
+    ResponseBodySubscriber(ResponseBodyHandler config, Charset charset, BodyRetention retention,
+                           ContentDecoder decoder) {
+        this.config = config;
+        this.charset = charset;
+        this.decoder = decoder;
+        this.retainLimit = switch (retention) {
+            case DISCARD -> 0;
+            case PREFIX -> config.prefixBytes();
+            case FULL -> Long.MAX_VALUE;
+        };
+        if (retention == BodyRetention.FULL) {
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        } else {
+            this.digest = null;
+        }
+    }
+
+    @Override
+    public CompletionStage<ResponseBody> getBody() {
+        return result;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> items) {
+        if (result.isDone()) {
+            return;
+        }
+        try {
+            for (ByteBuffer item : items) {
+                encodedSize += item.remaining();
+                if (decoder != null) {
+                    decoder.decode(item, this::accept);
+                } else {
+                    accept(item);
+                }
+            }
+        } catch (IOException e) {
+            subscription.cancel();
+            onError(e);
+        }
+    }
+
+    /**
+     * Count, digest and retain the next bytes of the (decoded) body, consuming them.
+     */
+    private void accept(ByteBuffer item) throws IOException {
+        int length = item.remaining();
+        if (digest != null) {
+            digest.update(item.duplicate());
+        }
+        size += length;
+        int keep = (int) Math.min(length, retainLimit - retained);
+        if (keep == 0) {
+            item.position(item.limit());
+            return;
+        }
+        ByteBuffer kept = keep < length ? item.slice(item.position(), keep) : item;
+        retained += keep;
+        if (file == null && retainLimit == Long.MAX_VALUE && retained > config.spillThreshold()) {
+            spill();
+        }
+        if (file != null) {
+            while (kept.hasRemaining()) {
+                file.write(kept);
+            }
+        } else {
+            copy(kept);
+        }
+        item.position(item.limit());
+    }
+
+    private void copy(ByteBuffer item) {
+        BufferPool pool = config.bufferPool();
+        while (item.hasRemaining()) {
+            if (current == null || used == current.length) {
+                current = pool.acquire();
+                chunks.add(current);
+                used = 0;
+            }
+            int count = Math.min(item.remaining(), current.length - used);
+            item.get(current, used, count);
+            used += count;
+        }
+    }
+
+    /**
+     * Move the body received so far to a temporary file, deleted when the body is closed.
+     */
+    private void spill() throws IOException {
+        Path path = Files.createTempFile(config.spillDirectory(), "runner-body-", ".tmp");
+        try {
+            file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        for (int i = 0; i < chunks.size(); i++) {
+            byte[] chunk = chunks.get(i);
+            ByteBuffer buffer = ByteBuffer.wrap(chunk, 0, i == chunks.size() - 1 ? used : chunk.length);
+            while (buffer.hasRemaining()) {
+                file.write(buffer);
+            }
+            config.bufferPool().release(chunk);
+        }
+        chunks.clear();
+        current = null;
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        discard();
+        result.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (result.isDone()) {
+            return;
+        }
+        if (decoder != null) {
+            try {
+                decoder.finish();
+            } catch (IOException e) {
+                onError(e);
+                return;
+            }
+            decoder.end();
+        }
+        String sha256 = digest != null ? HexFormat.of().formatHex(digest.digest()) : null;
+        result.complete(new ResponseBody(config.bufferPool(), List.copyOf(chunks), config.bufferPool().bufferSize(),
+            file, size, retained, encodedSize, sha256, charset, config.previewChars()));
+    }
+
+    private void discard() {
+        if (decoder != null) {
+            decoder.end();
+        }
+        chunks.forEach(config.bufferPool()::release);
+        chunks.clear();
+        current = null;
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                // Deleted on close; nothing else to release
+            }
+        }
+    }
+}
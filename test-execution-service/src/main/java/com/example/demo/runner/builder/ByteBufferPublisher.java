@@ -0,0 +1,90 @@
+package com.example.demo.runner.builder;
+
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request body publisher over a (possibly read-only) buffer.
+ *
+ * <p>The body is published as slices of the buffer, so a body shared by many requests is sent
+ * without copying it; the JDK's byte array publishers cannot take a read-only buffer. Every
+ * subscription reads its own view, so the publisher can be subscribed again on a retry or redirect.
+ */
+final class ByteBufferPublisher implements HttpRequest.BodyPublisher {
+
+    static final int CHUNK_SIZE = 16 * 1024;
+
+    private final ByteBuffer body;
+
+    ByteBufferPublisher(ByteBuffer body) {
+        this.body = body.slice();
+    }
+
+    @Override
+    public long contentLength() {
+        return body.remaining();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        subscriber.onSubscribe(new Subscription(subscriber, body.duplicate()));
+    }
+
+    private static final class Subscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final ByteBuffer remaining;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger drains = new AtomicInteger();
+        private volatile boolean done;
+
+        Subscription(Flow.Subscriber<? super ByteBuffer> subscriber, ByteBuffer remaining) {
+            this.subscriber = subscriber;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public void request(long n) {
+            if (done) {
+                return;
+            }
+            if (n <= 0) {
+                done = true;
+                subscriber.onError(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+            demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+        }
+
+        /**
+         * Emit slices while there is demand; only one thread emits at a time, and a request
+         * made from within onNext is served by the loop instead of recursing.
+         */
+        private void drain() {
+            if (drains.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (!done && remaining.hasRemaining() && demand.get() > 0) {
+                    int size = Math.min(CHUNK_SIZE, remaining.remaining());
+                    ByteBuffer chunk = remaining.slice(remaining.position(), size);
+                    remaining.position(remaining.position() + size);
+                    demand.decrementAndGet();
+                    subscriber.onNext(chunk);
+                }
+                if (!done && !remaining.hasRemaining()) {
+                    done = true;
+                    subscriber.onComplete();
+                }
+            } while (drains.decrementAndGet() != 0);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.runner.builder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * HTTP compression negotiated by the request builders.
+ *
+ * <p>Compressed responses are decoded by the runner's body handler before validation. Request
+ * bodies are gzip-compressed with a {@code Content-Encoding: gzip} header, so only use a request
+ * threshold with servers that accept compressed requests. Headers set by the test itself win:
+ * a request that sets Accept-Encoding or Content-Encoding is sent as defined. Bodies streamed
+ * from a {@link com.example.demo.shared.valueobject.BodySource} are never compressed.
+ *
+ * @param acceptCompressed advertise gzip and deflate in Accept-Encoding
+ * @param requestThreshold body size in bytes from which request bodies are gzip-compressed; 0 to never compress
+ */
+public record Compression(boolean acceptCompressed, int requestThreshold) {
+
+    /**
+     * Neither ask for compressed responses nor compress requests.
+     */
+    public static final Compression NONE = new Compression(false, 0);
+
+    public Compression {
+        if (requestThreshold < 0) {
+            throw new IllegalArgumentException("Request compression threshold cannot be negative: " + requestThreshold);
+        }
+    }
+
+    /**
+     * Ask for a compressed response, unless disabled or the request's headers already name the encodings.
+     */
+    void acceptEncoding(HttpRequest.Builder builder, Map<String, String> headers) {
+        if (acceptCompressed && !hasHeader(headers, "Accept-Encoding")) {
+            builder.header("Accept-Encoding", "gzip, deflate");
+        }
+    }
+
+    /**
+     * Publisher of a request body, gzip-compressed (and its Content-Encoding header set) if it reaches the threshold.
+     */
+    HttpRequest.BodyPublisher publisher(HttpRequest.Builder builder, Map<String, String> headers, ByteBuffer body) {
+        if (requestThreshold == 0 || body.remaining() < requestThreshold || hasHeader(headers, "Content-Encoding")) {
+            return new ByteBufferPublisher(body);
+        }
+        builder.header("Content-Encoding", "gzip");
+        return HttpRequest.BodyPublishers.ofByteArray(gzip(body));
+    }
+
+    private static byte[] gzip(ByteBuffer body) {
+        ByteBuffer remaining = body.duplicate();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(remaining.remaining() / 4 + 64);
+        byte[] chunk = new byte[8192];
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed, chunk.length)) {
+            while (remaining.hasRemaining()) {
+                int count = Math.min(chunk.length, remaining.remaining());
+                remaining.get(chunk, 0, count);
+                out.write(chunk, 0, count);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress request body: " + e.getMessage(), e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static boolean hasHeader(Map<String, String> headers, String name) {
+        for (String header : headers.keySet()) {
+            if (header.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
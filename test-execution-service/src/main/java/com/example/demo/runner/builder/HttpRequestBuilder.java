@@ -2,11 +2,15 @@ package com.example.demo.runner.builder;
 
 import com.example.demo.shared.valueobject.HttpRequestData;
 import java.net.http.HttpRequest;
+import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Builds java.net.http.HttpRequest from shared HttpRequestData,
  * resolving template variables in URL, headers, and body.
+ * {var} only counts as a variable when var is an identifier, so JSON braces are left as-is.
  */
 public interface HttpRequestBuilder {
 
@@ -16,6 +20,32 @@ public interface HttpRequestBuilder {
      * @param requestData the request data from shared contract
      * @param variables variables for template substitution (${var} or {var})
      * @return ready-to-execute java.net.http.HttpRequest
+     * @throws UnresolvedVariablesException if a template references a variable without a value
      */
     HttpRequest build(HttpRequestData requestData, Map<String, String> variables);
+
+    /**
+     * Build an HTTP request with variable substitution and a response timeout.
+     * Default implementation copies the built request to set the timeout.
+     *
+     * @param requestData the request data from shared contract
+     * @param variables variables for template substitution (${var} or {var})
+     * @param timeout time to wait for the response, or null for none
+     * @return ready-to-execute java.net.http.HttpRequest
+     * @throws UnresolvedVariablesException if a template references a variable without a value
+     */
+    default HttpRequest build(HttpRequestData requestData, Map<String, String> variables, Duration timeout) {
+        HttpRequest request = build(requestData, variables);
+        return timeout != null ? HttpRequest.newBuilder(request, (name, value) -> true).timeout(timeout).build() : request;
+    }
+
+    /**
+     * Names of the template variables a request references in its URL, headers and body.
+     *
+     * @param requestData the request data from shared contract
+     * @return referenced variable names, or empty if this builder cannot tell
+     */
+    default Optional<Set<String>> referencedVariables(HttpRequestData requestData) {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,68 @@
+package com.example.demo.runner.builder;
+
+import com.example.demo.shared.valueobject.BodySource;
+
+import java.io.FileNotFoundException;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Publishers of request bodies streamed from a {@link BodySource}.
+ *
+ * <p>Files and blobs are read in chunks while the request is sent, so a large upload costs a
+ * buffer rather than a copy of the body per run. Blobs are files of the blob directory named by
+ * the hex SHA-256 of their content; the name is trusted, the content is not re-hashed.
+ */
+public class RequestBodies {
+
+    /**
+     * Streams files and generated bodies only; blob bodies are rejected.
+     */
+    public static final RequestBodies NO_BLOBS = new RequestBodies(null);
+
+    private final Path blobDirectory;
+
+    /**
+     * @param blobDirectory directory of the content-addressed blobs, or null for none
+     */
+    public RequestBodies(Path blobDirectory) {
+        this.blobDirectory = blobDirectory;
+    }
+
+    /**
+     * Publisher streaming the body of a source.
+     *
+     * @throws IllegalArgumentException if the file or blob does not exist
+     * @throws IllegalStateException if the source is a blob and there is no blob directory
+     */
+    public HttpRequest.BodyPublisher publisher(BodySource source) {
+        return switch (source) {
+            case BodySource.FileSource file -> ofFile(file.path());
+            case BodySource.BlobSource blob -> ofFile(blobPath(blob.sha256()));
+            case BodySource.GeneratedSource generated -> generated.length() < 0
+                ? HttpRequest.BodyPublishers.ofInputStream(generated.generator())
+                : HttpRequest.BodyPublishers.fromPublisher(
+                    HttpRequest.BodyPublishers.ofInputStream(generated.generator()), generated.length());
+        };
+    }
+
+    private Path blobPath(String sha256) {
+        if (blobDirectory == null) {
+            throw new IllegalStateException("No blob directory configured for blob request body " + sha256);
+        }
+        Path path = blobDirectory.resolve(sha256);
+        if (!Files.isRegularFile(path)) {
+            throw new IllegalArgumentException("Blob request body not found: " + sha256);
+        }
+        return path;
+    }
+
+    private static HttpRequest.BodyPublisher ofFile(Path path) {
+        try {
+            return HttpRequest.BodyPublishers.ofFile(path);
+        } catch (FileNotFoundException e) {
+            throw new IllegalArgumentException("Request body file not found: " + path, e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.demo.runner.builder;
+
+import com.example.demo.shared.valueobject.HttpRequestData;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * HttpRequestData compiled into templates for URL, header values and body.
+ * Rendering collects every unresolved variable and reports them together.
+ *
+ * <p>Only a text body with variables is compiled; any other body (empty, constant, binary or
+ * streamed) is not part of the template, and rendering passes the request's own body through.
+ */
+final class RequestTemplate {
+
+    /**
+     * A rendered request, ready to be turned into a java.net.http.HttpRequest.
+     */
+    record Rendered(String url, Map<String, String> headers, ByteBuffer body) {
+    }
+
+    private final Template url;
+    private final Map<String, Template> headers;
+    private final Template body;  // null when the body is not a template
+
+    private RequestTemplate(Template url, Map<String, Template> headers, Template body) {
+        this.url = url;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    /**
+     * Compile the templates of a request.
+     *
+     * @param bodyText the body if it is a template (see {@link #bodyTemplateText}), else null
+     */
+    static RequestTemplate compile(String url, Map<String, String> headers, String bodyText) {
+        Map<String, Template> headerTemplates = new LinkedHashMap<>();
+        if (headers != null) {
+            headers.forEach((name, value) -> headerTemplates.put(name, Template.compile(value)));
+        }
+        Template body = bodyText != null ? Template.compile(bodyText) : null;
+        return new RequestTemplate(
+            Template.compile(url),
+            headerTemplates,
+            body != null && !body.isConstant() ? body : null
+        );
+    }
+
+    /**
+     * Text of a request's body if it may reference variables: a non-empty inline UTF-8 body
+     * in which a placeholder shows up.
+     *
+     * @return the body text, or null if the body is sent as-is
+     */
+    static String bodyTemplateText(HttpRequestData requestData) {
+        ByteBuffer body = requestData.body();
+        if (requestData.bodySource() != null || !body.hasRemaining() || !Template.mayHaveVariables(body)) {
+            return null;
+        }
+        try {
+            // Binary bodies are sent as-is
+            return StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT)
+                .decode(body)
+                .toString();
+        } catch (CharacterCodingException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Names of the variables referenced by URL, headers and body.
+     */
+    Set<String> variableNames() {
+        Set<String> names = new LinkedHashSet<>(url.variableNames());
+        headers.values().forEach(template -> names.addAll(template.variableNames()));
+        if (body != null) {
+            names.addAll(body.variableNames());
+        }
+        return names;
+    }
+
+    /**
+     * Render URL, headers and body with the given variables.
+     *
+     * @param vars variable values
+     * @param rawBody the request's body, passed through if it is not a template
+     * @return the rendered request
+     * @throws UnresolvedVariablesException if any referenced variable has no value
+     */
+    Rendered render(Map<String, String> vars, ByteBuffer rawBody) {
+        Set<String> unresolved = new LinkedHashSet<>();
+
+        String renderedUrl = url.render(vars, unresolved);
+        Map<String, String> renderedHeaders = new LinkedHashMap<>();
+        headers.forEach((name, template) -> renderedHeaders.put(name, template.render(vars, unresolved)));
+        // The raw body is shared read-only by every rendering, not copied
+        ByteBuffer renderedBody = body != null ? ByteBuffer.wrap(body.renderBytes(vars, unresolved)) : rawBody;
+
+        if (!unresolved.isEmpty()) {
+            throw new UnresolvedVariablesException(unresolved);
+        }
+        return new Rendered(renderedUrl, renderedHeaders, renderedBody);
+    }
+}
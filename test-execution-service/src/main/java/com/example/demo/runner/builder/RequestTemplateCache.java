@@ -0,0 +1,78 @@
+package com.example.demo.runner.builder;
+
+import com.example.demo.common.ports.CacheStats;
+import com.example.demo.runner.cache.BoundedCache;
+import com.example.demo.shared.valueobject.HttpRequestData;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded, thread-safe cache of compiled request templates, keyed by template text.
+ *
+ * <p>The same test case is executed again and again (reruns, suites, load runs), each time
+ * with a fresh but equal HttpRequestData, so templates are looked up by URL, headers and,
+ * only when it references variables, body text rather than by instance. Other bodies (constant,
+ * binary, file, blob or generated) are not part of the key: they are neither hashed nor retained
+ * by the cache. When the cache is full, templates not used lately are evicted first
+ * (see {@link BoundedCache}).
+ */
+public class RequestTemplateCache {
+
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    private record Key(String url, Map<String, String> headers, String bodyTemplate) {
+    }
+
+    private final BoundedCache<Key, RequestTemplate> cache;
+
+    public RequestTemplateCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public RequestTemplateCache(int maxSize) {
+        this.cache = new BoundedCache<>(maxSize);
+    }
+
+    /**
+     * Names of the variables a request references in its URL, headers and body.
+     *
+     * @param requestData the request data
+     * @return referenced variable names
+     */
+    public Set<String> variableNames(HttpRequestData requestData) {
+        return get(requestData).variableNames();
+    }
+
+    RequestTemplate get(HttpRequestData requestData) {
+        String bodyTemplate = RequestTemplate.bodyTemplateText(requestData);
+        Key key = new Key(requestData.url(), requestData.headers() == null ? Map.of() : requestData.headers(),
+            bodyTemplate);
+        return cache.get(key, k -> RequestTemplate.compile(k.url(), k.headers(), k.bodyTemplate()));
+    }
+
+    /**
+     * Number of requests served by an already compiled template.
+     */
+    public long getHitCount() {
+        return cache.hitCount();
+    }
+
+    /**
+     * Number of requests that had to compile their template.
+     */
+    public long getMissCount() {
+        return cache.missCount();
+    }
+
+    /**
+     * Number of compiled request templates currently cached.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
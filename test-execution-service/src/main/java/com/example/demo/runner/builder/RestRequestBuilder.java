@@ -4,93 +4,89 @@ import com.example.demo.shared.valueobject.HttpRequestData;
 
 import java.net.URI;
 import java.net.http.HttpRequest;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Builds REST HTTP requests with variable substitution.
  * Supports ${var} and {var} template syntax.
+ *
+ * <p>Templates are compiled once per request content (see {@link RequestTemplateCache})
+ * and the body is rendered straight into bytes.
+ *
+ * <p>With a {@link Compression}, requests ask for compressed responses and large bodies are gzip-compressed.
+ * Bodies with a {@link com.example.demo.shared.valueobject.BodySource} are streamed by {@link RequestBodies}.
  */
 public class RestRequestBuilder implements HttpRequestBuilder {
 
-    private static final Pattern TEMPLATE_PATTERN = Pattern.compile("\\$\\{([^}]+)}|\\{([^}]+)}");
+    private final RequestTemplateCache templates;
+    private final Compression compression;
+    private final RequestBodies bodies;
 
-    @Override
-    public HttpRequest build(HttpRequestData requestData, Map<String, String> variables) {
-        Map<String, String> vars = variables == null ? Collections.emptyMap() : variables;
+    public RestRequestBuilder() {
+        this(new RequestTemplateCache());
+    }
 
-        // Resolve URL
-        String url = resolveTemplates(requestData.url(), vars);
+    public RestRequestBuilder(RequestTemplateCache templates) {
+        this(templates, Compression.NONE);
+    }
 
-        // Resolve headers
-        String[] headers = resolveHeaders(requestData.headers(), vars);
+    public RestRequestBuilder(RequestTemplateCache templates, Compression compression) {
+        this(templates, compression, RequestBodies.NO_BLOBS);
+    }
 
-        // Resolve body
-        HttpRequest.BodyPublisher bodyPublisher = resolveBody(
-            requestData.method(),
-            requestData.body(),
-            vars
-        );
+    public RestRequestBuilder(RequestTemplateCache templates, Compression compression, RequestBodies bodies) {
+        this.templates = templates;
+        this.compression = compression;
+        this.bodies = bodies;
+    }
 
-        return HttpRequest.newBuilder()
-            .uri(URI.create(url))
-            .headers(headers)
-            .method(requestData.method(), bodyPublisher)
-            .build();
+    @Override
+    public HttpRequest build(HttpRequestData requestData, Map<String, String> variables) {
+        return build(requestData, variables, null);
     }
 
-    private String[] resolveHeaders(Map<String, String> headers, Map<String, String> vars) {
-        if (headers == null || headers.isEmpty()) {
-            return new String[0];
+    @Override
+    public HttpRequest build(HttpRequestData requestData, Map<String, String> variables, Duration timeout) {
+        Map<String, String> vars = variables == null ? Collections.emptyMap() : variables;
+
+        // Resolve URL, headers and body
+        RequestTemplate.Rendered rendered = templates.get(requestData).render(vars, requestData.body());
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+            .uri(URI.create(rendered.url()));
+        builder.method(requestData.method(), toBodyPublisher(builder, requestData, rendered));
+        rendered.headers().forEach(builder::header);
+        compression.acceptEncoding(builder, rendered.headers());
+        if (timeout != null) {
+            builder.timeout(timeout);
         }
+        return builder.build();
+    }
 
-        return headers.entrySet().stream()
-            .flatMap(e -> java.util.stream.Stream.of(
-                e.getKey(),
-                resolveTemplates(e.getValue(), vars)
-            ))
-            .toArray(String[]::new);
+    @Override
+    public Optional<Set<String>> referencedVariables(HttpRequestData requestData) {
+        return Optional.of(templates.variableNames(requestData));
     }
 
-    private HttpRequest.BodyPublisher resolveBody(String method, byte[] body, Map<String, String> vars) {
+    private HttpRequest.BodyPublisher toBodyPublisher(HttpRequest.Builder builder, HttpRequestData requestData,
+                                                      RequestTemplate.Rendered rendered) {
         // GET, DELETE, HEAD shouldn't have body
+        String method = requestData.method();
         boolean isNoBodyMethod = method.equals("GET") || method.equals("DELETE") || method.equals("HEAD");
-
-        if (isNoBodyMethod || body == null || body.length == 0) {
+        if (isNoBodyMethod) {
             return HttpRequest.BodyPublishers.noBody();
         }
-
-        // Try to resolve templates in body
-        try {
-            String bodyText = new String(body, StandardCharsets.UTF_8);
-            if (TEMPLATE_PATTERN.matcher(bodyText).find()) {
-                String resolved = resolveTemplates(bodyText, vars);
-                return HttpRequest.BodyPublishers.ofString(resolved);
-            }
-        } catch (Exception e) {
-            // If resolution fails, use original bytes
+        if (requestData.bodySource() != null) {
+            return bodies.publisher(requestData.bodySource());
         }
 
-        return HttpRequest.BodyPublishers.ofByteArray(body);
-    }
-
-    private String resolveTemplates(String input, Map<String, String> vars) {
-        if (input == null || input.isEmpty()) {
-            return input;
-        }
-
-        Matcher m = TEMPLATE_PATTERN.matcher(input);
-        StringBuffer sb = new StringBuffer();
-
-        while (m.find()) {
-            String varName = (m.group(1) != null) ? m.group(1) : m.group(2);
-            String replacement = vars.getOrDefault(varName, "");
-            m.appendReplacement(sb, Matcher.quoteReplacement(replacement));
+        ByteBuffer body = rendered.body();
+        if (!body.hasRemaining()) {
+            return HttpRequest.BodyPublishers.noBody();
         }
 
-        m.appendTail(sb);
-        return sb.toString();
+        return compression.publisher(builder, rendered.headers(), body);
     }
 }
@@ -4,82 +4,86 @@ import com.example.demo.shared.valueobject.HttpRequestData;
 
 import java.net.URI;
 import java.net.http.HttpRequest;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Builds SOAP HTTP requests with variable substitution.
  * Always uses POST method and adds Content-Type for SOAP.
+ *
+ * <p>Templates are compiled once per request content (see {@link RequestTemplateCache});
+ * the envelope is rendered straight into UTF-8 bytes without decoding it on every request.
+ *
+ * <p>With a {@link Compression}, requests ask for compressed responses and large envelopes are gzip-compressed.
+ * Envelopes with a {@link com.example.demo.shared.valueobject.BodySource} are streamed by {@link RequestBodies}.
  */
 public class SoapRequestBuilder implements HttpRequestBuilder {
 
-    private static final Pattern TEMPLATE_PATTERN = Pattern.compile("\\$\\{([^}]+)}|\\{([^}]+)}");
+    private final RequestTemplateCache templates;
+    private final Compression compression;
+    private final RequestBodies bodies;
 
-    @Override
-    public HttpRequest build(HttpRequestData requestData, Map<String, String> variables) {
-        Map<String, String> vars = variables == null ? Collections.emptyMap() : variables;
-
-        // Resolve URL
-        String url = resolveTemplates(requestData.url(), vars);
-
-        // Resolve headers (add SOAP-specific headers)
-        String[] headers = resolveHeaders(requestData.headers(), vars);
-
-        // Resolve body (SOAP always has body - the envelope)
-        HttpRequest.BodyPublisher bodyPublisher = resolveBody(requestData.body(), vars);
-
-        return HttpRequest.newBuilder()
-            .uri(URI.create(url))
-            .headers(headers)
-            .POST(bodyPublisher)  // SOAP always uses POST
-            .build();
+    public SoapRequestBuilder() {
+        this(new RequestTemplateCache());
     }
 
-    private String[] resolveHeaders(Map<String, String> headers, Map<String, String> vars) {
-        Map<String, String> resolvedHeaders = new LinkedHashMap<>();
+    public SoapRequestBuilder(RequestTemplateCache templates) {
+        this(templates, Compression.NONE);
+    }
 
-        // Add user headers
-        if (headers != null) {
-            headers.forEach((k, v) -> resolvedHeaders.put(k, resolveTemplates(v, vars)));
-        }
+    public SoapRequestBuilder(RequestTemplateCache templates, Compression compression) {
+        this(templates, compression, RequestBodies.NO_BLOBS);
+    }
 
-        // Ensure Content-Type for SOAP (if not already set)
-        resolvedHeaders.putIfAbsent("Content-Type", "text/xml; charset=utf-8");
+    public SoapRequestBuilder(RequestTemplateCache templates, Compression compression, RequestBodies bodies) {
+        this.templates = templates;
+        this.compression = compression;
+        this.bodies = bodies;
+    }
 
-        return resolvedHeaders.entrySet().stream()
-            .flatMap(e -> java.util.stream.Stream.of(e.getKey(), e.getValue()))
-            .toArray(String[]::new);
+    @Override
+    public HttpRequest build(HttpRequestData requestData, Map<String, String> variables) {
+        return build(requestData, variables, null);
     }
 
-    private HttpRequest.BodyPublisher resolveBody(byte[] body, Map<String, String> vars) {
-        if (body == null || body.length == 0) {
+    @Override
+    public HttpRequest build(HttpRequestData requestData, Map<String, String> variables, Duration timeout) {
+        Map<String, String> vars = variables == null ? Collections.emptyMap() : variables;
+
+        // SOAP always has body - the envelope
+        if (!requestData.hasBody()) {
             throw new IllegalArgumentException("SOAP request must have a body (envelope)");
         }
 
-        // Resolve templates in SOAP envelope
-        String bodyText = new String(body, StandardCharsets.UTF_8);
-        String resolved = resolveTemplates(bodyText, vars);
-
-        return HttpRequest.BodyPublishers.ofString(resolved);
+        // Resolve URL, headers and envelope
+        RequestTemplate.Rendered rendered = templates.get(requestData).render(vars, requestData.body());
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+            .uri(URI.create(rendered.url()))
+            .headers(toHeaderArray(rendered.headers()));
+        builder.POST(requestData.bodySource() != null  // SOAP always uses POST
+            ? bodies.publisher(requestData.bodySource())
+            : compression.publisher(builder, rendered.headers(), rendered.body()));
+        compression.acceptEncoding(builder, rendered.headers());
+        if (timeout != null) {
+            builder.timeout(timeout);
+        }
+        return builder.build();
     }
 
-    private String resolveTemplates(String input, Map<String, String> vars) {
-        if (input == null || input.isEmpty()) {
-            return input;
-        }
+    @Override
+    public Optional<Set<String>> referencedVariables(HttpRequestData requestData) {
+        return Optional.of(templates.variableNames(requestData));
+    }
 
-        Matcher m = TEMPLATE_PATTERN.matcher(input);
-        StringBuffer sb = new StringBuffer();
+    private String[] toHeaderArray(Map<String, String> headers) {
+        Map<String, String> resolvedHeaders = new LinkedHashMap<>(headers);
 
-        while (m.find()) {
-            String varName = (m.group(1) != null) ? m.group(1) : m.group(2);
-            String replacement = vars.getOrDefault(varName, "");
-            m.appendReplacement(sb, Matcher.quoteReplacement(replacement));
-        }
+        // Ensure Content-Type for SOAP (if not already set)
+        resolvedHeaders.putIfAbsent("Content-Type", "text/xml; charset=utf-8");
 
-        m.appendTail(sb);
-        return sb.toString();
+        return resolvedHeaders.entrySet().stream()
+            .flatMap(e -> java.util.stream.Stream.of(e.getKey(), e.getValue()))
+            .toArray(String[]::new);
     }
 }
@@ -0,0 +1,188 @@
+package com.example.demo.runner.builder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A text template compiled once into literal and variable segments.
+ *
+ * <p>Syntax: {@code ${name}} or {@code {name}}. The short form only counts when the name
+ * is an identifier ({@code [A-Za-z_][A-Za-z0-9_.-]*}), so JSON objects in a body pass
+ * through untouched. Literal segments are pre-encoded as UTF-8, so rendering to bytes
+ * only encodes the substituted values.
+ */
+final class Template {
+
+    private sealed interface Segment permits Literal, Variable {
+    }
+
+    private record Literal(String text, byte[] bytes) implements Segment {
+    }
+
+    private record Variable(String name) implements Segment {
+    }
+
+    private final List<Segment> segments;
+    private final String source;
+
+    private Template(List<Segment> segments, String source) {
+        this.segments = segments;
+        this.source = source;
+    }
+
+    /**
+     * Compile a template in a single pass.
+     *
+     * @param text template text (may be null)
+     * @return compiled template
+     */
+    static Template compile(String text) {
+        if (text == null || text.isEmpty()) {
+            return new Template(List.of(), text);
+        }
+
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            boolean dollar = c == '$' && i + 1 < text.length() && text.charAt(i + 1) == '{';
+            if (dollar || c == '{') {
+                int open = dollar ? i + 1 : i;
+                int close = text.indexOf('}', open + 1);
+                if (close > open + 1) {
+                    String name = text.substring(open + 1, close);
+                    if (dollar || isIdentifier(name)) {
+                        addLiteral(segments, literal);
+                        segments.add(new Variable(name));
+                        i = close + 1;
+                        continue;
+                    }
+                }
+            }
+            literal.append(c);
+            i++;
+        }
+        addLiteral(segments, literal);
+        return new Template(List.copyOf(segments), text);
+    }
+
+    private static void addLiteral(List<Segment> segments, StringBuilder literal) {
+        if (!literal.isEmpty()) {
+            String text = literal.toString();
+            segments.add(new Literal(text, text.getBytes(StandardCharsets.UTF_8)));
+            literal.setLength(0);
+        }
+    }
+
+    /**
+     * Quick scan of UTF-8 text for what could be a variable, without decoding it: {@code false}
+     * means compiling the text would give a constant template. Bytes of non-ASCII characters are
+     * taken as possible identifier letters, so the scan may say yes where there is none.
+     *
+     * @param text UTF-8 text; its position is not changed
+     */
+    static boolean mayHaveVariables(ByteBuffer text) {
+        for (int i = text.position(); i < text.limit() - 1; i++) {
+            if (text.get(i) != '{') {
+                continue;
+            }
+            byte next = text.get(i + 1);
+            boolean dollar = i > text.position() && text.get(i - 1) == '$';
+            if (next != '}' && (dollar || next < 0 || next == '_' || Character.isLetter(next))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isIdentifier(String name) {
+        char first = name.charAt(0);
+        if (!(Character.isLetter(first) || first == '_')) {
+            return false;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!(Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '-')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the template has no variables (renders to its source unchanged).
+     */
+    boolean isConstant() {
+        return segments.stream().noneMatch(Variable.class::isInstance);
+    }
+
+    /**
+     * Names of the variables referenced by the template, in order of first use.
+     */
+    Set<String> variableNames() {
+        Set<String> names = new LinkedHashSet<>();
+        for (Segment segment : segments) {
+            if (segment instanceof Variable variable) {
+                names.add(variable.name());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Render to a string.
+     *
+     * @param vars variable values
+     * @param unresolved collects names of variables without a value
+     * @return rendered text (unresolved variables render as their placeholder)
+     */
+    String render(Map<String, String> vars, Collection<String> unresolved) {
+        if (isConstant()) {
+            return source;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Segment segment : segments) {
+            switch (segment) {
+                case Literal literal -> sb.append(literal.text());
+                case Variable variable -> sb.append(resolve(variable, vars, unresolved));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Render straight to UTF-8 bytes.
+     *
+     * @param vars variable values
+     * @param unresolved collects names of variables without a value
+     * @return rendered bytes (unresolved variables render as their placeholder)
+     */
+    byte[] renderBytes(Map<String, String> vars, Collection<String> unresolved) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(source == null ? 0 : source.length() + 64);
+        for (Segment segment : segments) {
+            switch (segment) {
+                case Literal literal -> out.writeBytes(literal.bytes());
+                case Variable variable -> out.writeBytes(
+                    resolve(variable, vars, unresolved).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static String resolve(Variable variable, Map<String, String> vars, Collection<String> unresolved) {
+        String value = vars.get(variable.name());
+        if (value == null) {
+            unresolved.add(variable.name());
+            return "${" + variable.name() + "}";
+        }
+        return value;
+    }
+}
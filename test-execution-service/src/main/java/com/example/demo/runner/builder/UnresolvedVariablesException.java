@@ -0,0 +1,20 @@
+package com.example.demo.runner.builder;
+
+import java.util.Set;
+
+/**
+ * Thrown when a request template references variables that have no value.
+ */
+public class UnresolvedVariablesException extends IllegalArgumentException {
+
+    private final Set<String> variableNames;
+
+    public UnresolvedVariablesException(Set<String> variableNames) {
+        super("Unresolved variables: " + String.join(", ", variableNames));
+        this.variableNames = Set.copyOf(variableNames);
+    }
+
+    public Set<String> getVariableNames() {
+        return variableNames;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.demo.runner.cache;
+
+import com.example.demo.common.ports.CacheStats;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, thread-safe cache of values computed from their key, counting hits and misses.
+ *
+ * <p>Lookups are lock-free. When the cache grows past its size, entries are evicted in
+ * second-chance (clock) order: entries are visited oldest first, and one that was read since
+ * it was last visited is kept and moved to the back. A frequently used entry therefore survives
+ * any number of evictions, while entries used once are evicted first.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public final class BoundedCache<K, V> {
+
+    private static final class Entry<V> {
+        final V value;
+        volatile boolean referenced;
+
+        Entry(V value) {
+            this.value = value;
+        }
+    }
+
+    private final int maxSize;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    // Every cached key once, in the order the clock visits them
+    private final ConcurrentLinkedQueue<K> clock = new ConcurrentLinkedQueue<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxSize maximum number of entries kept
+     */
+    public BoundedCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the value of a key, computing and caching it on first use.
+     * The value is computed outside any lock, so two threads missing the same key at once may both
+     * compute it; the first one cached is returned to both. A value that fails to compute is not cached.
+     *
+     * @param key the key
+     * @param loader computes the value of a key missing from the cache
+     * @return the cached or computed value
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            entry.referenced = true;
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+
+        Entry<V> created = new Entry<>(loader.apply(key));
+        Entry<V> existing = entries.putIfAbsent(key, created);
+        if (existing != null) {
+            existing.referenced = true;
+            return existing.value;
+        }
+        clock.add(key);
+        if (entries.size() > maxSize) {
+            evict();
+        }
+        return created.value;
+    }
+
+    private synchronized void evict() {
+        // Entries read again while the clock turns would keep it turning; past two full turns evict regardless
+        int visited = 0;
+        while (entries.size() > maxSize) {
+            K key = clock.poll();
+            if (key == null) {
+                return;
+            }
+            Entry<V> entry = entries.get(key);
+            if (entry.referenced && visited++ < 2 * maxSize) {
+                entry.referenced = false;
+                clock.add(key);
+            } else {
+                entries.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Number of lookups served from the cache.
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of lookups that had to compute their value.
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of entries currently cached.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hitCount(), missCount(), size(), maxSize);
+    }
+}
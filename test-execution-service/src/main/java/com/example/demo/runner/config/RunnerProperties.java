@@ -0,0 +1,486 @@
+package com.example.demo.runner.config;
+
+import com.example.demo.runner.body.BodyRetention;
+import com.example.demo.runner.body.BufferPool;
+import com.example.demo.runner.body.ResponseBodyHandler;
+import com.example.demo.runner.builder.RequestTemplateCache;
+import com.example.demo.runner.json.JsonPathCache;
+import com.example.demo.runner.xml.XPathCache;
+import com.example.demo.runner.xml.XPathEvaluator;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the test runner.
+ * Prefix: runner
+ */
+@ConfigurationProperties(prefix = "runner")
+public class RunnerProperties {
+
+    /**
+     * Execution engine.
+     * BLOCKING: each worker executes one run at a time (HttpClient.send).
+     * ASYNC: a dispatcher starts runs as composed futures (HttpClient.sendAsync),
+     * so outstanding requests do not hold a thread each.
+     */
+    public enum Engine {
+        BLOCKING,
+        ASYNC
+    }
+
+    /**
+     * What {@code submit} does when the run queue is full.
+     * BLOCK: wait for room, up to the queue block timeout, then reject.
+     * REJECT: fail immediately with RunRejectedException.
+     * SHED: drop the newest queued run of the lowest priority class below the new run's
+     * (it completes as CANCELLED); reject the new run if there is none.
+     */
+    public enum QueuePolicy {
+        BLOCK,
+        REJECT,
+        SHED
+    }
+
+    /**
+     * Execution engine to use.
+     * Default: BLOCKING
+     */
+    private Engine engine = Engine.BLOCKING;
+
+    /**
+     * Number of workers pulling runs from the queue.
+     * Set to 1 for strictly sequential execution, in queue order.
+     * Default: 16
+     */
+    private int workers = 16;
+
+    /**
+     * Run workers on virtual threads instead of platform threads.
+     * Default: true
+     */
+    private boolean virtualThreads = true;
+
+    /**
+     * Maximum number of runs in flight at once with the ASYNC engine.
+     * Default: 1000
+     */
+    private int maxInFlight = 1000;
+
+    /**
+     * Maximum number of requests in flight of a load run at a target rate whose profile sets no concurrency.
+     * Default: 1000
+     */
+    private int loadMaxInFlight = 1000;
+
+    /**
+     * Maximum number of runs waiting in the queue.
+     * Default: 10000
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Policy applied when the queue is full.
+     * Default: BLOCK
+     */
+    private QueuePolicy queuePolicy = QueuePolicy.BLOCK;
+
+    /**
+     * How long {@code submit} waits for room with the BLOCK policy before rejecting.
+     * Default: 30s
+     */
+    private Duration queueBlockTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Share of the runner each project gets within a priority class (project key -> weight),
+     * e.g. runner.project-weights.42=3 lets project 42 take three runs per turn.
+     * Default: 1 for every project
+     */
+    private Map<String, Integer> projectWeights = new HashMap<>();
+
+    /**
+     * Threads invoking result callbacks, apart from the threads executing runs.
+     * Default: 4
+     */
+    private int callbackThreads = 4;
+
+    /**
+     * Maximum number of results waiting for their callbacks; past it, reporting a result waits.
+     * Default: 10000
+     */
+    private int callbackBacklog = 10_000;
+
+    /**
+     * Timeout of each HTTP request (each E2E step), unless the run request sets its own.
+     * A run deadline set on the request caps it further.
+     * Default: 30s
+     */
+    private Duration requestTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Default maximum number of requests in flight to one host, for runs whose variables
+     * set no {@code runner.host.max-concurrency}. 0 for no limit.
+     * Default: 0
+     */
+    private int hostMaxConcurrency = 0;
+
+    /**
+     * Default maximum number of requests started per second to one host, for runs whose variables
+     * set no {@code runner.host.requests-per-second}. 0 for no limit.
+     * Default: 0
+     */
+    private double hostRequestsPerSecond = 0;
+
+    /**
+     * Adapt each host's concurrency limit to its response times, 429/503 responses and timeouts
+     * (up to the host max concurrency if set), for runs whose variables set no
+     * {@code runner.host.adaptive-concurrency}.
+     * Default: false
+     */
+    private boolean hostAdaptiveConcurrency = false;
+
+    /**
+     * Run E2E steps that do not depend on each other's extracted variables concurrently.
+     * Off by default: workflows may rely on side effects of earlier steps that no variable expresses.
+     * Default: false
+     */
+    private boolean parallelE2eSteps = false;
+
+    /**
+     * Maximum number of compiled request templates (URL, headers, body) kept in the shared cache.
+     * Default: 1024
+     */
+    private int templateCacheSize = RequestTemplateCache.DEFAULT_MAX_SIZE;
+
+    /**
+     * Maximum number of compiled JSONPath expressions kept in the shared cache.
+     * Default: 1024
+     */
+    private int jsonPathCacheSize = JsonPathCache.DEFAULT_MAX_SIZE;
+
+    /**
+     * Maximum number of distinct XPath expressions kept compiled in the shared cache.
+     * Default: 1024
+     */
+    private int xpathCacheSize = XPathCache.DEFAULT_MAX_SIZE;
+
+    /**
+     * Namespace prefixes usable in XPath expressions (prefix -> namespace URI),
+     * e.g. runner.xpath-namespaces.soap=http://schemas.xmlsoap.org/soap/envelope/
+     * When any prefix is configured, XML bodies are parsed namespace-aware and
+     * elements in a namespace must be matched with a prefix.
+     * Default: none (namespace-unaware parsing)
+     */
+    private Map<String, String> xpathNamespaces = new HashMap<>();
+
+    /**
+     * Minimum XML body size (bytes) from which simple absolute XPath expressions
+     * are evaluated by streaming instead of building a DOM.
+     * Default: 1048576 (1 MiB)
+     */
+    private int xpathStreamingThreshold = XPathEvaluator.DEFAULT_STREAMING_THRESHOLD;
+
+    /**
+     * Response body size (bytes) above which the body is written to a temporary file
+     * instead of being kept in pooled memory buffers.
+     * Default: 1048576 (1 MiB)
+     */
+    private long bodySpillThreshold = ResponseBodyHandler.DEFAULT_SPILL_THRESHOLD;
+
+    /**
+     * Directory of the temporary files of spilled response bodies.
+     * Default: empty (java.io.tmpdir)
+     */
+    private String bodySpillDirectory = "";
+
+    /**
+     * Maximum number of idle response body buffers (16 KiB each) kept for reuse.
+     * Default: 256
+     */
+    private int bodyBufferPoolSize = BufferPool.DEFAULT_MAX_IDLE;
+
+    /**
+     * Maximum number of characters of a response body kept in run results.
+     * Default: 65536
+     */
+    private int bodyPreviewSize = ResponseBodyHandler.DEFAULT_PREVIEW_CHARS;
+
+    /**
+     * How much of a response body no assertion or extractor reads is retained:
+     * DISCARD (results get no body), PREFIX (enough for the preview) or FULL (with a digest).
+     * Default: PREFIX
+     */
+    private BodyRetention bodyRetention = BodyRetention.PREFIX;
+
+    /**
+     * The same, per project key, overriding the default,
+     * e.g. runner.project-body-retention.42=DISCARD for a project of status-only probes.
+     * Default: none
+     */
+    private Map<String, BodyRetention> projectBodyRetention = new HashMap<>();
+
+    /**
+     * Ask for gzip or deflate compressed responses (Accept-Encoding), unless a test sets the header.
+     * Compressed responses are decoded before validation either way.
+     * Default: false
+     */
+    private boolean acceptCompressedResponses = false;
+
+    /**
+     * Request body size (bytes) from which bodies are sent gzip-compressed (Content-Encoding: gzip),
+     * e.g. for large SOAP envelopes; 0 to never compress. Only for servers accepting compressed requests.
+     * Default: 0
+     */
+    private int requestCompressionThreshold = 0;
+
+    /**
+     * Directory of content-addressed request bodies (files named by the hex SHA-256 of their content),
+     * streamed for requests with a blob body source.
+     * Default: empty (blob bodies rejected)
+     */
+    private String blobDirectory = "";
+
+    // Getters and Setters
+
+    public Engine getEngine() {
+        return engine;
+    }
+
+    public void setEngine(Engine engine) {
+        this.engine = engine;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public int getLoadMaxInFlight() {
+        return loadMaxInFlight;
+    }
+
+    public void setLoadMaxInFlight(int loadMaxInFlight) {
+        this.loadMaxInFlight = loadMaxInFlight;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public QueuePolicy getQueuePolicy() {
+        return queuePolicy;
+    }
+
+    public void setQueuePolicy(QueuePolicy queuePolicy) {
+        this.queuePolicy = queuePolicy;
+    }
+
+    public Duration getQueueBlockTimeout() {
+        return queueBlockTimeout;
+    }
+
+    public void setQueueBlockTimeout(Duration queueBlockTimeout) {
+        this.queueBlockTimeout = queueBlockTimeout;
+    }
+
+    public Map<String, Integer> getProjectWeights() {
+        return projectWeights;
+    }
+
+    public void setProjectWeights(Map<String, Integer> projectWeights) {
+        this.projectWeights = projectWeights;
+    }
+
+    public int getCallbackThreads() {
+        return callbackThreads;
+    }
+
+    public void setCallbackThreads(int callbackThreads) {
+        this.callbackThreads = callbackThreads;
+    }
+
+    public int getCallbackBacklog() {
+        return callbackBacklog;
+    }
+
+    public void setCallbackBacklog(int callbackBacklog) {
+        this.callbackBacklog = callbackBacklog;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public void setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    public int getHostMaxConcurrency() {
+        return hostMaxConcurrency;
+    }
+
+    public void setHostMaxConcurrency(int hostMaxConcurrency) {
+        this.hostMaxConcurrency = hostMaxConcurrency;
+    }
+
+    public double getHostRequestsPerSecond() {
+        return hostRequestsPerSecond;
+    }
+
+    public void setHostRequestsPerSecond(double hostRequestsPerSecond) {
+        this.hostRequestsPerSecond = hostRequestsPerSecond;
+    }
+
+    public boolean isHostAdaptiveConcurrency() {
+        return hostAdaptiveConcurrency;
+    }
+
+    public void setHostAdaptiveConcurrency(boolean hostAdaptiveConcurrency) {
+        this.hostAdaptiveConcurrency = hostAdaptiveConcurrency;
+    }
+
+    public boolean isParallelE2eSteps() {
+        return parallelE2eSteps;
+    }
+
+    public void setParallelE2eSteps(boolean parallelE2eSteps) {
+        this.parallelE2eSteps = parallelE2eSteps;
+    }
+
+    public int getTemplateCacheSize() {
+        return templateCacheSize;
+    }
+
+    public void setTemplateCacheSize(int templateCacheSize) {
+        this.templateCacheSize = templateCacheSize;
+    }
+
+    public int getJsonPathCacheSize() {
+        return jsonPathCacheSize;
+    }
+
+    public void setJsonPathCacheSize(int jsonPathCacheSize) {
+        this.jsonPathCacheSize = jsonPathCacheSize;
+    }
+
+    public int getXpathCacheSize() {
+        return xpathCacheSize;
+    }
+
+    public void setXpathCacheSize(int xpathCacheSize) {
+        this.xpathCacheSize = xpathCacheSize;
+    }
+
+    public Map<String, String> getXpathNamespaces() {
+        return xpathNamespaces;
+    }
+
+    public void setXpathNamespaces(Map<String, String> xpathNamespaces) {
+        this.xpathNamespaces = xpathNamespaces;
+    }
+
+    public int getXpathStreamingThreshold() {
+        return xpathStreamingThreshold;
+    }
+
+    public void setXpathStreamingThreshold(int xpathStreamingThreshold) {
+        this.xpathStreamingThreshold = xpathStreamingThreshold;
+    }
+
+    public long getBodySpillThreshold() {
+        return bodySpillThreshold;
+    }
+
+    public void setBodySpillThreshold(long bodySpillThreshold) {
+        this.bodySpillThreshold = bodySpillThreshold;
+    }
+
+    public String getBodySpillDirectory() {
+        return bodySpillDirectory;
+    }
+
+    public void setBodySpillDirectory(String bodySpillDirectory) {
+        this.bodySpillDirectory = bodySpillDirectory;
+    }
+
+    public int getBodyBufferPoolSize() {
+        return bodyBufferPoolSize;
+    }
+
+    public void setBodyBufferPoolSize(int bodyBufferPoolSize) {
+        this.bodyBufferPoolSize = bodyBufferPoolSize;
+    }
+
+    public int getBodyPreviewSize() {
+        return bodyPreviewSize;
+    }
+
+    public void setBodyPreviewSize(int bodyPreviewSize) {
+        this.bodyPreviewSize = bodyPreviewSize;
+    }
+
+    public BodyRetention getBodyRetention() {
+        return bodyRetention;
+    }
+
+    public void setBodyRetention(BodyRetention bodyRetention) {
+        this.bodyRetention = bodyRetention;
+    }
+
+    public Map<String, BodyRetention> getProjectBodyRetention() {
+        return projectBodyRetention;
+    }
+
+    public void setProjectBodyRetention(Map<String, BodyRetention> projectBodyRetention) {
+        this.projectBodyRetention = projectBodyRetention;
+    }
+
+    public boolean isAcceptCompressedResponses() {
+        return acceptCompressedResponses;
+    }
+
+    public void setAcceptCompressedResponses(boolean acceptCompressedResponses) {
+        this.acceptCompressedResponses = acceptCompressedResponses;
+    }
+
+    public int getRequestCompressionThreshold() {
+        return requestCompressionThreshold;
+    }
+
+    public void setRequestCompressionThreshold(int requestCompressionThreshold) {
+        this.requestCompressionThreshold = requestCompressionThreshold;
+    }
+
+    public String getBlobDirectory() {
+        return blobDirectory;
+    }
+
+    public void setBlobDirectory(String blobDirectory) {
+        this.blobDirectory = blobDirectory;
+    }
+}
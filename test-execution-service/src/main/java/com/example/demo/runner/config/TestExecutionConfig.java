@@ -1,14 +1,27 @@
 package com.example.demo.runner.config;
 
+import com.example.demo.common.ports.CacheStats;
 import com.example.demo.common.ports.TestExecutionPort;
 import com.example.demo.runner.*;
+import com.example.demo.runner.body.BodyRetentionPolicy;
+import com.example.demo.runner.body.BufferPool;
+import com.example.demo.runner.body.ResponseBodyHandler;
 import com.example.demo.runner.builder.*;
 import com.example.demo.runner.executor.*;
 import com.example.demo.runner.extractor.*;
+import com.example.demo.runner.json.JsonPathCache;
+import com.example.demo.runner.limit.HostLimit;
+import com.example.demo.runner.limit.HostLimiters;
 import com.example.demo.runner.validator.*;
+import com.example.demo.runner.xml.XPathCache;
+import com.example.demo.runner.xml.XPathEvaluator;
+import com.example.demo.runner.xml.XmlParserPool;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -16,46 +29,134 @@ import java.util.Map;
  * Wires up all dependencies and exposes the TestExecutionPort.
  */
 @Configuration
+@EnableConfigurationProperties(RunnerProperties.class)
 public class TestExecutionConfig {
 
+    /**
+     * Reads response bodies into pooled buffers, spilling large ones to temporary files.
+     */
     @Bean
-    public HttpRequestExecutor httpRequestExecutor() {
-        return new DefaultHttpRequestExecutor();
+    public ResponseBodyHandler responseBodyHandler(RunnerProperties properties) {
+        String directory = properties.getBodySpillDirectory();
+        return new ResponseBodyHandler(
+            new BufferPool(BufferPool.DEFAULT_BUFFER_SIZE, properties.getBodyBufferPoolSize()),
+            properties.getBodySpillThreshold(),
+            directory == null || directory.isBlank() ? ResponseBodyHandler.defaultSpillDirectory() : Path.of(directory),
+            properties.getBodyPreviewSize());
     }
 
     @Bean
-    public Map<String, HttpRequestBuilder> httpRequestBuilders() {
+    public HttpRequestExecutor httpRequestExecutor(ResponseBodyHandler responseBodyHandler) {
+        return new DefaultHttpRequestExecutor(responseBodyHandler);
+    }
+
+    /**
+     * Compiled request templates shared by the request builders.
+     * Hit/miss counts are reported by {@link TestExecutionPort#getCacheStats()}.
+     */
+    @Bean
+    public RequestTemplateCache requestTemplateCache(RunnerProperties properties) {
+        return new RequestTemplateCache(properties.getTemplateCacheSize());
+    }
+
+    @Bean
+    public Map<String, HttpRequestBuilder> httpRequestBuilders(RequestTemplateCache requestTemplateCache,
+                                                               RunnerProperties properties) {
+        Compression compression = new Compression(properties.isAcceptCompressedResponses(),
+            properties.getRequestCompressionThreshold());
+        String blobDirectory = properties.getBlobDirectory();
+        RequestBodies bodies = new RequestBodies(
+            blobDirectory == null || blobDirectory.isBlank() ? null : Path.of(blobDirectory));
         return Map.of(
-            "REST", new RestRequestBuilder(),
-            "SOAP", new SoapRequestBuilder()
+            "REST", new RestRequestBuilder(requestTemplateCache, compression, bodies),
+            "SOAP", new SoapRequestBuilder(requestTemplateCache, compression, bodies)
         );
     }
 
+    /**
+     * Compiled JSONPath expressions shared by validators and extractors.
+     * Hit/miss counts are reported by {@link TestExecutionPort#getCacheStats()}.
+     */
+    @Bean
+    public JsonPathCache jsonPathCache(RunnerProperties properties) {
+        return new JsonPathCache(properties.getJsonPathCacheSize());
+    }
+
+    /**
+     * Pooled XML parsers shared by XPath validators and extractors.
+     * Parsing is namespace-aware only when XPath namespace prefixes are configured.
+     */
+    @Bean
+    public XmlParserPool xmlParserPool(RunnerProperties properties) {
+        return new XmlParserPool(!properties.getXpathNamespaces().isEmpty(),
+            Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Compiled XPath expressions shared by validators and extractors.
+     * Hit/miss counts are reported by {@link TestExecutionPort#getCacheStats()}.
+     */
+    @Bean
+    public XPathCache xpathCache(RunnerProperties properties) {
+        return new XPathCache(properties.getXpathNamespaces(), properties.getXpathCacheSize());
+    }
+
+    /**
+     * XPath evaluation shared by validators and extractors:
+     * streaming for large bodies with simple paths, DOM otherwise.
+     */
+    @Bean
+    public XPathEvaluator xpathEvaluator(XmlParserPool xmlParserPool, XPathCache xpathCache,
+                                         RunnerProperties properties) {
+        return new XPathEvaluator(xmlParserPool, xpathCache, properties.getXpathStreamingThreshold());
+    }
+
     @Bean
-    public AssertionValidator assertionValidator() {
+    public AssertionValidator assertionValidator(JsonPathCache jsonPathCache, XPathEvaluator xpathEvaluator) {
         return new CompositeAssertionValidator(
             new StatusAssertionValidator(),
-            new JsonPathAssertionValidator(),
-            new XPathAssertionValidator()
+            new JsonPathAssertionValidator(jsonPathCache),
+            new XPathAssertionValidator(xpathEvaluator)
         );
     }
 
     @Bean
-    public VariableExtractor variableExtractor() {
+    public VariableExtractor variableExtractor(JsonPathCache jsonPathCache, XPathEvaluator xpathEvaluator) {
         return new CompositeVariableExtractor(
-            new JsonPathExtractor(),
-            new XPathExtractor(),
+            new JsonPathExtractor(jsonPathCache),
+            new XPathExtractor(xpathEvaluator),
             new RegexExtractor()
         );
     }
 
+    /**
+     * Per-host request limits, shared by both runners so they apply across all runs.
+     * The limits in effect per host (including adapted concurrency limits) are reported by
+     * {@link TestExecutionPort#getHostLimitStats()}.
+     */
+    @Bean
+    public HostLimiters hostLimiters(RunnerProperties properties) {
+        return new HostLimiters(new HostLimit(properties.getHostMaxConcurrency(),
+            properties.getHostRequestsPerSecond(), properties.isHostAdaptiveConcurrency()));
+    }
+
+    /**
+     * How much of the response bodies no assertion or extractor reads the runners retain, per project.
+     */
+    @Bean
+    public BodyRetentionPolicy bodyRetentionPolicy(RunnerProperties properties) {
+        return new BodyRetentionPolicy(properties.getBodyRetention(), properties.getProjectBodyRetention());
+    }
+
     @Bean
     public ApiTestRunner apiTestRunner(
         Map<String, HttpRequestBuilder> builders,
         HttpRequestExecutor executor,
-        AssertionValidator validator
+        AssertionValidator validator,
+        HostLimiters hostLimiters,
+        BodyRetentionPolicy bodyRetentionPolicy
     ) {
-        return new ApiTestRunner(builders, executor, validator);
+        return new ApiTestRunner(builders, executor, validator, hostLimiters, bodyRetentionPolicy);
     }
 
     @Bean
@@ -63,16 +164,36 @@ public class TestExecutionConfig {
         Map<String, HttpRequestBuilder> builders,
         HttpRequestExecutor executor,
         AssertionValidator validator,
-        VariableExtractor extractor
+        VariableExtractor extractor,
+        HostLimiters hostLimiters,
+        BodyRetentionPolicy bodyRetentionPolicy,
+        RunnerProperties properties
     ) {
-        return new E2eTestRunner(builders, executor, validator, extractor);
+        return new E2eTestRunner(builders, executor, validator, extractor, properties.isParallelE2eSteps(),
+            hostLimiters, bodyRetentionPolicy);
+    }
+
+    @Bean
+    public LoadTestRunner loadTestRunner(ApiTestRunner apiRunner, RunnerProperties properties) {
+        return new LoadTestRunner(apiRunner, properties.getLoadMaxInFlight());
     }
 
     @Bean
     public TestExecutionPort testExecutionPort(
         ApiTestRunner apiRunner,
-        E2eTestRunner e2eRunner
+        E2eTestRunner e2eRunner,
+        LoadTestRunner loadRunner,
+        RunnerProperties properties,
+        RequestTemplateCache requestTemplateCache,
+        JsonPathCache jsonPathCache,
+        XPathCache xpathCache
     ) {
-        return new RunnerService(apiRunner, e2eRunner);
+        return new RunnerService(apiRunner, e2eRunner, loadRunner, properties, () -> {
+            Map<String, CacheStats> stats = new LinkedHashMap<>();
+            stats.put("requestTemplate", requestTemplateCache.stats());
+            stats.put("jsonPath", jsonPathCache.stats());
+            stats.put("xpath", xpathCache.stats());
+            return stats;
+        });
     }
 }
@@ -0,0 +1,87 @@
+package com.example.demo.runner.context;
+
+import com.example.demo.shared.request.E2eStepRequest;
+import com.example.demo.shared.valueobject.ExtractorSpec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Dependencies between the steps of an E2E workflow, derived from variable flow.
+ *
+ * <p>A step depends on every earlier step whose extractors produce a variable the step
+ * references. A step whose references cannot be determined depends on all earlier steps.
+ * Steps are identified by their index in the workflow.
+ */
+public class StepDependencyGraph {
+
+    private final List<Set<Integer>> dependencies;
+
+    private StepDependencyGraph(List<Set<Integer>> dependencies) {
+        this.dependencies = dependencies;
+    }
+
+    /**
+     * Build the graph of a workflow.
+     *
+     * @param steps workflow steps in order
+     * @param referencedVariables variables referenced by a step, or empty if unknown
+     * @return dependency graph
+     */
+    public static StepDependencyGraph of(
+        List<E2eStepRequest> steps,
+        Function<E2eStepRequest, Optional<Set<String>>> referencedVariables
+    ) {
+        List<Set<Integer>> dependencies = new ArrayList<>(steps.size());
+        for (int i = 0; i < steps.size(); i++) {
+            Optional<Set<String>> references = referencedVariables.apply(steps.get(i));
+            Set<Integer> stepDependencies = new TreeSet<>();
+            for (int j = 0; j < i; j++) {
+                if (references.isEmpty() || producesAny(steps.get(j), references.get())) {
+                    stepDependencies.add(j);
+                }
+            }
+            dependencies.add(Collections.unmodifiableSet(stepDependencies));
+        }
+        return new StepDependencyGraph(List.copyOf(dependencies));
+    }
+
+    private static boolean producesAny(E2eStepRequest step, Set<String> variables) {
+        if (step.extractors() == null) {
+            return false;
+        }
+        for (ExtractorSpec extractor : step.extractors()) {
+            if (variables.contains(extractor.name())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indexes of the earlier steps a step must wait for.
+     *
+     * @param stepIndex index of the step
+     * @return indexes of its direct dependencies
+     */
+    public Set<Integer> dependenciesOf(int stepIndex) {
+        return dependencies.get(stepIndex);
+    }
+
+    /**
+     * Whether every step depends on its predecessor, so nothing can run concurrently.
+     */
+    public boolean isSequential() {
+        for (int i = 1; i < dependencies.size(); i++) {
+            if (!dependencies.get(i).contains(i - 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
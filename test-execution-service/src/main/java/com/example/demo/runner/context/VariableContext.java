@@ -1,7 +1,12 @@
 package com.example.demo.runner.context;
 
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Manages accumulated variables across E2E steps.
@@ -9,10 +14,22 @@ import java.util.Map;
  *
  * Each step creates a new context by merging extracted variables,
  * preventing accidental mutations and making variable flow explicit.
+ *
+ * <p>Contexts are persistent scopes: a merged context keeps a reference to its parent and
+ * stores only the merged variables, so merging costs the size of the new variables rather than
+ * a copy of everything accumulated so far, and any context can be forked any number of times.
+ * Lookups walk the scopes from the newest one; once a chain grows past {@value #MAX_DEPTH}
+ * scopes it is flattened into a single one, which bounds lookup cost.
  */
 public class VariableContext {
 
-    private final Map<String, String> variables;
+    static final int MAX_DEPTH = 32;
+
+    private final VariableContext parent;
+    private final Map<String, String> scope;
+    private final int depth;
+    private final Map<String, String> view = new View();
+    private volatile Map<String, String> flattened;
 
     /**
      * Create a new context with initial variables.
@@ -20,28 +37,119 @@ public class VariableContext {
      * @param initialVariables starting variables (project + suite level)
      */
     public VariableContext(Map<String, String> initialVariables) {
-        this.variables = new HashMap<>(initialVariables);
+        this(null, new HashMap<>(initialVariables));
+    }
+
+    private VariableContext(VariableContext parent, Map<String, String> scope) {
+        this.parent = parent;
+        this.scope = scope;
+        this.depth = parent == null ? 1 : parent.depth + 1;
     }
 
     /**
      * Get current variables as immutable map.
+     * The map is a read-only view of this context; no copy is made per call.
      *
-     * @return copy of current variables
+     * @return current variables
      */
     public Map<String, String> getVariables() {
-        return Map.copyOf(variables);
+        return view;
+    }
+
+    /**
+     * Get the current value of a variable.
+     *
+     * @param name variable name
+     * @return the value, or null if the variable is not defined
+     */
+    public String get(String name) {
+        for (VariableContext context = this; context != null; context = context.parent) {
+            String value = context.scope.get(name);
+            if (value != null || context.scope.containsKey(name)) {
+                return value;
+            }
+        }
+        return null;
     }
 
     /**
      * Create new context with additional variables merged in.
      * Existing variables are preserved, new variables override if same key.
+     * This context is left unchanged and shared with the new one.
      *
      * @param newVariables variables to merge (extracted from step)
      * @return new VariableContext with merged variables
      */
     public VariableContext merge(Map<String, String> newVariables) {
-        Map<String, String> merged = new HashMap<>(this.variables);
-        merged.putAll(newVariables);
-        return new VariableContext(merged);
+        if (newVariables.isEmpty()) {
+            return this;
+        }
+        if (depth >= MAX_DEPTH) {
+            Map<String, String> merged = new HashMap<>(flatten());
+            merged.putAll(newVariables);
+            return new VariableContext(null, merged);
+        }
+        return new VariableContext(this, new HashMap<>(newVariables));
+    }
+
+    /**
+     * All variables of this context in a single map, built once on first use.
+     */
+    private Map<String, String> flatten() {
+        Map<String, String> result = flattened;
+        if (result == null) {
+            if (parent == null) {
+                result = Collections.unmodifiableMap(scope);
+            } else {
+                // Apply the scopes oldest first, starting from the nearest already flattened one
+                Deque<VariableContext> chain = new ArrayDeque<>(depth);
+                VariableContext context = this;
+                while (context.parent != null && context.flattened == null) {
+                    chain.push(context);
+                    context = context.parent;
+                }
+                Map<String, String> merged = new HashMap<>(context.flatten());
+                for (VariableContext scoped : chain) {
+                    merged.putAll(scoped.scope);
+                }
+                result = Collections.unmodifiableMap(merged);
+            }
+            flattened = result;
+        }
+        return result;
+    }
+
+    /**
+     * Read-only map view: single-key lookups walk the scopes, iteration uses the flattened map.
+     */
+    private final class View extends AbstractMap<String, String> {
+
+        @Override
+        public String get(Object key) {
+            return key instanceof String name ? VariableContext.this.get(name) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            if (!(key instanceof String name)) {
+                return false;
+            }
+            for (VariableContext context = VariableContext.this; context != null; context = context.parent) {
+                if (context.scope.containsKey(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int size() {
+            return flatten().size();
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return flatten().entrySet();
+        }
     }
 }
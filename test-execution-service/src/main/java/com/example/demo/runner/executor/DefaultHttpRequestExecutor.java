@@ -1,14 +1,25 @@
 package com.example.demo.runner.executor;
 
+import com.example.demo.runner.body.BodyRetention;
+import com.example.demo.runner.body.ResponseBody;
+import com.example.demo.runner.body.ResponseBodyHandler;
+
 import java.io.IOException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Default HTTP executor using java.net.http.HttpClient.
- * Configured with 30-second connect timeout.
+ * Configured with 30-second connect timeout; response timeouts are set per request.
+ * Supports both blocking (send) and non-blocking (sendAsync) execution.
+ *
+ * <p>Bodies are received by a {@link ResponseBodyHandler}, which bounds the memory they take.
+ * The handler is wrapped to note when the response headers arrive, so exchanges are timed
+ * to first byte and to the end of the body.
  */
 public class DefaultHttpRequestExecutor implements HttpRequestExecutor {
 
@@ -17,10 +28,23 @@ public class DefaultHttpRequestExecutor implements HttpRequestExecutor {
         .followRedirects(HttpClient.Redirect.NORMAL)
         .build();
 
+    private final ResponseBodyHandler bodyHandler;
+
+    public DefaultHttpRequestExecutor() {
+        this(new ResponseBodyHandler());
+    }
+
+    public DefaultHttpRequestExecutor(ResponseBodyHandler bodyHandler) {
+        this.bodyHandler = bodyHandler;
+    }
+
     @Override
-    public HttpResponse<String> execute(HttpRequest request) {
+    public HttpResponse<ResponseBody> execute(HttpRequest request, ExchangeTimer timer, BodyRetention retention) {
         try {
-            return CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+            timer.markSent();
+            HttpResponse<ResponseBody> response = CLIENT.send(request, timed(timer, retention));
+            timer.markCompleted();
+            return response;
         } catch (IOException e) {
             throw new RuntimeException("HTTP request failed: " + e.getMessage(), e);
         } catch (InterruptedException e) {
@@ -28,4 +52,42 @@ public class DefaultHttpRequestExecutor implements HttpRequestExecutor {
             throw new RuntimeException("HTTP request interrupted: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * {@inheritDoc}
+     * Cancelling the returned future aborts the HTTP exchange.
+     */
+    @Override
+    public CompletableFuture<HttpResponse<ResponseBody>> executeAsync(HttpRequest request, ExchangeTimer timer,
+                                                                      BodyRetention retention) {
+        timer.markSent();
+        CompletableFuture<HttpResponse<ResponseBody>> exchange = CLIENT.sendAsync(request, timed(timer, retention));
+        CompletableFuture<HttpResponse<ResponseBody>> response = exchange
+            .whenComplete((result, error) -> timer.markCompleted())
+            .exceptionallyCompose(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                return CompletableFuture.failedFuture(
+                    new RuntimeException("HTTP request failed: " + cause.getMessage(), cause));
+            });
+        response.whenComplete((result, error) -> {
+            if (response.isCancelled()) {
+                exchange.cancel(true);
+                // Completed just before the cancellation: nobody will read the body
+                exchange.thenAccept(completed -> completed.body().close());
+            }
+        });
+        return response;
+    }
+
+    /**
+     * Body handler retaining the given part of the body, which marks the arrival of the response headers.
+     * With redirects followed, only the final response is timed this way.
+     */
+    private HttpResponse.BodyHandler<ResponseBody> timed(ExchangeTimer timer, BodyRetention retention) {
+        HttpResponse.BodyHandler<ResponseBody> handler = bodyHandler.withRetention(retention);
+        return responseInfo -> {
+            timer.markHeadersReceived();
+            return handler.apply(responseInfo);
+        };
+    }
 }
@@ -0,0 +1,51 @@
+package com.example.demo.runner.executor;
+
+/**
+ * Monotonic timestamps ({@link System#nanoTime()}) of one HTTP exchange, recorded by the executor.
+ *
+ * <p>{@code java.net.http} does not expose connection setup, so the time to first byte covers
+ * connecting (if no pooled connection was free), sending the request and the server's processing,
+ * up to the response headers. The body read follows, up to the last byte.
+ */
+public final class ExchangeTimer {
+
+    private volatile long sentAt;
+    private volatile long headersAt;
+    private volatile long completedAt;
+
+    public void markSent() {
+        sentAt = System.nanoTime();
+    }
+
+    public void markHeadersReceived() {
+        headersAt = System.nanoTime();
+    }
+
+    public void markCompleted() {
+        completedAt = System.nanoTime();
+        if (headersAt == 0) {
+            headersAt = completedAt;
+        }
+    }
+
+    /**
+     * Nanoseconds from sending the request to receiving the response headers; 0 until the exchange completed.
+     */
+    public long timeToFirstByteNanos() {
+        return completedAt == 0 ? 0 : headersAt - sentAt;
+    }
+
+    /**
+     * Nanoseconds from the response headers to the end of the body; 0 until the exchange completed.
+     */
+    public long bodyReadNanos() {
+        return completedAt == 0 ? 0 : completedAt - headersAt;
+    }
+
+    /**
+     * Nanoseconds from sending the request to the end of the response body; 0 until the exchange completed.
+     */
+    public long totalNanos() {
+        return completedAt == 0 ? 0 : completedAt - sentAt;
+    }
+}
@@ -1,20 +1,50 @@
 package com.example.demo.runner.executor;
 
+import com.example.demo.runner.body.BodyRetention;
+import com.example.demo.runner.body.ResponseBody;
+
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Executes HTTP requests and returns responses.
  * Abstraction over java.net.http.HttpClient for testability.
+ *
+ * <p>Response bodies are {@link ResponseBody lazy views} holding pooled buffers or a temporary file;
+ * callers close them once the response is evaluated. A caller that reads no body can ask for
+ * less of it to be retained.
  */
 public interface HttpRequestExecutor {
 
     /**
-     * Execute an HTTP request.
+     * Execute an HTTP request, recording when it was sent, when the response headers arrived
+     * and when the body was read, and retaining only as much of the response body as given.
      *
      * @param request the HTTP request to execute
-     * @return HTTP response with string body
+     * @param timer receives the timestamps of the exchange
+     * @param retention how much of the body to retain
+     * @return HTTP response with its body (to be closed by the caller)
      * @throws RuntimeException if execution fails
      */
-    HttpResponse<String> execute(HttpRequest request);
+    HttpResponse<ResponseBody> execute(HttpRequest request, ExchangeTimer timer, BodyRetention retention);
+
+    /**
+     * Execute an HTTP request without blocking the calling thread, recording the timestamps of the exchange
+     * and retaining only as much of the response body as given.
+     * Default implementation delegates to {@link #execute} on the calling thread.
+     *
+     * @param request the HTTP request to execute
+     * @param timer receives the timestamps of the exchange
+     * @param retention how much of the body to retain
+     * @return future completed with the HTTP response, or exceptionally if execution fails
+     */
+    default CompletableFuture<HttpResponse<ResponseBody>> executeAsync(HttpRequest request, ExchangeTimer timer,
+                                                                       BodyRetention retention) {
+        try {
+            return CompletableFuture.completedFuture(execute(request, timer, retention));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
@@ -1,13 +1,14 @@
 package com.example.demo.runner.extractor;
 
+import com.example.demo.runner.response.ResponseView;
 import com.example.demo.shared.valueobject.ExtractorSpec;
 
-import java.net.http.HttpResponse;
 import java.util.*;
 
 /**
  * Composite extractor that delegates to specific extractors based on extractor type.
  * Automatically routes extractors to the appropriate implementation.
+ * All delegates share the same ResponseView, so the body is parsed at most once per format.
  */
 public class CompositeVariableExtractor implements VariableExtractor {
 
@@ -27,7 +28,7 @@ public class CompositeVariableExtractor implements VariableExtractor {
     }
 
     @Override
-    public Map<String, String> extract(List<ExtractorSpec> specs, HttpResponse<String> response) {
+    public Map<String, String> extract(List<ExtractorSpec> specs, ResponseView response) {
         Map<String, String> variables = new HashMap<>();
 
         for (ExtractorSpec spec : specs) {
@@ -45,4 +46,28 @@ public class CompositeVariableExtractor implements VariableExtractor {
 
         return variables;
     }
+
+    @Override
+    public void precompile(List<ExtractorSpec> specs) {
+        for (ExtractorSpec spec : specs) {
+            Extractor extractor = extractors.get(spec.extractor());
+            if (extractor != null) {
+                extractor.precompile(spec);
+            }
+        }
+    }
+
+    /**
+     * Unknown extractors are skipped without reading the body.
+     */
+    @Override
+    public boolean readsBody(List<ExtractorSpec> specs) {
+        for (ExtractorSpec spec : specs) {
+            Extractor extractor = extractors.get(spec.extractor());
+            if (extractor != null && extractor.readsBody(spec)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -1,8 +1,8 @@
 package com.example.demo.runner.extractor;
 
+import com.example.demo.runner.response.ResponseView;
 import com.example.demo.shared.valueobject.ExtractorSpec;
 
-import java.net.http.HttpResponse;
 import java.util.List;
 
 /**
@@ -22,8 +22,24 @@ public interface Extractor {
      * Extract a value from the response.
      *
      * @param spec extraction specification
-     * @param response the HTTP response
+     * @param response the response view (parsed body shared with other validators/extractors)
      * @return extracted value as string, or null if extraction failed
      */
-    String extract(ExtractorSpec spec, HttpResponse<String> response);
+    String extract(ExtractorSpec spec, ResponseView response);
+
+    /**
+     * Check an extraction's expression before execution, so an invalid one fails at submit time.
+     *
+     * @param spec extraction specification
+     * @throws IllegalArgumentException if the expression is invalid
+     */
+    default void precompile(ExtractorSpec spec) {
+    }
+
+    /**
+     * Whether the extraction reads the response body, so the body must be retained.
+     */
+    default boolean readsBody(ExtractorSpec spec) {
+        return true;
+    }
 }
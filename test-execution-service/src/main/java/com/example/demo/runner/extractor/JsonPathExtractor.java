@@ -1,34 +1,52 @@
 package com.example.demo.runner.extractor;
 
+import com.example.demo.runner.json.JsonPathCache;
+import com.example.demo.runner.response.ResponseView;
 import com.example.demo.shared.valueobject.ExtractorSpec;
-import com.jayway.jsonpath.JsonPath;
 
-import java.net.http.HttpResponse;
 import java.util.List;
 
 /**
  * Extracts values from JSON response bodies using JSONPath.
  * Supports: JSONPATH
+ * Expressions are compiled once through a shared {@link JsonPathCache}.
  */
 public class JsonPathExtractor implements Extractor {
 
+    private final JsonPathCache pathCache;
+
+    public JsonPathExtractor() {
+        this(new JsonPathCache());
+    }
+
+    public JsonPathExtractor(JsonPathCache pathCache) {
+        this.pathCache = pathCache;
+    }
+
     @Override
     public List<String> supportedTypes() {
         return List.of("JSONPATH");
     }
 
     @Override
-    public String extract(ExtractorSpec spec, HttpResponse<String> response) {
+    public String extract(ExtractorSpec spec, ResponseView response) {
         try {
             if (!"BODY".equals(spec.source())) {
                 return null;
             }
 
-            Object value = JsonPath.read(response.body(), spec.expr());
+            Object value = response.json().read(pathCache.compile(spec.expr()));
             return String.valueOf(value);
 
         } catch (Exception e) {
             return null;  // Extraction failed
         }
     }
+
+    @Override
+    public void precompile(ExtractorSpec spec) {
+        if ("BODY".equals(spec.source())) {
+            pathCache.compile(spec.expr());
+        }
+    }
 }
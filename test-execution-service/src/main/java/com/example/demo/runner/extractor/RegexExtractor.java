@@ -1,8 +1,8 @@
 package com.example.demo.runner.extractor;
 
+import com.example.demo.runner.response.ResponseView;
 import com.example.demo.shared.valueobject.ExtractorSpec;
 
-import java.net.http.HttpResponse;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -19,12 +19,17 @@ public class RegexExtractor implements Extractor {
     }
 
     @Override
-    public String extract(ExtractorSpec spec, HttpResponse<String> response) {
+    public boolean readsBody(ExtractorSpec spec) {
+        return "BODY".equals(spec.source());
+    }
+
+    @Override
+    public String extract(ExtractorSpec spec, ResponseView response) {
         try {
             String source;
 
             if ("BODY".equals(spec.source())) {
-                source = response.body();
+                source = response.body().text();
             } else if ("HEADER".equals(spec.source())) {
                 // For headers, expression should be the header name
                 source = response.headers().firstValue(spec.expr()).orElse("");
@@ -1,5 +1,7 @@
 package com.example.demo.runner.extractor;
 
+import com.example.demo.runner.body.ResponseBody;
+import com.example.demo.runner.response.ResponseView;
 import com.example.demo.shared.valueobject.ExtractorSpec;
 
 import java.net.http.HttpResponse;
@@ -15,8 +17,37 @@ public interface VariableExtractor {
      * Extract variables from response.
      *
      * @param extractors specifications for what to extract
+     * @param response the response view to extract from (body parsed at most once per format)
+     * @return map of variable names to extracted values
+     */
+    Map<String, String> extract(List<ExtractorSpec> extractors, ResponseView response);
+
+    /**
+     * Extract variables from HTTP response.
+     *
+     * @param extractors specifications for what to extract
      * @param response the HTTP response to extract from
      * @return map of variable names to extracted values
      */
-    Map<String, String> extract(List<ExtractorSpec> extractors, HttpResponse<String> response);
+    default Map<String, String> extract(List<ExtractorSpec> extractors, HttpResponse<ResponseBody> response) {
+        return extract(extractors, ResponseView.of(response));
+    }
+
+    /**
+     * Check all extraction expressions before execution.
+     *
+     * @param extractors specifications to check
+     * @throws IllegalArgumentException if an expression is invalid
+     */
+    default void precompile(List<ExtractorSpec> extractors) {
+    }
+
+    /**
+     * Whether any of the extractions reads the response body, so the body must be retained.
+     *
+     * @param extractors specifications for what to extract
+     */
+    default boolean readsBody(List<ExtractorSpec> extractors) {
+        return true;
+    }
 }
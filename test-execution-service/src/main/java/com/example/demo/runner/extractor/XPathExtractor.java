@@ -1,25 +1,28 @@
 package com.example.demo.runner.extractor;
 
+import com.example.demo.runner.response.ResponseView;
+import com.example.demo.runner.xml.XPathEvaluator;
 import com.example.demo.shared.valueobject.ExtractorSpec;
-import org.w3c.dom.Document;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathFactory;
-import java.io.ByteArrayInputStream;
-import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
+
 import java.util.List;
 
 /**
  * Extracts values from XML response bodies using XPath.
  * Supports: XPATH
+ * Thread-safe: parsers and compiled expressions are pooled, never shared between concurrent evaluations.
+ * Large bodies with simple paths are evaluated by streaming (see {@link XPathEvaluator}).
  */
 public class XPathExtractor implements Extractor {
 
-    private static final XPath xpath = XPathFactory.newInstance().newXPath();
-    private static final DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
+    private final XPathEvaluator evaluator;
+
+    public XPathExtractor() {
+        this(new XPathEvaluator());
+    }
+
+    public XPathExtractor(XPathEvaluator evaluator) {
+        this.evaluator = evaluator;
+    }
 
     @Override
     public List<String> supportedTypes() {
@@ -27,21 +30,24 @@ public class XPathExtractor implements Extractor {
     }
 
     @Override
-    public String extract(ExtractorSpec spec, HttpResponse<String> response) {
+    public String extract(ExtractorSpec spec, ResponseView response) {
         try {
             if (!"BODY".equals(spec.source())) {
                 return null;
             }
 
-            String body = response.body();
-            DocumentBuilder builder = docFactory.newDocumentBuilder();
-            Document doc = builder.parse(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
-
-            String result = xpath.evaluate(spec.expr(), doc);
+            String result = evaluator.evaluate(spec.expr(), response);
             return result.isEmpty() ? null : result;
 
         } catch (Exception e) {
             return null;  // Extraction failed
         }
     }
+
+    @Override
+    public void precompile(ExtractorSpec spec) {
+        if ("BODY".equals(spec.source())) {
+            evaluator.precompile(spec.expr());
+        }
+    }
 }
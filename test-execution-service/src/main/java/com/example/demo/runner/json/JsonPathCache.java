@@ -0,0 +1,75 @@
+package com.example.demo.runner.json;
+
+import com.example.demo.common.ports.CacheStats;
+import com.example.demo.runner.cache.BoundedCache;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * Bounded, thread-safe cache of compiled JSONPath expressions.
+ *
+ * <p>The same expressions ({@code $.data.id}, ...) repeat across test cases and reruns,
+ * so each is compiled once and reused by every validator and extractor sharing the cache.
+ * When the cache is full, expressions not used lately are evicted first (see {@link BoundedCache}).
+ */
+public class JsonPathCache {
+
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    private final BoundedCache<String, JsonPath> cache;
+
+    public JsonPathCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public JsonPathCache(int maxSize) {
+        this.cache = new BoundedCache<>(maxSize);
+    }
+
+    /**
+     * Get the compiled form of an expression, compiling and caching it on first use.
+     *
+     * @param expression JSONPath expression
+     * @return compiled expression
+     * @throws IllegalArgumentException if the expression is missing or invalid
+     */
+    public JsonPath compile(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("JSONPath expression is required");
+        }
+
+        return cache.get(expression, JsonPathCache::compileExpression);
+    }
+
+    private static JsonPath compileExpression(String expression) {
+        try {
+            return JsonPath.compile(expression);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid JSONPath expression '" + expression + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Number of lookups served from the cache.
+     */
+    public long getHitCount() {
+        return cache.hitCount();
+    }
+
+    /**
+     * Number of lookups that had to compile the expression.
+     */
+    public long getMissCount() {
+        return cache.missCount();
+    }
+
+    /**
+     * Number of compiled expressions currently cached.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
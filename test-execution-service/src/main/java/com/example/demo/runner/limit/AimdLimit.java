@@ -0,0 +1,103 @@
+package com.example.demo.runner.limit;
+
+/**
+ * Concurrency limit of one host, adjusted by additive increase / multiplicative decrease.
+ *
+ * <p>While responses come back at a stable latency and the limit is in use, it grows by about
+ * one per limit's worth of responses. It shrinks by {@value #BACKOFF_RATIO} when the host signals
+ * overload (429, 503, a timeout) or when the recent latency (a fast moving average) rises above
+ * {@value #LATENCY_TOLERANCE} times the baseline latency. The baseline is a decaying minimum:
+ * it moves part of the way towards a faster response and drifts slowly towards slower ones, so it
+ * estimates the host's unloaded latency without one unusually fast response pinning it low, while
+ * still accepting a lasting change (e.g. a slower deployment). Only successful responses are
+ * sampled; error responses often come back fast and say nothing about the host's load. After a decrease, further
+ * decreases wait for a limit's worth of responses, so one overload episode, reported by all the
+ * requests in flight, backs off once.
+ *
+ * <p>Not thread-safe: the owning {@link HostLimiter} guards it with its lock.
+ */
+class AimdLimit {
+
+    static final int INITIAL_LIMIT = 20;
+    static final int DEFAULT_MAX_LIMIT = 1000;
+
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double LATENCY_TOLERANCE = 2.0;
+    // Latency increase always tolerated, so sub-millisecond jitter does not look like a trend
+    private static final double LATENCY_SLACK_MILLIS = 5;
+    private static final double RECENT_ALPHA = 0.3;
+    private static final double BASELINE_DOWN_ALPHA = 0.1;
+    private static final double BASELINE_UP_ALPHA = 0.01;
+    private static final int WARMUP_SAMPLES = 10;
+
+    private int maxLimit;
+    private double limit;
+    private double recentLatency;
+    private double baselineLatency;
+    private long samples;
+    private long noDecreaseUntil;
+
+    /**
+     * @param maxLimit highest limit to reach; 0 for {@value #DEFAULT_MAX_LIMIT}
+     */
+    AimdLimit(int maxLimit) {
+        this.maxLimit = maxLimit > 0 ? maxLimit : DEFAULT_MAX_LIMIT;
+        this.limit = Math.min(INITIAL_LIMIT, this.maxLimit);
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    /**
+     * Estimated unloaded latency of the host, 0 before the first sample.
+     */
+    double baselineLatency() {
+        return baselineLatency;
+    }
+
+    void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit > 0 ? maxLimit : DEFAULT_MAX_LIMIT;
+        limit = Math.min(limit, this.maxLimit);
+    }
+
+    /**
+     * Account for a response the host served successfully.
+     *
+     * @param responseTimeMillis time from sending the request to the response
+     * @param inFlight requests still in flight to the host
+     */
+    void onResponse(long responseTimeMillis, int inFlight) {
+        samples++;
+        if (samples == 1) {
+            recentLatency = responseTimeMillis;
+            baselineLatency = responseTimeMillis;
+        } else {
+            recentLatency += RECENT_ALPHA * (responseTimeMillis - recentLatency);
+            double alpha = responseTimeMillis < baselineLatency ? BASELINE_DOWN_ALPHA : BASELINE_UP_ALPHA;
+            baselineLatency += alpha * (responseTimeMillis - baselineLatency);
+        }
+
+        if (samples > WARMUP_SAMPLES && recentLatency > baselineLatency * LATENCY_TOLERANCE + LATENCY_SLACK_MILLIS) {
+            decrease();
+        } else if (inFlight * 2 >= limit) {
+            // Only grow a limit that is used; an idle host says nothing about its capacity
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    /**
+     * Account for a request the host refused or did not answer in time.
+     */
+    void onOverload() {
+        samples++;
+        decrease();
+    }
+
+    private void decrease() {
+        if (samples >= noDecreaseUntil) {
+            limit = Math.max(1, limit * BACKOFF_RATIO);
+            noDecreaseUntil = samples + (long) limit;
+        }
+    }
+}
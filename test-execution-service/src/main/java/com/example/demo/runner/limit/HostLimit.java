@@ -0,0 +1,44 @@
+package com.example.demo.runner.limit;
+
+/**
+ * Limits on the requests sent to one target host.
+ *
+ * @param maxConcurrency requests in flight at once; with adaptive concurrency, the most the
+ *                       adaptive limit may reach; 0 for no limit
+ * @param requestsPerSecond requests started per second (token bucket holding up to one second
+ *                          of tokens, at least one); 0 for no limit
+ * @param adaptive adjust the concurrency limit to the host's response times and overload signals
+ *                 (see {@link AimdLimit})
+ */
+public record HostLimit(int maxConcurrency, double requestsPerSecond, boolean adaptive) {
+
+    public static final HostLimit UNLIMITED = new HostLimit(0, 0, false);
+
+    public HostLimit {
+        if (maxConcurrency < 0) {
+            throw new IllegalArgumentException("Host max concurrency must not be negative: " + maxConcurrency);
+        }
+        if (requestsPerSecond < 0 || Double.isNaN(requestsPerSecond) || Double.isInfinite(requestsPerSecond)) {
+            throw new IllegalArgumentException("Host requests per second must be a non-negative number: "
+                + requestsPerSecond);
+        }
+    }
+
+    /**
+     * Fixed limits, without adaptive concurrency.
+     */
+    public HostLimit(int maxConcurrency, double requestsPerSecond) {
+        this(maxConcurrency, requestsPerSecond, false);
+    }
+
+    public boolean isUnlimited() {
+        return maxConcurrency == 0 && requestsPerSecond == 0 && !adaptive;
+    }
+
+    /**
+     * Tokens the bucket holds at most: requests that may start at once after an idle period.
+     */
+    public int burst() {
+        return Math.max(1, (int) Math.ceil(requestsPerSecond));
+    }
+}
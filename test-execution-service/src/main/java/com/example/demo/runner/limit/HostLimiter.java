@@ -0,0 +1,301 @@
+package com.example.demo.runner.limit;
+
+import com.example.demo.common.ports.HostLimitStats;
+
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Concurrency cap and token-bucket rate limit for the requests sent to one host.
+ *
+ * <p>Requests wait in FIFO order without holding a thread: {@link #acquire()} returns a future
+ * completed with a {@link Permit} once a concurrency slot and a token are free. Cancelling the
+ * future gives up the place in line. Futures are completed outside the limiter's lock,
+ * on the thread that released a slot or on the scheduler when tokens refill.
+ *
+ * <p>With {@link HostLimit#adaptive() adaptive} concurrency, the concurrency cap is an {@link AimdLimit}
+ * fed with what the host answers: runners report each response (status and response time) or
+ * failure through the request's permit. Its state outlives a switch to fixed limits and back, so
+ * runs with different settings for the host do not throw away what it learned.
+ */
+public class HostLimiter {
+
+    /**
+     * Right to send one request. Release it once the response arrived (or the request failed).
+     */
+    public static final class Permit {
+
+        /**
+         * Permit of a request that is not limited.
+         */
+        public static final Permit NONE = new Permit(null, 0);
+
+        private final HostLimiter limiter;
+        private final long waitNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(HostLimiter limiter, long waitNanos) {
+            this.limiter = limiter;
+            this.waitNanos = waitNanos;
+        }
+
+        /**
+         * Time the request waited for this permit.
+         */
+        public long waitMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(waitNanos);
+        }
+
+        /**
+         * Report the response the host sent, for adaptive concurrency.
+         *
+         * @param statusCode HTTP status; 429 and 503 count as overload, and only other statuses
+         *                   below 400 are latency samples
+         * @param responseTimeMillis time from sending the request to the response
+         */
+        public void onResponse(int statusCode, long responseTimeMillis) {
+            if (limiter != null) {
+                limiter.onResponse(statusCode, responseTimeMillis);
+            }
+        }
+
+        /**
+         * Report that the request failed without a response, for adaptive concurrency.
+         * Timeouts count as overload; other failures (e.g. cancellation) are ignored.
+         */
+        public void onFailure(Throwable error) {
+            if (limiter != null && isTimeout(error)) {
+                limiter.onOverload();
+            }
+        }
+
+        private static boolean isTimeout(Throwable error) {
+            for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+                if (cause instanceof HttpTimeoutException) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Free the concurrency slot. Releasing twice has no effect.
+         */
+        public void release() {
+            if (limiter != null && released.compareAndSet(false, true)) {
+                limiter.release();
+            }
+        }
+    }
+
+    private record Waiter(CompletableFuture<Permit> future, long since) {}
+
+    private record Grant(Waiter waiter, Permit permit) {}
+
+    private final String host;
+    private final ScheduledExecutorService scheduler;
+
+    // Written under the lock; read without it to skip reconfiguring with the same limit
+    private volatile HostLimit limit;
+    // Guarded by this; kept while the limit is not adaptive
+    private AimdLimit adaptiveLimit;
+    private double tokens;
+    private long refilledAt;
+    private int inFlight;
+    private boolean wakeupScheduled;
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+
+    /**
+     * @param scheduler wakes waiters up when tokens refill
+     */
+    public HostLimiter(String host, HostLimit limit, ScheduledExecutorService scheduler) {
+        this.host = host;
+        this.scheduler = scheduler;
+        this.limit = limit;
+        this.adaptiveLimit = new AimdLimit(limit.maxConcurrency());
+        this.tokens = limit.burst();
+        this.refilledAt = System.nanoTime();
+    }
+
+    public String host() {
+        return host;
+    }
+
+    public HostLimit limit() {
+        return limit;
+    }
+
+    /**
+     * Concurrency cap in effect: the adaptive limit if the limit is adaptive, else the configured one.
+     *
+     * @return the cap, or 0 for none
+     */
+    public synchronized int maxConcurrency() {
+        return limit.adaptive() ? adaptiveLimit.limit() : limit.maxConcurrency();
+    }
+
+    /**
+     * Requests currently holding a permit.
+     */
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Requests waiting for a permit (including ones cancelled but not yet dropped from the line).
+     */
+    public synchronized int waiting() {
+        return waiters.size();
+    }
+
+    public synchronized HostLimitStats stats() {
+        return new HostLimitStats(maxConcurrency(), limit.requestsPerSecond(), limit.adaptive(), inFlight,
+            waiters.size());
+    }
+
+    /**
+     * Apply new limits to waiting and future requests. Requests already in flight are not affected.
+     * Configuring the limits in effect is a cheap no-op, so callers may configure before every request.
+     */
+    public void configure(HostLimit newLimit) {
+        if (newLimit.equals(limit)) {
+            return;
+        }
+        List<Grant> grants;
+        synchronized (this) {
+            if (newLimit.equals(limit)) {
+                return;
+            }
+            refill(System.nanoTime());
+            limit = newLimit;
+            if (newLimit.adaptive()) {
+                adaptiveLimit.setMaxLimit(newLimit.maxConcurrency());
+            }
+            tokens = Math.min(tokens, newLimit.burst());
+            grants = drain();
+        }
+        complete(grants);
+    }
+
+    /**
+     * Wait for a permit to send one request.
+     *
+     * @return future completed with the permit; cancel it to stop waiting
+     */
+    public CompletableFuture<Permit> acquire() {
+        Waiter waiter = new Waiter(new CompletableFuture<>(), System.nanoTime());
+        List<Grant> grants;
+        synchronized (this) {
+            waiters.addLast(waiter);
+            grants = drain();
+        }
+        complete(grants);
+        return waiter.future();
+    }
+
+    private void release() {
+        List<Grant> grants;
+        synchronized (this) {
+            inFlight--;
+            grants = drain();
+        }
+        complete(grants);
+    }
+
+    private void onResponse(int statusCode, long responseTimeMillis) {
+        List<Grant> grants;
+        synchronized (this) {
+            if (!limit.adaptive()) {
+                return;
+            }
+            if (statusCode == 429 || statusCode == 503) {
+                adaptiveLimit.onOverload();
+            } else if (statusCode < 400) {
+                adaptiveLimit.onResponse(responseTimeMillis, inFlight);
+            } else {
+                return;
+            }
+            grants = drain();
+        }
+        complete(grants);
+    }
+
+    private synchronized void onOverload() {
+        if (limit.adaptive()) {
+            adaptiveLimit.onOverload();
+        }
+    }
+
+    private void wakeUp() {
+        List<Grant> grants;
+        synchronized (this) {
+            wakeupScheduled = false;
+            grants = drain();
+        }
+        complete(grants);
+    }
+
+    /**
+     * Hand permits to waiters in line while a slot and a token are free.
+     * Must hold the lock; the returned grants are completed after releasing it.
+     */
+    private List<Grant> drain() {
+        List<Grant> grants = List.of();
+        long now = System.nanoTime();
+        while (!waiters.isEmpty()) {
+            Waiter head = waiters.peekFirst();
+            if (head.future().isDone()) {
+                waiters.pollFirst();
+                continue;
+            }
+            int maxConcurrency = maxConcurrency();
+            if (maxConcurrency > 0 && inFlight >= maxConcurrency) {
+                break;
+            }
+            if (limit.requestsPerSecond() > 0) {
+                refill(now);
+                if (tokens < 1) {
+                    scheduleWakeUp((long) ((1 - tokens) / limit.requestsPerSecond() * 1e9));
+                    break;
+                }
+                tokens--;
+            }
+            waiters.pollFirst();
+            inFlight++;
+            if (grants.isEmpty()) {
+                grants = new ArrayList<>();
+            }
+            grants.add(new Grant(head, new Permit(this, now - head.since())));
+        }
+        return grants;
+    }
+
+    private void refill(long now) {
+        if (limit.requestsPerSecond() > 0) {
+            tokens = Math.min(limit.burst(), tokens + (now - refilledAt) * limit.requestsPerSecond() / 1e9);
+        }
+        refilledAt = now;
+    }
+
+    private void scheduleWakeUp(long delayNanos) {
+        if (!wakeupScheduled) {
+            wakeupScheduled = true;
+            scheduler.schedule(this::wakeUp, Math.max(delayNanos, 1), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static void complete(List<Grant> grants) {
+        for (Grant grant : grants) {
+            // A waiter cancelled meanwhile hands its slot straight back
+            if (!grant.waiter().future().complete(grant.permit())) {
+                grant.permit().release();
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.demo.runner.limit;
+
+import com.example.demo.common.ports.HostLimitStats;
+
+import java.net.URI;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * Per-host limiters of the requests runners send, shared by all runs.
+ *
+ * <p>A run's limits come from its variables (so projects and suites can set them),
+ * falling back to the runner's defaults:
+ * <ul>
+ *   <li>{@code runner.host.<host>.max-concurrency}, then {@code runner.host.max-concurrency}</li>
+ *   <li>{@code runner.host.<host>.requests-per-second}, then {@code runner.host.requests-per-second}</li>
+ *   <li>{@code runner.host.<host>.adaptive-concurrency}, then {@code runner.host.adaptive-concurrency}
+ *       ({@code true} to let the concurrency limit adapt, up to the max concurrency if set)</li>
+ * </ul>
+ * A value of 0 means no limit. Requests of a run without limits for a host bypass its limiter.
+ * A host's limiter is configured when it is created and again only when a run's limits for the
+ * host differ from the ones in effect; when runs set different limits for the same host, the
+ * latest run to send a request wins, and an adaptive limit keeps what it learned across such
+ * switches. {@link #stats()} shows what each limiter currently enforces,
+ * including the concurrency limits adaptive limiters settled on.
+ */
+public class HostLimiters {
+
+    private static final String VARIABLE_PREFIX = "runner.host.";
+    private static final String MAX_CONCURRENCY = "max-concurrency";
+    private static final String REQUESTS_PER_SECOND = "requests-per-second";
+    private static final String ADAPTIVE_CONCURRENCY = "adaptive-concurrency";
+
+    private final HostLimit defaults;
+    private final Map<String, HostLimiter> limiters = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    public HostLimiters() {
+        this(HostLimit.UNLIMITED);
+    }
+
+    /**
+     * @param defaults limits of hosts for which a run sets none
+     */
+    public HostLimiters(HostLimit defaults) {
+        this.defaults = defaults;
+        // Threads start with the first scheduled wake-up
+        this.scheduler = new ScheduledThreadPoolExecutor(1,
+            Thread.ofPlatform().name("runner-host-limiter").daemon().factory());
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Wait for a permit to send a request to the host of a URI, under the limits of a run.
+     *
+     * @param uri resolved request URI
+     * @param variables variables of the run
+     * @return future completed with the permit; cancel it to stop waiting
+     * @throws IllegalArgumentException if a limit variable is not a valid number
+     */
+    public CompletableFuture<HostLimiter.Permit> acquire(URI uri, Map<String, String> variables) {
+        String host = uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ROOT) : "";
+        HostLimit limit = limitFor(host, variables);
+        if (limit.isUnlimited()) {
+            return CompletableFuture.completedFuture(HostLimiter.Permit.NONE);
+        }
+        HostLimiter limiter = limiters.get(host);
+        if (limiter == null) {
+            limiter = limiters.computeIfAbsent(host, h -> new HostLimiter(h, limit, scheduler));
+        }
+        limiter.configure(limit);
+        return limiter.acquire();
+    }
+
+    /**
+     * Block until a permit acquired with {@link #acquire} is granted.
+     * If the thread is interrupted, the acquisition is cancelled.
+     *
+     * @throws CancellationException if the acquisition was cancelled
+     */
+    public static HostLimiter.Permit await(CompletableFuture<HostLimiter.Permit> permit) {
+        try {
+            return permit.get();
+        } catch (InterruptedException e) {
+            permit.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the host limit", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Current limiter of a host, or null if no limited request was sent to it.
+     */
+    public HostLimiter get(String host) {
+        return limiters.get(host.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Current limits, in-flight and waiting requests of every host a limited request was sent to.
+     *
+     * @return stats by host, in host order
+     */
+    public Map<String, HostLimitStats> stats() {
+        Map<String, HostLimitStats> stats = new TreeMap<>();
+        limiters.forEach((host, limiter) -> stats.put(host, limiter.stats()));
+        return stats;
+    }
+
+    private HostLimit limitFor(String host, Map<String, String> variables) {
+        if (variables == null) {
+            return defaults;
+        }
+        int maxConcurrency = (int) number(variables, host, MAX_CONCURRENCY, defaults.maxConcurrency());
+        double requestsPerSecond = number(variables, host, REQUESTS_PER_SECOND, defaults.requestsPerSecond());
+        boolean adaptive = flag(variables, host, ADAPTIVE_CONCURRENCY, defaults.adaptive());
+        if (maxConcurrency == defaults.maxConcurrency() && requestsPerSecond == defaults.requestsPerSecond()
+                && adaptive == defaults.adaptive()) {
+            return defaults;
+        }
+        return new HostLimit(maxConcurrency, requestsPerSecond, adaptive);
+    }
+
+    private static double number(Map<String, String> variables, String host, String setting, double defaultValue) {
+        String name = variableName(variables, host, setting);
+        String value = variables.get(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            double number = Double.parseDouble(value.trim());
+            if (number < 0 || Double.isNaN(number) || Double.isInfinite(number)) {
+                throw new NumberFormatException();
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Variable " + name + " must be a non-negative number: " + value);
+        }
+    }
+
+    private static boolean flag(Map<String, String> variables, String host, String setting, boolean defaultValue) {
+        String name = variableName(variables, host, setting);
+        String value = variables.get(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true" -> true;
+            case "false" -> false;
+            default -> throw new IllegalArgumentException("Variable " + name + " must be true or false: " + value);
+        };
+    }
+
+    /**
+     * Name of the host-specific variable for a setting if the run sets it, else of the generic one.
+     */
+    private static String variableName(Map<String, String> variables, String host, String setting) {
+        String hostVariable = VARIABLE_PREFIX + host + "." + setting;
+        return variables.containsKey(hostVariable) ? hostVariable : VARIABLE_PREFIX + setting;
+    }
+}
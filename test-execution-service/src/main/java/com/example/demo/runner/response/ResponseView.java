@@ -0,0 +1,141 @@
+package com.example.demo.runner.response;
+
+import com.example.demo.runner.body.ResponseBody;
+import com.example.demo.runner.xml.XmlParserPool;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.w3c.dom.Document;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+
+/**
+ * Read-only view of an HTTP response shared by all validators and extractors of a run.
+ *
+ * <p>The body is parsed lazily, at most once per format: the first JSONPath evaluation
+ * parses it as JSON, the first XPath evaluation parses it as XML, and every later
+ * evaluation reuses the parsed document. A parse failure is remembered as well,
+ * so a malformed body is not re-parsed for each assertion.
+ *
+ * <p>Parsers read the body through a stream unless its text is already decoded, so a large
+ * (possibly spilled) body is not copied into a {@code String} just to be parsed.
+ *
+ * <p>Not thread-safe: a view belongs to the single run evaluating it.
+ */
+public class ResponseView {
+
+    private final int statusCode;
+    private final HttpHeaders headers;
+    private final ResponseBody body;
+
+    private DocumentContext json;
+    private RuntimeException jsonError;
+    private int jsonParseCount;
+
+    private Document xml;
+    private RuntimeException xmlError;
+    private int xmlParseCount;
+
+    public ResponseView(int statusCode, HttpHeaders headers, ResponseBody body) {
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    public ResponseView(int statusCode, HttpHeaders headers, String body) {
+        this(statusCode, headers, ResponseBody.of(body));
+    }
+
+    public static ResponseView of(HttpResponse<ResponseBody> response) {
+        return new ResponseView(response.statusCode(), response.headers(), response.body());
+    }
+
+    public int statusCode() {
+        return statusCode;
+    }
+
+    public HttpHeaders headers() {
+        return headers;
+    }
+
+    public ResponseBody body() {
+        return body;
+    }
+
+    /**
+     * Get the body parsed as JSON, parsing it on first access.
+     *
+     * @return parsed JSON document
+     * @throws RuntimeException if the body is not valid JSON
+     */
+    public DocumentContext json() {
+        if (json == null && jsonError == null) {
+            jsonParseCount++;
+            try {
+                json = body.isTextLoaded() ? JsonPath.parse(body.text()) : parseJson();
+            } catch (RuntimeException e) {
+                jsonError = e;
+            }
+        }
+        if (jsonError != null) {
+            throw jsonError;
+        }
+        return json;
+    }
+
+    /**
+     * Get the body parsed as an XML DOM, parsing it on first access.
+     * Later calls return the same document, whichever parser they pass.
+     *
+     * @param parser parser used for the first access
+     * @return parsed XML document
+     * @throws RuntimeException if the body is not well-formed XML
+     */
+    public Document xml(XmlParserPool parser) {
+        if (xml == null && xmlError == null) {
+            xmlParseCount++;
+            try {
+                xml = body.isTextLoaded() ? parser.parse(body.text()) : parser.parse(body.openReader());
+            } catch (RuntimeException e) {
+                xmlError = e;
+            }
+        }
+        if (xmlError != null) {
+            throw xmlError;
+        }
+        return xml;
+    }
+
+    private DocumentContext parseJson() {
+        try (InputStream in = body.openStream()) {
+            return JsonPath.using(Configuration.defaultConfiguration()).parse(in, body.charset().name());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read response body: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Whether the body was already parsed as XML, so XPath evaluations should reuse the DOM.
+     */
+    public boolean isXmlParsed() {
+        return xml != null;
+    }
+
+    /**
+     * Number of times the body was parsed as JSON (0 or 1).
+     */
+    public int jsonParseCount() {
+        return jsonParseCount;
+    }
+
+    /**
+     * Number of times the body was parsed as XML (0 or 1).
+     */
+    public int xmlParseCount() {
+        return xmlParseCount;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.demo.runner.validator;
 
+import com.example.demo.runner.body.ResponseBody;
+import com.example.demo.runner.response.ResponseView;
 import com.example.demo.shared.valueobject.AssertionResult;
 import com.example.demo.shared.valueobject.AssertionSpec;
 
@@ -15,8 +17,37 @@ public interface AssertionValidator {
      * Validate all assertions against the response.
      *
      * @param assertions list of assertions to validate
+     * @param response the response view to validate against (body parsed at most once per format)
+     * @return list of assertion results (one per assertion)
+     */
+    List<AssertionResult> validate(List<AssertionSpec> assertions, ResponseView response);
+
+    /**
+     * Validate all assertions against the HTTP response.
+     *
+     * @param assertions list of assertions to validate
      * @param response the HTTP response to validate against
      * @return list of assertion results (one per assertion)
      */
-    List<AssertionResult> validate(List<AssertionSpec> assertions, HttpResponse<String> response);
+    default List<AssertionResult> validate(List<AssertionSpec> assertions, HttpResponse<ResponseBody> response) {
+        return validate(assertions, ResponseView.of(response));
+    }
+
+    /**
+     * Check all assertion expressions before execution.
+     *
+     * @param assertions list of assertions to check
+     * @throws IllegalArgumentException if an expression is invalid
+     */
+    default void precompile(List<AssertionSpec> assertions) {
+    }
+
+    /**
+     * Whether validating any of the assertions reads the response body, so the body must be retained.
+     *
+     * @param assertions list of assertions to validate
+     */
+    default boolean readsBody(List<AssertionSpec> assertions) {
+        return true;
+    }
 }
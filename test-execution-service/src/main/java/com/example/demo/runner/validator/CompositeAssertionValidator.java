@@ -1,14 +1,15 @@
 package com.example.demo.runner.validator;
 
+import com.example.demo.runner.response.ResponseView;
 import com.example.demo.shared.valueobject.AssertionResult;
 import com.example.demo.shared.valueobject.AssertionSpec;
 
-import java.net.http.HttpResponse;
 import java.util.*;
 
 /**
  * Composite validator that delegates to specific validators based on assertion type.
  * Automatically routes assertions to the appropriate validator.
+ * All delegates share the same ResponseView, so the body is parsed at most once per format.
  */
 public class CompositeAssertionValidator implements AssertionValidator {
 
@@ -28,7 +29,7 @@ public class CompositeAssertionValidator implements AssertionValidator {
     }
 
     @Override
-    public List<AssertionResult> validate(List<AssertionSpec> assertions, HttpResponse<String> response) {
+    public List<AssertionResult> validate(List<AssertionSpec> assertions, ResponseView response) {
         List<AssertionResult> results = new ArrayList<>();
 
         for (AssertionSpec assertion : assertions) {
@@ -49,4 +50,28 @@ public class CompositeAssertionValidator implements AssertionValidator {
 
         return results;
     }
+
+    @Override
+    public void precompile(List<AssertionSpec> assertions) {
+        for (AssertionSpec assertion : assertions) {
+            Validator validator = validators.get(assertion.type());
+            if (validator != null) {
+                validator.precompile(assertion);
+            }
+        }
+    }
+
+    /**
+     * Unknown assertion types fail without reading the body.
+     */
+    @Override
+    public boolean readsBody(List<AssertionSpec> assertions) {
+        for (AssertionSpec assertion : assertions) {
+            Validator validator = validators.get(assertion.type());
+            if (validator != null && validator.readsBody(assertion)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -1,28 +1,38 @@
 package com.example.demo.runner.validator;
 
+import com.example.demo.runner.json.JsonPathCache;
+import com.example.demo.runner.response.ResponseView;
 import com.example.demo.shared.valueobject.AssertionResult;
 import com.example.demo.shared.valueobject.AssertionSpec;
-import com.jayway.jsonpath.JsonPath;
 
-import java.net.http.HttpResponse;
 import java.util.List;
 
 /**
  * Validates JSONPath assertions against JSON response bodies.
  * Supports: jsonPathExists, jsonPathEquals
+ * Expressions are compiled once through a shared {@link JsonPathCache}.
  */
 public class JsonPathAssertionValidator implements Validator {
 
+    private final JsonPathCache pathCache;
+
+    public JsonPathAssertionValidator() {
+        this(new JsonPathCache());
+    }
+
+    public JsonPathAssertionValidator(JsonPathCache pathCache) {
+        this.pathCache = pathCache;
+    }
+
     @Override
     public List<String> supportedTypes() {
         return List.of("jsonPathExists", "jsonPathEquals");
     }
 
     @Override
-    public AssertionResult validate(AssertionSpec assertion, HttpResponse<String> response) {
+    public AssertionResult validate(AssertionSpec assertion, ResponseView response) {
         try {
-            String body = response.body();
-            Object value = JsonPath.read(body, assertion.expr());
+            Object value = response.json().read(pathCache.compile(assertion.expr()));
 
             if ("jsonPathExists".equals(assertion.type())) {
                 return new AssertionResult(
@@ -55,4 +65,9 @@ public class JsonPathAssertionValidator implements Validator {
             );
         }
     }
+
+    @Override
+    public void precompile(AssertionSpec assertion) {
+        pathCache.compile(assertion.expr());
+    }
 }
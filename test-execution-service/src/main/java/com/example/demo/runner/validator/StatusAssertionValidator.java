@@ -1,9 +1,9 @@
 package com.example.demo.runner.validator;
 
+import com.example.demo.runner.response.ResponseView;
 import com.example.demo.shared.valueobject.AssertionResult;
 import com.example.demo.shared.valueobject.AssertionSpec;
 
-import java.net.http.HttpResponse;
 import java.util.List;
 
 /**
@@ -18,7 +18,12 @@ public class StatusAssertionValidator implements Validator {
     }
 
     @Override
-    public AssertionResult validate(AssertionSpec assertion, HttpResponse<String> response) {
+    public boolean readsBody(AssertionSpec assertion) {
+        return false;
+    }
+
+    @Override
+    public AssertionResult validate(AssertionSpec assertion, ResponseView response) {
         try {
             int expectedStatus = Integer.parseInt(assertion.expected());
             int actualStatus = response.statusCode();
@@ -1,9 +1,9 @@
 package com.example.demo.runner.validator;
 
+import com.example.demo.runner.response.ResponseView;
 import com.example.demo.shared.valueobject.AssertionResult;
 import com.example.demo.shared.valueobject.AssertionSpec;
 
-import java.net.http.HttpResponse;
 import java.util.List;
 
 /**
@@ -23,8 +23,24 @@ public interface Validator {
      * Validate a single assertion against the response.
      *
      * @param assertion the assertion to validate
-     * @param response the HTTP response
+     * @param response the response view (parsed body shared with other validators/extractors)
      * @return assertion result with pass/fail status and message
      */
-    AssertionResult validate(AssertionSpec assertion, HttpResponse<String> response);
+    AssertionResult validate(AssertionSpec assertion, ResponseView response);
+
+    /**
+     * Check an assertion's expression before execution, so an invalid one fails at submit time.
+     *
+     * @param assertion the assertion to check
+     * @throws IllegalArgumentException if the assertion's expression is invalid
+     */
+    default void precompile(AssertionSpec assertion) {
+    }
+
+    /**
+     * Whether validating the assertion reads the response body, so the body must be retained.
+     */
+    default boolean readsBody(AssertionSpec assertion) {
+        return true;
+    }
 }
@@ -1,26 +1,29 @@
 package com.example.demo.runner.validator;
 
+import com.example.demo.runner.response.ResponseView;
+import com.example.demo.runner.xml.XPathEvaluator;
 import com.example.demo.shared.valueobject.AssertionResult;
 import com.example.demo.shared.valueobject.AssertionSpec;
-import org.w3c.dom.Document;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathFactory;
-import java.io.ByteArrayInputStream;
-import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
  * Validates XPath assertions against XML response bodies.
  * Supports: xpathExists, xpathEquals
+ * Thread-safe: parsers and compiled expressions are pooled, never shared between concurrent evaluations.
+ * Large bodies with simple paths are evaluated by streaming (see {@link XPathEvaluator}).
  */
 public class XPathAssertionValidator implements Validator {
 
-    private static final XPath xpath = XPathFactory.newInstance().newXPath();
-    private static final DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
+    private final XPathEvaluator evaluator;
+
+    public XPathAssertionValidator() {
+        this(new XPathEvaluator());
+    }
+
+    public XPathAssertionValidator(XPathEvaluator evaluator) {
+        this.evaluator = evaluator;
+    }
 
     @Override
     public List<String> supportedTypes() {
@@ -28,13 +31,9 @@ public class XPathAssertionValidator implements Validator {
     }
 
     @Override
-    public AssertionResult validate(AssertionSpec assertion, HttpResponse<String> response) {
+    public AssertionResult validate(AssertionSpec assertion, ResponseView response) {
         try {
-            String body = response.body();
-            DocumentBuilder builder = docFactory.newDocumentBuilder();
-            Document doc = builder.parse(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
-
-            String result = xpath.evaluate(assertion.expr(), doc);
+            String result = evaluator.evaluate(assertion.expr(), response);
 
             if ("xpathExists".equals(assertion.type())) {
                 boolean exists = result != null && !result.isEmpty();
@@ -72,4 +71,9 @@ public class XPathAssertionValidator implements Validator {
             );
         }
     }
+
+    @Override
+    public void precompile(AssertionSpec assertion) {
+        evaluator.precompile(assertion.expr());
+    }
 }
@@ -0,0 +1,48 @@
+package com.example.demo.runner.xml;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * NamespaceContext resolving XPath prefixes from a fixed prefix to namespace URI map.
+ */
+public class MapNamespaceContext implements NamespaceContext {
+
+    private final Map<String, String> namespaces;
+
+    public MapNamespaceContext(Map<String, String> namespaces) {
+        this.namespaces = Map.copyOf(namespaces);
+    }
+
+    @Override
+    public String getNamespaceURI(String prefix) {
+        Objects.requireNonNull(prefix, "Prefix cannot be null");
+        return switch (prefix) {
+            case XMLConstants.XML_NS_PREFIX -> XMLConstants.XML_NS_URI;
+            case XMLConstants.XMLNS_ATTRIBUTE -> XMLConstants.XMLNS_ATTRIBUTE_NS_URI;
+            default -> namespaces.getOrDefault(prefix, XMLConstants.NULL_NS_URI);
+        };
+    }
+
+    @Override
+    public String getPrefix(String namespaceURI) {
+        Iterator<String> prefixes = getPrefixes(namespaceURI);
+        return prefixes.hasNext() ? prefixes.next() : null;
+    }
+
+    @Override
+    public Iterator<String> getPrefixes(String namespaceURI) {
+        Objects.requireNonNull(namespaceURI, "Namespace URI cannot be null");
+        return namespaces.entrySet().stream()
+            .filter(entry -> entry.getValue().equals(namespaceURI))
+            .map(Map.Entry::getKey)
+            .iterator();
+    }
+
+    public boolean isEmpty() {
+        return namespaces.isEmpty();
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.demo.runner.xml;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Streaming evaluation of simple absolute XPath expressions over a StAX reader.
+ *
+ * <p>Supported subset: absolute child paths of element names (optionally prefixed,
+ * or {@code *}) with an optional positional predicate, ending in an element,
+ * {@code text()} or {@code @attribute}, for example
+ * {@code /Envelope/Body/GetUserResponse/user[2]/id/text()}. No DOM is built: values are
+ * collected from the first match only, and the rest of the body is merely scanned, so that
+ * a body that is not well-formed fails as it would when parsed into a DOM.
+ *
+ * <p>Results follow XPath string conversion: the string value of the first node in
+ * document order, or an empty string if nothing matches.
+ */
+public final class StreamingXPath {
+
+    private static final Pattern STEP = Pattern.compile(
+        "(\\*|(?:([A-Za-z_][\\w.-]*):)?([A-Za-z_][\\w.-]*))(?:\\[([1-9]\\d*)])?");
+    private static final Pattern ATTRIBUTE = Pattern.compile("@(?:([A-Za-z_][\\w.-]*):)?([A-Za-z_][\\w.-]*)");
+
+    private static final XMLInputFactory inputFactory = newInputFactory();
+
+    private enum Target { ELEMENT, TEXT, ATTRIBUTE }
+
+    private record Step(String prefix, String localName, int position) {
+        boolean isWildcard() {
+            return localName == null;
+        }
+    }
+
+    private final List<Step> steps;
+    private final Target target;
+    private final String attributePrefix;
+    private final String attributeName;
+
+    private StreamingXPath(List<Step> steps, Target target, String attributePrefix, String attributeName) {
+        this.steps = steps;
+        this.target = target;
+        this.attributePrefix = attributePrefix;
+        this.attributeName = attributeName;
+    }
+
+    /**
+     * Parse an expression if it belongs to the streamable subset.
+     *
+     * @param expression XPath expression
+     * @return the streamable path, or empty if the expression needs full XPath evaluation
+     */
+    public static Optional<StreamingXPath> parse(String expression) {
+        if (expression == null || !expression.startsWith("/") || expression.startsWith("//")) {
+            return Optional.empty();
+        }
+        String[] parts = expression.substring(1).split("/", -1);
+        List<Step> steps = new ArrayList<>();
+        Target target = Target.ELEMENT;
+        String attributePrefix = null;
+        String attributeName = null;
+
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i].trim();
+            boolean last = i == parts.length - 1;
+
+            if (last && part.equals("text()") && !steps.isEmpty()) {
+                target = Target.TEXT;
+                continue;
+            }
+            Matcher attribute = ATTRIBUTE.matcher(part);
+            if (last && attribute.matches() && !steps.isEmpty()) {
+                target = Target.ATTRIBUTE;
+                attributePrefix = attribute.group(1);
+                attributeName = attribute.group(2);
+                continue;
+            }
+            Matcher step = STEP.matcher(part);
+            if (!step.matches()) {
+                return Optional.empty();
+            }
+            int position = step.group(4) != null ? Integer.parseInt(step.group(4)) : 0;
+            steps.add("*".equals(step.group(1))
+                ? new Step(null, null, position)
+                : new Step(step.group(2), step.group(3), position));
+        }
+        return steps.isEmpty() ? Optional.empty() : Optional.of(new StreamingXPath(steps, target, attributePrefix, attributeName));
+    }
+
+    /**
+     * Whether any step or the attribute uses a namespace prefix.
+     */
+    public boolean hasPrefixes() {
+        return attributePrefix != null || steps.stream().anyMatch(step -> step.prefix() != null);
+    }
+
+    /**
+     * Evaluate the path over an XML body.
+     *
+     * @param xml the XML text
+     * @param namespaces resolves prefixes to namespace URIs; null to match on local names only
+     *                   (the behaviour of a namespace-unaware DOM)
+     * @return string value of the first match, or an empty string if nothing matches
+     * @throws XMLStreamException if the body is not well-formed
+     */
+    public String evaluate(String xml, NamespaceContext namespaces) throws XMLStreamException {
+        return evaluate(new StringReader(xml), namespaces);
+    }
+
+    /**
+     * Evaluate the path over an XML body read from a reader, which is left open.
+     *
+     * @param xml reader over the XML text
+     * @param namespaces resolves prefixes to namespace URIs; null to match on local names only
+     * @return string value of the first match, or an empty string if nothing matches
+     * @throws XMLStreamException if the body is not well-formed
+     */
+    public String evaluate(Reader xml, NamespaceContext namespaces) throws XMLStreamException {
+        XMLStreamReader reader = inputFactory.createXMLStreamReader(xml);
+        try {
+            return evaluate(reader, namespaces);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private String evaluate(XMLStreamReader reader, NamespaceContext namespaces) throws XMLStreamException {
+        int depth = 0;
+        int matchedDepth = 0;                        // leading steps matched by the open ancestors
+        int[] siblingCounts = new int[steps.size()]; // matches of each step under the current matched parent
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                if (matchedDepth != depth - 1 || depth > steps.size()) {
+                    continue;
+                }
+                Step step = steps.get(depth - 1);
+                if (!matches(step, reader.getNamespaceURI(), reader.getLocalName(), namespaces)) {
+                    continue;
+                }
+                siblingCounts[depth - 1]++;
+                if (step.position() > 0 && siblingCounts[depth - 1] != step.position()) {
+                    continue;
+                }
+                matchedDepth = depth;
+                if (depth < steps.size()) {
+                    siblingCounts[depth] = 0;
+                    continue;
+                }
+
+                // Full path matched
+                String value = switch (target) {
+                    case ELEMENT -> readStringValue(reader);
+                    case TEXT -> readFirstText(reader);
+                    case ATTRIBUTE -> readAttribute(reader, namespaces);
+                };
+                if (value != null) {
+                    skipToEnd(reader);
+                    return value;
+                }
+                // No text child / attribute: keep looking at the next match
+                if (target == Target.TEXT) {
+                    // readFirstText consumed the element up to its end tag
+                    depth--;
+                    matchedDepth = depth;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (matchedDepth == depth) {
+                    matchedDepth--;
+                }
+                depth--;
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Read the rest of the document without collecting anything, to check it is well-formed.
+     */
+    private static void skipToEnd(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            reader.next();
+        }
+    }
+
+    private boolean matches(Step step, String namespaceUri, String localName, NamespaceContext namespaces) {
+        if (step.isWildcard()) {
+            return true;
+        }
+        if (!step.localName().equals(localName)) {
+            return false;
+        }
+        if (namespaces == null) {
+            return true;
+        }
+        return expectedUri(step.prefix(), namespaces).equals(namespaceUri == null ? "" : namespaceUri);
+    }
+
+    private static String expectedUri(String prefix, NamespaceContext namespaces) {
+        if (prefix == null) {
+            return XMLConstants.NULL_NS_URI;
+        }
+        String uri = namespaces.getNamespaceURI(prefix);
+        return uri == null ? XMLConstants.NULL_NS_URI : uri;
+    }
+
+    /**
+     * Concatenate all descendant text of the current element, consuming it up to its end tag.
+     */
+    private static String readStringValue(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder value = new StringBuilder();
+        int level = 1;
+        while (level > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                level++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                level--;
+            } else if (isText(event)) {
+                value.append(reader.getText());
+            }
+        }
+        return value.toString();
+    }
+
+    /**
+     * Read the first direct text child of the current element.
+     * Returns null if the element has none; the element is then consumed up to its end tag.
+     */
+    private static String readFirstText(XMLStreamReader reader) throws XMLStreamException {
+        int level = 1;
+        while (level > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                level++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                level--;
+            } else if (level == 1 && isText(event)) {
+                return reader.getText();
+            }
+        }
+        return null;
+    }
+
+    private String readAttribute(XMLStreamReader reader, NamespaceContext namespaces) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if (!attributeName.equals(reader.getAttributeLocalName(i))) {
+                continue;
+            }
+            String uri = reader.getAttributeNamespace(i);
+            if (namespaces == null || expectedUri(attributePrefix, namespaces).equals(uri == null ? "" : uri)) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isText(int event) {
+        return event == XMLStreamConstants.CHARACTERS
+            || event == XMLStreamConstants.CDATA
+            || event == XMLStreamConstants.SPACE;
+    }
+
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        return factory;
+    }
+}
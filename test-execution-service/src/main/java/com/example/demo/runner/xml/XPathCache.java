@@ -0,0 +1,154 @@
+package com.example.demo.runner.xml;
+
+import com.example.demo.common.ports.CacheStats;
+import com.example.demo.runner.cache.BoundedCache;
+import org.w3c.dom.Node;
+
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe cache of compiled XPath expressions.
+ *
+ * <p>Compiled XPathExpressions are not thread-safe, so the cache keeps a small pool of
+ * compiled instances per expression: an evaluation borrows one exclusively and returns it
+ * afterwards, compiling a new instance only when none is idle. This lets the same checks
+ * run concurrently across cores without recompiling the expression on every evaluation.
+ * When the cache is full, expressions not used lately are evicted first (see {@link BoundedCache}).
+ *
+ * <p>Prefixed expressions ({@code /soap:Envelope/soap:Body}) are resolved with the
+ * configured namespace context; they require a namespace-aware parsed document.
+ */
+public class XPathCache {
+
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    private final XPathFactory factory = XPathFactory.newInstance();
+    private final MapNamespaceContext namespaceContext;
+    private final int maxIdlePerExpression;
+    private final BoundedCache<String, BlockingQueue<XPathExpression>> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Create a cache without namespace prefixes.
+     */
+    public XPathCache() {
+        this(Map.of(), DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param namespaces prefix to namespace URI bindings available to expressions
+     * @param maxSize maximum number of distinct expressions cached
+     */
+    public XPathCache(Map<String, String> namespaces, int maxSize) {
+        this.cache = new BoundedCache<>(maxSize);
+        this.namespaceContext = new MapNamespaceContext(namespaces);
+        this.maxIdlePerExpression = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Evaluate an expression against a node, returning its string value.
+     *
+     * @param expression XPath expression
+     * @param node the document or node to evaluate against
+     * @return string value of the result (empty if nothing matched)
+     * @throws IllegalArgumentException if the expression is missing or invalid
+     * @throws XPathExpressionException if the evaluation fails
+     */
+    public String evaluate(String expression, Node node) throws XPathExpressionException {
+        BlockingQueue<XPathExpression> pool = poolFor(expression);
+        XPathExpression compiled = borrow(expression, pool);
+        try {
+            return compiled.evaluate(node);
+        } finally {
+            pool.offer(compiled);
+        }
+    }
+
+    /**
+     * Compile an expression ahead of execution and keep it for later evaluations.
+     *
+     * @param expression XPath expression
+     * @throws IllegalArgumentException if the expression is missing or invalid
+     */
+    public void precompile(String expression) {
+        BlockingQueue<XPathExpression> pool = poolFor(expression);
+        pool.offer(borrow(expression, pool));
+    }
+
+    private BlockingQueue<XPathExpression> poolFor(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("XPath expression is required");
+        }
+        return cache.get(expression, key -> new ArrayBlockingQueue<>(maxIdlePerExpression));
+    }
+
+    private XPathExpression borrow(String expression, BlockingQueue<XPathExpression> pool) {
+        XPathExpression compiled = pool.poll();
+        if (compiled != null) {
+            hits.increment();
+            return compiled;
+        }
+        misses.increment();
+        return compile(expression);
+    }
+
+    private XPathExpression compile(String expression) {
+        XPath xpath;
+        synchronized (factory) {
+            xpath = factory.newXPath();
+        }
+        if (!namespaceContext.isEmpty()) {
+            xpath.setNamespaceContext(namespaceContext);
+        }
+        try {
+            return xpath.compile(expression);
+        } catch (XPathExpressionException e) {
+            String reason = e.getMessage() != null ? e.getMessage()
+                : e.getCause() != null ? e.getCause().getMessage() : "syntax error";
+            throw new IllegalArgumentException("Invalid XPath expression '" + expression + "': " + reason, e);
+        }
+    }
+
+    /**
+     * Namespace prefixes available to expressions.
+     */
+    public MapNamespaceContext getNamespaceContext() {
+        return namespaceContext;
+    }
+
+    /**
+     * Number of evaluations served by an already compiled expression.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of evaluations that had to compile the expression.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of distinct expressions currently cached.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Evaluations served by an already compiled expression, and ones that had to compile it.
+     */
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), cache.size(), cache.maxSize());
+    }
+}
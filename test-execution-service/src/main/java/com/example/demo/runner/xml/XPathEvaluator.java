@@ -0,0 +1,89 @@
+package com.example.demo.runner.xml;
+
+import com.example.demo.runner.response.ResponseView;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.xpath.XPathExpressionException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Evaluates XPath expressions against response bodies, choosing the cheapest strategy.
+ *
+ * <p>Bodies whose size in bytes (decoded, see {@link com.example.demo.runner.body.ResponseBody#size()})
+ * is at or above the streaming threshold are evaluated with {@link StreamingXPath} when the
+ * expression is a simple absolute path, without building a DOM. Complex expressions, smaller bodies, and bodies already parsed into a DOM
+ * (by an earlier assertion of the same response) use the DOM and the compiled {@link XPathCache}.
+ */
+public class XPathEvaluator {
+
+    public static final int DEFAULT_STREAMING_THRESHOLD = 1024 * 1024;
+
+    private final XmlParserPool parser;
+    private final XPathCache xpathCache;
+    private final int streamingThreshold;
+    private final LongAdder streamed = new LongAdder();
+
+    public XPathEvaluator() {
+        this(new XmlParserPool(), new XPathCache(), DEFAULT_STREAMING_THRESHOLD);
+    }
+
+    /**
+     * @param parser parser used for DOM evaluation
+     * @param xpathCache compiled expressions (and namespace prefixes) used for DOM evaluation
+     * @param streamingThreshold minimum body size (bytes) for streaming evaluation
+     */
+    public XPathEvaluator(XmlParserPool parser, XPathCache xpathCache, int streamingThreshold) {
+        if (streamingThreshold < 0) {
+            throw new IllegalArgumentException("Streaming threshold cannot be negative: " + streamingThreshold);
+        }
+        this.parser = parser;
+        this.xpathCache = xpathCache;
+        this.streamingThreshold = streamingThreshold;
+    }
+
+    /**
+     * Evaluate an expression against a response body, returning its string value.
+     *
+     * @param expression XPath expression
+     * @param response the response view
+     * @return string value of the result (empty if nothing matched)
+     * @throws IllegalArgumentException if the expression is missing or invalid
+     * @throws XPathExpressionException if the evaluation fails
+     */
+    public String evaluate(String expression, ResponseView response) throws XPathExpressionException {
+        if (!response.isXmlParsed() && response.body() != null && response.body().size() >= streamingThreshold) {
+            Optional<StreamingXPath> path = StreamingXPath.parse(expression);
+            if (path.isPresent() && (parser.isNamespaceAware() || !path.get().hasPrefixes())) {
+                try (Reader body = response.body().openReader()) {
+                    String value = path.get().evaluate(body,
+                        parser.isNamespaceAware() ? xpathCache.getNamespaceContext() : null);
+                    streamed.increment();
+                    return value;
+                } catch (XMLStreamException | IOException e) {
+                    // Fall through: the DOM path reports the parse or read error
+                }
+            }
+        }
+        return xpathCache.evaluate(expression, response.xml(parser));
+    }
+
+    /**
+     * Compile an expression ahead of execution.
+     *
+     * @param expression XPath expression
+     * @throws IllegalArgumentException if the expression is missing or invalid
+     */
+    public void precompile(String expression) {
+        xpathCache.precompile(expression);
+    }
+
+    /**
+     * Number of evaluations served by streaming instead of a DOM.
+     */
+    public long getStreamedCount() {
+        return streamed.sum();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demo.runner.xml;
+
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Thread-safe XML parser backed by a pool of reusable DocumentBuilders.
+ *
+ * <p>Neither DocumentBuilderFactory nor DocumentBuilder is thread-safe, so each parse
+ * borrows a builder exclusively and returns it afterwards. A builder is created when
+ * none is idle; at most {@code maxIdle} builders are kept for reuse.
+ */
+public class XmlParserPool {
+
+    private final DocumentBuilderFactory factory;
+    private final BlockingQueue<DocumentBuilder> idle;
+
+    /**
+     * Create a non-namespace-aware parser pool sized to the number of cores.
+     */
+    public XmlParserPool() {
+        this(false, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param namespaceAware parse with namespace support (required for prefixed XPath expressions)
+     * @param maxIdle maximum number of idle builders kept for reuse
+     */
+    public XmlParserPool(boolean namespaceAware, int maxIdle) {
+        if (maxIdle < 1) {
+            throw new IllegalArgumentException("Max idle parsers must be at least 1: " + maxIdle);
+        }
+        this.factory = DocumentBuilderFactory.newInstance();
+        this.factory.setNamespaceAware(namespaceAware);
+        this.idle = new ArrayBlockingQueue<>(maxIdle);
+    }
+
+    /**
+     * Parse an XML document.
+     *
+     * @param xml the XML text
+     * @return parsed DOM document
+     * @throws RuntimeException if the XML is not well-formed
+     */
+    public Document parse(String xml) {
+        return parse(new StringReader(xml));
+    }
+
+    /**
+     * Parse an XML document from a reader, which is left open.
+     *
+     * @param xml reader over the XML text
+     * @return parsed DOM document
+     * @throws RuntimeException if the XML is not well-formed or cannot be read
+     */
+    public Document parse(Reader xml) {
+        DocumentBuilder builder = borrow();
+        try {
+            return builder.parse(new InputSource(xml));
+        } catch (Exception e) {
+            throw new RuntimeException(e.getMessage(), e);
+        } finally {
+            builder.reset();
+            idle.offer(builder);
+        }
+    }
+
+    public boolean isNamespaceAware() {
+        return factory.isNamespaceAware();
+    }
+
+    private DocumentBuilder borrow() {
+        DocumentBuilder builder = idle.poll();
+        if (builder != null) {
+            return builder;
+        }
+        try {
+            synchronized (factory) {
+                return factory.newDocumentBuilder();
+            }
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("Failed to create XML parser", e);
+        }
+    }
+}
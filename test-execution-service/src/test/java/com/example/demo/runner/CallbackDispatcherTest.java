@@ -0,0 +1,132 @@
+package com.example.demo.runner;
+
+import com.example.demo.shared.result.ApiRunResult;
+import com.example.demo.shared.result.RunResult;
+import com.example.demo.shared.result.RunResultCallback;
+import com.example.demo.shared.result.StepResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-run ordering and bounded backlog of callback delivery.
+ */
+class CallbackDispatcherTest {
+
+    private CallbackDispatcher dispatcher;
+
+    @AfterEach
+    void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void deliversEachRunsCallbacksInReportedOrder() throws Exception {
+        dispatcher = new CallbackDispatcher(4, 1000);
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        RunResultCallback callback = dispatcher.forRun("run", new RunResultCallback() {
+            @Override
+            public void onStart() {
+                delivered.add("start");
+            }
+
+            @Override
+            public void onStepComplete(StepResult stepResult) {
+                delivered.add(stepResult.stepName());
+            }
+
+            @Override
+            public void onComplete(RunResult result) {
+                delivered.add("complete");
+                completed.countDown();
+            }
+        });
+
+        callback.onStart();
+        for (int i = 0; i < 100; i++) {
+            callback.onStepComplete(step("step-" + i));
+        }
+        callback.onComplete(result("run"));
+
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(delivered).hasSize(102).startsWith("start", "step-0", "step-1").endsWith("step-99", "complete");
+        for (int i = 0; i < 100; i++) {
+            assertThat(delivered.get(i + 1)).isEqualTo("step-" + i);
+        }
+    }
+
+    @Test
+    void slowRunDoesNotHoldOtherRuns() throws Exception {
+        dispatcher = new CallbackDispatcher(2, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<RunResult> fast = new CompletableFuture<>();
+        dispatcher.forRun("slow", result -> awaitQuietly(release)).onComplete(result("slow"));
+
+        dispatcher.forRun("fast", fast::complete).onComplete(result("fast"));
+
+        assertThat(fast.get(5, TimeUnit.SECONDS).runId()).isEqualTo("fast");
+        release.countDown();
+    }
+
+    @Test
+    void reportingWaitsOnceTheBacklogIsFull() throws Exception {
+        dispatcher = new CallbackDispatcher(1, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        RunResultCallback blocking = dispatcher.forRun("run", result -> awaitQuietly(release));
+        blocking.onComplete(result("1"));
+        blocking.onComplete(result("2"));
+
+        CompletableFuture<Void> third = CompletableFuture.runAsync(() -> blocking.onComplete(result("3")));
+        Thread.sleep(100);
+        assertThat(third).isNotDone();
+        assertThat(dispatcher.stats().backlog()).isEqualTo(2);
+
+        release.countDown();
+        third.get(5, TimeUnit.SECONDS);
+        assertThat(dispatcher.stats().blocked()).isEqualTo(1);
+        assertThat(dispatcher.stats().highWatermark()).isEqualTo(2);
+    }
+
+    @Test
+    void failingCallbackIsCountedAndDoesNotStopTheLane() throws Exception {
+        dispatcher = new CallbackDispatcher(1, 10);
+        CompletableFuture<RunResult> second = new CompletableFuture<>();
+        RunResultCallback callback = dispatcher.forRun("run", result -> {
+            if (result.runId().equals("1")) {
+                throw new IllegalStateException("consumer failed");
+            }
+            second.complete(result);
+        });
+
+        callback.onComplete(result("1"));
+        callback.onComplete(result("2"));
+
+        assertThat(second.get(5, TimeUnit.SECONDS).runId()).isEqualTo("2");
+        assertThat(dispatcher.stats().failed()).isEqualTo(1);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static RunResult result(String runId) {
+        return new ApiRunResult(runId, "PASS", 0, null, List.of(), null);
+    }
+
+    private static StepResult step(String name) {
+        return new StepResult(null, name, 0, "PASS", null, List.of(), Map.of(), 0, null, null);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.demo.runner;
+
+import com.example.demo.runner.StubHttpRequestExecutor.Reply;
+import com.example.demo.runner.builder.RestRequestBuilder;
+import com.example.demo.runner.extractor.CompositeVariableExtractor;
+import com.example.demo.runner.extractor.JsonPathExtractor;
+import com.example.demo.runner.validator.CompositeAssertionValidator;
+import com.example.demo.runner.validator.StatusAssertionValidator;
+import com.example.demo.shared.request.E2eRunRequest;
+import com.example.demo.shared.request.E2eStepRequest;
+import com.example.demo.shared.result.E2eRunResult;
+import com.example.demo.shared.result.StepResult;
+import com.example.demo.shared.valueobject.AssertionSpec;
+import com.example.demo.shared.valueobject.ExtractorSpec;
+import com.example.demo.shared.valueobject.HttpRequestData;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpRequest;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Parallel steps: scheduling along variable flow, reporting in step order and stopping at
+ * the first failing step.
+ */
+class E2eTestRunnerTest {
+
+    @Test
+    void independentStepsRunConcurrentlyAndAreReportedInStepOrder() {
+        // "slow" and "fast" both need the token only; "fast" completes first
+        StubHttpRequestExecutor executor = new StubHttpRequestExecutor(request -> switch (path(request)) {
+            case "/login" -> CompletableFuture.completedFuture(Reply.ok("{\"token\":\"t1\"}"));
+            case "/slow" -> after(200, Reply.ok("{}"));
+            default -> CompletableFuture.completedFuture(Reply.ok("{}"));
+        });
+        List<String> reported = new CopyOnWriteArrayList<>();
+
+        E2eRunResult result = runner(executor).run(workflow(
+            step("login", "http://localhost/login", "token"),
+            step("slow", "http://localhost/slow?token={token}"),
+            step("fast", "http://localhost/fast?token={token}")
+        ), stepResult -> reported.add(stepResult.stepId()));
+
+        assertThat(result.status()).isEqualTo("PASS");
+        assertThat(reported).containsExactly("login", "slow", "fast");
+        assertThat(result.stepResults()).extracting(StepResult::stepId).containsExactly("login", "slow", "fast");
+        assertThat(executor.maxInFlight()).isEqualTo(2);
+        // Each step sees the variables of the step it depends on
+        assertThat(executor.requests()).extracting(request -> request.uri().getQuery())
+            .containsOnly(null, "token=t1");
+        assertThat(result.finalVariables()).containsEntry("token", "t1");
+    }
+
+    @Test
+    void stopsAtTheFirstFailingStep() {
+        // "first" fails while "second" is still running; "third" depends on "second"
+        StubHttpRequestExecutor executor = new StubHttpRequestExecutor(request -> switch (path(request)) {
+            case "/first" -> after(50, new Reply(500, "{}"));
+            case "/second" -> after(200, Reply.ok("{\"id\":\"7\"}"));
+            default -> CompletableFuture.completedFuture(Reply.ok("{}"));
+        });
+        List<String> reported = new CopyOnWriteArrayList<>();
+
+        E2eRunResult result = runner(executor).run(workflow(
+            step("first", "http://localhost/first"),
+            step("second", "http://localhost/second", "id"),
+            step("third", "http://localhost/third/{id}")
+        ), stepResult -> reported.add(stepResult.stepId()));
+
+        assertThat(result.status()).isEqualTo("FAIL");
+        assertThat(result.stepResults()).extracting(StepResult::stepId).containsExactly("first");
+        assertThat(reported).containsExactly("first");
+        // The step already running completes, the one after it is not started
+        assertThat(executor.requests()).extracting(E2eTestRunnerTest::path)
+            .containsExactlyInAnyOrder("/first", "/second");
+    }
+
+    private static CompletableFuture<Reply> after(long millis, Reply reply) {
+        return CompletableFuture.supplyAsync(() -> reply,
+            CompletableFuture.delayedExecutor(millis, TimeUnit.MILLISECONDS));
+    }
+
+    private static String path(HttpRequest request) {
+        return request.uri().getPath();
+    }
+
+    private static E2eTestRunner runner(StubHttpRequestExecutor executor) {
+        return new E2eTestRunner(Map.of("REST", new RestRequestBuilder()), executor,
+            new CompositeAssertionValidator(new StatusAssertionValidator()),
+            new CompositeVariableExtractor(new JsonPathExtractor()), true);
+    }
+
+    private static E2eRunRequest workflow(E2eStepRequest... steps) {
+        return new E2eRunRequest("e2e", List.of(steps), Map.of());
+    }
+
+    private static E2eStepRequest step(String id, String url, String... produces) {
+        List<ExtractorSpec> extractors = Arrays.stream(produces)
+            .map(name -> new ExtractorSpec(name, "JSONPATH", "$." + name))
+            .toList();
+        return new E2eStepRequest(id, id, 0, "REST", new HttpRequestData("GET", url),
+            List.of(new AssertionSpec("statusEquals", "200")), extractors);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.demo.runner;
+
+import com.example.demo.shared.result.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Log-linear bucket boundaries of the latency recorder and the histogram it reports.
+ */
+class LatencyRecorderTest {
+
+    private static final long MAX_MICROS = (1L << 37) - 1;
+
+    @Test
+    void valuesBelow128HaveABucketEach() {
+        assertThat(LatencyRecorder.indexOf(0)).isZero();
+        assertThat(LatencyRecorder.indexOf(127)).isEqualTo(127);
+        assertThat(LatencyRecorder.lowerBound(127)).isEqualTo(127);
+    }
+
+    @Test
+    void powerOfTwoRangesSplitIn64Buckets() {
+        // 128..255: buckets 2 wide
+        assertThat(LatencyRecorder.indexOf(128)).isEqualTo(128);
+        assertThat(LatencyRecorder.indexOf(129)).isEqualTo(128);
+        assertThat(LatencyRecorder.indexOf(130)).isEqualTo(129);
+        assertThat(LatencyRecorder.indexOf(255)).isEqualTo(191);
+        // 256..511: buckets 4 wide
+        assertThat(LatencyRecorder.indexOf(256)).isEqualTo(192);
+        assertThat(LatencyRecorder.lowerBound(192)).isEqualTo(256);
+        assertThat(LatencyRecorder.lowerBound(193)).isEqualTo(260);
+    }
+
+    @Test
+    void everyValueFallsWithinItsBucket() {
+        Random random = new Random(42);
+        int last = LatencyRecorder.indexOf(MAX_MICROS);
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextLong(1L << random.nextInt(1, 38));
+            assertWithinBucket(Math.min(value, MAX_MICROS), last);
+        }
+        for (int bits = 7; bits < 37; bits++) {
+            long power = 1L << bits;
+            assertWithinBucket(power - 1, last);
+            assertWithinBucket(power, last);
+        }
+        assertWithinBucket(MAX_MICROS, last);
+    }
+
+    @Test
+    void recordedValuesAreClampedToTheRange() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record(-5);
+        recorder.record(Long.MAX_VALUE);
+
+        LatencyHistogram histogram = recorder.snapshot();
+
+        assertThat(histogram.minMicros()).isZero();
+        assertThat(histogram.maxMicros()).isEqualTo(MAX_MICROS);
+        List<LatencyHistogram.Bucket> buckets = histogram.buckets();
+        assertThat(buckets).hasSize(2);
+        assertThat(buckets.get(0)).isEqualTo(new LatencyHistogram.Bucket(0, 1, 1));
+        assertThat(buckets.get(1).toMicros()).isEqualTo(MAX_MICROS + 1);
+    }
+
+    @Test
+    void snapshotReportsCountsMeanAndPercentiles() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (long micros = 1; micros <= 100; micros++) {
+            recorder.record(micros);
+        }
+
+        LatencyHistogram histogram = recorder.snapshot();
+
+        assertThat(histogram.count()).isEqualTo(100);
+        assertThat(histogram.meanMicros()).isEqualTo(50.5);
+        assertThat(histogram.percentileMicros(50)).isEqualTo(50);
+        assertThat(histogram.percentileMicros(100)).isEqualTo(100);
+        assertThat(new LatencyRecorder().snapshot()).isEqualTo(LatencyHistogram.EMPTY);
+    }
+
+    private static void assertWithinBucket(long value, int lastIndex) {
+        int index = LatencyRecorder.indexOf(value);
+        long upper = index < lastIndex ? LatencyRecorder.lowerBound(index + 1) : MAX_MICROS + 1;
+        assertThat(LatencyRecorder.lowerBound(index)).as("lower bound of %d", value).isLessThanOrEqualTo(value);
+        assertThat(value).as("upper bound of %d", value).isLessThan(upper);
+        // No wider than 1/64 of its values
+        assertThat(upper - LatencyRecorder.lowerBound(index)).isLessThanOrEqualTo(Math.max(1, value / 64 + 1));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.demo.runner;
+
+import com.example.demo.runner.builder.RestRequestBuilder;
+import com.example.demo.runner.validator.CompositeAssertionValidator;
+import com.example.demo.runner.validator.StatusAssertionValidator;
+import com.example.demo.shared.request.LoadProfile;
+import com.example.demo.shared.request.LoadRunRequest;
+import com.example.demo.shared.request.RestRunRequest;
+import com.example.demo.shared.request.RunOptions;
+import com.example.demo.shared.result.LoadRunResult;
+import com.example.demo.shared.valueobject.HttpRequestData;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Open- and closed-model scheduling of load runs: latency from the scheduled start,
+ * the concurrency cap and cancellation.
+ */
+class LoadTestRunnerTest {
+
+    @Test
+    void openModelMeasuresLatencyFromTheScheduledStart() {
+        // Requests are due every 50 ms but take 100 ms each, one at a time: each starts later than the last
+        StubHttpRequestExecutor executor = okAfter(100);
+        LoadProfile profile = new LoadProfile(20, 1, Duration.ofMillis(300));
+
+        LoadRunResult result = runner(executor).run(loadRun(profile), control());
+
+        assertThat(result.status()).isEqualTo("PASS");
+        assertThat(result.requests()).isEqualTo(6);
+        // The last request was due at 250 ms and could not finish before 600 ms
+        assertThat(result.latency().maxMicros()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toMicros(350));
+        assertThat(result.latency().minMicros()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toMicros(100));
+    }
+
+    @Test
+    void closedModelKeepsAtMostItsConcurrencyInFlight() {
+        StubHttpRequestExecutor executor = okAfter(20);
+
+        LoadRunResult result = runner(executor).run(loadRun(LoadProfile.atConcurrency(3, Duration.ofMillis(300))),
+            control());
+
+        assertThat(result.status()).isEqualTo("PASS");
+        assertThat(executor.maxInFlight()).isLessThanOrEqualTo(3);
+        assertThat(result.requests()).isEqualTo(executor.requests().size()).isGreaterThan(3);
+        assertThat(result.statusCodes()).containsExactly(Map.entry(200, result.requests()));
+    }
+
+    @Test
+    void cancellingStopsTheScheduleAndAbortsRequestsInFlight() throws Exception {
+        // Replies never arrive
+        StubHttpRequestExecutor executor = new StubHttpRequestExecutor(request -> new CompletableFuture<>());
+        RunControl control = control();
+
+        CompletableFuture<LoadRunResult> run = runner(executor)
+            .runAsync(loadRun(LoadProfile.atConcurrency(2, Duration.ofMinutes(1))), control);
+        while (executor.requests().size() < 2) {
+            Thread.sleep(5);
+        }
+        control.cancel();
+
+        LoadRunResult result = run.get(5, TimeUnit.SECONDS);
+        assertThat(result.status()).isEqualTo("CANCELLED");
+        assertThat(result.requests()).isZero();
+        assertThat(executor.requests()).hasSize(2);
+        assertThat(executor.calls()).allMatch(CompletableFuture::isCancelled);
+    }
+
+    private static StubHttpRequestExecutor okAfter(long millis) {
+        return StubHttpRequestExecutor.delayed(millis, request -> StubHttpRequestExecutor.Reply.ok("{}"));
+    }
+
+    private static LoadTestRunner runner(StubHttpRequestExecutor executor) {
+        ApiTestRunner apiRunner = new ApiTestRunner(Map.of("REST", new RestRequestBuilder()), executor,
+            new CompositeAssertionValidator(new StatusAssertionValidator()));
+        return new LoadTestRunner(apiRunner);
+    }
+
+    private static LoadRunRequest loadRun(LoadProfile profile) {
+        RestRunRequest target = new RestRunRequest("target", new HttpRequestData("GET", "http://localhost/items"),
+            List.of(), Map.of(), RunOptions.DEFAULT);
+        return new LoadRunRequest("load", target, profile);
+    }
+
+    private static RunControl control() {
+        RunControl control = new RunControl(null, null);
+        control.started();
+        return control;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.demo.runner;
+
+import com.example.demo.common.ports.RunRejectedException;
+import com.example.demo.runner.RunnerService.QueuedRun;
+import com.example.demo.runner.config.RunnerProperties.QueuePolicy;
+import com.example.demo.shared.request.RestRunRequest;
+import com.example.demo.shared.request.RunOptions;
+import com.example.demo.shared.request.RunPriority;
+import com.example.demo.shared.valueobject.HttpRequestData;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Full-queue policies, priority classes and per-project fair share of the run queue.
+ */
+class RunQueueTest {
+
+    @Test
+    void rejectPolicyRefusesRunsWhenFull() {
+        RunQueue queue = new RunQueue(2, QueuePolicy.REJECT, Duration.ZERO, Map.of());
+        queue.put(run("a", RunPriority.CI));
+        queue.put(run("b", RunPriority.CI));
+
+        assertThatThrownBy(() -> queue.put(run("c", RunPriority.INTERACTIVE)))
+            .isInstanceOf(RunRejectedException.class);
+        assertThat(queue.stats().rejected()).isEqualTo(1);
+        assertThat(queue.size()).isEqualTo(2);
+    }
+
+    @Test
+    void blockPolicyWaitsForRoom() throws Exception {
+        RunQueue queue = new RunQueue(1, QueuePolicy.BLOCK, Duration.ofSeconds(5), Map.of());
+        queue.put(run("a", RunPriority.CI));
+
+        CompletableFuture<QueuedRun> blocked = CompletableFuture.supplyAsync(() -> queue.put(run("b", RunPriority.CI)));
+        Thread.sleep(100);
+        assertThat(blocked).isNotDone();
+
+        assertThat(queue.take().request().runId()).isEqualTo("a");
+        assertThat(blocked.get(5, TimeUnit.SECONDS)).isNull();
+        assertThat(queue.take().request().runId()).isEqualTo("b");
+    }
+
+    @Test
+    void blockPolicyRejectsAfterTimeout() {
+        RunQueue queue = new RunQueue(1, QueuePolicy.BLOCK, Duration.ofMillis(50), Map.of());
+        queue.put(run("a", RunPriority.CI));
+
+        assertThatThrownBy(() -> queue.put(run("b", RunPriority.CI)))
+            .isInstanceOf(RunRejectedException.class)
+            .hasMessageContaining("no room after 50ms");
+    }
+
+    @Test
+    void shedPolicyDropsNewestRunOfLowestClass() {
+        RunQueue queue = new RunQueue(3, QueuePolicy.SHED, Duration.ZERO, Map.of());
+        queue.put(run("ci", RunPriority.CI));
+        queue.put(run("scheduled-old", RunPriority.SCHEDULED));
+        queue.put(run("scheduled-new", RunPriority.SCHEDULED));
+
+        QueuedRun shed = queue.put(run("interactive", RunPriority.INTERACTIVE));
+
+        assertThat(shed.request().runId()).isEqualTo("scheduled-new");
+        assertThat(queue.stats().shed()).isEqualTo(1);
+        assertThat(runIds(queue.drain())).containsExactly("interactive", "ci", "scheduled-old");
+    }
+
+    @Test
+    void shedPolicyRejectsWhenNoLowerClassIsQueued() {
+        RunQueue queue = new RunQueue(1, QueuePolicy.SHED, Duration.ZERO, Map.of());
+        queue.put(run("ci", RunPriority.CI));
+
+        assertThatThrownBy(() -> queue.put(run("other-ci", RunPriority.CI)))
+            .isInstanceOf(RunRejectedException.class);
+        assertThat(queue.stats().shed()).isZero();
+    }
+
+    @Test
+    void removedRunsFreeRoom() {
+        RunQueue queue = new RunQueue(1, QueuePolicy.REJECT, Duration.ZERO, Map.of());
+        QueuedRun first = run("a", RunPriority.CI);
+        queue.put(first);
+
+        assertThat(queue.remove(first)).isTrue();
+        assertThat(queue.remove(first)).isFalse();
+        queue.put(run("b", RunPriority.CI));
+        assertThat(queue.size()).isEqualTo(1);
+    }
+
+    @Test
+    void higherClassesAreServedFirst() throws Exception {
+        RunQueue queue = new RunQueue(10, QueuePolicy.REJECT, Duration.ZERO, Map.of());
+        queue.put(run("scheduled", RunPriority.SCHEDULED));
+        queue.put(run("ci", RunPriority.CI));
+        queue.put(run("interactive", RunPriority.INTERACTIVE));
+
+        assertThat(runIds(List.of(queue.take(), queue.take(), queue.take())))
+            .containsExactly("interactive", "ci", "scheduled");
+    }
+
+    @Test
+    void projectsOfAClassTakeTurns() throws Exception {
+        RunQueue queue = new RunQueue(20, QueuePolicy.REJECT, Duration.ZERO, Map.of());
+        for (int i = 1; i <= 5; i++) {
+            queue.put(run("bulk-" + i, RunPriority.CI, "bulk"));
+        }
+        queue.put(run("small-1", RunPriority.CI, "small"));
+        queue.put(run("small-2", RunPriority.CI, "small"));
+
+        assertThat(runIds(takeAll(queue, 7)))
+            .containsExactly("bulk-1", "small-1", "bulk-2", "small-2", "bulk-3", "bulk-4", "bulk-5");
+    }
+
+    @Test
+    void projectWeightsSetRunsPerTurn() throws Exception {
+        RunQueue queue = new RunQueue(20, QueuePolicy.REJECT, Duration.ZERO, Map.of("heavy", 3));
+        for (int i = 1; i <= 6; i++) {
+            queue.put(run("heavy-" + i, RunPriority.CI, "heavy"));
+        }
+        for (int i = 1; i <= 3; i++) {
+            queue.put(run("light-" + i, RunPriority.CI, "light"));
+        }
+
+        assertThat(runIds(takeAll(queue, 9))).containsExactly(
+            "heavy-1", "heavy-2", "heavy-3", "light-1",
+            "heavy-4", "heavy-5", "heavy-6", "light-2", "light-3");
+    }
+
+    @Test
+    void idleProjectRejoinsAtTheBackWithoutCredit() throws Exception {
+        RunQueue queue = new RunQueue(20, QueuePolicy.REJECT, Duration.ZERO, Map.of());
+        queue.put(run("a-1", RunPriority.CI, "a"));
+        queue.put(run("b-1", RunPriority.CI, "b"));
+        queue.put(run("b-2", RunPriority.CI, "b"));
+        assertThat(queue.take().request().runId()).isEqualTo("a-1");
+
+        queue.put(run("a-2", RunPriority.CI, "a"));
+
+        assertThat(runIds(takeAll(queue, 3))).containsExactly("b-1", "a-2", "b-2");
+    }
+
+    @Test
+    void queueWaitIsRecordedPerClass() throws Exception {
+        RunQueue queue = new RunQueue(10, QueuePolicy.REJECT, Duration.ZERO, Map.of());
+        queue.put(run("a", RunPriority.CI));
+        queue.put(run("b", RunPriority.SCHEDULED));
+        queue.take();
+
+        assertThat(queue.stats().classes().get(RunPriority.CI).taken()).isEqualTo(1);
+        assertThat(queue.stats().classes().get(RunPriority.SCHEDULED).size()).isEqualTo(1);
+        assertThat(queue.stats().highWatermark()).isEqualTo(2);
+    }
+
+    private static List<QueuedRun> takeAll(RunQueue queue, int count) throws InterruptedException {
+        List<QueuedRun> taken = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            taken.add(queue.take());
+        }
+        return taken;
+    }
+
+    static QueuedRun run(String runId, RunPriority priority) {
+        return run(runId, priority, null);
+    }
+
+    static QueuedRun run(String runId, RunPriority priority, String project) {
+        RunOptions options = RunOptions.DEFAULT.withPriority(priority).withProject(project);
+        RestRunRequest request = new RestRunRequest(runId, new HttpRequestData("GET", "http://localhost/"),
+            List.of(), Map.of(), options);
+        return new QueuedRun(request, result -> { }, RunControl.of(options, null));
+    }
+
+    static List<String> runIds(List<QueuedRun> runs) {
+        return runs.stream().map(run -> run.request().runId()).toList();
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.demo.runner;
+
+import com.example.demo.runner.config.RunnerProperties;
+import com.example.demo.runner.extractor.CompositeVariableExtractor;
+import com.example.demo.runner.validator.CompositeAssertionValidator;
+import com.example.demo.runner.validator.StatusAssertionValidator;
+import com.example.demo.shared.request.ApiRunRequest;
+import com.example.demo.shared.request.RestRunRequest;
+import com.example.demo.shared.request.RunOptions;
+import com.example.demo.shared.request.RunPriority;
+import com.example.demo.shared.result.ApiRunResult;
+import com.example.demo.shared.result.RunResult;
+import com.example.demo.shared.result.RunResultCallback;
+import com.example.demo.shared.valueobject.HttpRequestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Completion guarantees of the runner: every submitted run gets exactly one result,
+ * whether its runner fails, it is shed from the queue, or the runner shuts down.
+ */
+class RunnerServiceTest {
+
+    private final StubApiRunner apiRunner = new StubApiRunner();
+    private RunnerService service;
+
+    @AfterEach
+    void shutdown() {
+        apiRunner.release.countDown();
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void runnerExceptionCompletesRunAsErrorOnBlockingEngine() throws Exception {
+        service = newService(RunnerProperties.Engine.BLOCKING, 10, RunnerProperties.QueuePolicy.REJECT);
+
+        RunResult result = service.submitAsync(request("boom", RunPriority.CI)).get(5, TimeUnit.SECONDS);
+
+        assertThat(result.status()).isEqualTo("ERROR");
+        assertThat(((ApiRunResult) result).errorMessage()).isEqualTo("runner failed for boom");
+    }
+
+    @Test
+    void runnerExceptionCompletesRunAsErrorOnAsyncEngine() throws Exception {
+        service = newService(RunnerProperties.Engine.ASYNC, 10, RunnerProperties.QueuePolicy.REJECT);
+
+        RunResult thrown = service.submitAsync(request("boom", RunPriority.CI)).get(5, TimeUnit.SECONDS);
+        RunResult failed = service.submitAsync(request("boom-later", RunPriority.CI)).get(5, TimeUnit.SECONDS);
+
+        assertThat(thrown.status()).isEqualTo("ERROR");
+        assertThat(((ApiRunResult) thrown).errorMessage()).isEqualTo("runner failed for boom");
+        assertThat(failed.status()).isEqualTo("ERROR");
+        assertThat(((ApiRunResult) failed).errorMessage()).isEqualTo("runner failed for boom-later");
+        assertThat(service.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void shedRunCompletesCancelledWithoutExecuting() throws Exception {
+        service = newService(RunnerProperties.Engine.BLOCKING, 1, RunnerProperties.QueuePolicy.SHED);
+        CompletableFuture<RunResult> blocking = service.submitAsync(request("block", RunPriority.CI));
+        assertThat(apiRunner.started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<RunResult> low = service.submitAsync(request("low", RunPriority.SCHEDULED));
+        CompletableFuture<RunResult> high = service.submitAsync(request("high", RunPriority.INTERACTIVE));
+
+        RunResult shed = low.get(5, TimeUnit.SECONDS);
+        assertThat(shed.status()).isEqualTo("CANCELLED");
+        assertThat(apiRunner.executed).doesNotContain("low");
+
+        apiRunner.release.countDown();
+        assertThat(blocking.get(5, TimeUnit.SECONDS).status()).isEqualTo("PASS");
+        assertThat(high.get(5, TimeUnit.SECONDS).status()).isEqualTo("PASS");
+    }
+
+    @Test
+    void shutdownCancelsQueuedRuns() throws Exception {
+        service = newService(RunnerProperties.Engine.BLOCKING, 10, RunnerProperties.QueuePolicy.REJECT);
+        service.submitAsync(request("block", RunPriority.CI));
+        assertThat(apiRunner.started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<RunResult> first = service.submitAsync(request("queued-1", RunPriority.CI));
+        CompletableFuture<RunResult> second = service.submitAsync(request("queued-2", RunPriority.CI));
+
+        service.shutdown();
+
+        for (CompletableFuture<RunResult> queued : List.of(first, second)) {
+            ApiRunResult result = (ApiRunResult) queued.get(5, TimeUnit.SECONDS);
+            assertThat(result.status()).isEqualTo("CANCELLED");
+            assertThat(result.errorMessage()).isEqualTo("Runner shutting down");
+        }
+        assertThat(apiRunner.executed).doesNotContain("queued-1", "queued-2");
+    }
+
+    @Test
+    void deadlineStartsWhenTheRunLeavesTheQueue() throws Exception {
+        service = newService(RunnerProperties.Engine.BLOCKING, 10, RunnerProperties.QueuePolicy.REJECT);
+        service.submitAsync(request("block", RunPriority.CI));
+        assertThat(apiRunner.started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CountDownLatch leftQueue = new CountDownLatch(1);
+        CompletableFuture<RunResult> queued = new CompletableFuture<>();
+        RestRunRequest shortDeadline = new RestRunRequest("queued", new HttpRequestData("GET", "http://localhost/"),
+            List.of(), Map.of(), RunOptions.withTimeout(Duration.ofMillis(200)));
+        service.submit(shortDeadline, new RunResultCallback() {
+            @Override
+            public void onComplete(RunResult result) {
+                queued.complete(result);
+            }
+
+            @Override
+            public void onStart() {
+                leftQueue.countDown();
+            }
+        });
+
+        // Queued for longer than its deadline
+        Thread.sleep(400);
+        assertThat(leftQueue.getCount()).isEqualTo(1);
+        apiRunner.release.countDown();
+
+        assertThat(leftQueue.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS).status()).isEqualTo("PASS");
+    }
+
+    private RunnerService newService(RunnerProperties.Engine engine, int capacity, RunnerProperties.QueuePolicy policy) {
+        RunnerProperties properties = new RunnerProperties();
+        properties.setEngine(engine);
+        properties.setWorkers(1);
+        properties.setQueueCapacity(capacity);
+        properties.setQueuePolicy(policy);
+        E2eTestRunner e2eRunner = new E2eTestRunner(Map.of(), null,
+            new CompositeAssertionValidator(new StatusAssertionValidator()), new CompositeVariableExtractor());
+        return new RunnerService(apiRunner, e2eRunner, properties);
+    }
+
+    private static RestRunRequest request(String runId, RunPriority priority) {
+        return new RestRunRequest(runId, new HttpRequestData("GET", "http://localhost/" + runId), List.of(), Map.of(),
+            RunOptions.DEFAULT.withPriority(priority));
+    }
+
+    /**
+     * Runner that passes every run, blocks the run "block" until released, and throws for runs
+     * named "boom" (synchronously) or "boom-later" (from the async future).
+     */
+    private static final class StubApiRunner extends ApiTestRunner {
+        final Set<String> executed = ConcurrentHashMap.newKeySet();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        StubApiRunner() {
+            super(Map.of(), null, new CompositeAssertionValidator(new StatusAssertionValidator()));
+        }
+
+        @Override
+        public ApiRunResult run(ApiRunRequest request, RunControl control) {
+            return execute(request);
+        }
+
+        @Override
+        public CompletableFuture<ApiRunResult> runAsync(ApiRunRequest request, RunControl control) {
+            if (request.runId().equals("boom")) {
+                execute(request);  // throws before any future exists
+            }
+            return CompletableFuture.supplyAsync(() -> execute(request));
+        }
+
+        private ApiRunResult execute(ApiRunRequest request) {
+            executed.add(request.runId());
+            if (request.runId().startsWith("boom")) {
+                throw new IllegalStateException("runner failed for " + request.runId());
+            }
+            if (request.runId().equals("block")) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new ApiRunResult(request.runId(), "PASS", 0, null, List.of(), null);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.demo.runner;
+
+import com.example.demo.runner.body.BodyRetention;
+import com.example.demo.runner.body.ResponseBody;
+import com.example.demo.runner.executor.ExchangeTimer;
+import com.example.demo.runner.executor.HttpRequestExecutor;
+
+import javax.net.ssl.SSLSession;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Executor answering requests from a function instead of the network, for runner tests.
+ * Records the requests it was sent and the most it had in flight at once.
+ */
+final class StubHttpRequestExecutor implements HttpRequestExecutor {
+
+    /**
+     * Response to a request: its status and body text.
+     */
+    record Reply(int status, String body) {
+
+        static Reply ok(String body) {
+            return new Reply(200, body);
+        }
+    }
+
+    private final Function<HttpRequest, CompletableFuture<Reply>> handler;
+    private final List<HttpRequest> requests = new CopyOnWriteArrayList<>();
+    private final List<CompletableFuture<HttpResponse<ResponseBody>>> calls = new CopyOnWriteArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    /**
+     * @param handler answers each request; the reply may complete later, or never
+     */
+    StubHttpRequestExecutor(Function<HttpRequest, CompletableFuture<Reply>> handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Executor replying to every request at once.
+     */
+    static StubHttpRequestExecutor replying(Function<HttpRequest, Reply> replies) {
+        return new StubHttpRequestExecutor(request -> CompletableFuture.completedFuture(replies.apply(request)));
+    }
+
+    /**
+     * Executor replying to every request after a delay.
+     */
+    static StubHttpRequestExecutor delayed(long delayMillis, Function<HttpRequest, Reply> replies) {
+        Executor delayed = CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS);
+        return new StubHttpRequestExecutor(request ->
+            CompletableFuture.supplyAsync(() -> replies.apply(request), delayed));
+    }
+
+    @Override
+    public HttpResponse<ResponseBody> execute(HttpRequest request, ExchangeTimer timer, BodyRetention retention) {
+        try {
+            return executeAsync(request, timer, retention).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse<ResponseBody>> executeAsync(HttpRequest request, ExchangeTimer timer,
+                                                                      BodyRetention retention) {
+        requests.add(request);
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        timer.markSent();
+        CompletableFuture<HttpResponse<ResponseBody>> call = handler.apply(request)
+            .thenApply(reply -> {
+                timer.markHeadersReceived();
+                timer.markCompleted();
+                return response(request, reply);
+            });
+        call.whenComplete((response, error) -> inFlight.decrementAndGet());
+        calls.add(call);
+        return call;
+    }
+
+    List<HttpRequest> requests() {
+        return requests;
+    }
+
+    List<CompletableFuture<HttpResponse<ResponseBody>>> calls() {
+        return calls;
+    }
+
+    int maxInFlight() {
+        return maxInFlight.get();
+    }
+
+    private static HttpResponse<ResponseBody> response(HttpRequest request, Reply reply) {
+        ResponseBody body = ResponseBody.of(reply.body());
+        HttpHeaders headers = HttpHeaders.of(Map.of("Content-Type", List.of("application/json")),
+            (name, value) -> true);
+        return new HttpResponse<>() {
+            @Override
+            public int statusCode() {
+                return reply.status();
+            }
+
+            @Override
+            public HttpRequest request() {
+                return request;
+            }
+
+            @Override
+            public Optional<HttpResponse<ResponseBody>> previousResponse() {
+                return Optional.empty();
+            }
+
+            @Override
+            public HttpHeaders headers() {
+                return headers;
+            }
+
+            @Override
+            public ResponseBody body() {
+                return body;
+            }
+
+            @Override
+            public Optional<SSLSession> sslSession() {
+                return Optional.empty();
+            }
+
+            @Override
+            public URI uri() {
+                return request.uri();
+            }
+
+            @Override
+            public HttpClient.Version version() {
+                return HttpClient.Version.HTTP_1_1;
+            }
+        };
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.demo.runner.body;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Incremental gzip and deflate decoding, whatever the buffer boundaries.
+ */
+class ContentDecoderTest {
+
+    private static final byte[] TEXT = "The quick brown fox jumps over the lazy dog. ".repeat(2000)
+        .getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void decodesGzipInAnyChunking() throws IOException {
+        byte[] encoded = gzip(TEXT);
+
+        for (int chunk : new int[] {1, 7, 1024, encoded.length}) {
+            assertThat(decode("gzip", encoded, chunk)).as("chunk %d", chunk).isEqualTo(TEXT);
+        }
+    }
+
+    @Test
+    void decodesConcatenatedGzipMembers() throws IOException {
+        byte[] first = "first member, ".getBytes(StandardCharsets.UTF_8);
+        byte[] encoded = concat(gzip(first), gzip(TEXT));
+
+        assertThat(decode("gzip", encoded, 5)).isEqualTo(concat(first, TEXT));
+    }
+
+    @Test
+    void decodesZlibAndRawDeflate() throws IOException {
+        assertThat(decode("deflate", deflate(TEXT, false), 3)).isEqualTo(TEXT);
+        assertThat(decode("deflate", deflate(TEXT, true), 3)).isEqualTo(TEXT);
+    }
+
+    @Test
+    void decodesIncompressibleBody() throws IOException {
+        byte[] random = new byte[100_000];
+        new Random(42).nextBytes(random);
+
+        assertThat(decode("x-gzip", gzip(random), 4096)).isEqualTo(random);
+    }
+
+    @Test
+    void truncatedBodyFailsAtFinish() throws IOException {
+        byte[] gzip = gzip(TEXT);
+        byte[] deflate = deflate(TEXT, false);
+
+        assertThatThrownBy(() -> decode("gzip", Arrays.copyOf(gzip, gzip.length / 2), 100))
+            .isInstanceOf(IOException.class).hasMessageContaining("Truncated gzip");
+        assertThatThrownBy(() -> decode("gzip", Arrays.copyOf(gzip, gzip.length - 3), 100))
+            .isInstanceOf(IOException.class).hasMessageContaining("Truncated gzip");
+        assertThatThrownBy(() -> decode("deflate", Arrays.copyOf(deflate, deflate.length / 2), 100))
+            .isInstanceOf(IOException.class).hasMessageContaining("Truncated deflate");
+    }
+
+    @Test
+    void corruptBodyFails() throws IOException {
+        byte[] badCrc = gzip(TEXT);
+        badCrc[badCrc.length - 8] ^= 1;
+        byte[] badData = gzip(TEXT);
+        Arrays.fill(badData, 10, 30, (byte) 0xff);
+
+        assertThatThrownBy(() -> decode("gzip", badCrc, 100))
+            .isInstanceOf(IOException.class).hasMessageContaining("CRC mismatch");
+        assertThatThrownBy(() -> decode("gzip", badData, 100))
+            .isInstanceOf(IOException.class).hasMessageContaining("Invalid gzip");
+        assertThatThrownBy(() -> decode("gzip", TEXT, 100))
+            .isInstanceOf(IOException.class).hasMessageContaining("not in gzip format");
+    }
+
+    @Test
+    void emptyBodyIsValid() throws IOException {
+        assertThat(decode("gzip", new byte[0], 1)).isEmpty();
+    }
+
+    @Test
+    void onlyGzipAndDeflateAreDecoded() {
+        assertThat(ContentDecoder.forEncoding(null)).isNull();
+        assertThat(ContentDecoder.forEncoding("br")).isNull();
+        assertThat(ContentDecoder.forEncoding("identity")).isNull();
+        assertThat(ContentDecoder.forEncoding(" GZIP ")).isNotNull();
+    }
+
+    private static byte[] decode(String encoding, byte[] encoded, int chunkSize) throws IOException {
+        ContentDecoder decoder = ContentDecoder.forEncoding(encoding);
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        try {
+            for (int offset = 0; offset < encoded.length; offset += chunkSize) {
+                ByteBuffer chunk = ByteBuffer.wrap(encoded, offset, Math.min(chunkSize, encoded.length - offset));
+                decoder.decode(chunk, buffer -> {
+                    byte[] bytes = new byte[buffer.remaining()];
+                    buffer.get(bytes);
+                    decoded.writeBytes(bytes);
+                });
+            }
+            decoder.finish();
+        } finally {
+            decoder.end();
+        }
+        return decoded.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] bytes, boolean raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, raw);
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(out, deflater)) {
+            deflate.write(bytes);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] bytes = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, bytes, first.length, second.length);
+        return bytes;
+    }
+}
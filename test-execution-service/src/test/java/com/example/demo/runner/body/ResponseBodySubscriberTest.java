@@ -0,0 +1,188 @@
+package com.example.demo.runner.body;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Collecting response bodies: in pooled buffers, in a temporary file past the spill threshold,
+ * or only as much as the retention asks for.
+ */
+class ResponseBodySubscriberTest {
+
+    private static final int BUFFER_SIZE = 64;
+    private static final long SPILL_THRESHOLD = 1000;
+    private static final int PREVIEW_CHARS = 100;
+
+    @TempDir
+    Path spillDirectory;
+
+    private final BufferPool pool = new BufferPool(BUFFER_SIZE, 100);
+
+    @Test
+    void smallBodyStaysInPooledBuffers() throws Exception {
+        byte[] bytes = text(SPILL_THRESHOLD);
+
+        try (ResponseBody body = receive(BodyRetention.FULL, bytes, 7)) {
+            assertThat(body.isSpilled()).isFalse();
+            assertThat(body.isComplete()).isTrue();
+            assertThat(body.size()).isEqualTo(bytes.length);
+            assertThat(body.sha256()).isEqualTo(sha256(bytes));
+            assertThat(readAll(body)).isEqualTo(bytes);
+            assertThat(spillFiles()).isEmpty();
+        }
+        assertThat(pool.idleCount()).isEqualTo((int) Math.ceil((double) bytes.length / BUFFER_SIZE));
+    }
+
+    @Test
+    void bodyPastThresholdSpillsToFileLeavingNothingBehind() throws Exception {
+        byte[] bytes = text(SPILL_THRESHOLD * 5 + 3);
+
+        ResponseBody body = receive(BodyRetention.FULL, bytes, 100);
+        assertThat(body.isSpilled()).isTrue();
+        assertThat(body.size()).isEqualTo(bytes.length);
+        assertThat(body.sha256()).isEqualTo(sha256(bytes));
+        assertThat(readAll(body)).isEqualTo(bytes);
+        assertThat(body.text()).isEqualTo(new String(bytes, StandardCharsets.UTF_8));
+        // Buffers filled before the spill went back to the pool
+        assertThat(pool.idleCount()).isPositive();
+
+        body.close();
+        // The file is deleted on close (on Unix as soon as it is opened)
+        assertThat(spillFiles()).isEmpty();
+        assertThatThrownBy(body::openStream).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void failedBodyReturnsItsBuffers() throws Exception {
+        ResponseBodySubscriber subscriber = subscriber(BodyRetention.FULL);
+        subscriber.onSubscribe(new NoopSubscription());
+        subscriber.onNext(List.of(ByteBuffer.wrap(text(BUFFER_SIZE * 3))));
+        assertThat(pool.idleCount()).isZero();
+
+        subscriber.onError(new IOException("connection reset"));
+
+        assertThat(pool.idleCount()).isEqualTo(3);
+        CompletableFuture<ResponseBody> result = subscriber.getBody().toCompletableFuture();
+        assertThatThrownBy(result::get).isInstanceOf(ExecutionException.class)
+            .hasRootCauseMessage("connection reset");
+    }
+
+    @Test
+    void prefixKeepsOnlyTheBeginningInMemory() throws Exception {
+        byte[] bytes = text(SPILL_THRESHOLD * 5);
+        long prefixBytes = PREVIEW_CHARS * 4L;
+
+        try (ResponseBody body = receive(BodyRetention.PREFIX, bytes, 100)) {
+            assertThat(body.isSpilled()).isFalse();
+            assertThat(body.isComplete()).isFalse();
+            assertThat(body.size()).isEqualTo(bytes.length);
+            assertThat(body.sha256()).isNull();
+            assertThat(body.preview()).isEqualTo(new String(bytes, 0, PREVIEW_CHARS, StandardCharsets.UTF_8));
+            assertThatThrownBy(body::openStream).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(prefixBytes + " of " + bytes.length);
+            assertThatThrownBy(body::text).isInstanceOf(IllegalStateException.class);
+        }
+        assertThat(pool.idleCount()).isEqualTo((int) Math.ceil((double) prefixBytes / BUFFER_SIZE));
+    }
+
+    @Test
+    void prefixOfShortBodyIsTheWholeBody() throws Exception {
+        byte[] bytes = text(50);
+
+        try (ResponseBody body = receive(BodyRetention.PREFIX, bytes, 7)) {
+            assertThat(body.isComplete()).isTrue();
+            assertThat(body.text()).isEqualTo(new String(bytes, StandardCharsets.UTF_8));
+            assertThat(body.sha256()).isNull();
+        }
+    }
+
+    @Test
+    void discardCountsBytesWithoutKeepingAny() throws Exception {
+        byte[] bytes = text(SPILL_THRESHOLD * 5);
+
+        try (ResponseBody body = receive(BodyRetention.DISCARD, bytes, 100)) {
+            assertThat(body.size()).isEqualTo(bytes.length);
+            assertThat(body.encodedSize()).isEqualTo(bytes.length);
+            assertThat(body.isSpilled()).isFalse();
+            assertThat(body.isComplete()).isFalse();
+            assertThat(body.sha256()).isNull();
+            assertThat(body.preview()).isNull();
+            assertThatThrownBy(body::openStream).isInstanceOf(IllegalStateException.class);
+        }
+        assertThat(pool.idleCount()).isZero();
+        assertThat(spillFiles()).isEmpty();
+    }
+
+    private ResponseBodySubscriber subscriber(BodyRetention retention) {
+        ResponseBodyHandler handler = new ResponseBodyHandler(pool, SPILL_THRESHOLD, spillDirectory, PREVIEW_CHARS);
+        return new ResponseBodySubscriber(handler, StandardCharsets.UTF_8, retention, null);
+    }
+
+    /**
+     * Feed the bytes to a new subscriber in chunks of the given size, as the HTTP client would.
+     */
+    private ResponseBody receive(BodyRetention retention, byte[] bytes, int chunkSize) throws Exception {
+        ResponseBodySubscriber subscriber = subscriber(retention);
+        subscriber.onSubscribe(new NoopSubscription());
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            List<ByteBuffer> items = new ArrayList<>();
+            items.add(ByteBuffer.wrap(bytes, offset, Math.min(chunkSize, bytes.length - offset)).slice());
+            subscriber.onNext(items);
+        }
+        subscriber.onComplete();
+        return subscriber.getBody().toCompletableFuture().get();
+    }
+
+    private List<Path> spillFiles() throws IOException {
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            return files.toList();
+        }
+    }
+
+    private static byte[] readAll(ResponseBody body) throws IOException {
+        try (InputStream in = body.openStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] text(long length) {
+        StringBuilder text = new StringBuilder();
+        while (text.length() < length) {
+            text.append("line ").append(text.length()).append('\n');
+        }
+        return text.substring(0, (int) length).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String sha256(byte[] bytes) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+
+    private static final class NoopSubscription implements Flow.Subscription {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.demo.runner.builder;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Flow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Publishing a shared, read-only body buffer in slices, honouring demand.
+ */
+class ByteBufferPublisherTest {
+
+    @Test
+    void publishesWholeBodyInChunks() {
+        byte[] bytes = randomBytes(ByteBufferPublisher.CHUNK_SIZE * 3 + 5);
+        ByteBufferPublisher publisher = new ByteBufferPublisher(ByteBuffer.wrap(bytes).asReadOnlyBuffer());
+
+        Collector collector = subscribe(publisher, Long.MAX_VALUE);
+
+        assertThat(publisher.contentLength()).isEqualTo(bytes.length);
+        assertThat(collector.chunkSizes).containsExactly(ByteBufferPublisher.CHUNK_SIZE,
+            ByteBufferPublisher.CHUNK_SIZE, ByteBufferPublisher.CHUNK_SIZE, 5);
+        assertThat(collector.bytes.toByteArray()).isEqualTo(bytes);
+        assertThat(collector.completed).isTrue();
+    }
+
+    @Test
+    void everySubscriptionReadsTheWholeBodyWithoutMovingTheSource() {
+        byte[] bytes = randomBytes(ByteBufferPublisher.CHUNK_SIZE + 1);
+        ByteBuffer source = ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+        ByteBufferPublisher publisher = new ByteBufferPublisher(source);
+
+        assertThat(subscribe(publisher, Long.MAX_VALUE).bytes.toByteArray()).isEqualTo(bytes);
+        assertThat(subscribe(publisher, Long.MAX_VALUE).bytes.toByteArray()).isEqualTo(bytes);
+        assertThat(source.position()).isZero();
+    }
+
+    @Test
+    void emitsOnlyWhatWasRequested() {
+        ByteBufferPublisher publisher = new ByteBufferPublisher(ByteBuffer.wrap(
+            randomBytes(ByteBufferPublisher.CHUNK_SIZE * 3)));
+
+        Collector collector = subscribe(publisher, 1);
+        assertThat(collector.chunkSizes).hasSize(1);
+
+        collector.subscription.request(1);
+        assertThat(collector.chunkSizes).hasSize(2);
+        assertThat(collector.completed).isFalse();
+
+        collector.subscription.request(1);
+        assertThat(collector.chunkSizes).hasSize(3);
+        assertThat(collector.completed).isTrue();
+    }
+
+    @Test
+    void requestFromOnNextDoesNotRecurse() {
+        byte[] bytes = randomBytes(ByteBufferPublisher.CHUNK_SIZE * 200);
+        ByteBufferPublisher publisher = new ByteBufferPublisher(ByteBuffer.wrap(bytes));
+        Collector collector = new Collector() {
+            @Override
+            public void onNext(ByteBuffer item) {
+                super.onNext(item);
+                depths.add(Thread.currentThread().getStackTrace().length);
+                subscription.request(1);
+            }
+        };
+
+        publisher.subscribe(collector);
+        collector.subscription.request(1);
+
+        assertThat(collector.bytes.toByteArray()).isEqualTo(bytes);
+        assertThat(collector.completed).isTrue();
+        assertThat(collector.depths.stream().distinct()).hasSize(1);
+    }
+
+    @Test
+    void cancelStopsPublishing() {
+        ByteBufferPublisher publisher = new ByteBufferPublisher(ByteBuffer.wrap(
+            randomBytes(ByteBufferPublisher.CHUNK_SIZE * 3)));
+
+        Collector collector = subscribe(publisher, 1);
+        collector.subscription.cancel();
+        collector.subscription.request(10);
+
+        assertThat(collector.chunkSizes).hasSize(1);
+        assertThat(collector.completed).isFalse();
+    }
+
+    @Test
+    void nonPositiveRequestFailsTheSubscription() {
+        ByteBufferPublisher publisher = new ByteBufferPublisher(ByteBuffer.wrap(randomBytes(10)));
+
+        Collector collector = subscribe(publisher, 0);
+        collector.subscription.request(1);
+
+        assertThat(collector.error).isInstanceOf(IllegalArgumentException.class);
+        assertThat(collector.chunkSizes).isEmpty();
+    }
+
+    @Test
+    void emptyBodyCompletesAtOnce() {
+        Collector collector = subscribe(new ByteBufferPublisher(ByteBuffer.allocate(0)), 1);
+
+        assertThat(collector.chunkSizes).isEmpty();
+        assertThat(collector.completed).isTrue();
+    }
+
+    private static Collector subscribe(ByteBufferPublisher publisher, long initialRequest) {
+        Collector collector = new Collector();
+        publisher.subscribe(collector);
+        collector.subscription.request(initialRequest);
+        return collector;
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static class Collector implements Flow.Subscriber<ByteBuffer> {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final List<Integer> chunkSizes = new ArrayList<>();
+        final List<Integer> depths = new ArrayList<>();
+        Flow.Subscription subscription;
+        boolean completed;
+        Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(ByteBuffer item) {
+            chunkSizes.add(item.remaining());
+            byte[] chunk = new byte[item.remaining()];
+            item.get(chunk);
+            bytes.writeBytes(chunk);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
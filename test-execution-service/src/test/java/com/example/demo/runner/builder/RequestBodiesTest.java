@@ -0,0 +1,140 @@
+package com.example.demo.runner.builder;
+
+import com.example.demo.shared.valueobject.BodySource;
+import com.example.demo.shared.valueobject.HttpRequestData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Request bodies streamed from files, blobs and generators.
+ */
+class RequestBodiesTest {
+
+    private static final String BLOB_SHA256 = "a".repeat(64);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void streamsFileWithItsSizeAsContentLength() throws Exception {
+        byte[] bytes = "x".repeat(100_000).getBytes(StandardCharsets.UTF_8);
+        Path file = Files.write(directory.resolve("upload.bin"), bytes);
+
+        HttpRequest.BodyPublisher publisher = RequestBodies.NO_BLOBS.publisher(BodySource.ofFile(file));
+
+        assertThat(publisher.contentLength()).isEqualTo(bytes.length);
+        assertThat(collect(publisher)).isEqualTo(bytes);
+    }
+
+    @Test
+    void missingFileIsRejected() {
+        BodySource source = BodySource.ofFile(directory.resolve("missing.bin"));
+
+        assertThatThrownBy(() -> RequestBodies.NO_BLOBS.publisher(source))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("missing.bin");
+    }
+
+    @Test
+    void streamsBlobFromTheBlobDirectory() throws Exception {
+        byte[] bytes = "blob content".getBytes(StandardCharsets.UTF_8);
+        Files.write(directory.resolve(BLOB_SHA256), bytes);
+
+        HttpRequest.BodyPublisher publisher = new RequestBodies(directory).publisher(BodySource.ofBlob(BLOB_SHA256));
+
+        assertThat(collect(publisher)).isEqualTo(bytes);
+    }
+
+    @Test
+    void blobNeedsADirectoryAndAnExistingFile() {
+        BodySource blob = BodySource.ofBlob(BLOB_SHA256);
+
+        assertThatThrownBy(() -> RequestBodies.NO_BLOBS.publisher(blob))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new RequestBodies(directory).publisher(blob))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining(BLOB_SHA256);
+    }
+
+    @Test
+    void generatedBodyIsProducedAnewOnEverySend() throws Exception {
+        byte[] bytes = "generated".getBytes(StandardCharsets.UTF_8);
+        AtomicInteger generated = new AtomicInteger();
+        BodySource source = BodySource.ofGenerator(() -> {
+            generated.incrementAndGet();
+            return new ByteArrayInputStream(bytes);
+        }, bytes.length);
+
+        HttpRequest.BodyPublisher publisher = RequestBodies.NO_BLOBS.publisher(source);
+
+        assertThat(publisher.contentLength()).isEqualTo(bytes.length);
+        assertThat(collect(publisher)).isEqualTo(bytes);
+        assertThat(collect(publisher)).isEqualTo(bytes);
+        assertThat(generated).hasValue(2);
+    }
+
+    @Test
+    void generatedBodyOfUnknownLengthIsSentChunked() {
+        BodySource source = BodySource.ofGenerator(() -> new ByteArrayInputStream(new byte[10]), -1);
+
+        assertThat(RequestBodies.NO_BLOBS.publisher(source).contentLength()).isEqualTo(-1);
+    }
+
+    @Test
+    void restBuilderSendsStreamedBodyAsIs() throws Exception {
+        byte[] bytes = "{\"id\": \"${id}\"}".getBytes(StandardCharsets.UTF_8);
+        Path file = Files.write(directory.resolve("body.json"), bytes);
+        HttpRequestData requestData = new HttpRequestData("POST", "http://localhost/items/${id}",
+            Map.of("Content-Type", "application/json"), BodySource.ofFile(file));
+
+        HttpRequest request = new RestRequestBuilder().build(requestData, Map.of("id", "42"));
+
+        assertThat(request.uri().toString()).isEqualTo("http://localhost/items/42");
+        assertThat(collect(request.bodyPublisher().orElseThrow())).isEqualTo(bytes);
+    }
+
+    private static byte[] collect(HttpRequest.BodyPublisher publisher) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CompletableFuture<byte[]> body = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                byte[] bytes = new byte[item.remaining()];
+                item.get(bytes);
+                out.writeBytes(bytes);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                body.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                body.complete(out.toByteArray());
+            }
+        });
+        return body.get(5, TimeUnit.SECONDS);
+    }
+}
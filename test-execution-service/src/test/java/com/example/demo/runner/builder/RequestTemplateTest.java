@@ -0,0 +1,85 @@
+package com.example.demo.runner.builder;
+
+import com.example.demo.shared.valueobject.BodySource;
+import com.example.demo.shared.valueobject.HttpRequestData;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Rendering of whole requests and the template cache's keys.
+ */
+class RequestTemplateTest {
+
+    private final RequestTemplateCache cache = new RequestTemplateCache();
+
+    @Test
+    void reportsEveryUnresolvedVariableTogether() {
+        HttpRequestData request = new HttpRequestData("POST", "http://{host}/x",
+            Map.of("Authorization", "Bearer ${token}"), "{\"id\": \"{id}\"}");
+
+        assertThatThrownBy(() -> cache.get(request).render(Map.of("host", "h"), request.body()))
+            .isInstanceOfSatisfying(UnresolvedVariablesException.class, e ->
+                assertThat(e.getVariableNames()).containsExactlyInAnyOrder("token", "id"));
+    }
+
+    @Test
+    void rendersTemplatedBody() {
+        HttpRequestData request = new HttpRequestData("POST", "http://h/x", Map.of(), "{\"id\": \"{id}\"}");
+
+        RequestTemplate.Rendered rendered = cache.get(request).render(Map.of("id", "42"), request.body());
+
+        assertThat(StandardCharsets.UTF_8.decode(rendered.body()).toString()).isEqualTo("{\"id\": \"42\"}");
+    }
+
+    @Test
+    void constantBodyIsPassedThroughAndNotPartOfTheKey() {
+        HttpRequestData first = new HttpRequestData("POST", "http://h/x", Map.of(), "{\"a\": 1}");
+        HttpRequestData second = new HttpRequestData("PUT", "http://h/x", Map.of(), "{\"b\": 2}");
+
+        RequestTemplate template = cache.get(first);
+        RequestTemplate.Rendered rendered = cache.get(second).render(Map.of(), second.body());
+
+        assertThat(cache.get(second)).isSameAs(template);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(rendered.body()).isEqualTo(second.body());
+    }
+
+    @Test
+    void streamedBodiesShareOneTemplate() {
+        HttpRequestData first = new HttpRequestData("POST", "http://h/upload", Map.of(),
+            BodySource.ofGenerator(() -> null, -1));
+        HttpRequestData second = new HttpRequestData("POST", "http://h/upload", Map.of(),
+            BodySource.ofGenerator(() -> null, -1));
+
+        cache.get(first);
+        cache.get(second);
+
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void templatedBodiesAreKeyedByText() {
+        cache.get(new HttpRequestData("POST", "http://h/x", Map.of(), "{\"id\": {id}}"));
+        cache.get(new HttpRequestData("POST", "http://h/x", Map.of(), "{\"id\": {id}}"));
+        cache.get(new HttpRequestData("POST", "http://h/x", Map.of(), "{\"id\": {other}}"));
+
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void binaryBodyIsPassedThrough() {
+        ByteBuffer binary = ByteBuffer.wrap(new byte[] {'{', 'a', '}', (byte) 0xff});
+        HttpRequestData request = new HttpRequestData("POST", "http://h/x", Map.of(), binary, null);
+
+        RequestTemplate.Rendered rendered = cache.get(request).render(Map.of(), request.body());
+
+        assertThat(rendered.body()).isEqualTo(request.body());
+    }
+}
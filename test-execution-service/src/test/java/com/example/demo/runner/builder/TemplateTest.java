@@ -0,0 +1,85 @@
+package com.example.demo.runner.builder;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Template syntax, rendering and collection of unresolved variables.
+ */
+class TemplateTest {
+
+    @Test
+    void rendersBothPlaceholderForms() {
+        Template template = Template.compile("https://${host}/users/{user.id}?q={q-1}");
+
+        assertThat(template.variableNames()).containsExactly("host", "user.id", "q-1");
+        assertThat(template.render(Map.of("host", "example.com", "user.id", "7", "q-1", "x"), new ArrayList<>()))
+            .isEqualTo("https://example.com/users/7?q=x");
+    }
+
+    @Test
+    void jsonBracesAreLiteral() {
+        String json = "{\"name\": \"{not a variable}\", \"empty\": {}, \"n\": {\"a\": 1}}";
+
+        Template template = Template.compile(json);
+
+        assertThat(template.isConstant()).isTrue();
+        assertThat(template.render(Map.of(), new ArrayList<>())).isEqualTo(json);
+    }
+
+    @Test
+    void dollarFormAcceptsAnyName() {
+        Template template = Template.compile("${first name} and ${1st}");
+
+        assertThat(template.variableNames()).containsExactly("first name", "1st");
+    }
+
+    @Test
+    void unclosedPlaceholderIsLiteral() {
+        Template template = Template.compile("value ${open");
+
+        assertThat(template.isConstant()).isTrue();
+    }
+
+    @Test
+    void unresolvedVariablesAreCollectedAndKeptAsPlaceholders() {
+        Template template = Template.compile("{a}-{b}-{a}-{c}");
+        List<String> unresolved = new ArrayList<>();
+
+        String rendered = template.render(Map.of("b", "2"), unresolved);
+
+        assertThat(unresolved).containsExactly("a", "a", "c");
+        assertThat(rendered).isEqualTo("${a}-2-${a}-${c}");
+    }
+
+    @Test
+    void rendersBytesAsUtf8() {
+        Template template = Template.compile("héllo {name}");
+
+        byte[] bytes = template.renderBytes(Map.of("name", "wörld"), new ArrayList<>());
+
+        assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo("héllo wörld");
+    }
+
+    @Test
+    void quickScanFindsEveryVariable() {
+        for (String text : List.of("{a}", "x${1}", "{_x}", "{é}", "${ spaced }")) {
+            assertThat(Template.mayHaveVariables(utf8(text))).as(text).isTrue();
+        }
+        for (String text : List.of("{}", "{\"a\": 1}", "{ \"a\": 1 }", "$", "{", "plain text")) {
+            assertThat(Template.mayHaveVariables(utf8(text))).as(text).isFalse();
+            assertThat(Template.compile(text).isConstant()).as(text).isTrue();
+        }
+    }
+
+    private static ByteBuffer utf8(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
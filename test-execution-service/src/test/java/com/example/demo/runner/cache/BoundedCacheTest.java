@@ -0,0 +1,72 @@
+package com.example.demo.runner.cache;
+
+import com.example.demo.common.ports.CacheStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Size bound, second-chance eviction and hit/miss counting of the shared cache.
+ */
+class BoundedCacheTest {
+
+    @Test
+    void computesEachKeyOnceAndCountsLookups() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.get("key", key -> loads.incrementAndGet())).isEqualTo(1);
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.hitCount()).isEqualTo(2);
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.stats()).isEqualTo(new CacheStats(2, 1, 1, 10));
+    }
+
+    @Test
+    void staysWithinItsSize() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(5);
+
+        for (int i = 0; i < 100; i++) {
+            cache.get(i, key -> key);
+        }
+
+        assertThat(cache.size()).isEqualTo(5);
+    }
+
+    @Test
+    void hotEntrySurvivesEvictions() {
+        BoundedCache<String, String> cache = new BoundedCache<>(4);
+        cache.get("hot", key -> key);
+
+        for (int i = 0; i < 100; i++) {
+            cache.get("cold-" + i, key -> key);
+            cache.get("hot", key -> "reloaded");
+        }
+
+        assertThat(cache.get("hot", key -> "reloaded")).isEqualTo("hot");
+        assertThat(cache.missCount()).isEqualTo(101);
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        BoundedCache<String, String> cache = new BoundedCache<>(4);
+
+        assertThatThrownBy(() -> cache.get("bad", key -> {
+            throw new IllegalArgumentException("invalid");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get("bad", key -> "fixed")).isEqualTo("fixed");
+    }
+
+    @Test
+    void rejectsNonPositiveSize() {
+        assertThatThrownBy(() -> new BoundedCache<>(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.demo.runner.context;
+
+import com.example.demo.shared.request.E2eStepRequest;
+import com.example.demo.shared.valueobject.ExtractorSpec;
+import com.example.demo.shared.valueobject.HttpRequestData;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dependencies derived from variable flow, unknown references and sequential workflows.
+ */
+class StepDependencyGraphTest {
+
+    @Test
+    void stepDependsOnTheProducersOfItsVariables() {
+        List<E2eStepRequest> steps = List.of(
+            step("login", "token"),
+            step("profile", "userId"),
+            step("orders"),
+            step("order"));
+        Map<String, Set<String>> references = Map.of(
+            "login", Set.of(),
+            "profile", Set.of("token"),
+            "orders", Set.of("token", "userId"),
+            "order", Set.of("baseUrl"));
+
+        StepDependencyGraph graph = StepDependencyGraph.of(steps, known(references));
+
+        assertThat(graph.dependenciesOf(0)).isEmpty();
+        assertThat(graph.dependenciesOf(1)).containsExactly(0);
+        assertThat(graph.dependenciesOf(2)).containsExactly(0, 1);
+        // Variables no step produces, e.g. initial ones, add no dependency
+        assertThat(graph.dependenciesOf(3)).isEmpty();
+        assertThat(graph.isSequential()).isFalse();
+    }
+
+    @Test
+    void unknownReferencesDependOnAllEarlierSteps() {
+        List<E2eStepRequest> steps = List.of(step("first"), step("second"), step("third"), step("fourth"));
+
+        StepDependencyGraph graph = StepDependencyGraph.of(steps, step -> "third".equals(step.stepId())
+            ? Optional.empty()
+            : Optional.of(Set.of()));
+
+        assertThat(graph.dependenciesOf(1)).isEmpty();
+        assertThat(graph.dependenciesOf(2)).containsExactly(0, 1);
+        assertThat(graph.dependenciesOf(3)).isEmpty();
+    }
+
+    @Test
+    void chainOfProducersIsSequential() {
+        List<E2eStepRequest> steps = List.of(step("login", "token"), step("create", "id"), step("read"));
+        Map<String, Set<String>> references = Map.of(
+            "login", Set.of(),
+            "create", Set.of("token"),
+            "read", Set.of("id"));
+
+        assertThat(StepDependencyGraph.of(steps, known(references)).isSequential()).isTrue();
+    }
+
+    @Test
+    void unknownReferencesEverywhereAreSequential() {
+        List<E2eStepRequest> steps = List.of(step("first"), step("second"), step("third"));
+
+        StepDependencyGraph graph = StepDependencyGraph.of(steps, step -> Optional.empty());
+
+        assertThat(graph.isSequential()).isTrue();
+        assertThat(graph.dependenciesOf(2)).containsExactly(0, 1);
+    }
+
+    @Test
+    void stepNotDependingOnItsPredecessorIsNotSequential() {
+        // The last step needs the first one only, so it can run alongside the second
+        List<E2eStepRequest> steps = List.of(step("login", "token"), step("audit"), step("read"));
+        Map<String, Set<String>> references = Map.of(
+            "login", Set.of(),
+            "audit", Set.of("token"),
+            "read", Set.of("token"));
+
+        assertThat(StepDependencyGraph.of(steps, known(references)).isSequential()).isFalse();
+        assertThat(StepDependencyGraph.of(List.of(step("only")), step -> Optional.empty()).isSequential()).isTrue();
+    }
+
+    private static Function<E2eStepRequest, Optional<Set<String>>> known(Map<String, Set<String>> references) {
+        return step -> Optional.of(references.get(step.stepId()));
+    }
+
+    private static E2eStepRequest step(String id, String... produces) {
+        List<ExtractorSpec> extractors = Arrays.stream(produces)
+            .map(name -> new ExtractorSpec(name, "JSONPATH", "$." + name))
+            .toList();
+        return new E2eStepRequest(id, id, 0, "REST", new HttpRequestData("GET", "http://localhost/" + id),
+            List.of(), extractors);
+    }
+}
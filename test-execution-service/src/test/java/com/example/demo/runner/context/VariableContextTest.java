@@ -0,0 +1,93 @@
+package com.example.demo.runner.context;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Persistent scopes of the variable context: isolation of forks, shadowing and flattening.
+ */
+class VariableContextTest {
+
+    @Test
+    void mergedVariablesAreNotVisibleInTheParent() {
+        VariableContext parent = new VariableContext(Map.of("baseUrl", "http://localhost"));
+
+        VariableContext child = parent.merge(Map.of("token", "t1"));
+
+        assertThat(child.get("token")).isEqualTo("t1");
+        assertThat(child.get("baseUrl")).isEqualTo("http://localhost");
+        assertThat(parent.get("token")).isNull();
+        assertThat(parent.getVariables()).containsExactly(Map.entry("baseUrl", "http://localhost"));
+    }
+
+    @Test
+    void forksOfTheSameContextAreIndependent() {
+        VariableContext parent = new VariableContext(Map.of("user", "alice"));
+
+        VariableContext first = parent.merge(Map.of("id", "1"));
+        VariableContext second = parent.merge(Map.of("id", "2", "user", "bob"));
+
+        assertThat(first.getVariables()).isEqualTo(Map.of("user", "alice", "id", "1"));
+        assertThat(second.getVariables()).isEqualTo(Map.of("user", "bob", "id", "2"));
+        assertThat(parent.getVariables()).isEqualTo(Map.of("user", "alice"));
+    }
+
+    @Test
+    void newerScopesShadowOlderOnes() {
+        VariableContext context = new VariableContext(Map.of("token", "initial"))
+            .merge(Map.of("token", "first"))
+            .merge(Map.of("other", "x"));
+        Map<String, String> nullValue = new HashMap<>();
+        nullValue.put("token", null);
+
+        assertThat(context.get("token")).isEqualTo("first");
+        assertThat(context.getVariables()).containsEntry("token", "first").hasSize(2);
+        // A null value shadows too, rather than revealing the older one
+        VariableContext cleared = context.merge(nullValue);
+        assertThat(cleared.get("token")).isNull();
+        assertThat(cleared.getVariables()).containsKey("token");
+    }
+
+    @Test
+    void emptyMergeReturnsTheSameContext() {
+        VariableContext context = new VariableContext(Map.of("a", "1"));
+
+        assertThat(context.merge(Map.of())).isSameAs(context);
+    }
+
+    @Test
+    void deepChainIsFlattenedWithoutLosingVariables() {
+        VariableContext context = new VariableContext(Map.of("initial", "yes", "step", "none"));
+        VariableContext atMaxDepth = null;
+        for (int i = 1; i <= VariableContext.MAX_DEPTH * 3; i++) {
+            context = context.merge(Map.of("step", String.valueOf(i), "var" + i, String.valueOf(i)));
+            if (i == VariableContext.MAX_DEPTH - 1) {
+                atMaxDepth = context;
+            }
+        }
+
+        assertThat(context.getVariables()).hasSize(VariableContext.MAX_DEPTH * 3 + 2);
+        assertThat(context.get("initial")).isEqualTo("yes");
+        assertThat(context.get("step")).isEqualTo(String.valueOf(VariableContext.MAX_DEPTH * 3));
+        assertThat(context.get("var1")).isEqualTo("1");
+        // Flattening the chain leaves the contexts it was built from unchanged
+        assertThat(atMaxDepth.getVariables()).hasSize(VariableContext.MAX_DEPTH + 1);
+        assertThat(atMaxDepth.get("step")).isEqualTo(String.valueOf(VariableContext.MAX_DEPTH - 1));
+        assertThat(atMaxDepth.merge(Map.of("late", "1")).get("var1")).isEqualTo("1");
+        assertThat(atMaxDepth.get("late")).isNull();
+    }
+
+    @Test
+    void variablesViewIsReadOnly() {
+        VariableContext context = new VariableContext(Map.of("a", "1")).merge(Map.of("b", "2"));
+
+        assertThatThrownBy(() -> context.getVariables().put("c", "3"))
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(context.getVariables()).containsOnlyKeys("a", "b");
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.demo.runner.limit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Additive increase and multiplicative decrease of the adaptive concurrency limit.
+ */
+class AimdLimitTest {
+
+    @Test
+    void growsWhileInUseAndLatencyIsStable() {
+        AimdLimit limit = new AimdLimit(0);
+
+        for (int i = 0; i < 200; i++) {
+            limit.onResponse(50, limit.limit());
+        }
+
+        assertThat(limit.limit()).isGreaterThan(AimdLimit.INITIAL_LIMIT);
+    }
+
+    @Test
+    void doesNotGrowWhileIdle() {
+        AimdLimit limit = new AimdLimit(0);
+
+        for (int i = 0; i < 200; i++) {
+            limit.onResponse(50, 1);
+        }
+
+        assertThat(limit.limit()).isEqualTo(AimdLimit.INITIAL_LIMIT);
+    }
+
+    @Test
+    void neverExceedsMaxLimit() {
+        AimdLimit limit = new AimdLimit(22);
+
+        for (int i = 0; i < 1000; i++) {
+            limit.onResponse(50, limit.limit());
+        }
+
+        assertThat(limit.limit()).isEqualTo(22);
+    }
+
+    @Test
+    void backsOffOncePerOverloadEpisode() {
+        AimdLimit limit = new AimdLimit(0);
+
+        // Every request in flight (the limit after backing off) reports the same overload
+        for (int i = 0; i < 18; i++) {
+            limit.onOverload();
+        }
+
+        assertThat(limit.limit()).isEqualTo(18);
+    }
+
+    @Test
+    void backsOffWhenLatencyRisesAboveBaseline() {
+        AimdLimit limit = new AimdLimit(0);
+        for (int i = 0; i < 50; i++) {
+            limit.onResponse(50, 1);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            limit.onResponse(500, 1);
+        }
+
+        assertThat(limit.limit()).isLessThan(AimdLimit.INITIAL_LIMIT);
+    }
+
+    @Test
+    void oneFastResponseDoesNotPinTheBaseline() {
+        AimdLimit limit = new AimdLimit(0);
+        for (int i = 0; i < 50; i++) {
+            limit.onResponse(100, 1);
+        }
+
+        limit.onResponse(1, 1);
+
+        assertThat(limit.baselineLatency()).isGreaterThan(85);
+        for (int i = 0; i < 20; i++) {
+            limit.onResponse(100, limit.limit());
+        }
+        assertThat(limit.limit()).isGreaterThanOrEqualTo(AimdLimit.INITIAL_LIMIT);
+    }
+
+    @Test
+    void baselineFollowsLastingChange() {
+        AimdLimit limit = new AimdLimit(0);
+        for (int i = 0; i < 50; i++) {
+            limit.onResponse(100, 1);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            limit.onResponse(20, 1);
+        }
+
+        assertThat(limit.baselineLatency()).isLessThan(21);
+    }
+}
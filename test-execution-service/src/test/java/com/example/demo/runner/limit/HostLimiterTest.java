@@ -0,0 +1,138 @@
+package com.example.demo.runner.limit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrency cap, token bucket and adaptive limit of one host's limiter.
+ */
+class HostLimiterTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void waitersGetFreedSlotsInArrivalOrder() {
+        HostLimiter limiter = new HostLimiter("host", new HostLimit(2, 0), scheduler);
+        List<CompletableFuture<HostLimiter.Permit>> acquired = acquire(limiter, 5);
+
+        assertThat(acquired).map(CompletableFuture::isDone).containsExactly(true, true, false, false, false);
+        assertThat(limiter.inFlight()).isEqualTo(2);
+        assertThat(limiter.waiting()).isEqualTo(3);
+
+        HostLimiter.Permit first = acquired.get(0).join();
+        first.release();
+        first.release();  // no effect
+
+        assertThat(acquired).map(CompletableFuture::isDone).containsExactly(true, true, true, false, false);
+        assertThat(limiter.inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void cancelledWaiterGivesUpItsPlace() {
+        HostLimiter limiter = new HostLimiter("host", new HostLimit(1, 0), scheduler);
+        List<CompletableFuture<HostLimiter.Permit>> acquired = acquire(limiter, 3);
+
+        acquired.get(1).cancel(false);
+        acquired.get(0).join().release();
+
+        assertThat(acquired.get(2)).isDone();
+        assertThat(limiter.inFlight()).isEqualTo(1);
+        assertThat(limiter.waiting()).isZero();
+    }
+
+    @Test
+    void raisingTheCapGrantsWaitingRequests() {
+        HostLimiter limiter = new HostLimiter("host", new HostLimit(1, 0), scheduler);
+        List<CompletableFuture<HostLimiter.Permit>> acquired = acquire(limiter, 3);
+
+        limiter.configure(new HostLimit(3, 0));
+
+        assertThat(acquired).allMatch(CompletableFuture::isDone);
+        assertThat(limiter.inFlight()).isEqualTo(3);
+    }
+
+    @Test
+    void tokenBucketAllowsABurstThenWaitsForRefill() throws Exception {
+        HostLimiter limiter = new HostLimiter("host", new HostLimit(0, 5), scheduler);
+        List<CompletableFuture<HostLimiter.Permit>> acquired = acquire(limiter, 6);
+
+        assertThat(acquired.subList(0, 5)).allMatch(CompletableFuture::isDone);
+        assertThat(acquired.get(5)).isNotDone();
+
+        // One token refills in 200 ms at 5 per second
+        HostLimiter.Permit last = acquired.get(5).get(5, TimeUnit.SECONDS);
+        assertThat(last.waitMillis()).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    void onlySuccessfulResponsesAreLatencySamples() {
+        HostLimiter limiter = new HostLimiter("host", new HostLimit(0, 0, true), scheduler);
+        for (int i = 0; i < 50; i++) {
+            respond(limiter, 200, 100);
+        }
+
+        // Fast errors neither lower the baseline nor count as overload
+        for (int i = 0; i < 50; i++) {
+            respond(limiter, 500, 1);
+            respond(limiter, 404, 1);
+        }
+        for (int i = 0; i < 20; i++) {
+            respond(limiter, 200, 100);
+        }
+
+        assertThat(limiter.maxConcurrency()).isEqualTo(AimdLimit.INITIAL_LIMIT);
+    }
+
+    @Test
+    void overloadStatusesBackOff() {
+        HostLimiter limiter = new HostLimiter("host", new HostLimit(0, 0, true), scheduler);
+
+        respond(limiter, 429, 10);
+
+        assertThat(limiter.maxConcurrency()).isEqualTo(18);
+    }
+
+    @Test
+    void switchingToFixedLimitsAndBackKeepsTheAdaptedLimit() {
+        HostLimit adaptive = new HostLimit(0, 0, true);
+        HostLimiter limiter = new HostLimiter("host", adaptive, scheduler);
+        respond(limiter, 503, 10);
+
+        limiter.configure(new HostLimit(5, 0));
+        assertThat(limiter.maxConcurrency()).isEqualTo(5);
+        assertThat(limiter.stats().adaptive()).isFalse();
+        limiter.configure(adaptive);
+
+        assertThat(limiter.maxConcurrency()).isEqualTo(18);
+    }
+
+    private static List<CompletableFuture<HostLimiter.Permit>> acquire(HostLimiter limiter, int count) {
+        List<CompletableFuture<HostLimiter.Permit>> acquired = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            acquired.add(limiter.acquire());
+        }
+        return acquired;
+    }
+
+    private static void respond(HostLimiter limiter, int status, long millis) {
+        CompletableFuture<HostLimiter.Permit> acquired = limiter.acquire();
+        assertThat(acquired).isDone();
+        HostLimiter.Permit permit = acquired.join();
+        permit.onResponse(status, millis);
+        permit.release();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.demo.runner.response;
+
+import com.example.demo.runner.extractor.CompositeVariableExtractor;
+import com.example.demo.runner.extractor.JsonPathExtractor;
+import com.example.demo.runner.extractor.XPathExtractor;
+import com.example.demo.runner.validator.CompositeAssertionValidator;
+import com.example.demo.runner.validator.JsonPathAssertionValidator;
+import com.example.demo.runner.validator.StatusAssertionValidator;
+import com.example.demo.runner.validator.XPathAssertionValidator;
+import com.example.demo.shared.valueobject.AssertionResult;
+import com.example.demo.shared.valueobject.AssertionSpec;
+import com.example.demo.shared.valueobject.ExtractorSpec;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpHeaders;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Parse counts of a step with 10 assertions and 5 extractors.
+ * Before ResponseView every JSONPath/XPath evaluation re-parsed the body (15 parses per step).
+ */
+class ResponseViewParseCountTest {
+
+    private static final HttpHeaders NO_HEADERS = HttpHeaders.of(Map.of(), (name, value) -> true);
+
+    private final CompositeAssertionValidator validator = new CompositeAssertionValidator(
+        new StatusAssertionValidator(),
+        new JsonPathAssertionValidator(),
+        new XPathAssertionValidator()
+    );
+
+    private final CompositeVariableExtractor extractor = new CompositeVariableExtractor(
+        new JsonPathExtractor(),
+        new XPathExtractor()
+    );
+
+    @Test
+    void jsonBodyIsParsedOncePerStep() {
+        ResponseView view = new ResponseView(200, NO_HEADERS, jsonBody(50));
+
+        List<AssertionSpec> assertions = IntStream.range(0, 10)
+            .mapToObj(i -> new AssertionSpec("jsonPathEquals", "$.items[" + i + "].id", String.valueOf(i)))
+            .toList();
+        List<ExtractorSpec> extractors = IntStream.range(0, 5)
+            .mapToObj(i -> new ExtractorSpec("name" + i, "JSONPATH", "$.items[" + i + "].name"))
+            .toList();
+
+        List<AssertionResult> results = validator.validate(assertions, view);
+        Map<String, String> variables = extractor.extract(extractors, view);
+
+        assertThat(results).allMatch(AssertionResult::ok);
+        assertThat(variables).hasSize(5).containsEntry("name3", "item-3");
+        assertThat(view.jsonParseCount()).isEqualTo(1);
+        assertThat(view.xmlParseCount()).isZero();
+    }
+
+    @Test
+    void xmlBodyIsParsedOncePerStep() {
+        ResponseView view = new ResponseView(200, NO_HEADERS, xmlBody(50));
+
+        List<AssertionSpec> assertions = IntStream.range(0, 10)
+            .mapToObj(i -> new AssertionSpec("xpathEquals", "/items/item[" + (i + 1) + "]/id", String.valueOf(i)))
+            .toList();
+        List<ExtractorSpec> extractors = IntStream.range(0, 5)
+            .mapToObj(i -> new ExtractorSpec("name" + i, "XPATH", "/items/item[" + (i + 1) + "]/name"))
+            .toList();
+
+        List<AssertionResult> results = validator.validate(assertions, view);
+        Map<String, String> variables = extractor.extract(extractors, view);
+
+        assertThat(results).allMatch(AssertionResult::ok);
+        assertThat(variables).hasSize(5).containsEntry("name3", "item-3");
+        assertThat(view.xmlParseCount()).isEqualTo(1);
+        assertThat(view.jsonParseCount()).isZero();
+    }
+
+    @Test
+    void malformedBodyIsNotReparsedForEachAssertion() {
+        ResponseView view = new ResponseView(200, NO_HEADERS, "{not json");
+
+        List<AssertionSpec> assertions = IntStream.range(0, 10)
+            .mapToObj(i -> new AssertionSpec("jsonPathExists", "$.id", ""))
+            .toList();
+
+        List<AssertionResult> results = validator.validate(assertions, view);
+
+        assertThat(results).noneMatch(AssertionResult::ok);
+        assertThat(view.jsonParseCount()).isEqualTo(1);
+    }
+
+    private static String jsonBody(int items) {
+        StringBuilder sb = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i).append(",\"name\":\"item-").append(i).append("\"}");
+        }
+        return sb.append("]}").toString();
+    }
+
+    private static String xmlBody(int items) {
+        StringBuilder sb = new StringBuilder("<items>");
+        for (int i = 0; i < items; i++) {
+            sb.append("<item><id>").append(i).append("</id><name>item-").append(i).append("</name></item>");
+        }
+        return sb.append("</items>").toString();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.demo.runner.xml;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathFactory;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Streaming evaluation gives the same string values as DOM evaluation.
+ */
+class StreamingXPathTest {
+
+    private static final String XML = """
+        <?xml version="1.0"?>
+        <users count="3">
+          <user id="1"><name>Ann</name><role>admin</role></user>
+          <user id="2"><name>Bob</name><!-- no role --></user>
+          <user id="3"><name>Cy<b>ril</b></name><role><![CDATA[guest & more]]></role></user>
+          <group><name>staff</name></group>
+        </users>
+        """;
+
+    private static final String SOAP = """
+        <soap:Envelope xmlns:soap="http://schemas.xmlsoap.org/soap/envelope/" xmlns:u="urn:users">
+          <soap:Body>
+            <u:GetUserResponse><u:user u:id="7"><u:name>Dee</u:name></u:user></u:GetUserResponse>
+          </soap:Body>
+        </soap:Envelope>
+        """;
+
+    private static final NamespaceContext NAMESPACES = new MapNamespaceContext(Map.of(
+        "soap", "http://schemas.xmlsoap.org/soap/envelope/",
+        "u", "urn:users"));
+
+    @Test
+    void matchesDomForUnprefixedPaths() throws Exception {
+        for (String expression : List.of(
+            "/users/user",
+            "/users/user/name",
+            "/users/user[3]/name",
+            "/users/user[2]/role",
+            "/users/user[3]/role/text()",
+            "/users/user[3]/name/text()",
+            "/users/user/role/text()",
+            "/users/@count",
+            "/users/user[2]/@id",
+            "/users/user/@missing",
+            "/users/*/name",
+            "/users/*[4]/name",
+            "/users/user[9]",
+            "/nothing")) {
+            assertThat(stream(expression, XML, null)).as(expression).isEqualTo(dom(expression, XML, null));
+        }
+    }
+
+    @Test
+    void matchesNamespaceAwareDomForPrefixedPaths() throws Exception {
+        for (String expression : List.of(
+            "/soap:Envelope/soap:Body/u:GetUserResponse/u:user/u:name",
+            "/soap:Envelope/soap:Body/u:GetUserResponse/u:user/@u:id",
+            "/soap:Envelope/soap:Body/*/u:user/u:name/text()",
+            "/soap:Envelope/soap:Body/u:GetUserResponse/soap:user")) {
+            assertThat(stream(expression, SOAP, NAMESPACES)).as(expression)
+                .isEqualTo(dom(expression, SOAP, NAMESPACES));
+        }
+    }
+
+    @Test
+    void matchesLocalNamesWithoutNamespaces() throws Exception {
+        assertThat(stream("/Envelope/Body/GetUserResponse/user/name", SOAP, null)).isEqualTo("Dee");
+    }
+
+    @Test
+    void onlySimpleAbsolutePathsAreStreamable() {
+        for (String expression : List.of("//user", "users/user", "/users/user[last()]", "count(/users/user)",
+            "/users/user[name='Ann']", "/users//name", "/")) {
+            assertThat(StreamingXPath.parse(expression)).as(expression).isEmpty();
+        }
+        assertThat(StreamingXPath.parse("/soap:Envelope/u:x/@u:id")).hasValueSatisfying(path ->
+            assertThat(path.hasPrefixes()).isTrue());
+    }
+
+    @Test
+    void malformedBodyAfterTheMatchFails() {
+        StreamingXPath path = StreamingXPath.parse("/users/user/name").orElseThrow();
+
+        assertThatThrownBy(() -> path.evaluate("<users><user><name>Ann</name></user><broken></users>", null))
+            .isInstanceOf(XMLStreamException.class);
+    }
+
+    private static String stream(String expression, String xml, NamespaceContext namespaces)
+            throws XMLStreamException {
+        return StreamingXPath.parse(expression).orElseThrow().evaluate(xml, namespaces);
+    }
+
+    private static String dom(String expression, String xml, NamespaceContext namespaces) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(namespaces != null);
+        Document document = factory.newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+        XPath xpath = XPathFactory.newInstance().newXPath();
+        if (namespaces != null) {
+            xpath.setNamespaceContext(namespaces);
+        }
+        return xpath.evaluate(expression, document);
+    }
+}